@@ -30,6 +30,8 @@ import net.dv8tion.jda.core.hooks.IEventManager;
 import net.dv8tion.jda.core.managers.impl.PresenceImpl;
 import net.dv8tion.jda.core.utils.*;
 import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import net.dv8tion.jda.core.utils.cache.EventPolicy;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import net.dv8tion.jda.core.utils.tuple.Pair;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
@@ -231,6 +233,56 @@ public class DefaultShardManager implements ShardManager
      */
     protected boolean enableCompression;
 
+    /**
+     * Whether to decode compressed gateway payloads in a streaming fashion
+     */
+    protected boolean enableStreamingDecode;
+
+    /**
+     * Whether to index the entity caches by name
+     */
+    protected boolean enableNameIndex;
+
+    /**
+     * Whether to execute REST requests asynchronously
+     */
+    protected boolean enableAsyncRequests;
+
+    /**
+     * The maximum number of concurrent REST requests when they are executed asynchronously
+     */
+    protected int maxAsyncRequests;
+
+    /**
+     * Whether to coalesce identical GET requests
+     */
+    protected boolean enableRequestCoalescing;
+
+    /**
+     * The event policies per gateway event type
+     */
+    protected Map<String, EventPolicy> eventPolicies;
+
+    /**
+     * The number of threads per shard that build guilds
+     */
+    protected int guildSetupPoolSize;
+
+    /**
+     * Whether to store members in the compact format
+     */
+    protected boolean enableCompactMemberCache;
+
+    /**
+     * The policy which decides which members are cached
+     */
+    protected MemberCachePolicy memberCachePolicy;
+
+    /**
+     * Whether to build members as soon as their chunk is received
+     */
+    protected boolean enableIncrementalChunking;
+
     /**
      * Cache flags
      */
@@ -301,6 +353,26 @@ public class DefaultShardManager implements ShardManager
      *         The enabled cache flags
      * @param  enableCompression
      *         Whether to enable transport compression
+     * @param  enableStreamingDecode
+     *         Whether to decode compressed gateway payloads in a streaming fashion
+     * @param  enableNameIndex
+     *         Whether to index the entity caches by name
+     * @param  enableAsyncRequests
+     *         Whether to execute REST requests asynchronously
+     * @param  maxAsyncRequests
+     *         The maximum number of concurrent REST requests when they are executed asynchronously
+     * @param  enableRequestCoalescing
+     *         Whether to coalesce identical GET requests
+     * @param  eventPolicies
+     *         The event policies per gateway event type
+     * @param  guildSetupPoolSize
+     *         The number of threads per shard that build guilds
+     * @param  enableCompactMemberCache
+     *         Whether to store members in the compact format
+     * @param  memberCachePolicy
+     *         The policy which decides which members are cached
+     * @param  enableIncrementalChunking
+     *         Whether to build members as soon as their chunk is received
      */
     protected DefaultShardManager(
             final int shardsTotal, final Collection<Integer> shardIds,
@@ -318,7 +390,11 @@ public class DefaultShardManager implements ShardManager
             final boolean autoReconnect, final IntFunction<Boolean> idleProvider,
             final boolean retryOnTimeout, final boolean useShutdownNow,
             final boolean enableMDC, final IntFunction<? extends ConcurrentMap<String, String>> contextProvider,
-            final EnumSet<CacheFlag> cacheFlags, final boolean enableCompression)
+            final EnumSet<CacheFlag> cacheFlags, final boolean enableCompression, final boolean enableStreamingDecode,
+            final boolean enableNameIndex, final boolean enableAsyncRequests, final int maxAsyncRequests, final boolean enableRequestCoalescing,
+            final Map<String, EventPolicy> eventPolicies, final int guildSetupPoolSize,
+            final boolean enableCompactMemberCache, final MemberCachePolicy memberCachePolicy,
+            final boolean enableIncrementalChunking)
     {
         this.shardsTotal = shardsTotal;
         this.listeners = listeners;
@@ -351,6 +427,16 @@ public class DefaultShardManager implements ShardManager
         this.contextProvider = contextProvider;
         this.enableMDC = enableMDC;
         this.enableCompression = enableCompression;
+        this.enableStreamingDecode = enableStreamingDecode;
+        this.enableNameIndex = enableNameIndex;
+        this.enableAsyncRequests = enableAsyncRequests;
+        this.maxAsyncRequests = maxAsyncRequests;
+        this.enableRequestCoalescing = enableRequestCoalescing;
+        this.eventPolicies = eventPolicies;
+        this.guildSetupPoolSize = guildSetupPoolSize;
+        this.enableCompactMemberCache = enableCompactMemberCache;
+        this.memberCachePolicy = memberCachePolicy;
+        this.enableIncrementalChunking = enableIncrementalChunking;
         this.cacheFlags = cacheFlags;
 
         synchronized (queue)
@@ -668,6 +754,15 @@ public class DefaultShardManager implements ShardManager
         if (this.audioSendFactory != null)
             jda.setAudioSendFactory(this.audioSendFactory);
 
+        jda.setNameIndexEnabled(this.enableNameIndex);
+        jda.setAsyncRequestsEnabled(this.enableAsyncRequests, this.maxAsyncRequests);
+        jda.setRequestCoalescingEnabled(this.enableRequestCoalescing);
+        jda.setEventPolicies(this.eventPolicies);
+        jda.setGuildSetupPoolSize(this.guildSetupPoolSize);
+        jda.setCompactMemberCacheEnabled(this.enableCompactMemberCache);
+        jda.setIncrementalChunkingEnabled(this.enableIncrementalChunking);
+        jda.setMemberCachePolicy(this.memberCachePolicy);
+
         this.listeners.forEach(jda::addEventListener);
         this.listenerProviders.forEach(provider -> jda.addEventListener(provider.apply(shardId)));
         jda.setStatus(JDA.Status.INITIALIZED); //This is already set by JDA internally, but this is to make sure the listeners catch it.
@@ -719,7 +814,7 @@ public class DefaultShardManager implements ShardManager
 
         final JDA.ShardInfo shardInfo = new JDA.ShardInfo(shardId, this.shardsTotal);
 
-        final int shardTotal = jda.login(this.gatewayURL, shardInfo, this.enableCompression, false);
+        final int shardTotal = jda.login(this.gatewayURL, shardInfo, this.enableCompression, this.enableStreamingDecode, false);
         if (this.shardsTotal == -1)
             this.shardsTotal = shardTotal;
 
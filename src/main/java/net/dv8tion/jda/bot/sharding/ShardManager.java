@@ -187,6 +187,36 @@ public interface ShardManager
                 .getApplicationInfo();
     }
 
+    /**
+     * The amount of guilds of all shards that are currently waiting for their members.
+     *
+     * @return The amount of guilds that are currently chunked
+     *
+     * @see    net.dv8tion.jda.core.JDA#getChunkingGuildCount()
+     */
+    default int getChunkingGuildCount()
+    {
+        return this.getShardCache()
+                .stream()
+                .mapToInt(JDA::getChunkingGuildCount)
+                .sum();
+    }
+
+    /**
+     * The rate at which members of chunked guilds are currently received by all shards, in members per second.
+     *
+     * @return The current rate of received members per second
+     *
+     * @see    net.dv8tion.jda.core.JDA#getMemberChunkRate()
+     */
+    default double getMemberChunkRate()
+    {
+        return this.getShardCache()
+                .stream()
+                .mapToDouble(JDA::getMemberChunkRate)
+                .sum();
+    }
+
     /**
      * The average time in milliseconds between all shards that discord took to respond to our last heartbeat.
      * This roughly represents the WebSocket ping of this session. If there is no shard running this wil return {@code -1}.
@@ -74,7 +74,7 @@ public class CallDeleteHandler extends SocketHandler
             getJDA().asClient().getCallUserMap().remove(getJDA().getSelfUser().getIdLong());
         }
 
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
                 new CallDeleteEvent(
                         getJDA(), responseNumber,
                         call));
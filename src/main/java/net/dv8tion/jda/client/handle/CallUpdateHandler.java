@@ -69,7 +69,7 @@ public class CallUpdateHandler extends SocketHandler
         {
             Region oldRegion = call.getRegion();
             call.setRegion(region);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new CallUpdateRegionEvent(
                             getJDA(), responseNumber,
                             call, oldRegion));
@@ -108,7 +108,7 @@ public class CallUpdateHandler extends SocketHandler
 
             if (stoppedRingingUsers.size() > 0 || startedRingingUsers.size() > 0)
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new CallUpdateRingingUsersEvent(
                                 getJDA(), responseNumber,
                                 call, stoppedRingingUsers, startedRingingUsers));
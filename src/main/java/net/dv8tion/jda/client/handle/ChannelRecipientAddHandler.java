@@ -56,7 +56,7 @@ public class ChannelRecipientAddHandler extends SocketHandler
             call.getCallUserMap().put(user.getIdLong(), new CallUserImpl(call, user));
         }
 
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
                 new GroupUserJoinEvent(
                         getJDA(), responseNumber,
                         group, user));
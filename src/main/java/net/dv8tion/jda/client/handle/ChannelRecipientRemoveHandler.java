@@ -70,7 +70,7 @@ public class ChannelRecipientRemoveHandler extends SocketHandler
         {
             getJDA().getFakeUserMap().remove(userId);
         }
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
                 new GroupUserLeaveEvent(
                         getJDA(), responseNumber,
                         group, user));
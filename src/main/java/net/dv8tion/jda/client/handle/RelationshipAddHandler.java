@@ -46,25 +46,25 @@ public class RelationshipAddHandler extends SocketHandler
         switch (relationship.getType())
         {
             case FRIEND:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new FriendAddedEvent(
                                 getJDA(), responseNumber,
                                 relationship));
                 break;
             case BLOCKED:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new UserBlockedEvent(
                                 getJDA(), responseNumber,
                                 relationship));
                 break;
             case INCOMING_FRIEND_REQUEST:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new FriendRequestReceivedEvent(
                                 getJDA(), responseNumber,
                                 relationship));
                 break;
             case OUTGOING_FRIEND_REQUEST:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new FriendRequestSentEvent(
                                 getJDA(), responseNumber,
                                 relationship));
@@ -111,25 +111,25 @@ public class RelationshipRemoveHandler extends SocketHandler
         switch (type)
         {
             case FRIEND:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new FriendRemovedEvent(
                                 getJDA(), responseNumber,
                                 relationship));
                 break;
             case BLOCKED:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new UserUnblockedEvent(
                                 getJDA(), responseNumber,
                                 relationship));
                 break;
             case INCOMING_FRIEND_REQUEST:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new FriendRequestIgnoredEvent(
                                 getJDA(), responseNumber,
                                 relationship));
                 break;
             case OUTGOING_FRIEND_REQUEST:
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new FriendRequestCanceledEvent(
                                 getJDA(), responseNumber,
                                 relationship));
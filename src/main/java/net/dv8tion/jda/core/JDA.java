@@ -25,6 +25,7 @@ import net.dv8tion.jda.core.managers.Presence;
 import net.dv8tion.jda.core.requests.RestAction;
 import net.dv8tion.jda.core.requests.restaction.GuildAction;
 import net.dv8tion.jda.core.utils.cache.CacheView;
+import net.dv8tion.jda.core.utils.cache.EventPolicy;
 import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
 
 import javax.annotation.CheckReturnValue;
@@ -1034,6 +1035,47 @@ public interface JDA
      */
     long getResponseTotal();
 
+    /**
+     * The amount of gateway events that were not dispatched to the event listeners because of the provided policy.
+     * <ul>
+     *     <li>{@link EventPolicy#IGNORE IGNORE} - The events dropped before they were parsed</li>
+     *     <li>{@link EventPolicy#CACHE_ONLY CACHE_ONLY} - The events that only updated the cache</li>
+     *     <li>{@link EventPolicy#CACHE_AND_DISPATCH CACHE_AND_DISPATCH} - Always 0</li>
+     * </ul>
+     * The policies are configured with {@link net.dv8tion.jda.core.JDABuilder#setEventPolicy(String, EventPolicy)
+     * JDABuilder.setEventPolicy(String, EventPolicy)}.
+     *
+     * @param  policy
+     *         The policy
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is {@code null}
+     *
+     * @return The amount of events dropped by this policy since this JDA instance was created
+     */
+    long getDroppedEventCount(EventPolicy policy);
+
+    /**
+     * The amount of guilds that are currently waiting for their members.
+     * <br>Guilds with more members than the large threshold are chunked while they are set up,
+     * this happens for all large guilds when JDA connects, and for guilds that are joined or become available again.
+     *
+     * @return The amount of guilds that are currently chunked
+     *
+     * @see    #getMemberChunkRate()
+     */
+    int getChunkingGuildCount();
+
+    /**
+     * The rate at which members of chunked guilds are currently received, in members per second.
+     * <br>This is 0 while no members are chunked.
+     *
+     * @return The current rate of received members per second
+     *
+     * @see    #getChunkingGuildCount()
+     */
+    double getMemberChunkRate();
+
     /**
      * This value is the maximum amount of time, in seconds, that JDA will wait between reconnect attempts.
      * <br>Can be set using {@link net.dv8tion.jda.core.JDABuilder#setMaxReconnectDelay(int) JDABuilder.setMaxReconnectDelay(int)}.
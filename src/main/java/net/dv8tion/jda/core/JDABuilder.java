@@ -26,10 +26,13 @@ import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.exceptions.AccountTypeException;
 import net.dv8tion.jda.core.hooks.IEventManager;
 import net.dv8tion.jda.core.managers.impl.PresenceImpl;
+import net.dv8tion.jda.core.requests.Requester;
 import net.dv8tion.jda.core.utils.Checks;
 import net.dv8tion.jda.core.utils.SessionController;
 import net.dv8tion.jda.core.utils.SessionControllerAdapter;
 import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import net.dv8tion.jda.core.utils.cache.EventPolicy;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import okhttp3.OkHttpClient;
 
 import javax.security.auth.login.LoginException;
@@ -61,6 +64,7 @@ public class JDABuilder
     protected ExecutorService callbackPool = null;
     protected boolean shutdownCallbackPool = true;
     protected EnumSet<CacheFlag> cacheFlags = EnumSet.allOf(CacheFlag.class);
+    protected Map<String, EventPolicy> eventPolicies = new HashMap<>();
     protected ConcurrentMap<String, String> contextMap = null;
     protected SessionController controller = null;
     protected OkHttpClient.Builder httpClientBuilder = null;
@@ -82,6 +86,15 @@ public class JDABuilder
     protected boolean idle = false;
     protected boolean requestTimeoutRetry = true;
     protected boolean enableCompression = true;
+    protected boolean enableStreamingDecode = false;
+    protected boolean enableNameIndex = false;
+    protected boolean enableAsyncRequests = false;
+    protected int maxAsyncRequests = Requester.DEFAULT_MAX_ASYNC_REQUESTS;
+    protected boolean enableRequestCoalescing = false;
+    protected boolean enableCompactMemberCache = false;
+    protected boolean enableIncrementalChunking = false;
+    protected int guildSetupPoolSize = 0;
+    protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
 
     /**
      * Creates a completely empty JDABuilder.
@@ -231,6 +244,229 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Enable the streaming decoder for the compressed gateway connection.
+     * <br>This inflates each received fragment into a single reusable buffer and parses the JSON
+     * directly from that buffer instead of creating a {@link String} of the full payload first.
+     * This reduces the memory allocated for large payloads such as {@code GUILD_CREATE} and {@code GUILD_MEMBERS_CHUNK}.
+     * <br><b>Default: false</b>
+     *
+     * <p>This has no effect if {@link #setCompressionEnabled(boolean) compression} is disabled.
+     *
+     * @param  enable
+     *         True, if the gateway payloads should be decoded in a streaming fashion
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     *
+     * @see    #setCompressionEnabled(boolean)
+     */
+    public JDABuilder setStreamingDecodeEnabled(boolean enable)
+    {
+        this.enableStreamingDecode = enable;
+        return this;
+    }
+
+    /**
+     * Enable the name index for the entity caches.
+     * <br>This keeps an index of the names of all cached users, guilds, channels, roles, emotes and members,
+     * which makes lookups such as {@link net.dv8tion.jda.core.JDA#getUsersByName(String, boolean) JDA.getUsersByName(String, boolean)}
+     * or {@link net.dv8tion.jda.core.entities.Guild#getMembersByName(String, boolean) Guild.getMembersByName(String, boolean)}
+     * independent of the size of the cache. The index requires additional memory for every cached entity.
+     * <br><b>Default: false</b>
+     *
+     * @param  enable
+     *         True, if the entity caches should be indexed by name
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setNameIndexEnabled(boolean enable)
+    {
+        this.enableNameIndex = enable;
+        return this;
+    }
+
+    /**
+     * Enable asynchronous execution of REST requests.
+     * <br>Requests are sent with {@link okhttp3.Call#enqueue(okhttp3.Callback) Call.enqueue(Callback)} instead of
+     * blocking a thread of the rate-limit pool for the full round trip, the rate-limit buckets are updated from the
+     * response callbacks. This allows many rate-limit buckets to make progress with a small rate-limit pool.
+     * <br>The number of concurrent requests is limited by {@link #setMaxAsyncRequests(int)} instead of the size of the rate-limit pool.
+     * <br><b>Default: false</b>
+     *
+     * @param  enable
+     *         True, if REST requests should be executed asynchronously
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setAsyncRequestsEnabled(boolean enable)
+    {
+        this.enableAsyncRequests = enable;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrent REST requests when {@link #setAsyncRequestsEnabled(boolean) asynchronous requests}
+     * are enabled.
+     * <br>The {@link okhttp3.Dispatcher Dispatcher} of the {@link okhttp3.OkHttpClient OkHttpClient} is configured to run
+     * this many requests per host at once, its overall limit is raised to this value if it is lower.
+     * Without this the dispatcher would run at most 5 requests at once, as all requests go to the same host.
+     * <br><b>Default: {@value net.dv8tion.jda.core.requests.Requester#DEFAULT_MAX_ASYNC_REQUESTS}</b>
+     *
+     * @param  maxRequests
+     *         The maximum number of concurrent requests
+     *
+     * @throws IllegalArgumentException
+     *         If the provided number is not positive
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setMaxAsyncRequests(int maxRequests)
+    {
+        Checks.positive(maxRequests, "Max async requests");
+        this.maxAsyncRequests = maxRequests;
+        return this;
+    }
+
+    /**
+     * Enable coalescing of identical GET requests.
+     * <br>When a GET request is queued while an identical request, from the same kind of RestAction, is still
+     * waiting for its response, the new request is not sent. It is completed with the response of the pending request instead.
+     * This reduces the number of requests and the rate-limit pressure when the same resource is retrieved repeatedly.
+     * <br>To merge modifications into bulk requests use the {@link net.dv8tion.jda.core.requests.RequestBatcher RequestBatcher}.
+     * <br><b>Default: false</b>
+     *
+     * @param  enable
+     *         True, if identical GET requests should be coalesced
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setRequestCoalescingEnabled(boolean enable)
+    {
+        this.enableRequestCoalescing = enable;
+        return this;
+    }
+
+    /**
+     * Enable the compact member cache.
+     * <br>Compact members keep their roles in a small array instead of a {@link java.util.HashSet HashSet},
+     * intern their nicknames and only create their {@link net.dv8tion.jda.core.entities.GuildVoiceState GuildVoiceState}
+     * once it is accessed or differs from the defaults. This considerably reduces the memory used per member
+     * for accounts with very large guilds, at the cost of copying the roles of a member on every role update.
+     * <br>The {@link net.dv8tion.jda.core.utils.cache.MemberCacheView MemberCacheView} and all members behave the same in both modes.
+     * <br><b>Default: false</b>
+     *
+     * @param  enable
+     *         True, if members should be stored in the compact format
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setCompactMemberCacheEnabled(boolean enable)
+    {
+        this.enableCompactMemberCache = enable;
+        return this;
+    }
+
+    /**
+     * Enable incremental chunking of guild members.
+     * <br>By default the members of a guild are kept as received from the gateway until all member chunks of the guild
+     * have been received, only then the guild and its members are built. With incremental chunking the members
+     * of every chunk are built right away and their payloads are released, so the memory used while chunking
+     * large guilds stays close to the memory of the final member cache.
+     * This works best together with {@link #setCompactMemberCacheEnabled(boolean)}.
+     * <br>Guilds that are chunked incrementally are built on the gateway thread, the guild setup pool is only used
+     * for guilds that do not require chunking.
+     * <br><b>Default: false</b>
+     *
+     * @param  enable
+     *         True, if members should be built as soon as their chunk is received
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setIncrementalChunkingEnabled(boolean enable)
+    {
+        this.enableIncrementalChunking = enable;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that build guilds, once all of their members have been received, while connecting or joining guilds.
+     * <br>With a positive pool size the members, roles, channels and emotes of different guilds are built in parallel
+     * while the gateway thread keeps receiving events. Events for a guild are held back until it has been added to the cache,
+     * and the {@link net.dv8tion.jda.core.events.guild.GuildReadyEvent GuildReadyEvent} and
+     * {@link net.dv8tion.jda.core.events.guild.GuildJoinEvent GuildJoinEvent} are fired by the threads of this pool.
+     * <br>Large accounts connect faster with a pool size close to the number of available cores,
+     * the threads of the pool are stopped while no guilds are built.
+     * <br><b>Default: 0</b>, which builds guilds on the gateway thread
+     *
+     * @param  poolSize
+     *         The number of guild setup threads, or 0 to build guilds on the gateway thread
+     *
+     * @throws IllegalArgumentException
+     *         If the provided pool size is negative
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setGuildSetupPoolSize(int poolSize)
+    {
+        Checks.notNegative(poolSize, "Guild setup pool size");
+        this.guildSetupPoolSize = poolSize;
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} which decides
+     * which members are kept in the member cache of their guild.
+     * <br>Accounts in very large guilds can bound their memory with a policy such as
+     * {@link MemberCachePolicy#lru(int) MemberCachePolicy.lru(int)}, members that are not cached can be retrieved
+     * with {@link net.dv8tion.jda.core.entities.Guild#retrieveMemberById(long) Guild.retrieveMemberById(long)}.
+     * <br><b>Default: {@link MemberCachePolicy#ALL MemberCachePolicy.ALL}</b>
+     *
+     * @param  policy
+     *         The member cache policy
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is {@code null}
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     */
+    public JDABuilder setMemberCachePolicy(MemberCachePolicy policy)
+    {
+        Checks.notNull(policy, "MemberCachePolicy");
+        this.memberCachePolicy = policy;
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.utils.cache.EventPolicy EventPolicy} for the provided gateway event type.
+     * <br>The policy is applied before the event is parsed, events that are {@link EventPolicy#IGNORE ignored}
+     * are neither handled nor buffered while their guild is set up.
+     * This can be used to drop frequent events the bot never uses, such as {@code PRESENCE_UPDATE} or {@code TYPING_START}.
+     * <br><b>Default: {@link EventPolicy#CACHE_AND_DISPATCH CACHE_AND_DISPATCH}</b>
+     *
+     * @param  type
+     *         The event type as sent by Discord, for example {@code "PRESENCE_UPDATE"}
+     * @param  policy
+     *         The policy for this event type
+     *
+     * @throws IllegalArgumentException
+     *         If any of the arguments is {@code null} or empty,
+     *         or the policy is not {@link EventPolicy#CACHE_AND_DISPATCH CACHE_AND_DISPATCH}
+     *         for one of the {@link EventPolicy#REQUIRED_TYPES required types}
+     *
+     * @return The JDABuilder instance. Useful for chaining
+     *
+     * @see    net.dv8tion.jda.core.JDA#getDroppedEventCount(EventPolicy)
+     */
+    public JDABuilder setEventPolicy(String type, EventPolicy policy)
+    {
+        Checks.notEmpty(type, "Type");
+        Checks.notNull(policy, "EventPolicy");
+        Checks.check(policy == EventPolicy.CACHE_AND_DISPATCH || !EventPolicy.REQUIRED_TYPES.contains(type),
+            "Required event type %s must use CACHE_AND_DISPATCH", type);
+        this.eventPolicies.put(type, policy);
+        return this;
+    }
+
     /**
      * Whether the Requester should retry when
      * a {@link java.net.SocketTimeoutException SocketTimeoutException} occurs.
@@ -548,6 +784,9 @@ public class JDABuilder
      * Changes the factory used to create {@link net.dv8tion.jda.core.audio.factory.IAudioSendSystem IAudioSendSystem}
      * objects which handle the sending loop for audio packets.
      * <br>By default, JDA uses {@link net.dv8tion.jda.core.audio.factory.DefaultSendFactory DefaultSendFactory}.
+     * <br>Applications with many concurrent audio connections can use the
+     * {@link net.dv8tion.jda.core.audio.factory.MultiplexedSendFactory MultiplexedSendFactory},
+     * which sends the audio of all connections from a few shared threads.
      *
      * @param  factory
      *         The new {@link net.dv8tion.jda.core.audio.factory.IAudioSendFactory IAudioSendFactory} to be used
@@ -900,6 +1139,15 @@ public class JDABuilder
         if (audioSendFactory != null)
             jda.setAudioSendFactory(audioSendFactory);
 
+        jda.setNameIndexEnabled(enableNameIndex);
+        jda.setAsyncRequestsEnabled(enableAsyncRequests, maxAsyncRequests);
+        jda.setRequestCoalescingEnabled(enableRequestCoalescing);
+        jda.setEventPolicies(eventPolicies);
+        jda.setGuildSetupPoolSize(guildSetupPoolSize);
+        jda.setCompactMemberCacheEnabled(enableCompactMemberCache);
+        jda.setIncrementalChunkingEnabled(enableIncrementalChunking);
+        jda.setMemberCachePolicy(memberCachePolicy);
+
         listeners.forEach(jda::addEventListener);
         jda.setStatus(JDA.Status.INITIALIZED);  //This is already set by JDA internally, but this is to make sure the listeners catch it.
 
@@ -910,7 +1158,7 @@ public class JDABuilder
                 .setCacheGame(game)
                 .setCacheIdle(idle)
                 .setCacheStatus(status);
-        jda.login(gateway, shardInfo, enableCompression, true);
+        jda.login(gateway, shardInfo, enableCompression, enableStreamingDecode, true);
         return jda;
     }
 }
@@ -16,7 +16,6 @@
 
 package net.dv8tion.jda.core.audio;
 
-import com.iwebpp.crypto.TweetNaclFast;
 import com.neovisionaries.ws.client.WebSocket;
 import com.sun.jna.ptr.PointerByReference;
 import gnu.trove.map.TIntLongMap;
@@ -32,6 +31,7 @@ import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.entities.VoiceChannel;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.ExceptionEvent;
+import net.dv8tion.jda.core.managers.AudioManager;
 import net.dv8tion.jda.core.managers.impl.AudioManagerImpl;
 import net.dv8tion.jda.core.utils.JDALogger;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
@@ -42,6 +42,7 @@ import tomp2p.opuswrapper.Opus;
 import java.net.*;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
 import java.util.*;
@@ -65,17 +66,19 @@ public class AudioConnection
 
     private final TIntLongMap ssrcMap = new TIntLongHashMap();
     private final TIntObjectMap<Decoder> opusDecoders = new TIntObjectHashMap<>();
-    private final HashMap<User, Queue<AudioData>> combinedQueue = new HashMap<>();
     private final String threadIdentifier;
     private final AudioWebSocket webSocket;
     private final UpstreamReference<JDAImpl> api;
 
     private UpstreamReference<VoiceChannel> channel;
     private PointerByReference opusEncoder;
-    private ScheduledExecutorService combinedAudioExecutor;
+    // direct buffers are passed to opus without copying, both are only used by the sending thread
+    private ShortBuffer pcmBuffer;
+    private ByteBuffer encodedBuffer;
+    private OpusEncoderSettings appliedEncoderSettings;
+    private ScheduledExecutorService receiveClock;
     private IAudioSendSystem sendSystem;
     private Thread receiveThread;
-    private long queueTimeout;
     private boolean sentSilenceOnConnect = false;
 
     private volatile AudioSendHandler sendHandler = null;
@@ -84,7 +87,9 @@ public class AudioConnection
     private volatile boolean couldReceive = false;
     private volatile boolean speaking = false;      //Also acts as "couldProvide"
     private volatile int speakingMode = SpeakingMode.VOICE.getRaw();
+    private volatile OpusEncoderSettings encoderSettings = OpusEncoderSettings.DEFAULT;
     private volatile int silenceCounter = 0;
+    private volatile int maxBufferDepth = AudioManager.DEFAULT_RECEIVE_BUFFER_DEPTH;
 
     public AudioConnection(AudioManagerImpl manager, String endpoint, String sessionId, String token)
     {
@@ -135,9 +140,28 @@ public class AudioConnection
         this.speakingMode = raw;
     }
 
-    public void setQueueTimeout(long queueTimeout)
+    public void setEncoderSettings(OpusEncoderSettings settings)
     {
-        this.queueTimeout = queueTimeout;
+        this.encoderSettings = settings;
+    }
+
+    public void setReceiveBufferDepth(int depth)
+    {
+        //The depth bounds the latency of the jitter buffers, older packets are skipped.
+        this.maxBufferDepth = Math.max(JitterBuffer.DELAY + 1, Math.min(JitterBuffer.CAPACITY, depth));
+    }
+
+    public AudioReceiveStatistics getReceiveStatistics(long userId)
+    {
+        synchronized (opusDecoders)
+        {
+            for (Decoder decoder : opusDecoders.valueCollection())
+            {
+                if (ssrcMap.get(decoder.ssrc) == userId)
+                    return decoder.getStatistics();
+            }
+        }
+        return null;
     }
 
     public VoiceChannel getChannel()
@@ -178,10 +202,10 @@ public class AudioConnection
             receiveThread.interrupt();
             receiveThread = null;
         }
-        if (combinedAudioExecutor != null)
+        if (receiveClock != null)
         {
-            combinedAudioExecutor.shutdownNow();
-            combinedAudioExecutor = null;
+            receiveClock.shutdownNow();
+            receiveClock = null;
         }
         if (opusEncoder != null)
         {
@@ -189,8 +213,7 @@ public class AudioConnection
             opusEncoder = null;
         }
 
-        opusDecoders.valueCollection().forEach(Decoder::close);
-        opusDecoders.clear();
+        closeDecoders();
     }
 
     public WebSocket getWebSocket()
@@ -257,7 +280,11 @@ public class AudioConnection
         });
         if (!modified)
             return;
-        final Decoder decoder = opusDecoders.remove(ssrcRef.get());
+        final Decoder decoder;
+        synchronized (opusDecoders)
+        {
+            decoder = opusDecoders.remove(ssrcRef.get());
+        }
         if (decoder != null) // cleanup decoder
             decoder.close();
     }
@@ -281,7 +308,12 @@ public class AudioConnection
 
             //Only create a decoder if we are actively handling received audio.
             if (receiveThread != null && AudioNatives.ensureOpus())
-                opusDecoders.put(ssrc, new Decoder(ssrc));
+            {
+                synchronized (opusDecoders)
+                {
+                    opusDecoders.put(ssrc, new Decoder(ssrc));
+                }
+            }
         }
     }
 
@@ -320,19 +352,22 @@ public class AudioConnection
             receiveThread.interrupt();
             receiveThread = null;
 
-            if (combinedAudioExecutor != null)
+            if (receiveClock != null)
             {
-                combinedAudioExecutor.shutdownNow();
-                combinedAudioExecutor = null;
+                receiveClock.shutdownNow();
+                receiveClock = null;
             }
 
-            opusDecoders.valueCollection().forEach(Decoder::close);
-            opusDecoders.clear();
+            closeDecoders();
         }
-        else if (receiveHandler != null && !receiveHandler.canReceiveCombined() && combinedAudioExecutor != null)
+    }
+
+    private void closeDecoders()
+    {
+        synchronized (opusDecoders)
         {
-            combinedAudioExecutor.shutdownNow();
-            combinedAudioExecutor = null;
+            opusDecoders.valueCollection().forEach(Decoder::close);
+            opusDecoders.clear();
         }
     }
 
@@ -351,11 +386,15 @@ public class AudioConnection
                 {
                     LOG.error("Couldn't set SO_TIMEOUT for UDP socket", e);
                 }
+                // the packet and decryption buffers are reused for every received packet
+                byte[] buffer = new byte[1920];
+                DatagramPacket receivedPacket = new DatagramPacket(buffer, buffer.length);
+                PacketDecrypter decryptedPacket = new PacketDecrypter();
                 while (!udpSocket.isClosed() && !Thread.currentThread().isInterrupted())
                 {
-                    DatagramPacket receivedPacket = new DatagramPacket(new byte[1920], 1920);
                     try
                     {
+                        receivedPacket.setLength(buffer.length);
                         udpSocket.receive(receivedPacket);
 
                         if (receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined()) && webSocket.getSecretKey() != null)
@@ -365,70 +404,40 @@ public class AudioConnection
                                 couldReceive = true;
                                 sendSilentPackets();
                             }
-                            AudioPacket decryptedPacket = AudioPacket.decryptAudioPacket(webSocket.encryption, receivedPacket, webSocket.getSecretKey());
-                            if (decryptedPacket == null)
+                            if (!decryptedPacket.decrypt(webSocket.encryption, webSocket.getSecretKey(), buffer, receivedPacket.getLength()))
                                 continue;
 
                             int ssrc = decryptedPacket.getSSRC();
                             final long userId = ssrcMap.get(ssrc);
-                            Decoder decoder = opusDecoders.get(ssrc);
                             if (userId == ssrcMap.getNoEntryValue())
                             {
-                                byte[] audio = decryptedPacket.getEncodedAudio();
-
                                 //If the bytes are silence, then this was caused by a User joining the voice channel,
                                 // and as such, we haven't yet received information to pair the SSRC with the UserId.
-                                if (!Arrays.equals(audio, silenceBytes))
+                                if (!decryptedPacket.isSilence())
                                     LOG.debug("Received audio data with an unknown SSRC id. Ignoring");
 
                                 continue;
                             }
-                            if (decoder == null)
-                            {
-                                if (AudioNatives.ensureOpus())
-                                {
-                                    opusDecoders.put(ssrc, decoder = new Decoder(ssrc));
-                                }
-                                else
-                                {
-                                    LOG.error("Unable to decode audio due to missing opus binaries!");
-                                    break;
-                                }
-                            }
-                            if (!decoder.isInOrder(decryptedPacket.getSequence()))
-                            {
-                                LOG.trace("Got out-of-order audio packet. Ignoring.");
-                                continue;
-                            }
-
-                            User user = getJDA().getUserById(userId);
-                            if (user == null)
+                            if (getJDA().getUserById(userId) == null)
                             {
                                 LOG.warn("Received audio data with a known SSRC, but the userId associate with the SSRC is unknown to JDA!");
                                 continue;
                             }
-                            short[] decodedAudio = decoder.decodeFromOpus(decryptedPacket);
-
-                            //If decodedAudio is null, then the Opus decode failed, so throw away the packet.
-                            if (decodedAudio == null)
+                            Decoder decoder;
+                            synchronized (opusDecoders)
                             {
-                                //decoder error logged in method
-                                continue;
-                            }
-                            if (receiveHandler.canReceiveUser())
-                            {
-                                receiveHandler.handleUserAudio(new UserAudio(user, decodedAudio));
+                                decoder = opusDecoders.get(ssrc);
+                                if (decoder == null && AudioNatives.ensureOpus())
+                                    opusDecoders.put(ssrc, decoder = new Decoder(ssrc));
                             }
-                            if (receiveHandler.canReceiveCombined())
+                            if (decoder == null)
                             {
-                                Queue<AudioData> queue = combinedQueue.get(user);
-                                if (queue == null)
-                                {
-                                    queue = new ConcurrentLinkedQueue<>();
-                                    combinedQueue.put(user, queue);
-                                }
-                                queue.add(new AudioData(decodedAudio));
+                                LOG.error("Unable to decode audio due to missing opus binaries!");
+                                break;
                             }
+
+                            //Packets are reordered by the jitter buffer and decoded by the receive clock
+                            decoder.offer(decryptedPacket, maxBufferDepth);
                         }
                         else if (couldReceive)
                         {
@@ -463,119 +472,105 @@ public class AudioConnection
             receiveThread.start();
         }
 
-        if (receiveHandler.canReceiveCombined())
-        {
-            setupCombinedExecutor();
-        }
+        setupReceiveClock();
     }
 
-    private synchronized void setupCombinedExecutor()
+    private synchronized void setupReceiveClock()
     {
-        if (combinedAudioExecutor == null)
+        if (receiveClock == null)
         {
-            combinedAudioExecutor = Executors.newSingleThreadScheduledExecutor((task) ->
+            receiveClock = Executors.newSingleThreadScheduledExecutor((task) ->
             {
-                final Thread t = new Thread(task, threadIdentifier + " Combined Thread");
+                final Thread t = new Thread(task, threadIdentifier + " Receive Clock");
                 t.setDaemon(true);
                 t.setUncaughtExceptionHandler((thread, throwable) ->
                 {
-                    LOG.error("I have no idea how, but there was an uncaught exception in the combinedAudioExecutor", throwable);
+                    LOG.error("I have no idea how, but there was an uncaught exception in the receiveClock", throwable);
                     JDAImpl api = getJDA();
                     api.getEventManager().handle(new ExceptionEvent(api, throwable, true));
                 });
                 return t;
             });
-            combinedAudioExecutor.scheduleAtFixedRate(() ->
+            //Every 20ms each jitter buffer releases one packet, which is decoded, concealed or recovered
+            // and then provided to the handler as user audio and as part of the combined audio.
+            List<Decoder> decoders = new ArrayList<>();
+            List<User> users = new ArrayList<>();
+            AudioMixer mixer = new AudioMixer();
+            //Silence is never modified, a single instance is provided whenever nobody speaks
+            CombinedAudio silence = new CombinedAudio(Collections.emptyList(), new short[AudioMixer.FRAME_LENGTH]);
+            receiveClock.scheduleAtFixedRate(() ->
             {
                 getJDA().setContext();
                 try
                 {
-                    List<User> users = new LinkedList<>();
-                    List<short[]> audioParts = new LinkedList<>();
-                    if (receiveHandler != null && receiveHandler.canReceiveCombined())
+                    AudioReceiveHandler handler = receiveHandler;
+                    boolean receiveUser = handler != null && handler.canReceiveUser();
+                    boolean receiveCombined = handler != null && handler.canReceiveCombined();
+                    synchronized (opusDecoders)
+                    {
+                        decoders.addAll(opusDecoders.valueCollection());
+                    }
+                    for (Decoder decoder : decoders)
                     {
-                        long currentTime = System.currentTimeMillis();
-                        for (Map.Entry<User, Queue<AudioData>> entry : combinedQueue.entrySet())
+                        int samples = decoder.poll();
+                        //If samples is negative, the user is not speaking or the Opus decode failed.
+                        if (samples < 0 || !(receiveUser || receiveCombined))
+                            continue;
+                        User user = getJDA().getUserById(ssrcMap.get(decoder.ssrc));
+                        if (user == null)
+                            continue;
+                        if (receiveUser)
+                        {
+                            handler.handleUserAudio(new UserAudio(user, decoder.toArray(samples)));
+                        }
+                        if (receiveCombined)
                         {
-                            User user = entry.getKey();
-                            Queue<AudioData> queue = entry.getValue();
-
-                            if (queue.isEmpty())
-                                continue;
-
-                            AudioData audioData = queue.poll();
-                            //Make sure the audio packet is younger than 100ms
-                            while (audioData != null && currentTime - audioData.time > queueTimeout)
-                            {
-                                audioData = queue.poll();
-                            }
-
-                            //If none of the audio packets were younger than 100ms, then there is nothing to add.
-                            if (audioData == null)
-                            {
-                                continue;
-                            }
                             users.add(user);
-                            audioParts.add(audioData.data);
+                            mixer.add(decoder.getDecoded(), samples * OPUS_CHANNEL_COUNT);
                         }
+                    }
+                    decoders.clear();
 
-                        if (!audioParts.isEmpty())
+                    if (receiveCombined)
+                    {
+                        if (!mixer.isEmpty())
                         {
-                            int audioLength = audioParts.stream().mapToInt(it -> it.length).max().getAsInt();
-                            short[] mix = new short[1920];  //960 PCM samples for each channel
-                            int sample;
-                            for (int i = 0; i < audioLength; i++)
-                            {
-                                sample = 0;
-                                for (Iterator<short[]> iterator = audioParts.iterator(); iterator.hasNext(); )
-                                {
-                                    short[] audio = iterator.next();
-                                    if (i < audio.length)
-                                        sample += audio[i];
-                                    else
-                                        iterator.remove();
-                                }
-                                if (sample > Short.MAX_VALUE)
-                                    mix[i] = Short.MAX_VALUE;
-                                else if (sample < Short.MIN_VALUE)
-                                    mix[i] = Short.MIN_VALUE;
-                                else
-                                    mix[i] = (short) sample;
-                            }
-                            receiveHandler.handleCombinedAudio(new CombinedAudio(users, mix));
+                            //The mix and the users are kept by the CombinedAudio, which the handler may store
+                            short[] mix = new short[AudioMixer.FRAME_LENGTH];
+                            mixer.mix(mix);
+                            CombinedAudio combinedAudio = new CombinedAudio(new ArrayList<>(users), mix);
+                            users.clear();
+                            handler.handleCombinedAudio(combinedAudio);
                         }
                         else
                         {
                             //No audio to mix, provide 20 MS of silence. (960 PCM samples for each channel)
-                            receiveHandler.handleCombinedAudio(new CombinedAudio(Collections.emptyList(), new short[1920]));
+                            handler.handleCombinedAudio(silence);
                         }
                     }
                 }
                 catch (Exception e)
                 {
-                    LOG.error("There was some unexpected exception in the combinedAudioExecutor!", e);
+                    decoders.clear();
+                    users.clear();
+                    mixer.reset();
+                    LOG.error("There was some unexpected exception in the receiveClock!", e);
                 }
-            }, 0, 20, TimeUnit.MILLISECONDS);
+            }, 0, OPUS_FRAME_TIME_AMOUNT, TimeUnit.MILLISECONDS);
         }
     }
 
-    private byte[] encodeToOpus(byte[] rawAudio)
+    private ByteBuffer encodeToOpus(ShortBuffer pcm)
     {
-        ShortBuffer nonEncodedBuffer = ShortBuffer.allocate(rawAudio.length / 2);
-        ByteBuffer encoded = ByteBuffer.allocate(4096);
-        for (int i = 0; i < rawAudio.length; i += 2)
-        {
-            int firstByte =  (0x000000FF & rawAudio[i]);      //Promotes to int and handles the fact that it was unsigned.
-            int secondByte = (0x000000FF & rawAudio[i + 1]);  //
-
-            //Combines the 2 bytes into a short. Opus deals with unsigned shorts, not bytes.
-            short toShort = (short) ((firstByte << 8) | secondByte);
-
-            nonEncodedBuffer.put(toShort);
-        }
-        ((Buffer) nonEncodedBuffer).flip();
-
-        int result = Opus.INSTANCE.opus_encode(opusEncoder, nonEncodedBuffer, OPUS_FRAME_SIZE, encoded, encoded.capacity());
+        //Opus always encodes a complete frame, missing samples are silence.
+        while (pcm.hasRemaining())
+            pcm.put((short) 0);
+        ((Buffer) pcm).flip();
+
+        if (encodedBuffer == null)
+            encodedBuffer = ByteBuffer.allocateDirect(4096);
+        ((Buffer) encodedBuffer).clear();
+        int result = Opus.INSTANCE.opus_encode(opusEncoder, pcm, OPUS_FRAME_SIZE, encodedBuffer, encodedBuffer.capacity());
         if (result <= 0)
         {
             LOG.error("Received error code from opus_encode(...): {}", result);
@@ -584,9 +579,8 @@ public class AudioConnection
 
         //ENCODING STOPS HERE
 
-        byte[] audio = new byte[result];
-        encoded.get(audio);
-        return audio;
+        ((Buffer) encodedBuffer).limit(result);
+        return encodedBuffer;
     }
 
     private void setSpeaking(int raw)
@@ -617,10 +611,8 @@ public class AudioConnection
     {
         private char seq = 0;           //Sequence of audio packets. Used to determine the order of the packets.
         private int timestamp = 0;      //Used to sync up our packets within the same timeframe of other people talking.
-        private long nonce = 0;
-        private ByteBuffer buffer = ByteBuffer.allocate(512);
-        private ByteBuffer encryptionBuffer = ByteBuffer.allocate(512);
-        private final byte[] nonceBuffer = new byte[TweetNaclFast.SecretBox.nonceLength];
+        private final PacketEncrypter encrypter = new PacketEncrypter();
+        private DatagramPacket packet;
 
         @Override
         public String getIdentifier()
@@ -662,22 +654,38 @@ public class AudioConnection
                 cond: if (sentSilenceOnConnect && sendHandler != null && sendHandler.canProvide())
                 {
                     silenceCounter = -1;
-                    byte[] rawAudio = sendHandler.provide20MsAudio();
-                    if (rawAudio == null || rawAudio.length == 0)
+                    AudioSendHandler handler = sendHandler;
+                    ShortBuffer pcm = null;
+                    byte[] rawAudio = null;
+                    if (handler instanceof PCMAudioSendHandler)
+                    {
+                        pcm = getPcmBuffer();
+                        ((PCMAudioSendHandler) handler).provide20MsAudio(pcm);
+                    }
+                    else
+                    {
+                        rawAudio = handler.provide20MsAudio();
+                    }
+
+                    if (pcm != null ? pcm.position() == 0 : rawAudio == null || rawAudio.length == 0)
                     {
                         if (speaking && changeTalking)
                             setSpeaking(0);
                     }
                     else
                     {
-                        if (!sendHandler.isOpus())
+                        if (rawAudio != null && handler.isOpus())
+                        {
+                            nextPacket = getPacketData(rawAudio);
+                        }
+                        else
                         {
-                            rawAudio = encodeAudio(rawAudio);
-                            if (rawAudio == null)
+                            ByteBuffer encoded = encodeAudio(pcm != null ? pcm : toPcm(rawAudio));
+                            if (encoded == null)
                                 break cond;
+                            nextPacket = getPacketData(encoded);
                         }
 
-                        nextPacket = getPacketData(rawAudio);
                         if (!speaking)
                             setSpeaking(speakingMode);
 
@@ -717,7 +725,7 @@ public class AudioConnection
             return nextPacket;
         }
 
-        private byte[] encodeAudio(byte[] rawAudio)
+        private ByteBuffer encodeAudio(ShortBuffer pcm)
         {
             if (opusEncoder == null)
             {
@@ -735,8 +743,48 @@ public class AudioConnection
                     LOG.error("Received error status from opus_encoder_create(...): {}", error.get());
                     return null;
                 }
+                appliedEncoderSettings = null;
+            }
+            if (appliedEncoderSettings != encoderSettings)
+                applyEncoderSettings();
+            return encodeToOpus(pcm);
+        }
+
+        private void applyEncoderSettings()
+        {
+            OpusEncoderSettings settings = encoderSettings;
+            setEncoderOption(Opus.OPUS_SET_BITRATE_REQUEST, settings.getBitrate());
+            setEncoderOption(Opus.OPUS_SET_COMPLEXITY_REQUEST, settings.getComplexity());
+            setEncoderOption(Opus.OPUS_SET_INBAND_FEC_REQUEST, settings.isInbandFec() ? 1 : 0);
+            setEncoderOption(Opus.OPUS_SET_PACKET_LOSS_PERC_REQUEST, settings.getPacketLossPercentage());
+            appliedEncoderSettings = settings;
+        }
+
+        private void setEncoderOption(int request, int value)
+        {
+            int result = Opus.INSTANCE.opus_encoder_ctl(opusEncoder, request, value);
+            if (result != Opus.OPUS_OK)
+                LOG.warn("Received error code from opus_encoder_ctl(...) for request {}: {}", request, result);
+        }
+
+        private ShortBuffer getPcmBuffer()
+        {
+            if (pcmBuffer == null)
+                pcmBuffer = ByteBuffer.allocateDirect(OPUS_FRAME_SIZE * OPUS_CHANNEL_COUNT * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+            ((Buffer) pcmBuffer).clear();
+            return pcmBuffer;
+        }
+
+        private ShortBuffer toPcm(byte[] rawAudio)
+        {
+            ShortBuffer pcm = getPcmBuffer();
+            int samples = Math.min(rawAudio.length / 2, pcm.capacity());
+            for (int i = 0; i < samples; i++)
+            {
+                //Combines the 2 big endian bytes into a short. Opus deals with shorts in the native byte order.
+                pcm.put((short) ((rawAudio[i * 2] << 8) | (rawAudio[i * 2 + 1] & 0xFF)));
             }
-            return encodeToOpus(rawAudio);
+            return pcm;
         }
 
         private DatagramPacket getDatagramPacket(ByteBuffer b)
@@ -744,51 +792,26 @@ public class AudioConnection
             byte[] data = b.array();
             int offset = b.arrayOffset();
             int position = b.position();
-            return new DatagramPacket(data, offset, position - offset, webSocket.getAddress());
-        }
-
-        private ByteBuffer getPacketData(byte[] rawAudio)
-        {
-            ensureEncryptionBuffer(rawAudio);
-            AudioPacket packet = new AudioPacket(encryptionBuffer, seq, timestamp, webSocket.getSSRC(), rawAudio);
-            int nlen;
-            switch (webSocket.encryption)
+            if (packet == null)
             {
-                case XSALSA20_POLY1305:
-                    nlen = 0;
-                    break;
-                case XSALSA20_POLY1305_LITE:
-                    if (nonce >= MAX_UINT_32)
-                        loadNextNonce(nonce = 0);
-                    else
-                        loadNextNonce(++nonce);
-                    nlen = 4;
-                    break;
-                case XSALSA20_POLY1305_SUFFIX:
-                    ThreadLocalRandom.current().nextBytes(nonceBuffer);
-                    nlen = TweetNaclFast.SecretBox.nonceLength;
-                    break;
-                default:
-                    throw new IllegalStateException("Encryption mode [" + webSocket.encryption + "] is not supported!");
+                packet = new DatagramPacket(data, offset, position - offset, webSocket.getAddress());
             }
-            return buffer = packet.asEncryptedPacket(buffer, webSocket.getSecretKey(), nonceBuffer, nlen);
+            else
+            {
+                packet.setData(data, offset, position - offset);
+                packet.setSocketAddress(webSocket.getAddress());
+            }
+            return packet;
         }
 
-        private void ensureEncryptionBuffer(byte[] data)
+        private ByteBuffer getPacketData(byte[] rawAudio)
         {
-            ((Buffer) encryptionBuffer).clear();
-            int currentCapacity = encryptionBuffer.remaining();
-            int requiredCapacity = AudioPacket.RTP_HEADER_BYTE_LENGTH + data.length;
-            if (currentCapacity < requiredCapacity)
-                encryptionBuffer = ByteBuffer.allocate(requiredCapacity);
+            return encrypter.encrypt(webSocket.encryption, webSocket.getSecretKey(), seq, timestamp, webSocket.getSSRC(), rawAudio, rawAudio.length);
         }
 
-        private void loadNextNonce(long nonce)
+        private ByteBuffer getPacketData(ByteBuffer encodedAudio)
         {
-            nonceBuffer[0] = (byte) ((nonce >>> 24) & 0xFF);
-            nonceBuffer[1] = (byte) ((nonce >>> 16) & 0xFF);
-            nonceBuffer[2] = (byte) ((nonce >>>  8) & 0xFF);
-            nonceBuffer[3] = (byte) ( nonce         & 0xFF);
+            return encrypter.encrypt(webSocket.encryption, webSocket.getSecretKey(), seq, timestamp, webSocket.getSSRC(), encodedAudio);
         }
 
         @Override
@@ -808,16 +831,4 @@ public class AudioConnection
             webSocket.close(ConnectionStatus.ERROR_LOST_CONNECTION);
         }
     }
-
-    private static class AudioData
-    {
-        private final long time;
-        private final short[] data;
-
-        public AudioData(short[] data)
-        {
-            this.time = System.currentTimeMillis();
-            this.data = data;
-        }
-    }
 }
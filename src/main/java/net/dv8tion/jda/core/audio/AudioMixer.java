@@ -0,0 +1,83 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import java.nio.Buffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+//Helper class delegated to AudioConnection
+// Mixes the decoded audio of all speaking users on the receive clock. The samples are summed in int precision
+// into a preallocated accumulator and clipped once per frame, these plain loops over arrays are vectorized by the JIT.
+// Only used by the receive clock thread.
+class AudioMixer
+{
+    static final int FRAME_LENGTH = AudioConnection.OPUS_FRAME_SIZE * AudioConnection.OPUS_CHANNEL_COUNT;
+
+    private final int[] accumulator = new int[FRAME_LENGTH];
+    private final short[] frame = new short[FRAME_LENGTH];
+    private int sources;
+
+    /**
+     * Adds the decoded samples to the mix.
+     *
+     * @param  pcm
+     *         The buffer of interleaved stereo samples starting at index 0
+     * @param  length
+     *         The number of samples in the buffer
+     */
+    void add(ShortBuffer pcm, int length)
+    {
+        length = Math.min(length, FRAME_LENGTH);
+        ((Buffer) pcm).position(0);
+        pcm.get(frame, 0, length);
+
+        int[] accumulator = this.accumulator;
+        short[] frame = this.frame;
+        for (int i = 0; i < length; i++)
+            accumulator[i] += frame[i];
+        sources++;
+    }
+
+    boolean isEmpty()
+    {
+        return sources == 0;
+    }
+
+    /**
+     * Writes the clipped mix to the provided array and resets the mixer for the next frame.
+     *
+     * @param  output
+     *         The array for the mixed samples, with room for {@link #FRAME_LENGTH} samples
+     */
+    void mix(short[] output)
+    {
+        int[] accumulator = this.accumulator;
+        for (int i = 0; i < FRAME_LENGTH; i++)
+        {
+            output[i] = (short) Math.min(Short.MAX_VALUE, Math.max(Short.MIN_VALUE, accumulator[i]));
+            accumulator[i] = 0;
+        }
+        sources = 0;
+    }
+
+    void reset()
+    {
+        Arrays.fill(accumulator, 0);
+        sources = 0;
+    }
+}
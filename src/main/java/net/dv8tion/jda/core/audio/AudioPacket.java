@@ -76,17 +76,8 @@ public class AudioPacket
         this.timestamp = buffer.getInt(TIMESTAMP_INDEX);
         this.ssrc = buffer.getInt(SSRC_INDEX);
 
-        final byte profile = buffer.get(0);
         final byte[] data = buffer.array();
-        final boolean hasExtension = (profile & 0x10) != 0; // extension bit is at 000X
-        final byte cc = (byte) (profile & 0x0f);            // CSRC count - we ignore this for now
-        final int csrcLength = cc * 4;                      // defines count of 4-byte words
-        // it seems as if extensions only exist without a csrc list being present
-        final short extension = hasExtension ? getShort(data, RTP_HEADER_BYTE_LENGTH + csrcLength) : 0;
-
-        int offset = RTP_HEADER_BYTE_LENGTH + csrcLength;
-        if (hasExtension && extension == RTP_DISCORD_EXTENSION)
-            offset = getPayloadOffset(data, csrcLength);
+        final int offset = getPayloadOffset(data, 0);
 
         this.encodedAudio = new byte[data.length - offset];
         System.arraycopy(data, offset, this.encodedAudio, 0, this.encodedAudio.length);
@@ -106,22 +97,37 @@ public class AudioPacket
         this.rawPacket = generateRawPacket(buffer, seq, timestamp, ssrc, encodedAudio);
     }
 
-    private int getPayloadOffset(byte[] data, int csrcLength)
+    // offset of the payload relative to the start of the packet at the provided index
+    static int getPayloadOffset(byte[] data, int start)
+    {
+        final byte profile = data[start];
+        final boolean hasExtension = (profile & 0x10) != 0; // extension bit is at 000X
+        final byte cc = (byte) (profile & 0x0f);            // CSRC count - we ignore this for now
+        final int csrcLength = cc * 4;                      // defines count of 4-byte words
+        // it seems as if extensions only exist without a csrc list being present
+        final short extension = hasExtension ? getShort(data, start + RTP_HEADER_BYTE_LENGTH + csrcLength) : 0;
+
+        if (hasExtension && extension == RTP_DISCORD_EXTENSION)
+            return getExtendedPayloadOffset(data, start, csrcLength);
+        return RTP_HEADER_BYTE_LENGTH + csrcLength;
+    }
+
+    private static int getExtendedPayloadOffset(byte[] data, int start, int csrcLength)
     {
         // headerLength defines number of 4-byte words in the extension
-        final short headerLength = getShort(data, RTP_HEADER_BYTE_LENGTH + 2 + csrcLength);
+        final short headerLength = getShort(data, start + RTP_HEADER_BYTE_LENGTH + 2 + csrcLength);
         int i = RTP_HEADER_BYTE_LENGTH // RTP header = 12 bytes
                 + 4                    // header which defines a profile and length each 2-bytes = 4 bytes
                 + csrcLength           // length of CSRC list (this seems to be always 0 when an extension exists)
                 + headerLength * 4;    // number of 4-byte words in extension = len * 4 bytes
 
         // strip excess 0 bytes
-        while (data[i] == 0)
+        while (data[start + i] == 0)
             i++;
         return i;
     }
 
-    private short getShort(byte[] arr, int offset)
+    static short getShort(byte[] arr, int offset)
     {
         return (short) ((arr[offset] & 0xff) << 8 | arr[offset + 1] & 0xff);
     }
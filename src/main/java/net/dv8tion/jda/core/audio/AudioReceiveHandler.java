@@ -66,9 +66,11 @@ public interface AudioReceiveHandler
 
     /**
      * If {@link #canReceiveUser()} returns true, JDA will provide a {@link net.dv8tion.jda.core.audio.UserAudio UserAudio}
-     * object to this method <b>every time the user speaks.</b> Continuing with the last statement: This method is only fired
-     * when discord provides us audio data which is very different from the scheduled firing time of
-     * {@link #handleCombinedAudio(CombinedAudio)}.
+     * object to this method <b>every 20 milliseconds while the user speaks.</b> Received packets are buffered briefly to
+     * restore their order, so this method is fired on the same 20 millisecond schedule as
+     * {@link #handleCombinedAudio(CombinedAudio)}, with a delay of about 60 milliseconds. Packets that were lost are
+     * recovered or concealed by the decoder, see {@link net.dv8tion.jda.core.managers.AudioManager#getReceiveStatistics(net.dv8tion.jda.core.entities.User)
+     * AudioManager.getReceiveStatistics(User)}.
      * <p>
      * The {@link net.dv8tion.jda.core.audio.UserAudio UserAudio} object provided to this method will contain the
      * {@link net.dv8tion.jda.core.entities.User User} that spoke along with <b>only</b> the audio data sent by the specific user.
@@ -0,0 +1,112 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+/**
+ * Snapshot of the receive statistics of one user in an audio connection.
+ * <br>Received audio is buffered for a few packets to reorder packets which arrive out of order.
+ * Packets which never arrive are counted as lost, and are either recovered from the forward error correction data
+ * of the following packet or concealed by the Opus decoder.
+ *
+ * @see net.dv8tion.jda.core.managers.AudioManager#getReceiveStatistics(net.dv8tion.jda.core.entities.User)
+ */
+public final class AudioReceiveStatistics
+{
+    private final long received;
+    private final long late;
+    private final long lost;
+    private final long concealed;
+    private final long recovered;
+    private final int buffered;
+
+    AudioReceiveStatistics(long received, long late, long lost, long concealed, long recovered, int buffered)
+    {
+        this.received = received;
+        this.late = late;
+        this.lost = lost;
+        this.concealed = concealed;
+        this.recovered = recovered;
+        this.buffered = buffered;
+    }
+
+    /**
+     * The number of packets received from the user.
+     *
+     * @return The number of received packets
+     */
+    public long getReceivedPackets()
+    {
+        return received;
+    }
+
+    /**
+     * The number of received packets which were dropped because they arrived after their playout time.
+     *
+     * @return The number of late packets
+     */
+    public long getLatePackets()
+    {
+        return late;
+    }
+
+    /**
+     * The number of packets which were missing at their playout time.
+     *
+     * @return The number of lost packets
+     */
+    public long getLostPackets()
+    {
+        return lost;
+    }
+
+    /**
+     * The number of lost packets which were replaced by the packet loss concealment of the Opus decoder.
+     *
+     * @return The number of concealed packets
+     */
+    public long getConcealedPackets()
+    {
+        return concealed;
+    }
+
+    /**
+     * The number of lost packets which were recovered from the forward error correction data of the following packet.
+     *
+     * @return The number of recovered packets
+     */
+    public long getRecoveredPackets()
+    {
+        return recovered;
+    }
+
+    /**
+     * The number of packets currently waiting for their playout.
+     *
+     * @return The number of buffered packets
+     */
+    public int getBufferedPackets()
+    {
+        return buffered;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AudioReceiveStatistics(received=" + received + ", late=" + late + ", lost=" + lost
+            + ", concealed=" + concealed + ", recovered=" + recovered + ", buffered=" + buffered + ")";
+    }
+}
@@ -20,6 +20,8 @@ import javax.sound.sampled.AudioFormat;
 
 /**
  * Interface used to send audio to Discord through JDA.
+ * <br>Handlers which produce PCM samples themselves can implement {@link PCMAudioSendHandler} instead,
+ * which writes the samples directly into the buffer of the Opus encoder.
  */
 public interface AudioSendHandler
 {
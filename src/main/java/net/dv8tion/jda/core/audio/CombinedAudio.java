@@ -17,6 +17,7 @@
 package net.dv8tion.jda.core.audio;
 
 import net.dv8tion.jda.core.entities.User;
+import net.dv8tion.jda.core.utils.Checks;
 
 import java.util.Collections;
 import java.util.List;
@@ -64,21 +65,56 @@ public class CombinedAudio
      */
     public byte[] getAudioData(double volume)
     {
-        short s;
-        int byteIndex = 0;
         byte[] audio = new byte[audioData.length * 2];
-        for (int i = 0; i < audioData.length; i++)
-        {
-            s = audioData[i];
-            if (volume != 1.0)
-                s = (short) (s * volume);
+        getAudioData(volume, audio, 0);
+        return audio;
+    }
+
+    /**
+     * Writes 20 Milliseconds of combined audio data in 48KHz 16bit stereo signed BigEndian PCM into the provided array.
+     * <br>This allows handlers to reuse an array, or to write directly into a larger recording buffer,
+     * instead of allocating a new array for every packet with {@link #getAudioData(double)}.
+     * <p>
+     * The output volume of the data can be modified by the provided {@code `volume`} parameter. {@code `1.0`} is considered to be 100% volume.
+     *
+     * @param  volume
+     *         Value used to modify the "volume" of the returned audio data. 1.0 is normal volume.
+     * @param  output
+     *         The array to write the PCM data to
+     * @param  offset
+     *         The index of the output array to start writing at
+     *
+     * @throws IllegalArgumentException
+     *         If the output array is null or has no room for the audio data at the provided offset
+     *
+     * @return The number of written bytes, this is always 3840 for 20 milliseconds of audio
+     */
+    public int getAudioData(double volume, byte[] output, int offset)
+    {
+        Checks.notNull(output, "Output");
+        final short[] audioData = this.audioData;
+        final int length = audioData.length * 2;
+        Checks.check(offset >= 0 && offset <= output.length - length,
+            "Output array has no room for %d bytes at offset %d", length, offset);
 
-            byte leftByte = (byte) ((0x000000FF) & (s >> 8));
-            byte rightByte =  (byte) (0x000000FF & s);
-            audio[byteIndex] = leftByte;
-            audio[byteIndex + 1] = rightByte;
-            byteIndex += 2;
+        if (volume == 1.0)
+        {
+            for (int i = 0; i < audioData.length; i++)
+            {
+                short s = audioData[i];
+                output[offset + i * 2] = (byte) (s >> 8);
+                output[offset + i * 2 + 1] = (byte) s;
+            }
         }
-        return audio;
+        else
+        {
+            for (int i = 0; i < audioData.length; i++)
+            {
+                short s = (short) (audioData[i] * volume);
+                output[offset + i * 2] = (byte) (s >> 8);
+                output[offset + i * 2 + 1] = (byte) s;
+            }
+        }
+        return length;
     }
 }
@@ -19,6 +19,9 @@ package net.dv8tion.jda.core.audio;
 import com.sun.jna.ptr.PointerByReference;
 import tomp2p.opuswrapper.Opus;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
 
@@ -31,6 +34,9 @@ public class Decoder
     protected char lastSeq;
     protected int lastTimestamp;
     protected PointerByReference opusDecoder;
+    // reused for every packet, opus writes directly into the native memory of this buffer
+    protected final ShortBuffer decoded = ByteBuffer.allocateDirect(4096 * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+    protected final JitterBuffer jitterBuffer = new JitterBuffer();
 
     protected Decoder(int ssrc)
     {
@@ -57,10 +63,9 @@ public class Decoder
     protected short[] decodeFromOpus(AudioPacket decryptedPacket)
     {
         int result;
-        ShortBuffer decoded = ShortBuffer.allocate(4096);
         if (decryptedPacket == null)    //Flag for packet-loss
         {
-            result = Opus.INSTANCE.opus_decode(opusDecoder, null, 0, decoded, AudioConnection.OPUS_FRAME_SIZE, 0);
+            result = decode(null, 0, decoded);
             lastSeq = (char) -1;
             lastTimestamp = -1;
         }
@@ -70,23 +75,121 @@ public class Decoder
             this.lastTimestamp = decryptedPacket.getTimestamp();
 
             byte[] encodedAudio = decryptedPacket.getEncodedAudio();
+            result = decode(encodedAudio, encodedAudio.length, decoded);
+        }
+        return toArray(result);
+    }
+
+    protected void offer(PacketDecrypter decryptedPacket, int maxDepth)
+    {
+        jitterBuffer.offer(decryptedPacket.getSequence(), decryptedPacket.getAudio(), decryptedPacket.getAudioLength(), maxDepth);
+    }
 
-            result = Opus.INSTANCE.opus_decode(opusDecoder, encodedAudio, encodedAudio.length, decoded,
-                    AudioConnection.OPUS_FRAME_SIZE, 0);
+    /**
+     * Releases the next 20 milliseconds of audio from the jitter buffer, called every 20 milliseconds.
+     * <br>A lost packet is recovered from the forward error correction data of the following packet if possible,
+     * otherwise it is concealed by the decoder.
+     *
+     * <p>The decoded samples are left in the reused buffer of this decoder, see {@link #getDecoded()}.
+     *
+     * @return The number of decoded samples per channel, or a negative value if the user is not speaking
+     *         or the packet could not be decoded
+     */
+    protected int poll()
+    {
+        int result;
+        switch (jitterBuffer.poll())
+        {
+            case JitterBuffer.PACKET:
+                result = decode(jitterBuffer.getOutput(), jitterBuffer.getOutputLength(), decoded, false);
+                break;
+            case JitterBuffer.LOST_NEXT_AVAILABLE:
+                result = decode(jitterBuffer.getOutput(), jitterBuffer.getOutputLength(), decoded, true);
+                if (result >= 0)
+                {
+                    jitterBuffer.onRecovered();
+                    break;
+                }
+                // the following packet could not be decoded, fall back to concealment
+            case JitterBuffer.LOST:
+                result = decode(null, 0, decoded, false);
+                if (result >= 0)
+                    jitterBuffer.onConcealed();
+                break;
+            default:
+                return -1;
         }
+        return result;
+    }
+
+    protected ShortBuffer getDecoded()
+    {
+        return decoded;
+    }
 
-        //If we get a result that is less than 0, then there was an error. Return null as a signifier.
+    protected short[] toArray(int result)
+    {
+        //Return null as a signifier for errors.
         if (result < 0)
-        {
-            handleDecodeError(result);
             return null;
-        }
 
         short[] audio = new short[result * 2];
+        ((Buffer) decoded).position(0);
         decoded.get(audio);
         return audio;
     }
 
+    protected AudioReceiveStatistics getStatistics()
+    {
+        return jitterBuffer.getStatistics();
+    }
+
+    /**
+     * Decodes the opus packet into the provided buffer.
+     *
+     * @param  encodedAudio
+     *         The opus packet starting at index 0, or {@code null} to conceal a lost packet
+     * @param  length
+     *         The length of the opus packet
+     * @param  pcm
+     *         The buffer for the interleaved stereo samples, this should be a direct buffer
+     *         with room for at least {@link AudioConnection#OPUS_FRAME_SIZE} samples per channel
+     *
+     * @return The number of samples per channel, or a negative opus error code
+     */
+    protected int decode(byte[] encodedAudio, int length, ShortBuffer pcm)
+    {
+        return decode(encodedAudio, length, pcm, false);
+    }
+
+    /**
+     * Decodes the opus packet into the provided buffer.
+     *
+     * @param  encodedAudio
+     *         The opus packet starting at index 0, or {@code null} to conceal a lost packet
+     * @param  length
+     *         The length of the opus packet
+     * @param  pcm
+     *         The buffer for the interleaved stereo samples, this should be a direct buffer
+     *         with room for at least {@link AudioConnection#OPUS_FRAME_SIZE} samples per channel
+     * @param  fec
+     *         True, to decode the forward error correction data of the packet, which restores the previous packet
+     *
+     * @return The number of samples per channel, or a negative opus error code
+     */
+    protected synchronized int decode(byte[] encodedAudio, int length, ShortBuffer pcm, boolean fec)
+    {
+        //The decoder is closed when the user leaves, which may happen while audio is still being decoded.
+        if (opusDecoder == null)
+            return Opus.OPUS_INVALID_STATE;
+        ((Buffer) pcm).clear();
+        int result = Opus.INSTANCE.opus_decode(opusDecoder, encodedAudio, length, pcm, AudioConnection.OPUS_FRAME_SIZE, fec ? 1 : 0);
+        //If we get a result that is less than 0, then there was an error.
+        if (result < 0)
+            handleDecodeError(result);
+        return result;
+    }
+
     private void handleDecodeError(int result)
     {
         StringBuilder b = new StringBuilder("Decoder failed to decode audio from user with code ");
@@ -0,0 +1,242 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+//Helper class delegated to Decoder
+// Reorders the opus packets of one SSRC by their RTP sequence and releases one packet per 20ms tick.
+// Playout starts once DELAY packets are buffered and stops when the buffer runs empty, which is what happens
+// when a user stops speaking. Until playout starts, it begins at the earliest buffered packet, so packets at the
+// start of a talk spurt may arrive out of order. Packets at or before the last sequence passed by the playout are late.
+// Packets missing while the buffer still holds later packets are reported as lost,
+// the decoder conceals them. Packets are copied into slots indexed by sequence, which are reused.
+class JitterBuffer
+{
+    // number of packets buffered before playout starts, this is the added latency
+    static final int DELAY = 3;
+    static final int CAPACITY = 64;
+
+    static final int EMPTY = 0;
+    static final int PACKET = 1;
+    static final int LOST = 2;
+    static final int LOST_NEXT_AVAILABLE = 3;
+
+    private final byte[][] packets = new byte[CAPACITY][];
+    private final int[] lengths = new int[CAPACITY];
+    private final boolean[] present = new boolean[CAPACITY];
+    private byte[] output = new byte[1024];
+    private int outputLength;
+
+    private char nextSeq;
+    private char lastSeq;    // the highest buffered sequence
+    private char lastPlayed; // the last sequence passed by the playout, either played or lost
+    private boolean played;
+    private int buffered;
+    private int waitingTicks;
+    private boolean playing;
+
+    private volatile long received;
+    private volatile long late;
+    private volatile long lost;
+    private volatile long concealed;
+    private volatile long recovered;
+
+    /**
+     * Adds a received packet to the buffer.
+     *
+     * @param  seq
+     *         The RTP sequence of the packet
+     * @param  audio
+     *         The opus packet starting at index 0
+     * @param  length
+     *         The length of the opus packet
+     * @param  maxDepth
+     *         The maximum number of packets waiting for playout, older packets are skipped to keep the latency bounded
+     */
+    synchronized void offer(char seq, byte[] audio, int length, int maxDepth)
+    {
+        received++;
+        if (played && (short) (seq - lastPlayed) <= 0 && (short) (lastPlayed - seq) < CAPACITY)
+        {
+            // the playout has already passed this packet, even if the buffer ran empty since
+            late++;
+            return;
+        }
+        if (buffered == 0)
+        {
+            // a new talk spurt, it is buffered again before playout
+            nextSeq = seq;
+            playing = false;
+        }
+
+        int ahead = (short) (seq - nextSeq);
+        if (ahead < 0)
+        {
+            // an earlier packet of a talk spurt which is not played yet, the playout starts with it instead
+            if (playing || (short) (lastSeq - seq) >= maxDepth)
+            {
+                late++;
+                return;
+            }
+            nextSeq = seq;
+            ahead = 0;
+        }
+        if (ahead >= maxDepth)
+        {
+            int skip = ahead - maxDepth + 1;
+            if (skip >= CAPACITY)
+            {
+                clear();
+                nextSeq = seq;
+                ahead = 0;
+            }
+            else
+            {
+                skip(skip);
+                ahead = maxDepth - 1;
+            }
+        }
+
+        int slot = seq % CAPACITY;
+        if (present[slot])
+            return; // duplicate
+        byte[] packet = packets[slot];
+        if (packet == null || packet.length < length)
+            packets[slot] = packet = new byte[Math.max(length, 256)];
+        System.arraycopy(audio, 0, packet, 0, length);
+        lengths[slot] = length;
+        present[slot] = true;
+        if (buffered == 0 || (short) (seq - lastSeq) > 0)
+            lastSeq = seq;
+        buffered++;
+    }
+
+    /**
+     * Advances the playout by one packet, called every 20 milliseconds.
+     * <br>For {@link #PACKET} the released packet, and for {@link #LOST_NEXT_AVAILABLE} the packet following the
+     * lost one, is available through {@link #getOutput()} until the next call.
+     *
+     * @return One of {@link #EMPTY}, {@link #PACKET}, {@link #LOST} and {@link #LOST_NEXT_AVAILABLE}
+     */
+    synchronized int poll()
+    {
+        if (buffered == 0)
+        {
+            playing = false;
+            waitingTicks = 0;
+            return EMPTY;
+        }
+        if (!playing)
+        {
+            // short talk spurts might never fill the buffer, they are played after waiting as long as the delay
+            if (buffered < DELAY && ++waitingTicks < DELAY)
+                return EMPTY;
+            playing = true;
+            waitingTicks = 0;
+        }
+
+        int slot = nextSeq % CAPACITY;
+        pass();
+        if (present[slot])
+        {
+            copyOutput(slot);
+            present[slot] = false;
+            buffered--;
+            return PACKET;
+        }
+
+        lost++;
+        int next = nextSeq % CAPACITY;
+        if (!present[next])
+            return LOST;
+        // the following packet may carry forward error correction data of the lost one
+        copyOutput(next);
+        return LOST_NEXT_AVAILABLE;
+    }
+
+    byte[] getOutput()
+    {
+        return output;
+    }
+
+    int getOutputLength()
+    {
+        return outputLength;
+    }
+
+    void onConcealed()
+    {
+        concealed++;
+    }
+
+    void onRecovered()
+    {
+        recovered++;
+    }
+
+    synchronized AudioReceiveStatistics getStatistics()
+    {
+        return new AudioReceiveStatistics(received, late, lost, concealed, recovered, buffered);
+    }
+
+    private void skip(int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            int slot = nextSeq % CAPACITY;
+            if (present[slot])
+            {
+                present[slot] = false;
+                buffered--;
+                late++;
+            }
+            else if (playing)
+            {
+                lost++;
+            }
+            pass();
+        }
+    }
+
+    private void pass()
+    {
+        lastPlayed = nextSeq++;
+        played = true;
+    }
+
+    private void clear()
+    {
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            if (present[i])
+            {
+                present[i] = false;
+                late++;
+            }
+        }
+        buffered = 0;
+        playing = false;
+    }
+
+    private void copyOutput(int slot)
+    {
+        int length = lengths[slot];
+        if (output.length < length)
+            output = new byte[length];
+        System.arraycopy(packets[slot], 0, output, 0, length);
+        outputLength = length;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import net.dv8tion.jda.core.utils.Checks;
+
+/**
+ * Immutable settings of the Opus encoder used to encode PCM audio provided by an
+ * {@link net.dv8tion.jda.core.audio.AudioSendHandler AudioSendHandler}.
+ * <br>Settings are changed by creating a modified copy, starting from {@link #DEFAULT}:
+ * <pre>{@code
+ * OpusEncoderSettings settings = OpusEncoderSettings.DEFAULT
+ *     .withBitrate(96000)
+ *     .withInbandFec(true)
+ *     .withPacketLossPercentage(5);
+ * guild.getAudioManager().setEncoderSettings(settings);
+ * }</pre>
+ *
+ * <p>These settings have no effect on pre-encoded audio, see {@link AudioSendHandler#isOpus()}.
+ *
+ * @see net.dv8tion.jda.core.managers.AudioManager#setEncoderSettings(OpusEncoderSettings)
+ */
+public final class OpusEncoderSettings
+{
+    /** Lets the encoder choose the bitrate, this is the default */
+    public static final int BITRATE_AUTO = -1000;
+    /** Uses the highest bitrate the encoder supports */
+    public static final int BITRATE_MAX = -1;
+
+    /** The default settings of the Opus encoder, an automatic bitrate with complexity 10, no FEC and 0% packet loss */
+    public static final OpusEncoderSettings DEFAULT = new OpusEncoderSettings(BITRATE_AUTO, 10, false, 0);
+
+    private final int bitrate;
+    private final int complexity;
+    private final boolean inbandFec;
+    private final int packetLossPercentage;
+
+    private OpusEncoderSettings(int bitrate, int complexity, boolean inbandFec, int packetLossPercentage)
+    {
+        this.bitrate = bitrate;
+        this.complexity = complexity;
+        this.inbandFec = inbandFec;
+        this.packetLossPercentage = packetLossPercentage;
+    }
+
+    /**
+     * The target bitrate in bits per second, or one of {@link #BITRATE_AUTO} and {@link #BITRATE_MAX}.
+     *
+     * @return The bitrate
+     */
+    public int getBitrate()
+    {
+        return bitrate;
+    }
+
+    /**
+     * The computational complexity of the encoder, from 0 to 10.
+     * <br>Higher values improve the quality but increase the CPU usage of encoding.
+     *
+     * @return The complexity
+     */
+    public int getComplexity()
+    {
+        return complexity;
+    }
+
+    /**
+     * Whether inband forward error correction is enabled.
+     * <br>With FEC enabled each packet carries a low bitrate copy of the previous packet,
+     * which allows receivers to recover a lost packet from the next one.
+     *
+     * @return True, if FEC is enabled
+     */
+    public boolean isInbandFec()
+    {
+        return inbandFec;
+    }
+
+    /**
+     * The expected packet loss in percent, from 0 to 100.
+     * <br>The encoder uses this to decide how much of the bitrate is spent on forward error correction.
+     *
+     * @return The expected packet loss percentage
+     */
+    public int getPacketLossPercentage()
+    {
+        return packetLossPercentage;
+    }
+
+    /**
+     * Copy of these settings with the provided bitrate.
+     *
+     * @param  bitrate
+     *         The bitrate in bits per second from 500 to 512000,
+     *         or one of {@link #BITRATE_AUTO} and {@link #BITRATE_MAX}
+     *
+     * @throws IllegalArgumentException
+     *         If the provided bitrate is out of range
+     *
+     * @return The new settings
+     */
+    public OpusEncoderSettings withBitrate(int bitrate)
+    {
+        Checks.check(bitrate == BITRATE_AUTO || bitrate == BITRATE_MAX || (bitrate >= 500 && bitrate <= 512000),
+            "Bitrate must be between 500 and 512000, BITRATE_AUTO or BITRATE_MAX. Provided: %d", bitrate);
+        return new OpusEncoderSettings(bitrate, complexity, inbandFec, packetLossPercentage);
+    }
+
+    /**
+     * Copy of these settings with the provided complexity.
+     *
+     * @param  complexity
+     *         The complexity from 0 to 10
+     *
+     * @throws IllegalArgumentException
+     *         If the provided complexity is out of range
+     *
+     * @return The new settings
+     */
+    public OpusEncoderSettings withComplexity(int complexity)
+    {
+        Checks.check(complexity >= 0 && complexity <= 10, "Complexity must be between 0 and 10. Provided: %d", complexity);
+        return new OpusEncoderSettings(bitrate, complexity, inbandFec, packetLossPercentage);
+    }
+
+    /**
+     * Copy of these settings with inband forward error correction enabled or disabled.
+     * <br>The encoder only adds FEC data when the {@link #withPacketLossPercentage(int) packet loss percentage}
+     * is greater than 0.
+     *
+     * @param  inbandFec
+     *         True, to enable FEC
+     *
+     * @return The new settings
+     */
+    public OpusEncoderSettings withInbandFec(boolean inbandFec)
+    {
+        return new OpusEncoderSettings(bitrate, complexity, inbandFec, packetLossPercentage);
+    }
+
+    /**
+     * Copy of these settings with the provided expected packet loss.
+     *
+     * @param  packetLossPercentage
+     *         The expected packet loss from 0 to 100 percent
+     *
+     * @throws IllegalArgumentException
+     *         If the provided percentage is out of range
+     *
+     * @return The new settings
+     */
+    public OpusEncoderSettings withPacketLossPercentage(int packetLossPercentage)
+    {
+        Checks.check(packetLossPercentage >= 0 && packetLossPercentage <= 100,
+            "Packet loss percentage must be between 0 and 100. Provided: %d", packetLossPercentage);
+        return new OpusEncoderSettings(bitrate, complexity, inbandFec, packetLossPercentage);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof OpusEncoderSettings))
+            return false;
+        OpusEncoderSettings other = (OpusEncoderSettings) obj;
+        return bitrate == other.bitrate && complexity == other.complexity
+            && inbandFec == other.inbandFec && packetLossPercentage == other.packetLossPercentage;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return ((bitrate * 31 + complexity) * 31 + (inbandFec ? 1 : 0)) * 31 + packetLossPercentage;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OpusEncoderSettings(bitrate=" + bitrate + ", complexity=" + complexity
+            + ", fec=" + inbandFec + ", loss=" + packetLossPercentage + "%)";
+    }
+}
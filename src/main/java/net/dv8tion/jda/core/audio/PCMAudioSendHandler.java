@@ -0,0 +1,60 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import java.nio.ShortBuffer;
+
+/**
+ * {@link net.dv8tion.jda.core.audio.AudioSendHandler AudioSendHandler} which writes PCM samples directly into
+ * the buffer that is passed to the Opus encoder.
+ * <br>The byte array of {@link #provide20MsAudio()} has to be allocated, and converted to the native byte order
+ * by JDA, for every 20 milliseconds of audio. Handlers which produce samples themselves, for instance by decoding
+ * or mixing audio, can avoid both by implementing {@link #provide20MsAudio(ShortBuffer)} instead.
+ *
+ * <p>JDA only calls {@link #provide20MsAudio(ShortBuffer)} on handlers of this type,
+ * {@link #provide20MsAudio()} and {@link #isOpus()} are not used.
+ */
+public interface PCMAudioSendHandler extends AudioSendHandler
+{
+    /**
+     * If {@link #canProvide()} returns true JDA will call this method to retrieve 20 milliseconds of audio.
+     * <br>The provided buffer is a cleared, direct buffer in the native byte order with room for
+     * 1920 samples, which are 960 interleaved samples per channel of 48KHz 16bit stereo signed PCM.
+     * The samples have to be written starting at the current position of the buffer, for instance with
+     * {@link ShortBuffer#put(short[])}.
+     *
+     * <p>If fewer than 1920 samples are written, the rest of the frame is filled with silence.
+     * If no samples are written, no packet is sent, just like a {@code null} return value of {@link #provide20MsAudio()}.
+     *
+     * <p><u>The buffer is reused for every frame and must not be stored by the handler.</u>
+     *
+     * @param  pcm
+     *         The buffer to write the samples to
+     */
+    void provide20MsAudio(ShortBuffer pcm);
+
+    /**
+     * Not used for handlers of this type, JDA calls {@link #provide20MsAudio(ShortBuffer)} instead.
+     *
+     * @return {@code null}
+     */
+    @Override
+    default byte[] provide20MsAudio()
+    {
+        return null;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import com.iwebpp.crypto.TweetNaclFast;
+
+import java.util.Arrays;
+
+import static net.dv8tion.jda.core.audio.AudioPacket.RTP_HEADER_BYTE_LENGTH;
+
+//Helper class delegated to AudioConnection
+// Decrypts received packets with reusable buffers, this is the allocation-free equivalent
+// of AudioPacket#decryptAudioPacket. The decrypted opus payload is only valid until the next packet is decrypted.
+class PacketDecrypter
+{
+    private static final int BOX_ZERO_BYTES = TweetNaclFast.SecretBox.boxzerobytesLength;
+    private static final int ZERO_BYTES = TweetNaclFast.SecretBox.zerobytesLength;
+    private static final byte[] SILENCE = {(byte) 0xF8, (byte) 0xFF, (byte) 0xFE};
+
+    private final byte[] nonce = new byte[TweetNaclFast.SecretBox.nonceLength];
+    private byte[] cipher = new byte[2048];
+    private byte[] message = new byte[2048];
+    private byte[] audio = new byte[2048];
+    private int audioLength;
+    private char sequence;
+    private int timestamp;
+    private int ssrc;
+
+    /**
+     * Decrypts the provided packet.
+     *
+     * @param  encryption
+     *         The encryption mode of the connection
+     * @param  secretKey
+     *         The secret key of the connection
+     * @param  packet
+     *         The received packet
+     * @param  length
+     *         The length of the received packet
+     *
+     * @return True, if the packet was decrypted
+     */
+    boolean decrypt(AudioEncryption encryption, byte[] secretKey, byte[] packet, int length)
+    {
+        if (length < RTP_HEADER_BYTE_LENGTH)
+            return false;
+        sequence = (char) AudioPacket.getShort(packet, AudioPacket.SEQ_INDEX);
+        timestamp = getInt(packet, AudioPacket.TIMESTAMP_INDEX);
+        ssrc = getInt(packet, AudioPacket.SSRC_INDEX);
+
+        //Xsalsa20's Nonce is 24 bytes long, the unused bytes have to be 0
+        Arrays.fill(nonce, (byte) 0);
+        int nonceLength;
+        switch (encryption)
+        {
+            case XSALSA20_POLY1305:
+                nonceLength = 0;
+                System.arraycopy(packet, 0, nonce, 0, RTP_HEADER_BYTE_LENGTH);
+                break;
+            case XSALSA20_POLY1305_SUFFIX:
+                nonceLength = nonce.length;
+                if (length < RTP_HEADER_BYTE_LENGTH + nonceLength)
+                    return false;
+                System.arraycopy(packet, length - nonceLength, nonce, 0, nonceLength);
+                break;
+            case XSALSA20_POLY1305_LITE:
+                nonceLength = 4;
+                if (length < RTP_HEADER_BYTE_LENGTH + nonceLength)
+                    return false;
+                System.arraycopy(packet, length - nonceLength, nonce, 0, nonceLength);
+                break;
+            default:
+                AudioConnection.LOG.debug("Failed to decrypt audio packet, unsupported encryption mode!");
+                return false;
+        }
+
+        int boxOffset = AudioPacket.getPayloadOffset(packet, 0);
+        int boxLength = length - nonceLength - boxOffset;
+        if (boxLength < BOX_ZERO_BYTES)
+        {
+            AudioConnection.LOG.trace("Failed to decrypt audio packet");
+            return false;
+        }
+
+        // the secretbox functions of TweetNaclFast expect the box to be prefixed with 16 bytes of padding
+        int cipherLength = boxLength + BOX_ZERO_BYTES;
+        if (cipher.length < cipherLength)
+        {
+            cipher = new byte[cipherLength];
+            message = new byte[cipherLength];
+        }
+        System.arraycopy(packet, boxOffset, cipher, BOX_ZERO_BYTES, boxLength);
+        if (TweetNaclFast.crypto_secretbox_open(message, cipher, cipherLength, nonce, secretKey) != 0)
+        {
+            AudioConnection.LOG.trace("Failed to decrypt audio packet");
+            return false;
+        }
+
+        // the decrypted message is prefixed with 32 bytes of padding, the RTP header is placed
+        // in front of the message to read the payload offset like AudioPacket does for the decrypted packet
+        int start = ZERO_BYTES - RTP_HEADER_BYTE_LENGTH;
+        System.arraycopy(packet, 0, message, start, RTP_HEADER_BYTE_LENGTH);
+        int payloadOffset = start + AudioPacket.getPayloadOffset(message, start);
+        audioLength = Math.max(0, cipherLength - payloadOffset);
+        if (audio.length < audioLength)
+            audio = new byte[audioLength];
+        System.arraycopy(message, payloadOffset, audio, 0, audioLength);
+        return true;
+    }
+
+    char getSequence()
+    {
+        return sequence;
+    }
+
+    int getTimestamp()
+    {
+        return timestamp;
+    }
+
+    int getSSRC()
+    {
+        return ssrc;
+    }
+
+    // the opus payload starts at index 0
+    byte[] getAudio()
+    {
+        return audio;
+    }
+
+    int getAudioLength()
+    {
+        return audioLength;
+    }
+
+    boolean isSilence()
+    {
+        if (audioLength != SILENCE.length)
+            return false;
+        for (int i = 0; i < SILENCE.length; i++)
+        {
+            if (audio[i] != SILENCE[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static int getInt(byte[] arr, int offset)
+    {
+        return (arr[offset] & 0xff) << 24 | (arr[offset + 1] & 0xff) << 16 | (arr[offset + 2] & 0xff) << 8 | arr[offset + 3] & 0xff;
+    }
+}
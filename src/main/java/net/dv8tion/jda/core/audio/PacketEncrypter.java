@@ -0,0 +1,178 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import com.iwebpp.crypto.TweetNaclFast;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.dv8tion.jda.core.audio.AudioPacket.RTP_HEADER_BYTE_LENGTH;
+
+//Helper class delegated to AudioConnection
+// Builds and encrypts packets in reusable buffers, this is the allocation-free equivalent
+// of AudioPacket#asEncryptedPacket. The opus payload is sealed with TweetNaclFast#crypto_secretbox
+// in a reused box, which is what TweetNaclFast.SecretBox#box does with new arrays for every packet.
+class PacketEncrypter
+{
+    private static final int ZERO_BYTES = TweetNaclFast.SecretBox.zerobytesLength;
+    private static final int BOX_ZERO_BYTES = TweetNaclFast.SecretBox.boxzerobytesLength;
+    private static final int MAC_LENGTH = TweetNaclFast.SecretBox.overheadLength;
+    private static final int LITE_NONCE_LENGTH = 4;
+    private static final int PAYLOAD_OFFSET = RTP_HEADER_BYTE_LENGTH + MAC_LENGTH;
+
+    private final byte[] nonce = new byte[TweetNaclFast.SecretBox.nonceLength];
+    // crypto_secretbox expects the message behind ZERO_BYTES zeros and writes the MAC and cipher text behind BOX_ZERO_BYTES
+    private byte[] box = new byte[512];
+    private ByteBuffer buffer = ByteBuffer.allocate(512);
+    private long liteNonce = 0;
+
+    /**
+     * Builds the encrypted packet for the provided opus payload.
+     * <br>The returned buffer is reused for the next packet, the packet starts at index 0 and ends at its position.
+     *
+     * @param  encryption
+     *         The encryption mode of the connection
+     * @param  secretKey
+     *         The secret key of the connection
+     * @param  seq
+     *         The RTP sequence
+     * @param  timestamp
+     *         The RTP timestamp
+     * @param  ssrc
+     *         The SSRC of the connection
+     * @param  audio
+     *         The opus payload
+     * @param  audioLength
+     *         The length of the opus payload
+     *
+     * @throws IllegalStateException
+     *         If the encryption mode is not supported
+     *
+     * @return The buffer containing the packet
+     */
+    ByteBuffer encrypt(AudioEncryption encryption, byte[] secretKey, char seq, int timestamp, int ssrc, byte[] audio, int audioLength)
+    {
+        byte[] packet = writeHeader(encryption, seq, timestamp, ssrc, audioLength);
+        System.arraycopy(audio, 0, box, ZERO_BYTES, audioLength);
+        return seal(encryption, secretKey, packet, audioLength);
+    }
+
+    /**
+     * Builds the encrypted packet for the opus payload between the position and the limit of the provided buffer.
+     * <br>The returned buffer is reused for the next packet, the packet starts at index 0 and ends at its position.
+     *
+     * @param  encryption
+     *         The encryption mode of the connection
+     * @param  secretKey
+     *         The secret key of the connection
+     * @param  seq
+     *         The RTP sequence
+     * @param  timestamp
+     *         The RTP timestamp
+     * @param  ssrc
+     *         The SSRC of the connection
+     * @param  audio
+     *         The opus payload, this is consumed
+     *
+     * @throws IllegalStateException
+     *         If the encryption mode is not supported
+     *
+     * @return The buffer containing the packet
+     */
+    ByteBuffer encrypt(AudioEncryption encryption, byte[] secretKey, char seq, int timestamp, int ssrc, ByteBuffer audio)
+    {
+        int audioLength = audio.remaining();
+        byte[] packet = writeHeader(encryption, seq, timestamp, ssrc, audioLength);
+        audio.get(box, ZERO_BYTES, audioLength);
+        return seal(encryption, secretKey, packet, audioLength);
+    }
+
+    private byte[] writeHeader(AudioEncryption encryption, char seq, int timestamp, int ssrc, int audioLength)
+    {
+        int length = PAYLOAD_OFFSET + audioLength + getNonceLength(encryption);
+        if (buffer.capacity() < length)
+            buffer = ByteBuffer.allocate(length);
+        if (box.length < ZERO_BYTES + audioLength)
+            box = new byte[ZERO_BYTES + audioLength];
+        byte[] packet = buffer.array();
+
+        packet[0] = AudioPacket.RTP_VERSION_PAD_EXTEND;
+        packet[1] = AudioPacket.RTP_PAYLOAD_TYPE;
+        packet[AudioPacket.SEQ_INDEX]     = (byte) (seq >>> 8);
+        packet[AudioPacket.SEQ_INDEX + 1] = (byte) seq;
+        putInt(packet, AudioPacket.TIMESTAMP_INDEX, timestamp);
+        putInt(packet, AudioPacket.SSRC_INDEX, ssrc);
+        return packet;
+    }
+
+    private ByteBuffer seal(AudioEncryption encryption, byte[] secretKey, byte[] packet, int audioLength)
+    {
+        //Xsalsa20's Nonce is 24 bytes long, the unused bytes have to be 0
+        switch (encryption)
+        {
+            case XSALSA20_POLY1305:
+                Arrays.fill(nonce, RTP_HEADER_BYTE_LENGTH, nonce.length, (byte) 0);
+                System.arraycopy(packet, 0, nonce, 0, RTP_HEADER_BYTE_LENGTH);
+                break;
+            case XSALSA20_POLY1305_LITE:
+                liteNonce = liteNonce >= AudioConnection.MAX_UINT_32 ? 0 : liteNonce + 1;
+                Arrays.fill(nonce, LITE_NONCE_LENGTH, nonce.length, (byte) 0);
+                putInt(nonce, 0, (int) liteNonce);
+                break;
+            case XSALSA20_POLY1305_SUFFIX:
+                ThreadLocalRandom.current().nextBytes(nonce);
+                break;
+        }
+        int nonceLength = getNonceLength(encryption);
+        System.arraycopy(nonce, 0, packet, PAYLOAD_OFFSET + audioLength, nonceLength);
+
+        // encrypts the box in place and copies the MAC and cipher text behind the header
+        Arrays.fill(box, 0, ZERO_BYTES, (byte) 0);
+        TweetNaclFast.crypto_secretbox(box, box, ZERO_BYTES + audioLength, nonce, secretKey);
+        System.arraycopy(box, BOX_ZERO_BYTES, packet, RTP_HEADER_BYTE_LENGTH, MAC_LENGTH + audioLength);
+
+        ((Buffer) buffer).clear();
+        ((Buffer) buffer).position(PAYLOAD_OFFSET + audioLength + nonceLength);
+        return buffer;
+    }
+
+    private int getNonceLength(AudioEncryption encryption)
+    {
+        switch (encryption)
+        {
+            case XSALSA20_POLY1305:
+                return 0;
+            case XSALSA20_POLY1305_LITE:
+                return LITE_NONCE_LENGTH;
+            case XSALSA20_POLY1305_SUFFIX:
+                return nonce.length;
+            default:
+                throw new IllegalStateException("Encryption mode [" + encryption + "] is not supported!");
+        }
+    }
+
+    private static void putInt(byte[] arr, int offset, int value)
+    {
+        arr[offset]     = (byte) (value >>> 24);
+        arr[offset + 1] = (byte) (value >>> 16);
+        arr[offset + 2] = (byte) (value >>> 8);
+        arr[offset + 3] = (byte) value;
+    }
+}
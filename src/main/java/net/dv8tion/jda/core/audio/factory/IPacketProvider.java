@@ -106,6 +106,8 @@ public interface IPacketProvider
      *
      * <p><b>Note:</b> When the AudioSendHandler cannot or does not provide a new packet to send, this method will return null.
      *
+     * <p><u>The packet and its buffer may be used again on the next call to this getter, if you plan on storing the data copy it.</u>
+     *
      * @param  changeTalking
      *         Whether or not to change the talking indicator if the AudioSendHandler cannot provide a new audio packet.
      *
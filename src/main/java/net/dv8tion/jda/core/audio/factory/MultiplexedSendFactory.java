@@ -0,0 +1,115 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio.factory;
+
+import net.dv8tion.jda.core.utils.Checks;
+import net.dv8tion.jda.core.utils.concurrent.CountingThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An {@link net.dv8tion.jda.core.audio.factory.IAudioSendFactory IAudioSendFactory} which sends the audio of
+ * many connections from a fixed number of shared threads.
+ * <br>The {@link net.dv8tion.jda.core.audio.factory.DefaultSendFactory DefaultSendFactory} starts one thread per
+ * audio connection, this factory instead assigns every connection to the shared thread with the fewest connections.
+ * Each thread polls all of its connections on a common 20ms tick and sends their packets through a single
+ * non-blocking {@link java.nio.channels.DatagramChannel DatagramChannel}.
+ *
+ * <p>A single instance should be shared by all {@link net.dv8tion.jda.core.JDA JDA} instances of the application,
+ * for instance by providing it to {@link net.dv8tion.jda.bot.sharding.DefaultShardManagerBuilder#setAudioSendFactory(IAudioSendFactory)
+ * DefaultShardManagerBuilder.setAudioSendFactory(IAudioSendFactory)}. The threads are daemon threads which are started
+ * with the first connection and wait without ticking while they have no connections.
+ *
+ * <p>The {@link net.dv8tion.jda.core.audio.AudioSendHandler AudioSendHandlers} of all connections on one thread
+ * are called one after another, a slow handler delays the packets of every connection after it.
+ * Use {@link #getSendSystems()} to monitor the lateness and jitter of each connection.
+ * <br>As the threads are shared, the {@link org.slf4j.MDC MDC} context of the connections is not applied to them.
+ */
+public class MultiplexedSendFactory implements IAudioSendFactory
+{
+    private final MultiplexedSendThread[] threads;
+
+    /**
+     * Creates a new MultiplexedSendFactory with one sending thread per available processor.
+     */
+    public MultiplexedSendFactory()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new MultiplexedSendFactory with the provided number of sending threads.
+     *
+     * @param  threadCount
+     *         The number of sending threads
+     *
+     * @throws IllegalArgumentException
+     *         If the provided thread count is not positive
+     */
+    public MultiplexedSendFactory(int threadCount)
+    {
+        Checks.positive(threadCount, "Thread count");
+        ThreadFactory threadFactory = new CountingThreadFactory(() -> "JDA", "MultiplexedAudioSend");
+        this.threads = new MultiplexedSendThread[threadCount];
+        for (int i = 0; i < threadCount; i++)
+            threads[i] = new MultiplexedSendThread(threadFactory);
+    }
+
+    @Override
+    public IAudioSendSystem createSendSystem(IPacketProvider packetProvider)
+    {
+        return new MultiplexedSendSystem(this, packetProvider);
+    }
+
+    /**
+     * The number of sending threads used by this factory.
+     *
+     * @return The number of sending threads
+     */
+    public int getThreadCount()
+    {
+        return threads.length;
+    }
+
+    /**
+     * Immutable list of all currently started {@link net.dv8tion.jda.core.audio.factory.MultiplexedSendSystem MultiplexedSendSystems}
+     * of this factory, which provide the send statistics of their connections.
+     *
+     * @return Immutable list of the started send systems
+     */
+    public List<MultiplexedSendSystem> getSendSystems()
+    {
+        List<MultiplexedSendSystem> systems = new ArrayList<>();
+        for (MultiplexedSendThread thread : threads)
+            systems.addAll(thread.getSystems());
+        return Collections.unmodifiableList(systems);
+    }
+
+    synchronized MultiplexedSendThread assignThread()
+    {
+        MultiplexedSendThread assigned = threads[0];
+        for (int i = 1; i < threads.length; i++)
+        {
+            if (threads[i].getSystemCount() < assigned.getSystemCount())
+                assigned = threads[i];
+        }
+        return assigned;
+    }
+}
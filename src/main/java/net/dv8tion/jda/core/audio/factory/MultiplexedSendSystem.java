@@ -0,0 +1,209 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio.factory;
+
+import net.dv8tion.jda.core.audio.AudioConnection;
+
+import java.net.DatagramSocket;
+import java.net.NoRouteToHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * The {@link net.dv8tion.jda.core.audio.factory.IAudioSendSystem IAudioSendSystem} created by the
+ * {@link net.dv8tion.jda.core.audio.factory.MultiplexedSendFactory MultiplexedSendFactory}.
+ * <br>This system has no thread of its own, its packets are requested and sent by one of the shared threads of its factory.
+ *
+ * <p>The statistics of this system describe how precisely its packets are sent.
+ * The lateness of a packet is the time between the scheduled 20ms tick and the moment the packet was handed to the
+ * network stack, this includes the time spent by the {@link net.dv8tion.jda.core.audio.AudioSendHandler AudioSendHandler},
+ * Opus encoding and encryption of this and all connections polled before it on the same tick.
+ * <br>Statistics are updated by the sending thread and can be read from any thread.
+ */
+public class MultiplexedSendSystem implements IAudioSendSystem
+{
+    private final MultiplexedSendFactory factory;
+    private final IPacketProvider packetProvider;
+    private volatile MultiplexedSendThread thread;
+    private DatagramSocket udpSocket;
+    private boolean sentPacket = true;
+
+    private volatile long sentPackets;
+    private volatile long droppedPackets;
+    private volatile long totalLateness;
+    private volatile long lastLateness;
+    private volatile long maxLateness;
+    private volatile long jitter;
+
+    MultiplexedSendSystem(MultiplexedSendFactory factory, IPacketProvider packetProvider)
+    {
+        this.factory = factory;
+        this.packetProvider = packetProvider;
+    }
+
+    @Override
+    public synchronized void start()
+    {
+        if (thread != null)
+            return;
+        udpSocket = packetProvider.getUdpSocket();
+        thread = factory.assignThread();
+        thread.register(this);
+    }
+
+    @Override
+    public synchronized void shutdown()
+    {
+        if (thread == null)
+            return;
+        thread.unregister(this);
+        thread = null;
+    }
+
+    /**
+     * The identifier of the audio connection this system is sending for.
+     *
+     * @return The identifier of the connection
+     *
+     * @see    IPacketProvider#getIdentifier()
+     */
+    public String getIdentifier()
+    {
+        return packetProvider.getIdentifier();
+    }
+
+    /**
+     * The amount of packets this system has sent.
+     *
+     * @return The amount of sent packets
+     */
+    public long getSentPacketCount()
+    {
+        return sentPackets;
+    }
+
+    /**
+     * The amount of packets which were dropped because the send buffer of the socket was full.
+     *
+     * @return The amount of dropped packets
+     */
+    public long getDroppedPacketCount()
+    {
+        return droppedPackets;
+    }
+
+    /**
+     * The lateness of the most recently sent packet in nanoseconds.
+     *
+     * @return The last lateness in nanoseconds
+     */
+    public long getLastLateness()
+    {
+        return lastLateness;
+    }
+
+    /**
+     * The average lateness of all sent packets in nanoseconds.
+     *
+     * @return The average lateness in nanoseconds, or 0 if no packets were sent
+     */
+    public long getAverageLateness()
+    {
+        long sent = sentPackets;
+        return sent == 0 ? 0 : totalLateness / sent;
+    }
+
+    /**
+     * The highest lateness of any sent packet in nanoseconds.
+     *
+     * @return The highest lateness in nanoseconds
+     */
+    public long getMaxLateness()
+    {
+        return maxLateness;
+    }
+
+    /**
+     * The interarrival jitter of the sent packets in nanoseconds.
+     * <br>This is the smoothed difference of the lateness of consecutive packets, as defined for RTP by RFC 3550.
+     * Discord has to buffer at least this much audio to play it back without gaps.
+     *
+     * @return The jitter in nanoseconds
+     */
+    public long getJitter()
+    {
+        return jitter;
+    }
+
+    void tick(DatagramChannel channel, long scheduledTime)
+    {
+        if (thread == null)
+            return;
+        if (udpSocket.isClosed())
+        {
+            // Same condition that stops the loop of the DefaultSendSystem
+            shutdown();
+            return;
+        }
+
+        try
+        {
+            boolean changeTalking = !sentPacket || (System.nanoTime() - scheduledTime) > MultiplexedSendThread.FRAME_NANOS;
+            ByteBuffer packet = packetProvider.getNextPacketRaw(changeTalking);
+
+            sentPacket = packet != null;
+            if (!sentPacket)
+                return;
+
+            // The packet ends at the current position of the buffer
+            ((Buffer) packet).flip();
+            if (channel.send(packet, packetProvider.getSocketAddress()) == 0)
+                droppedPackets++;
+            else
+                updateStatistics(System.nanoTime() - scheduledTime);
+        }
+        catch (NoRouteToHostException e)
+        {
+            packetProvider.onConnectionLost();
+        }
+        catch (ClosedChannelException e)
+        {
+            //The channel has been closed, the sending thread opens a new one on the next tick.
+        }
+        catch (Exception e)
+        {
+            AudioConnection.LOG.error("Error while sending udp audio data for {}", packetProvider.getIdentifier(), e);
+        }
+    }
+
+    void onConnectionLost()
+    {
+        packetProvider.onConnectionLost();
+    }
+
+    private void updateStatistics(long lateness)
+    {
+        jitter += (Math.abs(lateness - lastLateness) - jitter) / 16;
+        lastLateness = lateness;
+        totalLateness += lateness;
+        if (lateness > maxLateness)
+            maxLateness = lateness;
+        sentPackets++;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio.factory;
+
+import net.dv8tion.jda.core.audio.AudioConnection;
+
+import java.io.IOException;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.dv8tion.jda.core.audio.AudioConnection.OPUS_FRAME_TIME_AMOUNT;
+
+//Helper class delegated to MultiplexedSendFactory
+// Polls every send system assigned to it once per 20ms tick and sends their packets through one shared channel.
+// The tick is scheduled on absolute nanoTime deadlines so lateness does not accumulate,
+// the thread waits without ticking while no systems are assigned.
+class MultiplexedSendThread implements Runnable
+{
+    static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(OPUS_FRAME_TIME_AMOUNT);
+    // Same as DefaultSendSystem, when more than 3 frames behind we skip ahead instead of bursting packets
+    private static final long MAX_BEHIND_NANOS = FRAME_NANOS * 3;
+
+    private final List<MultiplexedSendSystem> systems = new CopyOnWriteArrayList<>();
+    private final ThreadFactory threadFactory;
+    private Thread thread;
+
+    MultiplexedSendThread(ThreadFactory threadFactory)
+    {
+        this.threadFactory = threadFactory;
+    }
+
+    int getSystemCount()
+    {
+        return systems.size();
+    }
+
+    List<MultiplexedSendSystem> getSystems()
+    {
+        return systems;
+    }
+
+    synchronized void register(MultiplexedSendSystem system)
+    {
+        systems.add(system);
+        if (thread == null)
+            startThread();
+        else
+            notifyAll();
+    }
+
+    void unregister(MultiplexedSendSystem system)
+    {
+        systems.remove(system);
+    }
+
+    private void startThread()
+    {
+        thread = threadFactory.newThread(this);
+        thread.setUncaughtExceptionHandler((t, throwable) ->
+        {
+            AudioConnection.LOG.error("Uncaught exception in multiplexed audio send thread", throwable);
+            restart();
+        });
+        thread.setPriority((Thread.NORM_PRIORITY + Thread.MAX_PRIORITY) / 2);
+        thread.start();
+    }
+
+    private synchronized void restart()
+    {
+        thread = null;
+        if (!systems.isEmpty())
+            startThread();
+    }
+
+    @Override
+    public void run()
+    {
+        DatagramChannel channel = null;
+        try
+        {
+            long nextTick = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted())
+            {
+                if (systems.isEmpty())
+                {
+                    awaitSystems();
+                    nextTick = System.nanoTime();
+                }
+
+                long now;
+                while ((now = System.nanoTime()) < nextTick)
+                {
+                    LockSupport.parkNanos(this, nextTick - now);
+                    if (Thread.currentThread().isInterrupted())
+                        return;
+                }
+
+                if (channel == null || !channel.isOpen())
+                    channel = openChannel();
+                if (channel != null)
+                {
+                    for (MultiplexedSendSystem system : systems)
+                        system.tick(channel, nextTick);
+                }
+
+                nextTick += FRAME_NANOS;
+                now = System.nanoTime();
+                if (now - nextTick > MAX_BEHIND_NANOS)
+                    nextTick = now;
+            }
+        }
+        catch (InterruptedException ignored) {}
+        finally
+        {
+            closeChannel(channel);
+        }
+    }
+
+    private synchronized void awaitSystems() throws InterruptedException
+    {
+        while (systems.isEmpty())
+            wait();
+    }
+
+    private DatagramChannel openChannel()
+    {
+        try
+        {
+            DatagramChannel channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            return channel;
+        }
+        catch (IOException e)
+        {
+            AudioConnection.LOG.error("Unable to open udp channel for audio sending", e);
+            // Without a channel nothing can be sent, let the connections handle it like a lost connection
+            for (MultiplexedSendSystem system : systems)
+                system.onConnectionLost();
+            return null;
+        }
+    }
+
+    private void closeChannel(DatagramChannel channel)
+    {
+        if (channel == null)
+            return;
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ignored) {}
+    }
+}
@@ -37,7 +37,9 @@ import net.dv8tion.jda.core.handle.EventCache;
 import net.dv8tion.jda.core.utils.Helpers;
 import net.dv8tion.jda.core.utils.JDALogger;
 import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
+import net.dv8tion.jda.core.utils.cache.impl.MemberCacheViewImpl;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.json.JSONArray;
@@ -51,6 +53,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -77,6 +80,10 @@ public class EntityBuilder
     }
 
     protected final UpstreamReference<JDAImpl> api;
+    // guards the lookup and creation of users, guilds may be built on multiple threads
+    protected final Object userLock = new Object();
+    // set while a guild is built off the gateway thread, collects the playbacks of the EventCache
+    protected final ThreadLocal<List<Runnable>> deferredPlaybacks = new ThreadLocal<>();
 
     public EntityBuilder(JDA api)
     {
@@ -144,6 +151,186 @@ public class EntityBuilder
     }
 
     public GuildImpl createGuild(long guildId, JSONObject guildJson, TLongObjectMap<JSONObject> members)
+    {
+        GuildImpl guildObj = createGuildEntities(guildId, guildJson, members);
+        guildObj.pruneMemberCache();
+        getJDA().getGuildMap().put(guildId, guildObj);
+        return guildObj;
+    }
+
+    /**
+     * Builds the guild without adding it, or any of its channels, to the cache.
+     * <br>Unlike {@link #createGuild(long, JSONObject, TLongObjectMap)} this can be called on any thread
+     * while the gateway thread keeps handling events. Users that are already cached are not updated.
+     *
+     * <p>The guild has to be added to the cache with {@link #publishGuild(GuildImpl, List)} by the thread handling the
+     * events of the gateway, or with {@link #discardGuild(GuildImpl)} if the guild was removed in the meantime.
+     *
+     * @param  guildId
+     *         The id of the guild
+     * @param  guildJson
+     *         The guild payload
+     * @param  members
+     *         The member payloads
+     * @param  playbacks
+     *         Collects the playbacks of the EventCache, which are run once the guild is published
+     *
+     * @return The guild
+     */
+    public GuildImpl buildGuild(long guildId, JSONObject guildJson, TLongObjectMap<JSONObject> members, List<Runnable> playbacks)
+    {
+        return deferPlaybacks(playbacks, () -> createGuildEntities(guildId, guildJson, members));
+    }
+
+    /**
+     * Builds the guild with its roles, but without members or channels, and without adding it to the cache.
+     * <br>This is used to set up guilds incrementally: members are added with {@link #buildMember(GuildImpl, JSONObject, List)}
+     * as soon as their chunk is received, so the member payloads do not have to be kept until all chunks arrived.
+     * Once all members have been added the guild is completed with {@link #completeGuild(GuildImpl, JSONObject, List)}
+     * and added to the cache with {@link #publishGuild(GuildImpl, List)}.
+     *
+     * @param  guildId
+     *         The id of the guild
+     * @param  guildJson
+     *         The guild payload
+     * @param  playbacks
+     *         Collects the playbacks of the EventCache, which are run once the guild is published
+     *
+     * @return The partial guild
+     */
+    public GuildImpl buildPartialGuild(long guildId, JSONObject guildJson, List<Runnable> playbacks)
+    {
+        return deferPlaybacks(playbacks, () -> createGuildObject(guildId, guildJson));
+    }
+
+    public Member buildMember(GuildImpl guildObj, JSONObject memberJson, List<Runnable> playbacks)
+    {
+        return deferPlaybacks(playbacks, () -> createMember(guildObj, memberJson));
+    }
+
+    public GuildImpl completeGuild(GuildImpl guildObj, JSONObject guildJson, List<Runnable> playbacks)
+    {
+        return deferPlaybacks(playbacks, () -> createGuildChannelsAndStates(guildObj, guildJson));
+    }
+
+    private <T> T deferPlaybacks(List<Runnable> playbacks, Supplier<T> action)
+    {
+        deferredPlaybacks.set(playbacks);
+        try
+        {
+            return action.get();
+        }
+        finally
+        {
+            deferredPlaybacks.remove();
+        }
+    }
+
+    public void publishGuild(GuildImpl guildObj, List<Runnable> playbacks)
+    {
+        JDAImpl api = getJDA();
+        synchronized (userLock)
+        {
+            // members that left all other guilds while this guild was built have been removed from the user cache
+            guildObj.getMembersMap().forEachValue(member ->
+            {
+                UserImpl user = (UserImpl) member.getUser();
+                if (!api.getUserMap().containsKey(user.getIdLong()))
+                    cacheUser(user);
+                return true;
+            });
+        }
+        api.getCategoryMap().putAll(guildObj.getCategoriesMap());
+        api.getTextChannelMap().putAll(guildObj.getTextChannelsMap());
+        api.getVoiceChannelMap().putAll(guildObj.getVoiceChannelsMap());
+        guildObj.pruneMemberCache();
+        api.getGuildMap().put(guildObj.getIdLong(), guildObj);
+        playbacks.forEach(Runnable::run);
+    }
+
+    public void discardGuild(GuildImpl guildObj)
+    {
+        // the channels were never cached, only the users created for this guild have to be removed again
+        JDAImpl api = getJDA();
+        long selfId = api.getSelfUser().getIdLong();
+        synchronized (userLock)
+        {
+            guildObj.getMembersMap().forEachValue(member ->
+            {
+                UserImpl user = (UserImpl) member.getUser();
+                long userId = user.getIdLong();
+                if (userId != selfId && !user.hasPrivateChannel()
+                    && api.getUserMap().get(userId) == user
+                    && !api.getGuildSetupController().containsMember(userId, null)
+                    && api.getGuildMap().valueCollection().stream().noneMatch(g -> ((GuildImpl) g).getMembersMap().containsKey(userId))
+                    && !(api.getAccountType() == AccountType.CLIENT && api.asClient().getFriendById(userId) != null))
+                {
+                    api.getUserMap().remove(userId);
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Removes the user from the cache if it is no longer cached as a member of any guild.
+     * <br>Users with a private channel, or in a group of a client account, are kept as fake users.
+     *
+     * @param  userId
+     *         The id of the user
+     */
+    public void unloadUser(long userId)
+    {
+        JDAImpl api = getJDA();
+        //The user is not in a different guild that we share
+        // The user also is not a friend of this account in the case that the logged in account is a client account.
+        if (userId == api.getSelfUser().getIdLong() // don't remove selfUser from cache
+            || api.getGuildMap().valueCollection().stream().anyMatch(g -> ((GuildImpl) g).getMembersMap().containsKey(userId))
+            || api.getGuildSetupController().containsBuiltMember(userId) // the user is a member of an incrementally built guild
+            || (api.getAccountType() == AccountType.CLIENT && api.asClient().getFriendById(userId) != null))
+            return;
+
+        synchronized (userLock)
+        {
+            UserImpl user = (UserImpl) api.getUserMap().remove(userId);
+            if (user == null)
+                return;
+            if (user.hasPrivateChannel())
+            {
+                PrivateChannelImpl priv = (PrivateChannelImpl) user.getPrivateChannel();
+                user.setFake(true);
+                priv.setFake(true);
+                api.getFakeUserMap().put(user.getIdLong(), user);
+                api.getFakePrivateChannelMap().put(priv.getIdLong(), priv);
+            }
+            else if (api.getAccountType() == AccountType.CLIENT)
+            {
+                //While the user might not have a private channel, if this is a client account then the user
+                // could be in a Group, and if so we need to change the User object to be fake and
+                // place it in the FakeUserMap
+                for (Group grp : api.asClient().getGroups())
+                {
+                    if (grp.getNonFriendUsers().contains(user))
+                    {
+                        user.setFake(true);
+                        api.getFakeUserMap().put(user.getIdLong(), user);
+                        break; //Breaks from groups loop
+                    }
+                }
+            }
+        }
+        api.getEventCache().clear(EventCache.Type.USER, userId);
+    }
+
+    private GuildImpl createGuildEntities(long guildId, JSONObject guildJson, TLongObjectMap<JSONObject> members)
+    {
+        final GuildImpl guildObj = createGuildObject(guildId, guildJson);
+        for (JSONObject memberJson : members.valueCollection())
+            createMember(guildObj, memberJson);
+        return createGuildChannelsAndStates(guildObj, guildJson);
+    }
+
+    private GuildImpl createGuildObject(long guildId, JSONObject guildJson)
     {
         final GuildImpl guildObj = new GuildImpl(getJDA(), guildId);
         final String name = guildJson.optString("name", "");
@@ -151,14 +338,8 @@ public class EntityBuilder
         final String splashId = guildJson.optString("splash", null);
         final String region = guildJson.optString("region", null);
         final JSONArray roleArray = guildJson.getJSONArray("roles");
-        final JSONArray channelArray = guildJson.getJSONArray("channels");
-        final JSONArray emotesArray = guildJson.getJSONArray("emojis");
-        final JSONArray voiceStateArray = guildJson.getJSONArray("voice_states");
         final JSONArray featuresArray = guildJson.optJSONArray("features");
-        final JSONArray presencesArray = guildJson.optJSONArray("presences");
         final long ownerId = Helpers.optLong(guildJson, "owner_id", 0L);
-        final long afkChannelId = Helpers.optLong(guildJson, "afk_channel_id", 0L);
-        final long systemChannelId = Helpers.optLong(guildJson, "system_channel_id", 0L);
         final int mfaLevel = Helpers.optInt(guildJson, "mfa_level", 0);
         final int afkTimeout = Helpers.optInt(guildJson, "afk_timeout", 0);
         final int verificationLevel = Helpers.optInt(guildJson, "verification_level", 0);
@@ -197,9 +378,18 @@ public class EntityBuilder
             if (role.getIdLong() == guildObj.getIdLong())
                 guildObj.setPublicRole(role);
         }
+        return guildObj;
+    }
 
-        for (JSONObject memberJson : members.valueCollection())
-            createMember(guildObj, memberJson);
+    private GuildImpl createGuildChannelsAndStates(GuildImpl guildObj, JSONObject guildJson)
+    {
+        final long guildId = guildObj.getIdLong();
+        final JSONArray channelArray = guildJson.getJSONArray("channels");
+        final JSONArray emotesArray = guildJson.getJSONArray("emojis");
+        final JSONArray voiceStateArray = guildJson.getJSONArray("voice_states");
+        final JSONArray presencesArray = guildJson.optJSONArray("presences");
+        final long afkChannelId = Helpers.optLong(guildJson, "afk_channel_id", 0L);
+        final long systemChannelId = Helpers.optLong(guildJson, "system_channel_id", 0L);
 
         if (guildObj.getOwner() == null)
             LOG.warn("Finished setup for guild with a null owner. GuildId: {} OwnerId: {}", guildId, guildJson.opt("owner_id"));
@@ -228,7 +418,6 @@ public class EntityBuilder
                 createPresence(member, presence);
         }
 
-        getJDA().getGuildMap().put(guildId, guildObj);
         return guildObj;
     }
 
@@ -294,48 +483,74 @@ public class EntityBuilder
     {
         final long id = user.getLong("id");
         UserImpl userObj;
+        boolean created = false;
 
-        userObj = (UserImpl) getJDA().getUserMap().get(id);
-        if (userObj == null)
+        synchronized (userLock)
         {
-            userObj = (UserImpl) getJDA().getFakeUserMap().get(id);
-            if (userObj != null)
+            userObj = (UserImpl) getJDA().getUserMap().get(id);
+            if (userObj == null)
             {
-                if (!fake && modifyCache)
+                userObj = (UserImpl) getJDA().getFakeUserMap().get(id);
+                if (userObj != null)
                 {
-                    getJDA().getFakeUserMap().remove(id);
-                    userObj.setFake(false);
-                    getJDA().getUserMap().put(userObj.getIdLong(), userObj);
-                    if (userObj.hasPrivateChannel())
-                    {
-                        PrivateChannelImpl priv = (PrivateChannelImpl) userObj.getPrivateChannel();
-                        priv.setFake(false);
-                        getJDA().getFakePrivateChannelMap().remove(priv.getIdLong());
-                        getJDA().getPrivateChannelMap().put(priv.getIdLong(), priv);
-                    }
+                    if (!fake && modifyCache)
+                        cacheUser(userObj);
                 }
-            }
-            else
-            {
-                userObj = new UserImpl(id, getJDA()).setFake(fake);
-                if (modifyCache)
+                else
                 {
-                    if (fake)
-                        getJDA().getFakeUserMap().put(id, userObj);
-                    else
-                        getJDA().getUserMap().put(id, userObj);
+                    //Initialize the user before it is cached to index it by its name
+                    userObj = updateUser(new UserImpl(id, getJDA()).setFake(fake), user);
+                    created = true;
+                    if (modifyCache)
+                    {
+                        if (fake)
+                            getJDA().getFakeUserMap().put(id, userObj);
+                        else
+                            getJDA().getUserMap().put(id, userObj);
+                    }
                 }
             }
         }
 
-        userObj
+        //Users that are already cached are only updated by the gateway thread
+        if (!created && deferredPlaybacks.get() == null)
+            updateUser(userObj, user);
+        if (!fake && modifyCache)
+            playbackCache(EventCache.Type.USER, id);
+        return userObj;
+    }
+
+    private UserImpl updateUser(UserImpl userObj, JSONObject user)
+    {
+        return userObj
             .setName(user.getString("username"))
             .setDiscriminator(user.get("discriminator").toString())
             .setAvatarId(user.optString("avatar", null))
             .setBot(Helpers.optBoolean(user, "bot"));
-        if (!fake && modifyCache)
-            getJDA().getEventCache().playbackCache(EventCache.Type.USER, id);
-        return userObj;
+    }
+
+    // Moves a fake user and its private channel to the cache of real users
+    private void cacheUser(UserImpl userObj)
+    {
+        getJDA().getFakeUserMap().remove(userObj.getIdLong());
+        userObj.setFake(false);
+        getJDA().getUserMap().put(userObj.getIdLong(), userObj);
+        if (userObj.hasPrivateChannel())
+        {
+            PrivateChannelImpl priv = (PrivateChannelImpl) userObj.getPrivateChannel();
+            priv.setFake(false);
+            getJDA().getFakePrivateChannelMap().remove(priv.getIdLong());
+            getJDA().getPrivateChannelMap().put(priv.getIdLong(), priv);
+        }
+    }
+
+    private void playbackCache(EventCache.Type type, long id)
+    {
+        List<Runnable> playbacks = deferredPlaybacks.get();
+        if (playbacks == null)
+            getJDA().getEventCache().playbackCache(type, id);
+        else
+            playbacks.add(() -> getJDA().getEventCache().playbackCache(type, id));
     }
 
     public Member createMember(GuildImpl guild, JSONObject memberJson)
@@ -354,11 +569,82 @@ public class EntityBuilder
             }
         }
 
-        GuildVoiceStateImpl state = (GuildVoiceStateImpl) member.getVoiceState();
+        List<Role> addedRoles = updateMember(guild, member, memberJson);
+        if (!addedRoles.isEmpty())
+        {
+            ((MemberCacheViewImpl) guild.getMemberCache()).updateRoles(member, addedRoles, Collections.emptyList());
+            guild.invalidatePermissions();
+        }
+
+        if (playbackCache)
+        {
+            long hashId = guild.getIdLong() ^ user.getIdLong();
+            playbackCache(EventCache.Type.MEMBER, hashId);
+        }
+        return member;
+    }
+
+    // Builds a member without modifying any cache, this can be used outside of the gateway thread.
+    // The member is cached later by the gateway thread with cacheDetachedMember.
+    public MemberImpl createDetachedMember(GuildImpl guild, JSONObject memberJson)
+    {
+        JSONObject userJson = memberJson.getJSONObject("user");
+        final long userId = userJson.getLong("id");
+        UserImpl user = (UserImpl) getJDA().getUserMap().get(userId);
+        if (user == null)
+            user = updateUser(new UserImpl(userId, getJDA()), userJson);
+        MemberImpl member = new MemberImpl(guild, user);
+        updateMember(guild, member, memberJson);
+        return member;
+    }
+
+    // Caches a member of createDetachedMember, must be called by the gateway thread.
+    // Returns the cached member, which is a different instance if the guild or user changed since the member was built.
+    public Member cacheDetachedMember(GuildImpl guild, MemberImpl member, JSONObject memberJson)
+    {
+        final long userId = member.getUser().getIdLong();
+        if (getJDA().getGuildMap().get(guild.getIdLong()) != guild)
+            return member; // the guild has been removed since
+        Member cached = guild.getMembersMap().get(userId);
+        if (cached != null)
+            return cached; // events have cached the member since, they are more recent than the response
+
+        UserImpl user = (UserImpl) member.getUser();
+        synchronized (userLock)
+        {
+            User cachedUser = getJDA().getUserMap().get(userId);
+            if (cachedUser == null && getJDA().getFakeUserMap().get(userId) == null)
+                getJDA().getUserMap().put(userId, user);
+            else if (cachedUser != user)
+                return createMember(guild, memberJson);
+        }
+        playbackCache(EventCache.Type.USER, userId);
+
+        // roles deleted while the member was built are no longer available
+        member.getRoleSet().removeIf(role -> guild.getRolesMap().get(role.getIdLong()) != role);
+        guild.getMembersMap().put(userId, member);
+        if (guild.getOwnerIdLong() == userId)
+            guild.setOwner(member);
+        if (!member.getRoleSet().isEmpty())
+        {
+            ((MemberCacheViewImpl) guild.getMemberCache()).updateRoles(member, new ArrayList<>(member.getRoleSet()), Collections.emptyList());
+            guild.invalidatePermissions();
+        }
+        playbackCache(EventCache.Type.MEMBER, guild.getIdLong() ^ userId);
+        return member;
+    }
+
+    // Updates the fields of the member, returns the roles which were added to the role set of the member
+    private List<Role> updateMember(GuildImpl guild, MemberImpl member, JSONObject memberJson)
+    {
+        //Compact members only need a voice state once it differs from the defaults
+        final boolean muted = memberJson.getBoolean("mute");
+        final boolean deafened = memberJson.getBoolean("deaf");
+        GuildVoiceStateImpl state = (GuildVoiceStateImpl) (muted || deafened ? member.getVoiceState() : member.peekVoiceState());
         if (state != null)
         {
-            state.setGuildMuted(memberJson.getBoolean("mute"))
-                 .setGuildDeafened(memberJson.getBoolean("deaf"));
+            state.setGuildMuted(muted)
+                 .setGuildDeafened(deafened);
         }
 
         TemporalAccessor joinedAt = DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(memberJson.getString("joined_at"));
@@ -366,6 +652,7 @@ public class EntityBuilder
               .setNickname(memberJson.optString("nick", null));
 
         JSONArray rolesJson = memberJson.getJSONArray("roles");
+        List<Role> addedRoles = new ArrayList<>(rolesJson.length());
         for (int k = 0; k < rolesJson.length(); k++)
         {
             final long roleId = rolesJson.getLong(k);
@@ -375,18 +662,12 @@ public class EntityBuilder
                 LOG.debug("Received a Member with an unknown Role. MemberId: {} GuildId: {} roleId: {}",
                     member.getUser().getId(), guild.getId(), roleId);
             }
-            else
+            else if (member.getRoleSet().add(r))
             {
-                member.getRoleSet().add(r);
+                addedRoles.add(r);
             }
         }
-
-        if (playbackCache)
-        {
-            long hashId = guild.getIdLong() ^ user.getIdLong();
-            getJDA().getEventCache().playbackCache(EventCache.Type.MEMBER, hashId);
-        }
-        return member;
+        return addedRoles;
     }
 
     //Effectively the same as createFriendPresence
@@ -555,14 +836,16 @@ public class EntityBuilder
     {
         boolean playbackCache = false;
         final long id = json.getLong("id");
-        CategoryImpl channel = (CategoryImpl) getJDA().getCategoryMap().get(id);
+        //Guilds built off the gateway thread cache their channels once they are published
+        final boolean deferred = deferredPlaybacks.get() != null;
+        CategoryImpl channel = deferred ? null : (CategoryImpl) getJDA().getCategoryMap().get(id);
         if (channel == null)
         {
             if (guild == null)
                 guild = (GuildImpl) getJDA().getGuildMap().get(guildId);
             channel = new CategoryImpl(id, guild);
             guild.getCategoriesMap().put(id, channel);
-            playbackCache = getJDA().getCategoryMap().put(id, channel) == null;
+            playbackCache = deferred || getJDA().getCategoryMap().put(id, channel) == null;
         }
 
         if (!json.isNull("permission_overwrites"))
@@ -575,7 +858,7 @@ public class EntityBuilder
             .setName(json.getString("name"))
             .setPosition(json.getInt("position"));
         if (playbackCache)
-            getJDA().getEventCache().playbackCache(EventCache.Type.CHANNEL, id);
+            playbackCache(EventCache.Type.CHANNEL, id);
         return channel;
     }
 
@@ -589,14 +872,15 @@ public class EntityBuilder
     {
         boolean playbackCache = false;
         final long id = json.getLong("id");
-        TextChannelImpl channel = (TextChannelImpl) getJDA().getTextChannelMap().get(id);
+        final boolean deferred = deferredPlaybacks.get() != null;
+        TextChannelImpl channel = deferred ? null : (TextChannelImpl) getJDA().getTextChannelMap().get(id);
         if (channel == null)
         {
             if (guildObj == null)
                 guildObj = (GuildImpl) getJDA().getGuildMap().get(guildId);
             channel = new TextChannelImpl(id, guildObj);
             guildObj.getTextChannelsMap().put(id, channel);
-            playbackCache = getJDA().getTextChannelMap().put(id, channel) == null;
+            playbackCache = deferred || getJDA().getTextChannelMap().put(id, channel) == null;
         }
 
         if (!json.isNull("permission_overwrites"))
@@ -614,7 +898,7 @@ public class EntityBuilder
             .setNSFW(Helpers.optBoolean(json, "nsfw"))
             .setSlowmode(Helpers.optInt(json, "rate_limit_per_user", 0));
         if (playbackCache)
-            getJDA().getEventCache().playbackCache(EventCache.Type.CHANNEL, id);
+            playbackCache(EventCache.Type.CHANNEL, id);
         return channel;
     }
 
@@ -627,14 +911,15 @@ public class EntityBuilder
     {
         boolean playbackCache = false;
         final long id = json.getLong("id");
-        VoiceChannelImpl channel = ((VoiceChannelImpl) getJDA().getVoiceChannelMap().get(id));
+        final boolean deferred = deferredPlaybacks.get() != null;
+        VoiceChannelImpl channel = deferred ? null : (VoiceChannelImpl) getJDA().getVoiceChannelMap().get(id);
         if (channel == null)
         {
             if (guild == null)
                 guild = (GuildImpl) getJDA().getGuildMap().get(guildId);
             channel = new VoiceChannelImpl(id, guild);
             guild.getVoiceChannelsMap().put(id, channel);
-            playbackCache = getJDA().getVoiceChannelMap().put(id, channel) == null;
+            playbackCache = deferred || getJDA().getVoiceChannelMap().put(id, channel) == null;
         }
 
         if (!json.isNull("permission_overwrites"))
@@ -650,7 +935,7 @@ public class EntityBuilder
             .setUserLimit(json.getInt("user_limit"))
             .setBitrate(json.getInt("bitrate"));
         if (playbackCache)
-            getJDA().getEventCache().playbackCache(EventCache.Type.CHANNEL, id);
+            playbackCache(EventCache.Type.CHANNEL, id);
         return channel;
     }
 
@@ -727,7 +1012,7 @@ public class EntityBuilder
             .setColor(color == 0 ? Role.DEFAULT_COLOR_RAW : color)
             .setMentionable(roleJson.has("mentionable") && roleJson.getBoolean("mentionable"));
         if (playbackCache)
-            getJDA().getEventCache().playbackCache(EventCache.Type.ROLE, id);
+            playbackCache(EventCache.Type.ROLE, id);
         return role;
     }
 
@@ -802,6 +1087,13 @@ public class EntityBuilder
                 Guild guild = ((TextChannel) chan).getGuild();
                 Member member = guild.getMemberById(authorId);
                 user = member != null ? member.getUser() : null;
+                if (user == null && !fromWebhook && getJDA().getMemberCachePolicy() != MemberCachePolicy.ALL)
+                {
+                    // the member might have been removed by the member cache policy
+                    user = getJDA().getUserById(authorId);
+                    if (user == null)
+                        user = createFakeUser(author, false);
+                }
                 if (user == null)
                 {
                     if (fromWebhook || !exceptionOnMissingUser)
@@ -406,6 +406,60 @@ public interface Guild extends ISnowflake
         return getMemberCache().getElementById(userId);
     }
 
+    /**
+     * Retrieves the {@link net.dv8tion.jda.core.entities.Member Member} with the provided user id.
+     * <br>If the member is cached this completes with the cached member without making a request.
+     * Otherwise the member is requested and cached again if the configured
+     * {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} accepts it.
+     * The member is cached before the next event is handled, unless an event has cached the member in the meantime.
+     * Retrieved members are not connected to a {@link VoiceChannel VoiceChannel} until their next voice state update.
+     *
+     * <p>Possible {@link net.dv8tion.jda.core.requests.ErrorResponse ErrorResponses} caused by
+     * the returned {@link net.dv8tion.jda.core.requests.RestAction RestAction} include the following:
+     * <ul>
+     *     <li>{@link net.dv8tion.jda.core.requests.ErrorResponse#UNKNOWN_MEMBER UNKNOWN_MEMBER}
+     *     <br>If the user is not a member of this guild</li>
+     * </ul>
+     *
+     * @param  userId
+     *         The Discord id of the User
+     *
+     * @throws IllegalArgumentException
+     *         If the provided id is not a valid snowflake
+     *
+     * @return {@link net.dv8tion.jda.core.requests.RestAction RestAction} - Type: {@link net.dv8tion.jda.core.entities.Member Member}
+     */
+    @Nonnull
+    @CheckReturnValue
+    RestAction<Member> retrieveMemberById(String userId);
+
+    /**
+     * Retrieves the {@link net.dv8tion.jda.core.entities.Member Member} with the provided user id.
+     * <br>If the member is cached this completes with the cached member without making a request.
+     * Otherwise the member is requested and cached again if the configured
+     * {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} accepts it.
+     * The member is cached before the next event is handled, unless an event has cached the member in the meantime.
+     * Retrieved members are not connected to a {@link VoiceChannel VoiceChannel} until their next voice state update.
+     *
+     * <p>Possible {@link net.dv8tion.jda.core.requests.ErrorResponse ErrorResponses} caused by
+     * the returned {@link net.dv8tion.jda.core.requests.RestAction RestAction} include the following:
+     * <ul>
+     *     <li>{@link net.dv8tion.jda.core.requests.ErrorResponse#UNKNOWN_MEMBER UNKNOWN_MEMBER}
+     *     <br>If the user is not a member of this guild</li>
+     * </ul>
+     *
+     * @param  userId
+     *         The Discord id of the User
+     *
+     * @return {@link net.dv8tion.jda.core.requests.RestAction RestAction} - Type: {@link net.dv8tion.jda.core.entities.Member Member}
+     */
+    @Nonnull
+    @CheckReturnValue
+    default RestAction<Member> retrieveMemberById(long userId)
+    {
+        return retrieveMemberById(Long.toUnsignedString(userId));
+    }
+
     /**
      * A list of all {@link net.dv8tion.jda.core.entities.Member Members} in this Guild.
      * <br>The Members are not provided in any particular order.
@@ -32,12 +32,14 @@ import net.dv8tion.jda.core.requests.restaction.PermissionOverrideAction;
 import net.dv8tion.jda.core.utils.Checks;
 import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
+import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
 import org.json.JSONArray;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -275,10 +277,37 @@ public abstract class AbstractChannelImpl<T extends AbstractChannelImpl<T>> impl
     @SuppressWarnings("unchecked")
     public T setName(String name)
     {
+        String oldName = this.name;
         this.name = name;
+        if (!Objects.equals(oldName, name))
+            updateNameIndex(oldName);
         return (T) this;
     }
 
+    private void updateNameIndex(String oldName)
+    {
+        GuildImpl guild = getGuild();
+        JDAImpl api = guild.getJDA();
+        switch (getType())
+        {
+            case TEXT:
+                TextChannel text = (TextChannel) this;
+                ((SnowflakeCacheViewImpl<TextChannel>) guild.getTextChannelCache()).updateName(id, text, oldName);
+                ((SnowflakeCacheViewImpl<TextChannel>) api.getTextChannelCache()).updateName(id, text, oldName);
+                break;
+            case VOICE:
+                VoiceChannel voice = (VoiceChannel) this;
+                ((SnowflakeCacheViewImpl<VoiceChannel>) guild.getVoiceChannelCache()).updateName(id, voice, oldName);
+                ((SnowflakeCacheViewImpl<VoiceChannel>) api.getVoiceChannelCache()).updateName(id, voice, oldName);
+                break;
+            case CATEGORY:
+                Category category = (Category) this;
+                ((SnowflakeCacheViewImpl<Category>) guild.getCategoryCache()).updateName(id, category, oldName);
+                ((SnowflakeCacheViewImpl<Category>) api.getCategoryCache()).updateName(id, category, oldName);
+                break;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public T setParent(long parentId)
     {
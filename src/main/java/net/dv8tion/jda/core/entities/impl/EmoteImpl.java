@@ -18,6 +18,7 @@ package net.dv8tion.jda.core.entities.impl;
 
 import net.dv8tion.jda.client.managers.EmoteManager;
 import net.dv8tion.jda.core.Permission;
+import net.dv8tion.jda.core.entities.Emote;
 import net.dv8tion.jda.core.entities.ListedEmote;
 import net.dv8tion.jda.core.entities.Role;
 import net.dv8tion.jda.core.entities.User;
@@ -28,6 +29,7 @@ import net.dv8tion.jda.core.requests.Route;
 import net.dv8tion.jda.core.requests.restaction.AuditableRestAction;
 import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
+import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
 
 import java.util.*;
 import java.util.concurrent.locks.ReentrantLock;
@@ -190,7 +192,10 @@ public class EmoteImpl implements ListedEmote
 
     public EmoteImpl setName(String name)
     {
+        String oldName = this.name;
         this.name = name;
+        if (!Objects.equals(oldName, name) && !isFake())
+            ((SnowflakeCacheViewImpl<Emote>) getGuild().getEmoteCache()).updateName(id, this, oldName);
         return this;
     }
 
@@ -17,8 +17,10 @@
 package net.dv8tion.jda.core.entities.impl;
 
 import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.dv8tion.jda.client.requests.restaction.pagination.MentionPaginationAction;
 import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.OnlineStatus;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.Region;
 import net.dv8tion.jda.core.entities.*;
@@ -38,10 +40,12 @@ import net.dv8tion.jda.core.requests.restaction.pagination.AuditLogPaginationAct
 import net.dv8tion.jda.core.utils.Checks;
 import net.dv8tion.jda.core.utils.Helpers;
 import net.dv8tion.jda.core.utils.MiscUtil;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import net.dv8tion.jda.core.utils.cache.MemberCacheView;
 import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
 import net.dv8tion.jda.core.utils.cache.impl.MemberCacheViewImpl;
+import net.dv8tion.jda.core.utils.cache.impl.PermissionCache;
 import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
 import net.dv8tion.jda.core.utils.cache.impl.SortedSnowflakeCacheView;
 import org.json.JSONArray;
@@ -60,6 +64,8 @@ public class GuildImpl implements Guild
 {
     private final long id;
     private final UpstreamReference<JDAImpl> api;
+    // shared by the members and voice states of this guild instead of one reference each
+    private final UpstreamReference<GuildImpl> reference = new UpstreamReference<>(this);
 
     private final SortedSnowflakeCacheView<Category> categoryCache = new SortedSnowflakeCacheView<>(Category.class, Channel::getName, Comparator.naturalOrder());
     private final SortedSnowflakeCacheView<VoiceChannel> voiceChannelCache = new SortedSnowflakeCacheView<>(VoiceChannel.class, Channel::getName, Comparator.naturalOrder());
@@ -67,8 +73,11 @@ public class GuildImpl implements Guild
     private final SortedSnowflakeCacheView<Role> roleCache = new SortedSnowflakeCacheView<>(Role.class, Role::getName, Comparator.reverseOrder());
     private final SnowflakeCacheViewImpl<Emote> emoteCache = new SnowflakeCacheViewImpl<>(Emote.class, Emote::getName);
     private final MemberCacheViewImpl memberCache = new MemberCacheViewImpl();
+    private final PermissionCache permissionCache = new PermissionCache();
 
     private final TLongObjectMap<JSONObject> cachedPresences = MiscUtil.newLongMap();
+    // latest presences of members that are retrieved again by reloadMember, only used by the gateway thread
+    private final TLongObjectMap<JSONObject> pendingPresences = new TLongObjectHashMap<>();
 
     private final ReentrantLock mngLock = new ReentrantLock();
     private volatile GuildManager manager;
@@ -96,6 +105,15 @@ public class GuildImpl implements Guild
     {
         this.id = id;
         this.api = new UpstreamReference<>(api);
+        if (api.isNameIndexEnabled())
+        {
+            categoryCache.setNameIndexEnabled(true);
+            voiceChannelCache.setNameIndexEnabled(true);
+            textChannelCache.setNameIndexEnabled(true);
+            roleCache.setNameIndexEnabled(true);
+            emoteCache.setNameIndexEnabled(true);
+            memberCache.setNameIndexEnabled(true);
+        }
     }
 
     @Override
@@ -296,6 +314,43 @@ public class GuildImpl implements Guild
         return getMemberById(user.getIdLong());
     }
 
+    @Nonnull
+    @Override
+    public RestAction<Member> retrieveMemberById(String userId)
+    {
+        Checks.isSnowflake(userId, "User ID");
+        Member member = getMemberById(userId);
+        if (member != null)
+            return new RestAction.EmptyRestAction<>(getJDA(), member);
+        Route.CompiledRoute route = Route.Guilds.GET_MEMBER.compile(getId(), userId);
+        return new RestAction<Member>(getJDA(), route)
+        {
+            @Override
+            protected void handleResponse(Response response, Request<Member> request)
+            {
+                if (!response.isOk())
+                {
+                    request.onFailure(response);
+                    return;
+                }
+
+                // the member cache is only modified by the gateway thread, which may be blocked on this request
+                JDAImpl api = GuildImpl.this.getJDA();
+                JSONObject memberJson = response.getObject();
+                MemberImpl member = api.getEntityBuilder().createDetachedMember(GuildImpl.this, memberJson);
+                api.getClient().queueDispatchTask(() ->
+                {
+                    JSONObject presence = pendingPresences.remove(member.getUser().getIdLong());
+                    Member cached = api.getEntityBuilder().cacheDetachedMember(GuildImpl.this, member, memberJson);
+                    if (cached == member && presence != null)
+                        api.getEntityBuilder().createPresence(member, presence);
+                    updateMemberCache((MemberImpl) cached);
+                });
+                request.onSuccess(member);
+            }
+        };
+    }
+
     @Override
     public MemberCacheView getMemberCache()
     {
@@ -716,12 +771,16 @@ public class GuildImpl implements Guild
     public GuildImpl setOwner(Member owner)
     {
         this.owner = owner;
+        invalidatePermissions();
         return this;
     }
 
     public GuildImpl setName(String name)
     {
+        String oldName = this.name;
         this.name = name;
+        if (!Objects.equals(oldName, name))
+            ((SnowflakeCacheViewImpl<Guild>) getJDA().getGuildCache()).updateName(id, this, oldName);
         return this;
     }
 
@@ -821,11 +880,88 @@ public class GuildImpl implements Guild
         return voiceChannelCache.getMap();
     }
 
+    public UpstreamReference<GuildImpl> getReference()
+    {
+        return reference;
+    }
+
     public TLongObjectMap<Member> getMembersMap()
     {
         return memberCache.getMap();
     }
 
+    public PermissionCache getPermissionCache()
+    {
+        return permissionCache;
+    }
+
+    // must be called after every change that affects the effective permissions of members
+    public void invalidatePermissions()
+    {
+        permissionCache.invalidate();
+    }
+
+    // asks the MemberCachePolicy whether the member should stay cached, must be called after every member activity
+    public void updateMemberCache(MemberImpl member)
+    {
+        MemberCachePolicy policy = getJDA().getMemberCachePolicy();
+        if (policy == MemberCachePolicy.ALL)
+            return;
+        final long userId = member.getUser().getIdLong();
+        if (userId == ownerId || userId == getJDA().getSelfUser().getIdLong())
+            return;
+        if (getMembersMap().get(userId) == member && !policy.cacheMember(member))
+            unloadMember(userId);
+    }
+
+    // Retrieves a member that is not cached because of the MemberCachePolicy once it comes online, the presence is
+    // applied once the member is cached again. Must be called by the gateway thread, presences received while the
+    // member is retrieved replace the pending presence instead of sending another request.
+    public void reloadMember(long userId, JSONObject presence)
+    {
+        if (pendingPresences.containsKey(userId))
+        {
+            pendingPresences.put(userId, presence);
+            return;
+        }
+        if (OnlineStatus.fromKey(presence.getString("status")) == OnlineStatus.OFFLINE)
+            return;
+        pendingPresences.put(userId, presence);
+        retrieveMemberById(userId).queue(null, error ->
+        {
+            EntityBuilder.LOG.debug("Failed to retrieve member {} of guild {}", userId, getId(), error);
+            getJDA().getClient().queueDispatchTask(() -> pendingPresences.remove(userId));
+        });
+    }
+
+    public boolean isReloadingMember(long userId)
+    {
+        return pendingPresences.containsKey(userId);
+    }
+
+    public void pruneMemberCache()
+    {
+        if (getJDA().getMemberCachePolicy() == MemberCachePolicy.ALL)
+            return;
+        for (Member member : new ArrayList<>(getMembersMap().valueCollection()))
+            updateMemberCache((MemberImpl) member);
+    }
+
+    public void unloadMember(long userId)
+    {
+        if (userId == ownerId || userId == getJDA().getSelfUser().getIdLong())
+            return;
+        MemberImpl member = (MemberImpl) getMembersMap().remove(userId);
+        if (member == null)
+            return;
+        // updates of the member are not received while it is not cached
+        invalidatePermissions();
+        GuildVoiceStateImpl voiceState = (GuildVoiceStateImpl) member.peekVoiceState();
+        if (voiceState != null && voiceState.inVoiceChannel())
+            ((VoiceChannelImpl) voiceState.getChannel()).getConnectedMembersMap().remove(userId);
+        getJDA().getEntityBuilder().unloadUser(userId);
+    }
+
     public TLongObjectMap<Role> getRolesMap()
     {
         return roleCache.getMap();
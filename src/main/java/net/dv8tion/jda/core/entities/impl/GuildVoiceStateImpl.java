@@ -37,7 +37,7 @@ public class GuildVoiceStateImpl implements GuildVoiceState
 
     public GuildVoiceStateImpl(GuildImpl guild, Member member)
     {
-        this.guild = new UpstreamReference<>(guild);
+        this.guild = guild.getReference();
         this.member = new UpstreamReference<>(member);
     }
 
@@ -28,6 +28,7 @@ import net.dv8tion.jda.core.audio.factory.DefaultSendFactory;
 import net.dv8tion.jda.core.audio.factory.IAudioSendFactory;
 import net.dv8tion.jda.core.audio.hooks.ConnectionStatus;
 import net.dv8tion.jda.core.entities.*;
+import net.dv8tion.jda.core.events.Event;
 import net.dv8tion.jda.core.events.StatusChangeEvent;
 import net.dv8tion.jda.core.exceptions.AccountTypeException;
 import net.dv8tion.jda.core.exceptions.RateLimitedException;
@@ -44,10 +45,13 @@ import net.dv8tion.jda.core.requests.restaction.GuildAction;
 import net.dv8tion.jda.core.utils.*;
 import net.dv8tion.jda.core.utils.cache.CacheFlag;
 import net.dv8tion.jda.core.utils.cache.CacheView;
+import net.dv8tion.jda.core.utils.cache.EventPolicy;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
 import net.dv8tion.jda.core.utils.cache.impl.AbstractCacheView;
 import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
+import net.dv8tion.jda.core.utils.concurrent.ConcurrentLongObjectMap;
 import net.dv8tion.jda.core.utils.concurrent.CountingThreadFactory;
 import net.dv8tion.jda.core.utils.tuple.Pair;
 import okhttp3.OkHttpClient;
@@ -58,6 +62,7 @@ import org.slf4j.MDC;
 import javax.security.auth.login.LoginException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 public class JDAImpl implements JDA
@@ -73,13 +78,16 @@ public class JDAImpl implements JDA
 
     protected final Object audioLifeCycleLock = new Object();
     protected ScheduledThreadPoolExecutor audioLifeCyclePool;
+    protected final Object guildSetupLock = new Object();
+    protected ThreadPoolExecutor guildSetupPool;
+    protected int guildSetupPoolSize = 0;
 
-    protected final SnowflakeCacheViewImpl<User> userCache = new SnowflakeCacheViewImpl<>(User.class, User::getName);
-    protected final SnowflakeCacheViewImpl<Guild> guildCache = new SnowflakeCacheViewImpl<>(Guild.class, Guild::getName);
-    protected final SnowflakeCacheViewImpl<Category> categories = new SnowflakeCacheViewImpl<>(Category.class, Channel::getName);
-    protected final SnowflakeCacheViewImpl<TextChannel> textChannelCache = new SnowflakeCacheViewImpl<>(TextChannel.class, Channel::getName);
-    protected final SnowflakeCacheViewImpl<VoiceChannel> voiceChannelCache = new SnowflakeCacheViewImpl<>(VoiceChannel.class, Channel::getName);
-    protected final SnowflakeCacheViewImpl<PrivateChannel> privateChannelCache = new SnowflakeCacheViewImpl<>(PrivateChannel.class, MessageChannel::getName);
+    protected final SnowflakeCacheViewImpl<User> userCache = new SnowflakeCacheViewImpl<>(User.class, User::getName, new ConcurrentLongObjectMap<>());
+    protected final SnowflakeCacheViewImpl<Guild> guildCache = new SnowflakeCacheViewImpl<>(Guild.class, Guild::getName, new ConcurrentLongObjectMap<>());
+    protected final SnowflakeCacheViewImpl<Category> categories = new SnowflakeCacheViewImpl<>(Category.class, Channel::getName, new ConcurrentLongObjectMap<>());
+    protected final SnowflakeCacheViewImpl<TextChannel> textChannelCache = new SnowflakeCacheViewImpl<>(TextChannel.class, Channel::getName, new ConcurrentLongObjectMap<>());
+    protected final SnowflakeCacheViewImpl<VoiceChannel> voiceChannelCache = new SnowflakeCacheViewImpl<>(VoiceChannel.class, Channel::getName, new ConcurrentLongObjectMap<>());
+    protected final SnowflakeCacheViewImpl<PrivateChannel> privateChannelCache = new SnowflakeCacheViewImpl<>(PrivateChannel.class, MessageChannel::getName, new ConcurrentLongObjectMap<>());
 
     protected final TLongObjectMap<User> fakeUsers = MiscUtil.newLongMap();
     protected final TLongObjectMap<PrivateChannel> fakePrivateChannels = MiscUtil.newLongMap();
@@ -105,6 +113,11 @@ public class JDAImpl implements JDA
     protected UpstreamReference<WebSocketClient> client;
     protected Requester requester;
     protected IEventManager eventManager = new InterfacedEventManager();
+    protected Map<String, EventPolicy> eventPolicies = Collections.emptyMap();
+    protected final LongAdder ignoredEvents = new LongAdder();
+    protected final LongAdder cacheOnlyEvents = new LongAdder();
+    // the thread which is currently handling a gateway event with the CACHE_ONLY policy
+    protected volatile Thread cacheOnlyThread;
     protected IAudioSendFactory audioSendFactory = new DefaultSendFactory();
     protected Status status = Status.INITIALIZING;
     protected SelfUser selfUser;
@@ -112,6 +125,10 @@ public class JDAImpl implements JDA
     protected boolean audioEnabled;
     protected boolean bulkDeleteSplittingEnabled;
     protected boolean autoReconnect;
+    protected boolean nameIndexEnabled;
+    protected boolean compactMemberCacheEnabled;
+    protected boolean incrementalChunkingEnabled;
+    protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
     protected long responseTotal;
     protected long ping = -1;
     protected String token;
@@ -185,7 +202,7 @@ public class JDAImpl implements JDA
         return guildSetupController;
     }
 
-    public int login(String gatewayUrl, ShardInfo shardInfo, boolean compression, boolean validateToken) throws LoginException
+    public int login(String gatewayUrl, ShardInfo shardInfo, boolean compression, boolean streamingDecode, boolean validateToken) throws LoginException
     {
         this.gatewayUrl = gatewayUrl;
         this.shardInfo = shardInfo;
@@ -214,7 +231,7 @@ public class JDAImpl implements JDA
             LOG.info("Login Successful!");
         }
 
-        client = new UpstreamReference<>(new WebSocketClient(this, compression));
+        client = new UpstreamReference<>(new WebSocketClient(this, compression, streamingDecode));
         // remove our MDC metadata when we exit our code
         if (previousContext != null)
             previousContext.forEach(MDC::put);
@@ -615,6 +632,11 @@ public class JDAImpl implements JDA
     {
         if (audioLifeCyclePool != null)
             audioLifeCyclePool.shutdownNow();
+        synchronized (guildSetupLock)
+        {
+            if (guildSetupPool != null)
+                guildSetupPool.shutdownNow();
+        }
         if (shutdownGatewayPool)
             getGatewayPool().shutdown();
         if (shutdownCallbackPool)
@@ -792,6 +814,130 @@ public class JDAImpl implements JDA
         this.audioSendFactory = factory;
     }
 
+    public void setNameIndexEnabled(boolean enabled)
+    {
+        this.nameIndexEnabled = enabled;
+        userCache.setNameIndexEnabled(enabled);
+        guildCache.setNameIndexEnabled(enabled);
+        categories.setNameIndexEnabled(enabled);
+        textChannelCache.setNameIndexEnabled(enabled);
+        voiceChannelCache.setNameIndexEnabled(enabled);
+        privateChannelCache.setNameIndexEnabled(enabled);
+    }
+
+    public boolean isNameIndexEnabled()
+    {
+        return nameIndexEnabled;
+    }
+
+    public void setAsyncRequestsEnabled(boolean enabled, int maxRequests)
+    {
+        requester.setAsync(enabled, maxRequests);
+    }
+
+    public void setRequestCoalescingEnabled(boolean enabled)
+    {
+        requester.setCoalesceRequests(enabled);
+    }
+
+    public void setCompactMemberCacheEnabled(boolean enabled)
+    {
+        this.compactMemberCacheEnabled = enabled;
+    }
+
+    public boolean isCompactMemberCacheEnabled()
+    {
+        return compactMemberCacheEnabled;
+    }
+
+    public void setGuildSetupPoolSize(int poolSize)
+    {
+        this.guildSetupPoolSize = poolSize;
+    }
+
+    public void setIncrementalChunkingEnabled(boolean enabled)
+    {
+        this.incrementalChunkingEnabled = enabled;
+    }
+
+    public boolean isIncrementalChunkingEnabled()
+    {
+        return incrementalChunkingEnabled;
+    }
+
+    public void setMemberCachePolicy(MemberCachePolicy policy)
+    {
+        this.memberCachePolicy = policy == null ? MemberCachePolicy.ALL : policy;
+    }
+
+    public MemberCachePolicy getMemberCachePolicy()
+    {
+        return memberCachePolicy;
+    }
+
+    public void setEventPolicies(Map<String, EventPolicy> eventPolicies)
+    {
+        this.eventPolicies = eventPolicies == null || eventPolicies.isEmpty() ? Collections.emptyMap() : new HashMap<>(eventPolicies);
+    }
+
+    public EventPolicy getEventPolicy(String type)
+    {
+        EventPolicy policy = eventPolicies.get(type);
+        return policy == null ? EventPolicy.CACHE_AND_DISPATCH : policy;
+    }
+
+    public void countDroppedEvent(EventPolicy policy)
+    {
+        if (policy == EventPolicy.IGNORE)
+            ignoredEvents.increment();
+        else if (policy == EventPolicy.CACHE_ONLY)
+            cacheOnlyEvents.increment();
+    }
+
+    // fires an event of a gateway event handler, the events of a CACHE_ONLY gateway event are dropped
+    public void handleEvent(Event event)
+    {
+        if (!isDispatchSuppressed())
+            eventManager.handle(event);
+    }
+
+    public boolean isDispatchSuppressed()
+    {
+        return cacheOnlyThread == Thread.currentThread();
+    }
+
+    public void setDispatchSuppressed(boolean suppressed)
+    {
+        cacheOnlyThread = suppressed ? Thread.currentThread() : null;
+    }
+
+    @Override
+    public long getDroppedEventCount(EventPolicy policy)
+    {
+        Checks.notNull(policy, "EventPolicy");
+        switch (policy)
+        {
+            case IGNORE:
+                return ignoredEvents.sum();
+            case CACHE_ONLY:
+                return cacheOnlyEvents.sum();
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public int getChunkingGuildCount()
+    {
+        return guildSetupController.getChunkingGuildCount();
+    }
+
+    @Override
+    public double getMemberChunkRate()
+    {
+        return guildSetupController.getMemberChunkRate();
+    }
+
     public void setPing(long ping)
     {
         this.ping = ping;
@@ -910,6 +1056,24 @@ public class JDAImpl implements JDA
         return pool;
     }
 
+    // null if guilds are built on the gateway thread
+    public ExecutorService getGuildSetupPool()
+    {
+        if (guildSetupPoolSize < 1)
+            return null;
+        synchronized (guildSetupLock)
+        {
+            if (guildSetupPool == null)
+            {
+                guildSetupPool = new ThreadPoolExecutor(guildSetupPoolSize, guildSetupPoolSize, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new CountingThreadFactory(this::getIdentifierString, "GuildSetup"));
+                // the pool is only busy while connecting or joining guilds
+                guildSetupPool.allowCoreThreadTimeOut(true);
+            }
+            return guildSetupPool;
+        }
+    }
+
     public ScheduledExecutorService getRateLimitPool()
     {
         return rateLimitPool;
@@ -24,6 +24,7 @@ import net.dv8tion.jda.core.utils.Checks;
 import net.dv8tion.jda.core.utils.PermissionUtil;
 import net.dv8tion.jda.core.utils.cache.CacheFlag;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
+import net.dv8tion.jda.core.utils.cache.impl.MemberCacheViewImpl;
 
 import javax.annotation.Nullable;
 import java.awt.Color;
@@ -37,8 +38,9 @@ public class MemberImpl implements Member
     private static final ZoneOffset OFFSET = ZoneOffset.of("+00:00");
     private final UpstreamReference<GuildImpl> guild;
     private final User user;
-    private final Set<Role> roles = new HashSet<>();
-    private final GuildVoiceState voiceState;
+    private final Set<Role> roles;
+    private final boolean compact;
+    private volatile GuildVoiceState voiceState;
 
     private String nickname;
     private long joinDate;
@@ -47,11 +49,13 @@ public class MemberImpl implements Member
 
     public MemberImpl(GuildImpl guild, User user)
     {
-        this.guild = new UpstreamReference<>(guild);
+        this.guild = guild.getReference();
         this.user = user;
         JDAImpl jda = (JDAImpl) getJDA();
-        boolean cacheState = jda.isCacheFlagSet(CacheFlag.VOICE_STATE) || user.equals(jda.getSelfUser());
-        this.voiceState = cacheState ? new GuildVoiceStateImpl(guild, this) : null;
+        //Compact members store their roles in an array and create their voice state once it is accessed
+        this.compact = jda.isCompactMemberCacheEnabled();
+        this.roles = compact ? new RoleSet() : new HashSet<>();
+        this.voiceState = !compact && isVoiceStateCached(jda) ? new GuildVoiceStateImpl(guild, this) : null;
     }
 
     @Override
@@ -80,6 +84,25 @@ public class MemberImpl implements Member
 
     @Override
     public GuildVoiceState getVoiceState()
+    {
+        GuildVoiceState state = voiceState;
+        if (state != null || !compact)
+            return state;
+        synchronized (this)
+        {
+            state = voiceState;
+            if (state == null && isVoiceStateCached((JDAImpl) getJDA()))
+                voiceState = state = new GuildVoiceStateImpl(getGuild(), this);
+            return state;
+        }
+    }
+
+    /**
+     * The voice state of this member, without creating it for a compact member.
+     *
+     * @return The voice state, or {@code null} if it is not cached or has not been created yet
+     */
+    public GuildVoiceState peekVoiceState()
     {
         return voiceState;
     }
@@ -208,7 +231,10 @@ public class MemberImpl implements Member
 
     public MemberImpl setNickname(String nickname)
     {
-        this.nickname = nickname;
+        String oldName = getEffectiveName();
+        this.nickname = compact && nickname != null ? nickname.intern() : nickname;
+        if (!Objects.equals(oldName, getEffectiveName()))
+            ((MemberCacheViewImpl) getGuild().getMemberCache()).updateName(user.getIdLong(), this, oldName);
         return this;
     }
 
@@ -235,6 +261,11 @@ public class MemberImpl implements Member
         return roles;
     }
 
+    private boolean isVoiceStateCached(JDAImpl jda)
+    {
+        return jda.isCacheFlagSet(CacheFlag.VOICE_STATE) || user.equals(jda.getSelfUser());
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -169,12 +169,14 @@ public class PermissionOverrideImpl implements PermissionOverride
     public PermissionOverrideImpl setAllow(long allow)
     {
         this.allow = allow;
+        ((GuildImpl) getGuild()).invalidatePermissions();
         return this;
     }
 
     public PermissionOverrideImpl setDeny(long deny)
     {
         this.deny = deny;
+        ((GuildImpl) getGuild()).invalidatePermissions();
         return this;
     }
 
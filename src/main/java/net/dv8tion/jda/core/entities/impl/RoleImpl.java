@@ -33,12 +33,14 @@ import net.dv8tion.jda.core.utils.Checks;
 import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.PermissionUtil;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
+import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
 
 import java.awt.Color;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class RoleImpl implements Role
@@ -311,7 +313,10 @@ public class RoleImpl implements Role
 
     public RoleImpl setName(String name)
     {
+        String oldName = this.name;
         this.name = name;
+        if (!Objects.equals(oldName, name))
+            ((SnowflakeCacheViewImpl<Role>) getGuild().getRoleCache()).updateName(id, this, oldName);
         return this;
     }
 
@@ -342,6 +347,7 @@ public class RoleImpl implements Role
     public RoleImpl setRawPermissions(long rawPermissions)
     {
         this.rawPermissions = rawPermissions;
+        ((GuildImpl) getGuild()).invalidatePermissions();
         return this;
     }
 
@@ -0,0 +1,126 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.entities.impl;
+
+import net.dv8tion.jda.core.entities.Role;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//Helper class delegated to MemberImpl
+// Stores the roles of a member in a plain array which is replaced on every change.
+// Members rarely have more than a handful of roles, a linear scan is cheaper than a HashSet
+// and the array takes a fraction of its memory. Iterators work on a snapshot of the roles.
+class RoleSet extends AbstractSet<Role>
+{
+    private static final Role[] EMPTY = new Role[0];
+
+    private volatile Role[] roles = EMPTY;
+
+    @Override
+    public synchronized boolean add(Role role)
+    {
+        Role[] current = roles;
+        if (indexOf(current, role) >= 0)
+            return false;
+        Role[] grown = new Role[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = role;
+        roles = grown;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(Object role)
+    {
+        Role[] current = roles;
+        int index = indexOf(current, role);
+        if (index < 0)
+            return false;
+        if (current.length == 1)
+        {
+            roles = EMPTY;
+            return true;
+        }
+        Role[] shrunk = new Role[current.length - 1];
+        System.arraycopy(current, 0, shrunk, 0, index);
+        System.arraycopy(current, index + 1, shrunk, index, shrunk.length - index);
+        roles = shrunk;
+        return true;
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        roles = EMPTY;
+    }
+
+    @Override
+    public boolean contains(Object role)
+    {
+        return indexOf(roles, role) >= 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return roles.length;
+    }
+
+    @Override
+    public Iterator<Role> iterator()
+    {
+        final Role[] snapshot = roles;
+        return new Iterator<Role>()
+        {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return index < snapshot.length;
+            }
+
+            @Override
+            public Role next()
+            {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return snapshot[index++];
+            }
+
+            @Override
+            public void remove()
+            {
+                if (index == 0)
+                    throw new IllegalStateException();
+                RoleSet.this.remove(snapshot[index - 1]);
+            }
+        };
+    }
+
+    private static int indexOf(Role[] roles, Object role)
+    {
+        for (int i = 0; i < roles.length; i++)
+        {
+            if (roles[i].equals(role))
+                return i;
+        }
+        return -1;
+    }
+}
@@ -17,6 +17,7 @@
 package net.dv8tion.jda.core.entities.impl;
 
 import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
 import net.dv8tion.jda.core.entities.PrivateChannel;
 import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.requests.Request;
@@ -25,6 +26,8 @@ import net.dv8tion.jda.core.requests.RestAction;
 import net.dv8tion.jda.core.requests.Route;
 import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
+import net.dv8tion.jda.core.utils.cache.impl.MemberCacheViewImpl;
+import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
 import org.json.JSONObject;
 
 import java.util.FormattableFlags;
@@ -194,11 +197,32 @@ public class UserImpl implements User
         return "U:" + getName() + '(' + id + ')';
     }
 
+    private void updateNameIndex(String oldName)
+    {
+        JDAImpl api = getJDA();
+        ((SnowflakeCacheViewImpl<User>) api.getUserCache()).updateName(id, this, oldName);
+        if (privateChannel != null)
+        {
+            ((SnowflakeCacheViewImpl<PrivateChannel>) api.getPrivateChannelCache())
+                .updateName(privateChannel.getIdLong(), privateChannel, oldName);
+        }
+        api.getGuildMap().forEachValue(guild ->
+        {
+            Member member = guild.getMemberById(id);
+            if (member != null)
+                ((MemberCacheViewImpl) guild.getMemberCache()).updateUsername(member, oldName);
+            return true;
+        });
+    }
+
     // -- Setters --
 
     public UserImpl setName(String name)
     {
+        String oldName = this.name;
         this.name = name;
+        if (oldName != null && !oldName.equals(name) && getJDA().isNameIndexEnabled())
+            updateNameIndex(oldName);
         return this;
     }
 
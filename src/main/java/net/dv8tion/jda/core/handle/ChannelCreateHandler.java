@@ -49,7 +49,7 @@ public class ChannelCreateHandler extends SocketHandler
         {
             case TEXT:
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new TextChannelCreateEvent(
                         getJDA(), responseNumber,
                         getJDA().getEntityBuilder().createTextChannel(content, guildId)));
@@ -57,7 +57,7 @@ public class ChannelCreateHandler extends SocketHandler
             }
             case VOICE:
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new VoiceChannelCreateEvent(
                         getJDA(), responseNumber,
                         getJDA().getEntityBuilder().createVoiceChannel(content, guildId)));
@@ -65,7 +65,7 @@ public class ChannelCreateHandler extends SocketHandler
             }
             case CATEGORY:
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new CategoryCreateEvent(
                         getJDA(), responseNumber,
                         getJDA().getEntityBuilder().createCategory(content, guildId)));
@@ -73,7 +73,7 @@ public class ChannelCreateHandler extends SocketHandler
             }
             case PRIVATE:
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new PrivateChannelCreateEvent(
                         getJDA(), responseNumber,
                         getJDA().getEntityBuilder().createPrivateChannel(content)));
@@ -81,7 +81,7 @@ public class ChannelCreateHandler extends SocketHandler
             }
             case GROUP:
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new GroupJoinEvent(
                         getJDA(), responseNumber,
                         getJDA().getEntityBuilder().createGroup(content)));
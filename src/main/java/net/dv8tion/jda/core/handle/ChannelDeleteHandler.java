@@ -67,7 +67,7 @@ public class ChannelDeleteHandler extends SocketHandler
                 }
 
                 guild.getTextChannelsMap().remove(channel.getIdLong());
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new TextChannelDeleteEvent(
                         getJDA(), responseNumber,
                         channel));
@@ -92,7 +92,7 @@ public class ChannelDeleteHandler extends SocketHandler
                     manager.closeAudioConnection(ConnectionStatus.DISCONNECTED_CHANNEL_DELETED);
                 }
                 guild.getVoiceChannelsMap().remove(channel.getIdLong());
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new VoiceChannelDeleteEvent(
                         getJDA(), responseNumber,
                         channel));
@@ -110,7 +110,7 @@ public class ChannelDeleteHandler extends SocketHandler
                 }
 
                 guild.getCategoriesMap().remove(channelId);
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new CategoryDeleteEvent(
                         getJDA(), responseNumber,
                         category));
@@ -134,7 +134,7 @@ public class ChannelDeleteHandler extends SocketHandler
 
                 ((UserImpl) channel.getUser()).setPrivateChannel(null);
 
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new PrivateChannelDeleteEvent(
                         getJDA(), responseNumber,
                         channel));
@@ -168,7 +168,7 @@ public class ChannelDeleteHandler extends SocketHandler
                     return true;
                 });
 
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                     new GroupLeaveEvent(
                         getJDA(), responseNumber,
                         group));
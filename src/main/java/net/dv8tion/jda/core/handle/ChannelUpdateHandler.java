@@ -90,7 +90,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldName, name))
                 {
                     textChannel.setName(name);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new TextChannelUpdateNameEvent(
                                     getJDA(), responseNumber,
                                     textChannel, oldName));
@@ -98,7 +98,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldParent, parentId))
                 {
                     textChannel.setParent(parentId == null ? 0 : parentId);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                            new TextChannelUpdateParentEvent(
                                getJDA(), responseNumber,
                                textChannel, parent));
@@ -106,7 +106,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldTopic, topic))
                 {
                     textChannel.setTopic(topic);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new TextChannelUpdateTopicEvent(
                                     getJDA(), responseNumber,
                                     textChannel, oldTopic));
@@ -114,7 +114,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (oldPosition != position)
                 {
                     textChannel.setPosition(position);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new TextChannelUpdatePositionEvent(
                                     getJDA(), responseNumber,
                                     textChannel, oldPosition));
@@ -123,7 +123,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (oldNsfw != nsfw)
                 {
                     textChannel.setNSFW(nsfw);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new TextChannelUpdateNSFWEvent(
                                     getJDA(), responseNumber,
                                     textChannel, oldNsfw));
@@ -132,7 +132,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (oldSlowmode != slowmode)
                 {
                     textChannel.setSlowmode(slowmode);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new TextChannelUpdateSlowmodeEvent(
                                     getJDA(), responseNumber,
                                     textChannel, oldSlowmode));
@@ -143,7 +143,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 //If this update modified permissions in any way.
                 if (!changed.isEmpty())
                 {
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new TextChannelUpdatePermissionsEvent(
                                     getJDA(), responseNumber,
                                     textChannel, changed));
@@ -171,7 +171,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldName, name))
                 {
                     voiceChannel.setName(name);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new VoiceChannelUpdateNameEvent(
                                     getJDA(), responseNumber,
                                     voiceChannel, oldName));
@@ -179,7 +179,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldParent, parentId))
                 {
                     voiceChannel.setParent(parentId == null ? 0 : parentId);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new VoiceChannelUpdateParentEvent(
                                     getJDA(), responseNumber,
                                     voiceChannel, parent));
@@ -187,7 +187,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (oldPosition != position)
                 {
                     voiceChannel.setPosition(position);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new VoiceChannelUpdatePositionEvent(
                                     getJDA(), responseNumber,
                                     voiceChannel, oldPosition));
@@ -195,7 +195,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (oldLimit != userLimit)
                 {
                     voiceChannel.setUserLimit(userLimit);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new VoiceChannelUpdateUserLimitEvent(
                                     getJDA(), responseNumber,
                                     voiceChannel, oldLimit));
@@ -203,7 +203,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (oldBitrate != bitrate)
                 {
                     voiceChannel.setBitrate(bitrate);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new VoiceChannelUpdateBitrateEvent(
                                     getJDA(), responseNumber,
                                     voiceChannel, oldBitrate));
@@ -214,7 +214,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 //If this update modified permissions in any way.
                 if (!changed.isEmpty())
                 {
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new VoiceChannelUpdatePermissionsEvent(
                                     getJDA(), responseNumber,
                                     voiceChannel, changed));
@@ -236,7 +236,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldName, name))
                 {
                     category.setName(name);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new CategoryUpdateNameEvent(
                                 getJDA(), responseNumber,
                                 category, oldName));
@@ -244,7 +244,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!Objects.equals(oldPosition, position))
                 {
                     category.setPosition(position);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new CategoryUpdatePositionEvent(
                                 getJDA(), responseNumber,
                                 category, oldPosition));
@@ -254,7 +254,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 //If this update modified permissions in any way.
                 if (!changed.isEmpty())
                 {
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                             new CategoryUpdatePermissionsEvent(
                                 getJDA(), responseNumber,
                                 category, changed));
@@ -308,6 +308,8 @@ public class ChannelUpdateHandler extends SocketHandler
             overridesMap.remove(id);
             return true;
         });
+        if (!toRemove.isEmpty())
+            channel.getGuild().invalidatePermissions();
     }
 
     private IPermissionHolder mapPermissionHolder(long id, Guild guild)
@@ -400,7 +402,7 @@ public class ChannelUpdateHandler extends SocketHandler
             if (!Objects.equals(owner, oldOwner))
             {
                 group.setOwner(owner);
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new GroupUpdateOwnerEvent(
                                 getJDA(), responseNumber,
                                 group, oldOwner));
@@ -410,7 +412,7 @@ public class ChannelUpdateHandler extends SocketHandler
         if (!Objects.equals(name, oldName))
         {
             group.setName(name);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GroupUpdateNameEvent(
                             getJDA(), responseNumber,
                             group, oldName));
@@ -418,7 +420,7 @@ public class ChannelUpdateHandler extends SocketHandler
         if (!Objects.equals(iconId, oldIconId))
         {
             group.setIconId(iconId);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GroupUpdateIconEvent(
                             getJDA(), responseNumber,
                             group, oldIconId));
@@ -49,12 +49,16 @@ public class GuildDeleteHandler extends SocketHandler
     protected Long handleInternally(JSONObject content)
     {
         final long id = content.getLong("id");
+        boolean unavailable = Helpers.optBoolean(content, "unavailable");
         boolean wasInit = getJDA().getGuildSetupController().onDelete(id, content);
         if (wasInit)
+        {
+            if (!unavailable)
+                getJDA().getMemberCachePolicy().onGuildRemoved(id);
             return null;
+        }
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildMap().get(id);
-        boolean unavailable = Helpers.optBoolean(content, "unavailable");
         if (guild == null)
         {
             //getJDA().getEventCache().cache(EventCache.Type.GUILD, id, () -> handle(responseNumber, allContent));
@@ -70,7 +74,7 @@ public class GuildDeleteHandler extends SocketHandler
         if (unavailable)
         {
             guild.setAvailable(false);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                 new GuildUnavailableEvent(
                     getJDA(), responseNumber,
                     guild));
@@ -80,6 +84,7 @@ public class GuildDeleteHandler extends SocketHandler
         //Remove everything from global cache
         // this prevents some race-conditions for getting audio managers from guilds
         getJDA().getGuildMap().remove(id);
+        getJDA().getMemberCachePolicy().onGuildRemoved(id);
         guild.getTextChannelCache().forEach(chan -> getJDA().getTextChannelMap().remove(chan.getIdLong()));
         guild.getVoiceChannelCache().forEach(chan -> getJDA().getVoiceChannelMap().remove(chan.getIdLong()));
         guild.getCategoryCache().forEach(chan -> getJDA().getCategoryMap().remove(chan.getIdLong()));
@@ -155,7 +160,7 @@ public class GuildDeleteHandler extends SocketHandler
             return true;
         });
 
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
             new GuildLeaveEvent(
                 getJDA(), responseNumber,
                 guild));
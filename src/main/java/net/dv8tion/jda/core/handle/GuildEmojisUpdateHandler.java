@@ -112,7 +112,7 @@ public class GuildEmojisUpdateHandler extends SocketHandler
         for (Emote e : oldEmotes)
         {
             emoteMap.remove(e.getIdLong());
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                 new EmoteRemovedEvent(
                     getJDA(), responseNumber,
                     e));
@@ -120,7 +120,7 @@ public class GuildEmojisUpdateHandler extends SocketHandler
 
         for (Emote e : newEmotes)
         {
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                 new EmoteAddedEvent(
                     getJDA(), responseNumber,
                     e));
@@ -135,7 +135,7 @@ public class GuildEmojisUpdateHandler extends SocketHandler
 
         if (!Objects.equals(oldEmote.getName(), newEmote.getName()))
         {
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                 new EmoteUpdateNameEvent(
                     getJDA(), responseNumber,
                     newEmote, oldEmote.getName()));
@@ -143,7 +143,7 @@ public class GuildEmojisUpdateHandler extends SocketHandler
 
         if (!CollectionUtils.isEqualCollection(oldEmote.getRoles(), newEmote.getRoles()))
         {
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                 new EmoteUpdateRolesEvent(
                     getJDA(), responseNumber,
                     newEmote, oldEmote.getRoles()));
@@ -18,6 +18,7 @@ package net.dv8tion.jda.core.handle;
 import net.dv8tion.jda.core.entities.Member;
 import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.entities.impl.MemberImpl;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberJoinEvent;
 import org.json.JSONObject;
 
@@ -36,6 +37,8 @@ public class GuildMemberAddHandler extends SocketHandler
         boolean setup = getJDA().getGuildSetupController().onAddMember(id, content);
         if (setup)
             return null;
+        if (getJDA().getGuildSetupController().isLocked(id))
+            return id;
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildMap().get(id);
         if (guild == null)
@@ -46,10 +49,11 @@ public class GuildMemberAddHandler extends SocketHandler
         }
 
         Member member = getJDA().getEntityBuilder().createMember(guild, content);
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
             new GuildMemberJoinEvent(
                 getJDA(), responseNumber,
                 member));
+        guild.updateMemberCache((MemberImpl) member);
         return null;
     }
 }
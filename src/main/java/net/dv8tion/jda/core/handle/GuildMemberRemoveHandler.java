@@ -15,8 +15,6 @@
  */
 package net.dv8tion.jda.core.handle;
 
-import net.dv8tion.jda.client.entities.Group;
-import net.dv8tion.jda.core.AccountType;
 import net.dv8tion.jda.core.entities.VoiceChannel;
 import net.dv8tion.jda.core.entities.impl.*;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberLeaveEvent;
@@ -39,6 +37,8 @@ public class GuildMemberRemoveHandler extends SocketHandler
         boolean setup = getJDA().getGuildSetupController().onRemoveMember(id, content);
         if (setup)
             return null;
+        if (getJDA().getGuildSetupController().isLocked(id))
+            return id;
 
         GuildImpl guild = (GuildImpl) getJDA().getGuildMap().get(id);
         if (guild == null)
@@ -60,6 +60,8 @@ public class GuildMemberRemoveHandler extends SocketHandler
             WebSocketClient.LOG.debug("Received GUILD_MEMBER_REMOVE for a Member that does not exist in the specified Guild.");
             return null;
         }
+        // a member that joins again must not get the cached permissions of the removed member
+        guild.invalidatePermissions();
 
         GuildVoiceStateImpl voiceState = (GuildVoiceStateImpl) member.getVoiceState();
         if (voiceState != null && voiceState.inVoiceChannel())//If this user was in a VoiceChannel, fire VoiceLeaveEvent.
@@ -67,45 +69,14 @@ public class GuildMemberRemoveHandler extends SocketHandler
             VoiceChannel channel = voiceState.getChannel();
             voiceState.setConnectedChannel(null);
             ((VoiceChannelImpl) channel).getConnectedMembersMap().remove(member.getUser().getIdLong());
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildVoiceLeaveEvent(
                             getJDA(), responseNumber,
                             member, channel));
         }
 
-        //The user is not in a different guild that we share
-        // The user also is not a friend of this account in the case that the logged in account is a client account.
-        if (userId != getJDA().getSelfUser().getIdLong() // don't remove selfUser from cache
-            && getJDA().getGuildMap().valueCollection().stream().noneMatch(g -> ((GuildImpl) g).getMembersMap().containsKey(userId))
-            && !(getJDA().getAccountType() == AccountType.CLIENT && getJDA().asClient().getFriendById(userId) != null))
-        {
-            UserImpl user = (UserImpl) getJDA().getUserMap().remove(userId);
-            if (user.hasPrivateChannel())
-            {
-                PrivateChannelImpl priv = (PrivateChannelImpl) user.getPrivateChannel();
-                user.setFake(true);
-                priv.setFake(true);
-                getJDA().getFakeUserMap().put(user.getIdLong(), user);
-                getJDA().getFakePrivateChannelMap().put(priv.getIdLong(), priv);
-            }
-            else if (getJDA().getAccountType() == AccountType.CLIENT)
-            {
-                //While the user might not have a private channel, if this is a client account then the user
-                // could be in a Group, and if so we need to change the User object to be fake and
-                // place it in the FakeUserMap
-                for (Group grp : getJDA().asClient().getGroups())
-                {
-                    if (grp.getNonFriendUsers().contains(user))
-                    {
-                        user.setFake(true);
-                        getJDA().getFakeUserMap().put(user.getIdLong(), user);
-                        break; //Breaks from groups loop
-                    }
-                }
-            }
-            getJDA().getEventCache().clear(EventCache.Type.USER, userId);
-        }
-        getJDA().getEventManager().handle(
+        getJDA().getEntityBuilder().unloadUser(userId);
+        getJDA().handleEvent(
                 new GuildMemberLeaveEvent(
                         getJDA(), responseNumber,
                         member));
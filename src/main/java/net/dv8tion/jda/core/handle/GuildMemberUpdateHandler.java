@@ -22,6 +22,8 @@ import net.dv8tion.jda.core.entities.impl.MemberImpl;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberNickChangeEvent;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberRoleAddEvent;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberRoleRemoveEvent;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
+import net.dv8tion.jda.core.utils.cache.impl.MemberCacheViewImpl;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -54,6 +56,12 @@ public class GuildMemberUpdateHandler extends SocketHandler
         }
 
         MemberImpl member = (MemberImpl) guild.getMembersMap().get(userId);
+        if (member == null && getJDA().getMemberCachePolicy() != MemberCachePolicy.ALL)
+        {
+            //The member was removed by the member cache policy, it is cached again once it is retrieved or comes online
+            EventCache.LOG.debug("Got GuildMember update for a Member that is not cached. Ignoring. {}", content);
+            return null;
+        }
         if (member == null)
         {
             long hashId = id ^ userId;
@@ -89,17 +97,22 @@ public class GuildMemberUpdateHandler extends SocketHandler
             currentRoles.removeAll(removedRoles);
         if (newRoles.size() > 0)
             currentRoles.addAll(newRoles);
+        if (removedRoles.size() > 0 || newRoles.size() > 0)
+        {
+            ((MemberCacheViewImpl) guild.getMemberCache()).updateRoles(member, newRoles, removedRoles);
+            guild.invalidatePermissions();
+        }
 
         if (removedRoles.size() > 0)
         {
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildMemberRoleRemoveEvent(
                             getJDA(), responseNumber,
                             member, removedRoles));
         }
         if (newRoles.size() > 0)
         {
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildMemberRoleAddEvent(
                             getJDA(), responseNumber,
                             member, newRoles));
@@ -111,12 +124,13 @@ public class GuildMemberUpdateHandler extends SocketHandler
             if (!Objects.equals(prevNick, newNick))
             {
                 member.setNickname(newNick);
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new GuildMemberNickChangeEvent(
                                 getJDA(), responseNumber,
                                 member, prevNick, newNick));
             }
         }
+        guild.updateMemberCache(member);
         return null;
     }
 
@@ -19,6 +19,7 @@ package net.dv8tion.jda.core.handle;
 import net.dv8tion.jda.core.entities.EntityBuilder;
 import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.entities.impl.MemberImpl;
 import net.dv8tion.jda.core.requests.WebSocketClient;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -43,7 +44,7 @@ public class GuildMembersChunkHandler extends SocketHandler
             for (int i = 0; i < members.length(); i++)
             {
                 JSONObject object = members.getJSONObject(i);
-                builder.createMember(guild, object);
+                guild.updateMemberCache((MemberImpl) builder.createMember(guild, object));
             }
         }
         getJDA().getGuildSetupController().onMemberChunk(guildId, members);
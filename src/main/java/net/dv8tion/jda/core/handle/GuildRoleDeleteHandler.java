@@ -24,6 +24,7 @@ import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.entities.impl.MemberImpl;
 import net.dv8tion.jda.core.events.role.RoleDeleteEvent;
 import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.cache.impl.MemberCacheViewImpl;
 import org.json.JSONObject;
 
 public class GuildRoleDeleteHandler extends SocketHandler
@@ -63,6 +64,8 @@ public class GuildRoleDeleteHandler extends SocketHandler
             MemberImpl member = (MemberImpl) m;
             member.getRoleSet().remove(removedRole);
         }
+        ((MemberCacheViewImpl) guild.getMemberCache()).removeRole(roleId);
+        guild.invalidatePermissions();
 
         for (Emote emote : guild.getEmoteCache())
         {
@@ -71,7 +74,7 @@ public class GuildRoleDeleteHandler extends SocketHandler
                 impl.getRoleSet().remove(removedRole);
         }
 
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
             new RoleDeleteEvent(
                 getJDA(), responseNumber,
                 removedRole));
@@ -16,11 +16,14 @@
 
 package net.dv8tion.jda.core.handle;
 
+import gnu.trove.iterator.TLongIntIterator;
 import gnu.trove.iterator.TLongIterator;
 import gnu.trove.iterator.TLongLongIterator;
 import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.TLongIntMap;
 import gnu.trove.map.TLongLongMap;
 import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongIntHashMap;
 import gnu.trove.map.hash.TLongLongHashMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
 import gnu.trove.set.TLongSet;
@@ -46,16 +49,33 @@ import java.util.stream.Collectors;
 public class GuildSetupController
 {
     protected static final int CHUNK_TIMEOUT = 10000;
+    // Time the gateway takes at most per chunk of 1000 members, extends the timeout of large batches
+    protected static final int CHUNK_INTERVAL = 100;
+    protected static final int MAX_CHUNK_BATCH_GUILDS = 50;
+    // Guilds are requested in one batch until their expected members exceed this amount
+    protected static final int MAX_CHUNK_BATCH_MEMBERS = 100000;
     protected static final Logger log = JDALogger.getLog(GuildSetupController.class);
 
     private final UpstreamReference<JDAImpl> api;
     private final TLongObjectMap<GuildSetupNode> setupNodes = new TLongObjectHashMap<>();
-    private final TLongSet chunkingGuilds = new TLongHashSet();
+    // key=guild_id, value=expected member count
+    private final TLongIntMap chunkingGuilds = new TLongIntHashMap();
+    // key=guild_id, value=timeout, Long.MAX_VALUE until the request has been sent
     private final TLongLongMap pendingChunks = new TLongLongHashMap();
+    private final TLongIntMap pendingMemberCounts = new TLongIntHashMap();
     private final TLongSet syncingGuilds;
 
     private int incompleteCount = 0;
     private int syncingCount = 0;
+    private int chunkingMemberCount = 0;
+    // Guilds that have not received their guild payload yet
+    private int initCount = 0;
+
+    // Progress of chunking, read by other threads
+    private volatile int chunkingGuildCount = 0;
+    private volatile double memberChunkRate = 0;
+    private volatile long rateWindowStart = 0;
+    private int rateWindowMembers = 0;
 
     private Future<?> timeoutHandle;
 
@@ -83,17 +103,23 @@ public class GuildSetupController
     void addGuildForChunking(long id, boolean join)
     {
         log.trace("Adding guild for chunking ID: {}", id);
+        GuildSetupNode node = setupNodes.get(id);
+        int memberCount = node == null ? 0 : node.getExpectedMemberCount();
         if (join || incompleteCount <= 0)
         {
             if (incompleteCount <= 0)
             {
                 // this happens during runtime -> chunk right away
-                sendChunkRequest(id);
+                TLongIntMap guild = new TLongIntHashMap();
+                guild.put(id, memberCount);
+                sendChunkRequest(guild);
                 return;
             }
             incompleteCount++;
         }
-        chunkingGuilds.add(id);
+        int previousCount = chunkingGuilds.containsKey(id) ? chunkingGuilds.get(id) : 0;
+        chunkingGuilds.put(id, memberCount);
+        chunkingMemberCount += memberCount - previousCount;
         tryChunking();
     }
 
@@ -149,6 +175,7 @@ public class GuildSetupController
         log.trace("Adding id to setup cache {}", id);
         GuildSetupNode node = new GuildSetupNode(id, this, false);
         setupNodes.put(id, node);
+        initCount++;
         node.handleReady(obj);
         if (node.markedUnavailable)
         {
@@ -172,6 +199,7 @@ public class GuildSetupController
             // this is a join event
             node = new GuildSetupNode(id, this, true);
             setupNodes.put(id, node);
+            initCount++;
             // do not increment incomplete counter, it is only relevant to init guilds
         }
         else if (node.markedUnavailable && available && incompleteCount > 0)
@@ -229,7 +257,9 @@ public class GuildSetupController
         synchronized (pendingChunks)
         {
             pendingChunks.remove(id);
+            pendingMemberCounts.remove(id);
         }
+        updateChunkRate(chunk.length());
         GuildSetupNode node = setupNodes.get(id);
         if (node != null)
             node.handleMemberChunk(chunk);
@@ -238,7 +268,7 @@ public class GuildSetupController
     public boolean onAddMember(long id, JSONObject member)
     {
         GuildSetupNode node = setupNodes.get(id);
-        if (node == null)
+        if (node == null || node.isBuilding()) // the event is cached while the guild is built
             return false;
         log.debug("Received GUILD_MEMBER_ADD during setup, adding member to guild. GuildID: {}", id);
         node.handleAddMember(member);
@@ -248,7 +278,7 @@ public class GuildSetupController
     public boolean onRemoveMember(long id, JSONObject member)
     {
         GuildSetupNode node = setupNodes.get(id);
-        if (node == null)
+        if (node == null || node.isBuilding()) // the event is cached while the guild is built
             return false;
         log.debug("Received GUILD_MEMBER_REMOVE during setup, removing member from guild. GuildID: {}", id);
         node.handleRemoveMember(member);
@@ -281,10 +311,14 @@ public class GuildSetupController
         setupNodes.clear();
         chunkingGuilds.clear();
         incompleteCount = 0;
+        chunkingMemberCount = 0;
+        initCount = 0;
+        chunkingGuildCount = 0;
         close();
         synchronized (pendingChunks)
         {
             pendingChunks.clear();
+            pendingMemberCounts.clear();
         }
     }
 
@@ -306,6 +340,17 @@ public class GuildSetupController
         return false;
     }
 
+    public boolean containsBuiltMember(long userId)
+    {
+        for (TLongObjectIterator<GuildSetupNode> it = setupNodes.iterator(); it.hasNext();)
+        {
+            it.advance();
+            if (it.value().containsBuiltMember(userId))
+                return true;
+        }
+        return false;
+    }
+
     public Set<GuildSetupNode> getSetupNodes()
     {
         return new HashSet<>(setupNodes.valueCollection());
@@ -331,60 +376,118 @@ public class GuildSetupController
         this.listener = Objects.requireNonNull(listener);
     }
 
+    public int getChunkingGuildCount()
+    {
+        return chunkingGuildCount;
+    }
+
+    public double getMemberChunkRate()
+    {
+        // the rate is only updated while chunks are received
+        return System.currentTimeMillis() - rateWindowStart > 2000 ? 0 : memberChunkRate;
+    }
+
+    void onStatusChange(Status oldStatus, Status newStatus)
+    {
+        if (oldStatus == Status.INIT)
+            initCount--;
+        if (oldStatus == Status.CHUNKING)
+            chunkingGuildCount--;
+        if (newStatus == Status.CHUNKING)
+            chunkingGuildCount++;
+    }
+
+    private void updateChunkRate(int members)
+    {
+        long now = System.currentTimeMillis();
+        rateWindowMembers += members;
+        if (now - rateWindowStart < 1000)
+            return;
+        // the first chunk after an idle period starts a new window
+        if (now - rateWindowStart < 2000)
+            memberChunkRate = rateWindowMembers * 1000D / (now - rateWindowStart);
+        rateWindowStart = now;
+        rateWindowMembers = 0;
+    }
+
     // Chunking
 
-    private void sendChunkRequest(Object obj)
+    private void sendChunkRequest(TLongIntMap guilds)
     {
-        log.debug("Sending chunking requests for {} guilds", obj instanceof JSONArray ? ((JSONArray) obj).length() : 1);
+        log.debug("Sending chunking requests for {} guilds", guilds.size());
 
-        long timeout = System.currentTimeMillis() + CHUNK_TIMEOUT;
+        final JSONArray guildIds = new JSONArray();
         synchronized (pendingChunks)
         {
-            if (obj instanceof JSONArray)
+            guilds.forEachEntry((id, memberCount) ->
             {
-                JSONArray arr = (JSONArray) obj;
-                for (Object o : arr)
-                    pendingChunks.put((long) o, timeout);
-            }
-            else
-            {
-                pendingChunks.put((long) obj, timeout);
-            }
+                guildIds.put(id);
+                // the timeout starts once the request has been sent, see onChunkRequestSent
+                pendingChunks.put(id, Long.MAX_VALUE);
+                pendingMemberCounts.put(id, memberCount);
+                return true;
+            });
         }
 
         getJDA().getClient().chunkOrSyncRequest(
             new JSONObject()
                 .put("op", WebSocketCode.MEMBER_CHUNK_REQUEST)
                 .put("d", new JSONObject()
-                    .put("guild_id", obj)
+                    .put("guild_id", guildIds.length() == 1 ? guildIds.get(0) : guildIds)
                     .put("query", "")
                     .put("limit", 0)));
     }
 
-    private void tryChunking()
+    public void onChunkRequestSent(JSONObject request)
     {
-        if (chunkingGuilds.size() >= 50)
+        Object guildId = request.getJSONObject("d").get("guild_id");
+        JSONArray guildIds = guildId instanceof JSONArray ? (JSONArray) guildId : new JSONArray().put(guildId);
+        synchronized (pendingChunks)
         {
-            // request chunks
-            final JSONArray subset = new JSONArray();
-            for (final TLongIterator it = chunkingGuilds.iterator(); subset.length() < 50; )
+            // the gateway answers the requested guilds one after another
+            long memberCount = 0;
+            for (int i = 0; i < guildIds.length(); i++)
+                memberCount += pendingMemberCounts.get(guildIds.getLong(i));
+            long timeout = System.currentTimeMillis() + CHUNK_TIMEOUT + memberCount / 1000 * CHUNK_INTERVAL;
+            for (int i = 0; i < guildIds.length(); i++)
             {
-                subset.put(it.next());
-                it.remove();
+                long id = guildIds.getLong(i);
+                if (pendingChunks.containsKey(id))
+                    pendingChunks.put(id, timeout);
             }
-            sendChunkRequest(subset);
         }
-        if (incompleteCount > 0 && chunkingGuilds.size() == incompleteCount)
+    }
+
+    private void tryChunking()
+    {
+        // request chunks as soon as a batch is full, large guilds fill a batch on their own
+        while (chunkingGuilds.size() >= MAX_CHUNK_BATCH_GUILDS || chunkingMemberCount >= MAX_CHUNK_BATCH_MEMBERS)
+            sendChunkRequest(pollChunkBatch(chunkingGuilds));
+        if (incompleteCount > 0 && !chunkingGuilds.isEmpty() && (chunkingGuilds.size() == incompleteCount || initCount <= 0))
+        {
+            // request last chunks, no further guilds will be added to the batch
+            while (!chunkingGuilds.isEmpty())
+                sendChunkRequest(pollChunkBatch(chunkingGuilds));
+        }
+    }
+
+    // removes the next batch of guilds, ordered by the iteration order of the map
+    private TLongIntMap pollChunkBatch(TLongIntMap guilds)
+    {
+        TLongIntMap batch = new TLongIntHashMap();
+        long memberCount = 0;
+        for (TLongIntIterator it = guilds.iterator(); it.hasNext() && batch.size() < MAX_CHUNK_BATCH_GUILDS;)
         {
-            // request last chunks
-            final JSONArray array = new JSONArray();
-            chunkingGuilds.forEach((guild) -> {
-                array.put(guild);
-                return true;
-            });
-            chunkingGuilds.clear();
-            sendChunkRequest(array);
+            it.advance();
+            if (!batch.isEmpty() && memberCount + it.value() > MAX_CHUNK_BATCH_MEMBERS)
+                continue;
+            batch.put(it.key(), it.value());
+            memberCount += it.value();
+            it.remove();
         }
+        if (guilds == chunkingGuilds)
+            chunkingMemberCount -= memberCount;
+        return batch;
     }
 
     private void startTimeout()
@@ -455,29 +558,23 @@ public class GuildSetupController
         {
             if (pendingChunks.isEmpty())
                 return;
+            TLongIntMap timedOut = new TLongIntHashMap();
             synchronized (pendingChunks)
             {
                 TLongLongIterator it = pendingChunks.iterator();
-                List<JSONArray> requests = new LinkedList<>();
-                JSONArray arr = new JSONArray();
+                long now = System.currentTimeMillis();
                 while (it.hasNext())
                 {
                     // key=guild_id, value=timeout
                     it.advance();
-                    if (System.currentTimeMillis() <= it.value())
+                    if (now <= it.value())
                         continue;
-                    arr.put(it.key());
-
-                    if (arr.length() == 50)
-                    {
-                        requests.add(arr);
-                        arr = new JSONArray();
-                    }
+                    timedOut.put(it.key(), pendingMemberCounts.get(it.key()));
                 }
-                if (arr.length() > 0)
-                    requests.add(arr);
-                requests.forEach(GuildSetupController.this::sendChunkRequest);
             }
+            // the requests are queued outside of the lock, the sending thread updates the timeouts once they are sent
+            while (!timedOut.isEmpty())
+                sendChunkRequest(pollChunkBatch(timedOut));
         }
     }
 }
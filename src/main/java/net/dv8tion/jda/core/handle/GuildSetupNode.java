@@ -24,6 +24,7 @@ import gnu.trove.set.TLongSet;
 import gnu.trove.set.hash.TLongHashSet;
 import net.dv8tion.jda.core.audio.hooks.ConnectionListener;
 import net.dv8tion.jda.core.audio.hooks.ConnectionStatus;
+import net.dv8tion.jda.core.entities.EntityBuilder;
 import net.dv8tion.jda.core.entities.VoiceChannel;
 import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
@@ -38,9 +39,12 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 public class GuildSetupNode
 {
@@ -49,8 +53,12 @@ public class GuildSetupNode
     private final List<JSONObject> cachedEvents = new LinkedList<>();
     private TLongObjectMap<JSONObject> members;
     private TLongSet removedMembers;
+    // Members are built as their chunks are received when incremental chunking is enabled
+    private GuildImpl incrementalGuild;
+    private List<Runnable> incrementalPlaybacks;
     private JSONObject partialGuild;
     private int expectedMemberCount = 1;
+    private int buildCount = 0;
     private boolean requestedSync;
     boolean requestedChunk;
 
@@ -91,7 +99,7 @@ public class GuildSetupNode
 
     public int getCurrentMemberCount()
     {
-        TLongHashSet knownMembers = new TLongHashSet(members.keySet());
+        TLongHashSet knownMembers = new TLongHashSet(incrementalGuild != null ? incrementalGuild.getMembersMap().keySet() : members.keySet());
         knownMembers.removeAll(removedMembers);
         return knownMembers.size();
     }
@@ -118,11 +126,18 @@ public class GuildSetupNode
 
     public boolean containsMember(long userId)
     {
+        if (containsBuiltMember(userId))
+            return true;
         if (members == null || members.isEmpty())
             return false;
         return members.containsKey(userId);
     }
 
+    boolean containsBuiltMember(long userId)
+    {
+        return incrementalGuild != null && incrementalGuild.getMembersMap().containsKey(userId);
+    }
+
     @Override
     public String toString()
     {
@@ -169,6 +184,7 @@ public class GuildSetupNode
         {
             GuildSetupController.log.error("Uncaught exception in status listener", ex);
         }
+        getController().onStatusChange(this.status, status);
         this.status = status;
     }
 
@@ -183,6 +199,7 @@ public class GuildSetupNode
             members.clear();
         if (removedMembers != null)
             removedMembers.clear();
+        discardIncrementalGuild();
         cachedEvents.clear();
     }
 
@@ -205,6 +222,8 @@ public class GuildSetupNode
 
     void handleCreate(JSONObject obj)
     {
+        if (isBuilding("guild create"))
+            return;
         if (partialGuild == null)
         {
             partialGuild = obj;
@@ -245,6 +264,8 @@ public class GuildSetupNode
 
     void handleSync(JSONObject obj)
     {
+        if (isBuilding("sync update"))
+            return;
         if (partialGuild == null)
         {
             //In this case we received a GUILD_DELETE with unavailable = true while syncing
@@ -264,6 +285,8 @@ public class GuildSetupNode
 
     boolean handleMemberChunk(JSONArray arr)
     {
+        if (isBuilding("member chunk"))
+            return false;
         if (partialGuild == null)
         {
             //In this case we received a GUILD_DELETE with unavailable = true while chunking
@@ -272,14 +295,23 @@ public class GuildSetupNode
             GuildSetupController.log.debug("Dropping member chunk due to unavailable guild");
             return true;
         }
-        for (Object o : arr)
+        if (incrementalGuild != null)
+        {
+            EntityBuilder builder = getController().getJDA().getEntityBuilder();
+            for (Object o : arr)
+                builder.buildMember(incrementalGuild, (JSONObject) o, incrementalPlaybacks);
+        }
+        else
         {
-            JSONObject obj = (JSONObject) o;
-            long id = obj.getJSONObject("user").getLong("id");
-            members.put(id, obj);
+            for (Object o : arr)
+            {
+                JSONObject obj = (JSONObject) o;
+                long id = obj.getJSONObject("user").getLong("id");
+                members.put(id, obj);
+            }
         }
 
-        if (members.size() >= expectedMemberCount)
+        if (getMemberCount() >= expectedMemberCount)
         {
             completeSetup();
             return false;
@@ -293,7 +325,10 @@ public class GuildSetupNode
             return;
         expectedMemberCount++;
         long userId = member.getJSONObject("user").getLong("id");
-        members.put(userId, member);
+        if (incrementalGuild != null)
+            getController().getJDA().getEntityBuilder().buildMember(incrementalGuild, member, incrementalPlaybacks);
+        else
+            members.put(userId, member);
         removedMembers.remove(userId);
     }
 
@@ -303,7 +338,10 @@ public class GuildSetupNode
             return;
         expectedMemberCount--;
         long userId = member.getJSONObject("user").getLong("id");
-        members.remove(userId);
+        if (incrementalGuild != null)
+            incrementalGuild.getMembersMap().remove(userId);
+        else
+            members.remove(userId);
         removedMembers.add(userId);
         EventCache eventCache = getController().getJDA().getEventCache();
         if (!getController().containsMember(userId, this)) // if no other setup node contains this userId we clear it here
@@ -365,16 +403,123 @@ public class GuildSetupNode
                     eventCache.clear(EventCache.Type.USER, userId);
             }
         }
+
+        if (incrementalGuild != null)
+        {
+            incrementalGuild.getMembersMap().forEachKey(userId ->
+            {
+                if (!getController().containsMember(userId, this))
+                    eventCache.clear(EventCache.Type.USER, userId);
+                return true;
+            });
+            discardIncrementalGuild();
+        }
+    }
+
+    boolean isBuilding()
+    {
+        return status == GuildSetupController.Status.BUILDING;
+    }
+
+    // The payloads are read by the guild setup pool until the guild is published
+    private boolean isBuilding(String update)
+    {
+        if (!isBuilding())
+            return false;
+        GuildSetupController.log.debug("Dropping {} for guild {} which is currently being built", update, id);
+        return true;
     }
 
     private void completeSetup()
     {
         updateStatus(GuildSetupController.Status.BUILDING);
         JDAImpl api = getController().getJDA();
+        if (incrementalGuild != null)
+        {
+            completeIncrementalSetup(api);
+            return;
+        }
         for (TLongIterator it = removedMembers.iterator(); it.hasNext(); )
             members.remove(it.next());
         removedMembers.clear();
-        GuildImpl guild = api.getEntityBuilder().createGuild(id, partialGuild, members);
+        ExecutorService pool = api.getGuildSetupPool();
+        if (pool == null)
+        {
+            GuildImpl guild = api.getEntityBuilder().createGuild(id, partialGuild, members);
+            finishSetup(api, guild);
+            return;
+        }
+
+        //Events of this guild are cached by the controller until the guild has been published.
+        // The build count identifies this build in case the guild is reset and built again in the meantime
+        final int build = ++buildCount;
+        final JSONObject guildJson = partialGuild;
+        final TLongObjectMap<JSONObject> memberJson = new TLongObjectHashMap<>(members);
+        try
+        {
+            pool.execute(() -> buildGuild(api, build, guildJson, memberJson));
+        }
+        catch (RejectedExecutionException ex)
+        {
+            GuildSetupController.log.debug("Guild setup pool rejected setup for guild {}, shutting down?", id);
+        }
+    }
+
+    // The members have already been built, only the channels and voice states are left
+    private void completeIncrementalSetup(JDAImpl api)
+    {
+        final GuildImpl guild = incrementalGuild;
+        final List<Runnable> playbacks = incrementalPlaybacks;
+        incrementalGuild = null;
+        incrementalPlaybacks = null;
+        EntityBuilder builder = api.getEntityBuilder();
+        for (TLongIterator it = removedMembers.iterator(); it.hasNext(); )
+            guild.getMembersMap().remove(it.next());
+        builder.completeGuild(guild, partialGuild, playbacks);
+        builder.publishGuild(guild, playbacks);
+        // the users of removed members are no longer referenced by this guild
+        for (TLongIterator it = removedMembers.iterator(); it.hasNext(); )
+            builder.unloadUser(it.next());
+        removedMembers.clear();
+        finishSetup(api, guild);
+    }
+
+    private void buildGuild(JDAImpl api, int build, JSONObject guildJson, TLongObjectMap<JSONObject> memberJson)
+    {
+        List<Runnable> playbacks = new ArrayList<>();
+        GuildImpl guild;
+        try
+        {
+            guild = api.getEntityBuilder().buildGuild(id, guildJson, memberJson, playbacks);
+        }
+        catch (Exception ex)
+        {
+            GuildSetupController.log.error("Failed to build guild {}", id, ex);
+            return;
+        }
+
+        synchronized (api.getClient().getDispatchLock())
+        {
+            if (!isBuilding() || build != buildCount || getController().getSetupNodeById(id) != this)
+            {
+                GuildSetupController.log.debug("Discarding guild {} which has been removed or reset while it was built", id);
+                api.getEntityBuilder().discardGuild(guild);
+                return;
+            }
+            try
+            {
+                api.getEntityBuilder().publishGuild(guild, playbacks);
+                finishSetup(api, guild);
+            }
+            catch (Exception ex)
+            {
+                GuildSetupController.log.error("Failed to publish guild {}", id, ex);
+            }
+        }
+    }
+
+    private void finishSetup(JDAImpl api, GuildImpl guild)
+    {
         updateAudioManagerReference(guild);
         if (join)
         {
@@ -397,12 +542,15 @@ public class GuildSetupNode
 
     private void ensureMembers()
     {
+        JDAImpl api = getController().getJDA();
         expectedMemberCount = partialGuild.getInt("member_count");
-        members = new TLongObjectHashMap<>(expectedMemberCount);
+        discardIncrementalGuild();
+        members = api.isIncrementalChunkingEnabled() ? new TLongObjectHashMap<>() : new TLongObjectHashMap<>(expectedMemberCount);
         removedMembers = new TLongHashSet();
         JSONArray memberArray = partialGuild.getJSONArray("members");
         if (memberArray.length() < expectedMemberCount && !requestedChunk)
         {
+            startIncrementalSetup(api);
             updateStatus(GuildSetupController.Status.CHUNKING);
             getController().addGuildForChunking(id, join);
             requestedChunk = true;
@@ -418,12 +566,36 @@ public class GuildSetupNode
                 "member_count: {} members: {} actual_members: {} guild_id: {}",
                 expectedMemberCount, memberArray.length(), members.size(), id);
             members.clear();
+            startIncrementalSetup(api);
             updateStatus(GuildSetupController.Status.CHUNKING);
             getController().addGuildForChunking(id, join);
             requestedChunk = true;
         }
     }
 
+    private void startIncrementalSetup(JDAImpl api)
+    {
+        if (!api.isIncrementalChunkingEnabled())
+            return;
+        incrementalPlaybacks = new ArrayList<>();
+        incrementalGuild = api.getEntityBuilder().buildPartialGuild(id, partialGuild, incrementalPlaybacks);
+    }
+
+    private void discardIncrementalGuild()
+    {
+        final GuildImpl guild = incrementalGuild;
+        if (guild == null)
+            return;
+        incrementalGuild = null;
+        incrementalPlaybacks = null;
+        getController().getJDA().getEntityBuilder().discardGuild(guild);
+    }
+
+    private int getMemberCount()
+    {
+        return incrementalGuild != null ? incrementalGuild.getMembersMap().size() : members.size();
+    }
+
     private void updateAudioManagerReference(GuildImpl guild)
     {
         JDAImpl api = getController().getJDA();
@@ -437,7 +609,8 @@ public class GuildSetupNode
             final AudioManagerImpl newMng = new AudioManagerImpl(guild);
             newMng.setSelfMuted(mng.isSelfMuted());
             newMng.setSelfDeafened(mng.isSelfDeafened());
-            newMng.setQueueTimeout(mng.getConnectTimeout());
+            newMng.setConnectTimeout(mng.getConnectTimeout());
+            newMng.setReceiveBufferDepth(mng.getReceiveBufferDepth());
             newMng.setSendingHandler(mng.getSendingHandler());
             newMng.setReceivingHandler(mng.getReceiveHandler());
             newMng.setConnectionListener(listener);
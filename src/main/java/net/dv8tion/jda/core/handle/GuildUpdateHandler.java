@@ -85,7 +85,7 @@ public class GuildUpdateHandler extends SocketHandler
                 WebSocketClient.LOG.warn("Received {} with owner not in cache. UserId: {} GuildId: {}", allContent.get("t"), ownerId, id);
             guild.setOwner(newOwner);
             guild.setOwnerId(ownerId);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateOwnerEvent(
                         getJDA(), responseNumber,
                         guild, oldOwner));
@@ -94,7 +94,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             String oldName = guild.getName();
             guild.setName(name);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateNameEvent(
                             getJDA(), responseNumber,
                             guild, oldName));
@@ -103,7 +103,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             String oldIconId = guild.getIconId();
             guild.setIconId(iconId);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateIconEvent(
                             getJDA(), responseNumber,
                             guild, oldIconId));
@@ -112,7 +112,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             Set<String> oldFeatures = guild.getFeatures();
             guild.setFeatures(features);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateFeaturesEvent(
                             getJDA(), responseNumber,
                             guild, oldFeatures));
@@ -121,7 +121,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             String oldSplashId = guild.getSplashId();
             guild.setSplashId(splashId);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateSplashEvent(
                             getJDA(), responseNumber,
                             guild, oldSplashId));
@@ -130,7 +130,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             String oldRegion = guild.getRegionRaw();
             guild.setRegion(region);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateRegionEvent(
                             getJDA(), responseNumber,
                             guild, oldRegion));
@@ -139,7 +139,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             Guild.VerificationLevel oldVerificationLevel = guild.getVerificationLevel();
             guild.setVerificationLevel(verificationLevel);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateVerificationLevelEvent(
                             getJDA(), responseNumber,
                             guild, oldVerificationLevel));
@@ -148,7 +148,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             Guild.NotificationLevel oldNotificationLevel = guild.getDefaultNotificationLevel();
             guild.setDefaultNotificationLevel(notificationLevel);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateNotificationLevelEvent(
                             getJDA(), responseNumber,
                             guild, oldNotificationLevel));
@@ -157,7 +157,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             Guild.MFALevel oldMfaLevel = guild.getRequiredMFALevel();
             guild.setRequiredMFALevel(mfaLevel);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateMFALevelEvent(
                             getJDA(), responseNumber,
                             guild, oldMfaLevel));
@@ -166,7 +166,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             Guild.ExplicitContentLevel oldExplicitContentLevel = guild.getExplicitContentLevel();
             guild.setExplicitContentLevel(explicitContentLevel);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateExplicitContentLevelEvent(
                             getJDA(), responseNumber,
                             guild, oldExplicitContentLevel));
@@ -175,7 +175,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             Guild.Timeout oldAfkTimeout = guild.getAfkTimeout();
             guild.setAfkTimeout(afkTimeout);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateAfkTimeoutEvent(
                             getJDA(), responseNumber,
                             guild, oldAfkTimeout));
@@ -184,7 +184,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             VoiceChannel oldAfkChannel = guild.getAfkChannel();
             guild.setAfkChannel(afkChannel);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateAfkChannelEvent(
                             getJDA(), responseNumber,
                             guild, oldAfkChannel));
@@ -193,7 +193,7 @@ public class GuildUpdateHandler extends SocketHandler
         {
             TextChannel oldSystemChannel = guild.getSystemChannel();
             guild.setSystemChannel(systemChannel);
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildUpdateSystemChannelEvent(
                             getJDA(), responseNumber,
                             guild, oldSystemChannel));
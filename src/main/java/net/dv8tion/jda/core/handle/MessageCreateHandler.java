@@ -17,16 +17,18 @@ package net.dv8tion.jda.core.handle;
 
 import net.dv8tion.jda.client.entities.impl.GroupImpl;
 import net.dv8tion.jda.client.events.message.group.GroupMessageReceivedEvent;
+import net.dv8tion.jda.core.entities.ChannelType;
 import net.dv8tion.jda.core.entities.EntityBuilder;
 import net.dv8tion.jda.core.entities.Message;
 import net.dv8tion.jda.core.entities.MessageType;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.entities.impl.MemberImpl;
 import net.dv8tion.jda.core.entities.impl.PrivateChannelImpl;
 import net.dv8tion.jda.core.entities.impl.TextChannelImpl;
 import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.core.events.message.guild.GuildMessageReceivedEvent;
 import net.dv8tion.jda.core.events.message.priv.PrivateMessageReceivedEvent;
-import net.dv8tion.jda.core.hooks.IEventManager;
 import net.dv8tion.jda.core.requests.WebSocketClient;
 import org.json.JSONObject;
 
@@ -83,7 +85,6 @@ public class MessageCreateHandler extends SocketHandler
             }
         }
 
-        final IEventManager manager = getJDA().getEventManager();
         switch (message.getChannelType())
         {
             case TEXT:
@@ -92,7 +93,7 @@ public class MessageCreateHandler extends SocketHandler
                 if (getJDA().getGuildSetupController().isLocked(channel.getGuild().getIdLong()))
                     return channel.getGuild().getIdLong();
                 channel.setLastMessageId(message.getIdLong());
-                manager.handle(
+                getJDA().handleEvent(
                     new GuildMessageReceivedEvent(
                         getJDA(), responseNumber,
                         message));
@@ -102,7 +103,7 @@ public class MessageCreateHandler extends SocketHandler
             {
                 PrivateChannelImpl channel = (PrivateChannelImpl) message.getPrivateChannel();
                 channel.setLastMessageId(message.getIdLong());
-                manager.handle(
+                getJDA().handleEvent(
                     new PrivateMessageReceivedEvent(
                         getJDA(), responseNumber,
                         message));
@@ -112,7 +113,7 @@ public class MessageCreateHandler extends SocketHandler
             {
                 GroupImpl channel = (GroupImpl) message.getGroup();
                 channel.setLastMessageId(message.getIdLong());
-                manager.handle(
+                getJDA().handleEvent(
                     new GroupMessageReceivedEvent(
                         getJDA(), responseNumber,
                         message));
@@ -124,10 +125,13 @@ public class MessageCreateHandler extends SocketHandler
         }
 
         //Combo event
-        manager.handle(
+        getJDA().handleEvent(
             new MessageReceivedEvent(
                 getJDA(), responseNumber,
                 message));
+
+        if (message.isFromType(ChannelType.TEXT) && message.getMember() != null)
+            ((GuildImpl) message.getGuild()).updateMemberCache((MemberImpl) message.getMember());
         return null;
     }
 }
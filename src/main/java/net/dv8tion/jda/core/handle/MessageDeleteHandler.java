@@ -70,7 +70,7 @@ public class MessageDeleteHandler extends SocketHandler
                 return tChan.getGuild().getIdLong();
             if (tChan.hasLatestMessage() && messageId == channel.getLatestMessageIdLong())
                 tChan.setLastMessageId(0); // Reset latest message id as it was deleted.
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildMessageDeleteEvent(
                             getJDA(), responseNumber,
                             messageId, tChan));
@@ -80,7 +80,7 @@ public class MessageDeleteHandler extends SocketHandler
             PrivateChannelImpl pChan = (PrivateChannelImpl) channel;
             if (channel.hasLatestMessage() && messageId == channel.getLatestMessageIdLong())
                 pChan.setLastMessageId(0); // Reset latest message id as it was deleted.
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new PrivateMessageDeleteEvent(
                             getJDA(), responseNumber,
                             messageId, pChan));
@@ -90,14 +90,14 @@ public class MessageDeleteHandler extends SocketHandler
             GroupImpl group = (GroupImpl) channel;
             if (channel.hasLatestMessage() && messageId == channel.getLatestMessageIdLong())
                 group.setLastMessageId(0); // Reset latest message id as it was deleted.
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GroupMessageDeleteEvent(
                             getJDA(), responseNumber,
                             messageId, group));
         }
 
         //Combo event
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
                 new MessageDeleteEvent(
                         getJDA(), responseNumber,
                         messageId, channel));
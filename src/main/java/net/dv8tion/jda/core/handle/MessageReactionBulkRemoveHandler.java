@@ -23,7 +23,6 @@ import net.dv8tion.jda.core.entities.TextChannel;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.message.guild.react.GuildMessageReactionRemoveAllEvent;
 import net.dv8tion.jda.core.events.message.react.MessageReactionRemoveAllEvent;
-import net.dv8tion.jda.core.hooks.IEventManager;
 import org.json.JSONObject;
 
 public class MessageReactionBulkRemoveHandler extends SocketHandler
@@ -45,24 +44,23 @@ public class MessageReactionBulkRemoveHandler extends SocketHandler
             EventCache.LOG.debug("Received a reaction for a channel that JDA does not currently have cached channel_id: {} message_id: {}", channelId, messageId);
             return null;
         }
-        IEventManager manager = getJDA().getEventManager();
 
         switch (channel.getType())
         {
             case TEXT:
-               manager.handle(
+               getJDA().handleEvent(
                    new GuildMessageReactionRemoveAllEvent(
                            getJDA(), responseNumber,
                            messageId, (TextChannel) channel));
                break;
             case GROUP:
-                manager.handle(
+                getJDA().handleEvent(
                     new GroupMessageReactionRemoveAllEvent(
                             getJDA(), responseNumber,
                             messageId, (Group) channel));
         }
 
-        manager.handle(
+        getJDA().handleEvent(
             new MessageReactionRemoveAllEvent(
                     getJDA(), responseNumber,
                     messageId, channel));
@@ -31,7 +31,6 @@ import net.dv8tion.jda.core.events.message.priv.react.PrivateMessageReactionAddE
 import net.dv8tion.jda.core.events.message.priv.react.PrivateMessageReactionRemoveEvent;
 import net.dv8tion.jda.core.events.message.react.MessageReactionAddEvent;
 import net.dv8tion.jda.core.events.message.react.MessageReactionRemoveEvent;
-import net.dv8tion.jda.core.hooks.IEventManager;
 import net.dv8tion.jda.core.requests.WebSocketClient;
 import net.dv8tion.jda.core.utils.JDALogger;
 import org.json.JSONObject;
@@ -144,29 +143,28 @@ public class MessageReactionHandler extends SocketHandler
 
     private void onAdd(MessageReaction reaction, User user)
     {
-        IEventManager manager = getJDA().getEventManager();
         switch (reaction.getChannelType())
         {
             case TEXT:
-                manager.handle(
+                getJDA().handleEvent(
                     new GuildMessageReactionAddEvent(
                             getJDA(), responseNumber,
                             user, reaction));
                 break;
             case GROUP:
-                manager.handle(
+                getJDA().handleEvent(
                     new GroupMessageReactionAddEvent(
                             getJDA(), responseNumber,
                             user, reaction));
                 break;
             case PRIVATE:
-                manager.handle(
+                getJDA().handleEvent(
                     new PrivateMessageReactionAddEvent(
                             getJDA(), responseNumber,
                             user, reaction));
         }
 
-        manager.handle(
+        getJDA().handleEvent(
             new MessageReactionAddEvent(
                     getJDA(), responseNumber,
                     user, reaction));
@@ -174,29 +172,28 @@ public class MessageReactionHandler extends SocketHandler
 
     private void onRemove(MessageReaction reaction, User user)
     {
-        IEventManager manager = getJDA().getEventManager();
         switch (reaction.getChannelType())
         {
             case TEXT:
-                manager.handle(
+                getJDA().handleEvent(
                     new GuildMessageReactionRemoveEvent(
                             getJDA(), responseNumber,
                             user, reaction));
                 break;
             case GROUP:
-                manager.handle(
+                getJDA().handleEvent(
                     new GroupMessageReactionRemoveEvent(
                             getJDA(), responseNumber,
                             user, reaction));
                 break;
             case PRIVATE:
-                manager.handle(
+                getJDA().handleEvent(
                     new PrivateMessageReactionRemoveEvent(
                             getJDA(), responseNumber,
                             user, reaction));
         }
 
-        manager.handle(
+        getJDA().handleEvent(
             new MessageReactionRemoveEvent(
                     getJDA(), responseNumber,
                     user, reaction));
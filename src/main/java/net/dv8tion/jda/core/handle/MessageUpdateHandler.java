@@ -118,7 +118,7 @@ public class MessageUpdateHandler extends SocketHandler
                 TextChannel channel = message.getTextChannel();
                 if (getJDA().getGuildSetupController().isLocked(channel.getGuild().getIdLong()))
                     return channel.getGuild().getIdLong();
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new GuildMessageUpdateEvent(
                                 getJDA(), responseNumber,
                                 message));
@@ -126,7 +126,7 @@ public class MessageUpdateHandler extends SocketHandler
             }
             case PRIVATE:
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new PrivateMessageUpdateEvent(
                                 getJDA(), responseNumber,
                                 message));
@@ -134,7 +134,7 @@ public class MessageUpdateHandler extends SocketHandler
             }
             case GROUP:
             {
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new GroupMessageUpdateEvent(
                                 getJDA(), responseNumber,
                                 message));
@@ -147,7 +147,7 @@ public class MessageUpdateHandler extends SocketHandler
         }
 
         //Combo event
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
                 new MessageUpdateEvent(
                         getJDA(), responseNumber,
                         message));
@@ -185,27 +185,27 @@ public class MessageUpdateHandler extends SocketHandler
             TextChannel tChannel = (TextChannel) channel;
             if (getJDA().getGuildSetupController().isLocked(tChannel.getGuild().getIdLong()))
                 return tChannel.getGuild().getIdLong();
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GuildMessageEmbedEvent(
                             getJDA(), responseNumber,
                             messageId, tChannel, embeds));
         }
         else if (channel instanceof PrivateChannel)
         {
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new PrivateMessageEmbedEvent(
                             getJDA(), responseNumber,
                             messageId, (PrivateChannel) channel, embeds));
         }
         else
         {
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new GroupMessageEmbedEvent(
                             getJDA(), responseNumber,
                             messageId, (Group) channel, embeds));
         }
         //Combo event
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
                 new MessageEmbedEvent(
                         getJDA(), responseNumber,
                         messageId, channel, embeds));
@@ -26,7 +26,9 @@ import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.entities.impl.MemberImpl;
 import net.dv8tion.jda.core.entities.impl.UserImpl;
 import net.dv8tion.jda.core.events.user.update.*;
+import net.dv8tion.jda.core.requests.GatewayPayload;
 import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.json.JSONObject;
 
 import java.util.Objects;
@@ -39,6 +41,21 @@ public class PresenceUpdateHandler extends SocketHandler
         super(api);
     }
 
+    @Override
+    protected boolean isSkippable(GatewayPayload payload)
+    {
+        //An OFFLINE presence of a user we don't know about is ignored by handleInternally anyway,
+        // this can be checked for cached guilds without parsing the presence and its game.
+        //Members which are retrieved again after the member cache policy removed them still need it
+        final long guildId = payload.peekLong(0L, "guild_id");
+        if (guildId == 0L || getJDA().getGuildSetupController().isLocked(guildId) || getJDA().getGuildById(guildId) == null)
+            return false;
+        final long userId = payload.peekLong(0L, "user", "id");
+        return !getJDA().getUserMap().containsKey(userId)
+            && OnlineStatus.fromKey(payload.peekString("status")) == OnlineStatus.OFFLINE
+            && !((GuildImpl) getJDA().getGuildById(guildId)).isReloadingMember(userId);
+    }
+
     @Override
     protected Long handleInternally(JSONObject content)
     {
@@ -81,7 +98,7 @@ public class PresenceUpdateHandler extends SocketHandler
                 {
                     String oldUsername = user.getName();
                     user.setName(name);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                         new UserUpdateNameEvent(
                             getJDA(), responseNumber,
                             user, oldUsername));
@@ -90,7 +107,7 @@ public class PresenceUpdateHandler extends SocketHandler
                 {
                     String oldDiscriminator = user.getDiscriminator();
                     user.setDiscriminator(discriminator);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                         new UserUpdateDiscriminatorEvent(
                             getJDA(), responseNumber,
                             user, oldDiscriminator));
@@ -99,7 +116,7 @@ public class PresenceUpdateHandler extends SocketHandler
                 {
                     String oldAvatarId = user.getAvatarId();
                     user.setAvatarId(avatarId);
-                    getJDA().getEventManager().handle(
+                    getJDA().handleEvent(
                         new UserUpdateAvatarEvent(
                             getJDA(), responseNumber,
                             user, oldAvatarId));
@@ -140,6 +157,11 @@ public class PresenceUpdateHandler extends SocketHandler
                 if (member == null)
                 {
                     //Cache the presence and return to finish up.
+                    if (getJDA().getMemberCachePolicy() != MemberCachePolicy.ALL)
+                    {
+                        reloadMember(guild, userId, content);
+                        return null;
+                    }
                     if (status != OnlineStatus.OFFLINE)
                     {
                         guild.getCachedPresenceMap().put(userId, content);
@@ -153,7 +175,7 @@ public class PresenceUpdateHandler extends SocketHandler
                     {
                         OnlineStatus oldStatus = member.getOnlineStatus();
                         member.setOnlineStatus(status);
-                        getJDA().getEventManager().handle(
+                        getJDA().handleEvent(
                             new UserUpdateOnlineStatusEvent(
                                 getJDA(), responseNumber,
                                 user, guild, oldStatus));
@@ -162,11 +184,12 @@ public class PresenceUpdateHandler extends SocketHandler
                     {
                         Game oldGame = member.getGame();
                         member.setGame(nextGame);
-                        getJDA().getEventManager().handle(
+                        getJDA().handleEvent(
                             new UserUpdateGameEvent(
                                 getJDA(), responseNumber,
                                 user, guild, oldGame));
                     }
+                    guild.updateMemberCache(member);
                 }
             }
             else
@@ -183,7 +206,7 @@ public class PresenceUpdateHandler extends SocketHandler
                     {
                         OnlineStatus oldStatus = friend.getOnlineStatus();
                         friend.setOnlineStatus(status);
-                        getJDA().getEventManager().handle(
+                        getJDA().handleEvent(
                             new UserUpdateOnlineStatusEvent(
                                 getJDA(), responseNumber,
                                 user, null, oldStatus));
@@ -192,7 +215,7 @@ public class PresenceUpdateHandler extends SocketHandler
                     {
                         Game oldGame = friend.getGame();
                         friend.setGame(nextGame);
-                        getJDA().getEventManager().handle(
+                        getJDA().handleEvent(
                             new UserUpdateGameEvent(
                                 getJDA(), responseNumber,
                                 user, null, oldGame));
@@ -214,9 +237,19 @@ public class PresenceUpdateHandler extends SocketHandler
             OnlineStatus status = OnlineStatus.fromKey(content.getString("status"));
 
             //If this was for a Guild, cache it in the Guild for later use in GUILD_MEMBER_ADD
-            if (status != OnlineStatus.OFFLINE && guild != null)
+            if (guild != null && getJDA().getMemberCachePolicy() != MemberCachePolicy.ALL)
+                reloadMember(guild, userId, content);
+            else if (status != OnlineStatus.OFFLINE && guild != null)
                 guild.getCachedPresenceMap().put(userId, content);
         }
         return null;
     }
+
+    private void reloadMember(GuildImpl guild, long userId, JSONObject content)
+    {
+        //Members removed by the member cache policy are not added again by a GUILD_MEMBER_ADD,
+        // they are retrieved once they come online and cached with the most recent presence
+        EventCache.LOG.debug("Received a PRESENCE_UPDATE for a Member that is not cached. Retrieving the Member if it is online. JSON: {}", content);
+        guild.reloadMember(userId, content);
+    }
 }
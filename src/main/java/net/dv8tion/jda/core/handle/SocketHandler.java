@@ -16,6 +16,9 @@
 package net.dv8tion.jda.core.handle;
 
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.requests.GatewayPayload;
+import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.cache.EventPolicy;
 import net.dv8tion.jda.core.utils.cache.UpstreamReference;
 import org.json.JSONObject;
 
@@ -30,14 +33,41 @@ public abstract class SocketHandler
         this.api = new UpstreamReference<>(api);
     }
 
+    public final void handle(long responseTotal, GatewayPayload payload)
+    {
+        if (isSkippable(payload))
+        {
+            WebSocketClient.LOG.trace("Skipped {} without parsing its payload", payload.getType());
+            return;
+        }
+        handle(responseTotal, payload.toJson());
+    }
+
     public final synchronized void handle(long responseTotal, JSONObject o)
     {
-        this.allContent = o;
-        this.responseNumber = responseTotal;
-        final Long guildId = handleInternally(o.getJSONObject("d"));
-        if (guildId != null)
-            getJDA().getGuildSetupController().cacheEvent(guildId, o);
-        this.allContent = null;
+        final JDAImpl api = getJDA();
+        //Events fired for a CACHE_ONLY event are dropped by JDAImpl#handleEvent,
+        // this also covers events replayed from the EventCache while another event is handled
+        final boolean cacheOnly = api.getEventPolicy(o.optString("t", null)) == EventPolicy.CACHE_ONLY;
+        final boolean suppressed = api.isDispatchSuppressed();
+        if (cacheOnly != suppressed)
+            api.setDispatchSuppressed(cacheOnly);
+        try
+        {
+            this.allContent = o;
+            this.responseNumber = responseTotal;
+            final Long guildId = handleInternally(o.getJSONObject("d"));
+            if (guildId != null)
+                api.getGuildSetupController().cacheEvent(guildId, o);
+            else if (cacheOnly)
+                api.countDroppedEvent(EventPolicy.CACHE_ONLY);
+        }
+        finally
+        {
+            this.allContent = null;
+            if (cacheOnly != suppressed)
+                api.setDispatchSuppressed(suppressed);
+        }
     }
 
     protected JDAImpl getJDA()
@@ -54,6 +84,20 @@ public abstract class SocketHandler
      */
     protected abstract Long handleInternally(JSONObject content);
 
+    /**
+     * Checks whether the given event can be dropped before its data-json is parsed.
+     * <br>This should only be the case if the event would neither update the cache
+     * nor be received by any listener.
+     * @param payload
+     *      the not yet parsed event
+     * @return
+     *      True, if the event can be dropped
+     */
+    protected boolean isSkippable(GatewayPayload payload)
+    {
+        return false;
+    }
+
     public static class NOPHandler extends SocketHandler
     {
         public NOPHandler(JDAImpl api)
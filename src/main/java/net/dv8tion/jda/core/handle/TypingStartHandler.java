@@ -23,6 +23,7 @@ import net.dv8tion.jda.core.entities.PrivateChannel;
 import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.user.UserTypingEvent;
+import net.dv8tion.jda.core.requests.GatewayPayload;
 import org.json.JSONObject;
 
 import java.time.Instant;
@@ -37,6 +38,13 @@ public class TypingStartHandler extends SocketHandler
         super(api);
     }
 
+    @Override
+    protected boolean isSkippable(GatewayPayload payload)
+    {
+        //This event does not affect the cache, we can drop it if nobody would receive the UserTypingEvent
+        return !getJDA().getEventManager().hasListeners(UserTypingEvent.class);
+    }
+
     @Override
     protected Long handleInternally(JSONObject content)
     {
@@ -81,7 +89,7 @@ public class TypingStartHandler extends SocketHandler
                             // then we will just throw the event away.
 
         OffsetDateTime timestamp = Instant.ofEpochSecond(content.getInt("timestamp")).atOffset(ZoneOffset.UTC);
-        getJDA().getEventManager().handle(
+        getJDA().handleEvent(
                 new UserTypingEvent(
                         getJDA(), responseNumber,
                         user, channel, timestamp));
@@ -25,7 +25,7 @@ import net.dv8tion.jda.client.events.call.voice.CallVoiceJoinEvent;
 import net.dv8tion.jda.client.events.call.voice.CallVoiceLeaveEvent;
 import net.dv8tion.jda.client.events.call.voice.CallVoiceSelfDeafenEvent;
 import net.dv8tion.jda.client.events.call.voice.CallVoiceSelfMuteEvent;
-import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.GuildVoiceStateImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.entities.impl.MemberImpl;
@@ -33,6 +33,7 @@ import net.dv8tion.jda.core.entities.impl.VoiceChannelImpl;
 import net.dv8tion.jda.core.events.guild.voice.*;
 import net.dv8tion.jda.core.managers.impl.AudioManagerImpl;
 import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.json.JSONObject;
 
 import java.util.Objects;
@@ -70,7 +71,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
         boolean guildDeafened = content.getBoolean("deaf");
         boolean suppressed = content.getBoolean("suppress");
 
-        Guild guild = getJDA().getGuildById(guildId);
+        GuildImpl guild = (GuildImpl) getJDA().getGuildById(guildId);
         if (guild == null)
         {
             getJDA().getEventCache().cache(EventCache.Type.GUILD, guildId, responseNumber, allContent, this::handle);
@@ -87,6 +88,18 @@ public class VoiceStateUpdateHandler extends SocketHandler
         }
 
         MemberImpl member = (MemberImpl) guild.getMemberById(userId);
+        if (member == null && getJDA().getMemberCachePolicy() != MemberCachePolicy.ALL)
+        {
+            //The member might have been removed by the member cache policy, the update carries the complete member
+            // which is cached again to track its voice state
+            JSONObject memberJson = content.optJSONObject("member");
+            if (memberJson == null || !memberJson.has("joined_at"))
+            {
+                EventCache.LOG.debug("Received VOICE_STATE_UPDATE for a Member that is not cached. Ignoring. JSON: {}", content);
+                return;
+            }
+            member = (MemberImpl) getJDA().getEntityBuilder().createMember(guild, memberJson);
+        }
         if (member == null)
         {
             //Caching of this might not be valid. It is possible that we received this
@@ -107,7 +120,10 @@ public class VoiceStateUpdateHandler extends SocketHandler
 
         GuildVoiceStateImpl vState = (GuildVoiceStateImpl) member.getVoiceState();
         if (vState == null)
+        {
+            guild.updateMemberCache(member);
             return;
+        }
         vState.setSessionId(sessionId); //Cant really see a reason for an event for this
 
         if (!Objects.equals(channel, vState.getChannel()))
@@ -118,7 +134,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
             if (oldChannel == null)
             {
                 channel.getConnectedMembersMap().put(userId, member);
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new GuildVoiceJoinEvent(
                                 getJDA(), responseNumber,
                                 member));
@@ -128,7 +144,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
                 oldChannel.getConnectedMembersMap().remove(userId);
                 if (guild.getSelfMember().equals(member))
                     getJDA().getClient().updateAudioConnection(guildId, null);
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new GuildVoiceLeaveEvent(
                                 getJDA(), responseNumber,
                                 member, oldChannel));
@@ -156,7 +172,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
 
                 channel.getConnectedMembersMap().put(userId, member);
                 oldChannel.getConnectedMembersMap().remove(userId);
-                getJDA().getEventManager().handle(
+                getJDA().handleEvent(
                         new GuildVoiceMoveEvent(
                                 getJDA(), responseNumber,
                                 member, oldChannel));
@@ -169,32 +185,33 @@ public class VoiceStateUpdateHandler extends SocketHandler
         if (selfMuted != vState.isSelfMuted())
         {
             vState.setSelfMuted(selfMuted);
-            getJDA().getEventManager().handle(new GuildVoiceSelfMuteEvent(getJDA(), responseNumber, member));
+            getJDA().handleEvent(new GuildVoiceSelfMuteEvent(getJDA(), responseNumber, member));
         }
         if (selfDeafened != vState.isSelfDeafened())
         {
             vState.setSelfDeafened(selfDeafened);
-            getJDA().getEventManager().handle(new GuildVoiceSelfDeafenEvent(getJDA(), responseNumber, member));
+            getJDA().handleEvent(new GuildVoiceSelfDeafenEvent(getJDA(), responseNumber, member));
         }
         if (guildMuted != vState.isGuildMuted())
         {
             vState.setGuildMuted(guildMuted);
-            getJDA().getEventManager().handle(new GuildVoiceGuildMuteEvent(getJDA(), responseNumber, member));
+            getJDA().handleEvent(new GuildVoiceGuildMuteEvent(getJDA(), responseNumber, member));
         }
         if (guildDeafened != vState.isGuildDeafened())
         {
             vState.setGuildDeafened(guildDeafened);
-            getJDA().getEventManager().handle(new GuildVoiceGuildDeafenEvent(getJDA(), responseNumber, member));
+            getJDA().handleEvent(new GuildVoiceGuildDeafenEvent(getJDA(), responseNumber, member));
         }
         if (suppressed != vState.isSuppressed())
         {
             vState.setSuppressed(suppressed);
-            getJDA().getEventManager().handle(new GuildVoiceSuppressEvent(getJDA(), responseNumber, member));
+            getJDA().handleEvent(new GuildVoiceSuppressEvent(getJDA(), responseNumber, member));
         }
         if (wasMute != vState.isMuted())
-            getJDA().getEventManager().handle(new GuildVoiceMuteEvent(getJDA(), responseNumber, member));
+            getJDA().handleEvent(new GuildVoiceMuteEvent(getJDA(), responseNumber, member));
         if (wasDeaf != vState.isDeafened())
-            getJDA().getEventManager().handle(new GuildVoiceDeafenEvent(getJDA(), responseNumber, member));
+            getJDA().handleEvent(new GuildVoiceDeafenEvent(getJDA(), responseNumber, member));
+        guild.updateMemberCache(member);
     }
 
     private void handleCallVoiceState(JSONObject content)
@@ -249,7 +266,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
             vState.setSessionId(sessionId);
             vState.setInCall(true);
 
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new CallVoiceJoinEvent(
                             getJDA(), responseNumber,
                             cUser));
@@ -270,7 +287,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
             vState.setSessionId(sessionId);
             vState.setInCall(false);
 
-            getJDA().getEventManager().handle(
+            getJDA().handleEvent(
                     new CallVoiceLeaveEvent(
                             getJDA(), responseNumber,
                             cUser));
@@ -280,12 +297,12 @@ public class VoiceStateUpdateHandler extends SocketHandler
         if (selfMuted != vState.isSelfMuted())
         {
             vState.setSelfMuted(selfMuted);
-            getJDA().getEventManager().handle(new CallVoiceSelfMuteEvent(getJDA(), responseNumber, vState.getCallUser()));
+            getJDA().handleEvent(new CallVoiceSelfMuteEvent(getJDA(), responseNumber, vState.getCallUser()));
         }
         if (selfDeafened != vState.isSelfDeafened())
         {
             vState.setSelfDeafened(selfDeafened);
-            getJDA().getEventManager().handle(new CallVoiceSelfDeafenEvent(getJDA(), responseNumber, vState.getCallUser()));
+            getJDA().handleEvent(new CallVoiceSelfDeafenEvent(getJDA(), responseNumber, vState.getCallUser()));
         }
     }
 }
@@ -18,10 +18,14 @@ package net.dv8tion.jda.core.hooks;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.Event;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Implementation for {@link net.dv8tion.jda.core.hooks.IEventManager IEventManager}
@@ -41,103 +45,165 @@ import java.util.*;
  *     }
  * </code></pre>
  *
+ * <p>The annotated methods are converted to {@link java.lang.invoke.MethodHandle MethodHandles} when the listener is registered.
+ * For every concrete event class the handles of all matching methods are collected into an array on first use,
+ * so handling an event does not use reflection or locks. Listeners can be registered and unregistered from any thread.
+ *
  * @see net.dv8tion.jda.core.hooks.InterfacedEventManager
  * @see net.dv8tion.jda.core.hooks.IEventManager
  * @see net.dv8tion.jda.core.hooks.SubscribeEvent
  */
 public class AnnotatedEventManager implements IEventManager
 {
-    private final Set<Object> listeners = new HashSet<>();
-    private final Map<Class<? extends Event>, Map<Object, List<Method>>> methods = new HashMap<>();
+    private static final MethodType LISTENER_TYPE = MethodType.methodType(void.class, Event.class);
+    private static final Subscriber[] EMPTY = new Subscriber[0];
+
+    private final Set<Object> listeners = new LinkedHashSet<>();
+    // replaced on every change, handle only reads the current instance
+    private volatile Table table = new Table(Collections.emptyMap());
 
     @Override
     public void register(Object listener)
     {
-        if (listeners.add(listener))
+        synchronized (listeners)
         {
-            updateMethods();
+            if (!listeners.add(listener))
+                return;
+            Map<Class<? extends Event>, List<Subscriber>> methods = copyMethods();
+            findSubscribers(listener).forEach(subscriber ->
+                methods.computeIfAbsent(subscriber.eventClass, k -> new ArrayList<>()).add(subscriber));
+            table = new Table(methods);
         }
     }
 
     @Override
     public void unregister(Object listener)
     {
-        if (listeners.remove(listener))
+        synchronized (listeners)
         {
-            updateMethods();
+            if (!listeners.remove(listener))
+                return;
+            Map<Class<? extends Event>, List<Subscriber>> methods = copyMethods();
+            methods.values().forEach(list -> list.removeIf(subscriber -> listener.equals(subscriber.listener)));
+            methods.values().removeIf(List::isEmpty);
+            table = new Table(methods);
         }
     }
 
     @Override
     public List<Object> getRegisteredListeners()
     {
-        return Collections.unmodifiableList(new LinkedList<>(listeners));
+        synchronized (listeners)
+        {
+            return Collections.unmodifiableList(new ArrayList<>(listeners));
+        }
+    }
+
+    @Override
+    public boolean hasListeners(Class<? extends Event> eventType)
+    {
+        return table.getSubscribers(eventType).length > 0;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void handle(Event event)
     {
-        Class<? extends Event> eventClass = event.getClass();
-        do
+        for (Subscriber subscriber : table.getSubscribers(event.getClass()))
         {
-            Map<Object, List<Method>> listeners = methods.get(eventClass);
-            if (listeners != null)
+            try
+            {
+                subscriber.handle.invokeExact(event);
+            }
+            catch (Throwable throwable)
             {
-                listeners.entrySet().forEach(e -> e.getValue().forEach(method ->
-                {
-                    try
-                    {
-                        method.setAccessible(true);
-                        method.invoke(e.getKey(), event);
-                    }
-                    catch (IllegalAccessException | InvocationTargetException e1)
-                    {
-                        JDAImpl.LOG.error("Couldn't access annotated eventlistener method", e1);
-                    }
-                    catch (Throwable throwable)
-                    {
-                        JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", throwable);
-                    }
-                }));
+                JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", throwable);
             }
-            eventClass = eventClass == Event.class ? null : (Class<? extends Event>) eventClass.getSuperclass();
         }
-        while (eventClass != null);
     }
 
-    private void updateMethods()
+    private Map<Class<? extends Event>, List<Subscriber>> copyMethods()
     {
-        methods.clear();
-        for (Object listener : listeners)
+        Map<Class<? extends Event>, List<Subscriber>> methods = new HashMap<>();
+        table.methods.forEach((type, list) -> methods.put(type, new ArrayList<>(list)));
+        return methods;
+    }
+
+    private List<Subscriber> findSubscribers(Object listener)
+    {
+        boolean isClass = listener instanceof Class;
+        Class<?> c = isClass ? (Class) listener : listener.getClass();
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (Method m : c.getDeclaredMethods())
         {
-            boolean isClass = listener instanceof Class;
-            Class<?> c = isClass ? (Class) listener : listener.getClass();
-            Method[] allMethods = c.getDeclaredMethods();
-            for (Method m : allMethods)
+            boolean isStatic = Modifier.isStatic(m.getModifiers());
+            if (!m.isAnnotationPresent(SubscribeEvent.class) || (isClass && !isStatic))
+                continue;
+            Class<?>[] pType = m.getParameterTypes();
+            if (pType.length != 1 || !Event.class.isAssignableFrom(pType[0]))
+                continue;
+            try
             {
-                if (!m.isAnnotationPresent(SubscribeEvent.class) || (isClass && !Modifier.isStatic(m.getModifiers())))
-                {
-                    continue;
-                }
-                Class<?>[] pType  = m.getParameterTypes();
-                if (pType.length == 1 && Event.class.isAssignableFrom(pType[0]))
-                {
-                    @SuppressWarnings("unchecked")
-                    Class<? extends Event> eventClass = (Class<? extends Event>) pType[0];
-                    if (!methods.containsKey(eventClass))
-                    {
-                        methods.put(eventClass, new HashMap<>());
-                    }
-
-                    if (!methods.get(eventClass).containsKey(listener))
-                    {
-                        methods.get(eventClass).put(listener, new ArrayList<>());
-                    }
-
-                    methods.get(eventClass).get(listener).add(m);
-                }
+                m.setAccessible(true);
+                MethodHandle handle = MethodHandles.lookup().unreflect(m);
+                if (!isStatic)
+                    handle = handle.bindTo(listener);
+                @SuppressWarnings("unchecked")
+                Class<? extends Event> eventClass = (Class<? extends Event>) pType[0];
+                subscribers.add(new Subscriber(listener, eventClass, handle.asType(LISTENER_TYPE)));
             }
+            catch (IllegalAccessException | SecurityException e)
+            {
+                JDAImpl.LOG.error("Couldn't access annotated eventlistener method", e);
+            }
+        }
+        return subscribers;
+    }
+
+    private static class Table
+    {
+        // the subscribers by the event class of their parameter
+        private final Map<Class<? extends Event>, List<Subscriber>> methods;
+        // the subscribers for each concrete event class, including the ones for its super classes
+        private final ConcurrentMap<Class<?>, Subscriber[]> dispatch = new ConcurrentHashMap<>();
+
+        private Table(Map<Class<? extends Event>, List<Subscriber>> methods)
+        {
+            this.methods = methods;
+        }
+
+        private Subscriber[] getSubscribers(Class<?> eventClass)
+        {
+            Subscriber[] subscribers = dispatch.get(eventClass);
+            if (subscribers == null)
+                subscribers = dispatch.computeIfAbsent(eventClass, this::compile);
+            return subscribers;
+        }
+
+        // most specific event class first, like the previous reflective implementation
+        private Subscriber[] compile(Class<?> eventClass)
+        {
+            List<Subscriber> subscribers = new ArrayList<>();
+            for (Class<?> c = eventClass; c != null && Event.class.isAssignableFrom(c); c = c.getSuperclass())
+            {
+                List<Subscriber> list = methods.get(c);
+                if (list != null)
+                    subscribers.addAll(list);
+            }
+            return subscribers.isEmpty() ? EMPTY : subscribers.toArray(EMPTY);
+        }
+    }
+
+    private static class Subscriber
+    {
+        private final Object listener;
+        private final Class<? extends Event> eventClass;
+        private final MethodHandle handle;
+
+        private Subscriber(Object listener, Class<? extends Event> eventClass, MethodHandle handle)
+        {
+            this.listener = listener;
+            this.eventClass = eventClass;
+            this.handle = handle;
         }
     }
 }
@@ -0,0 +1,457 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.hooks;
+
+import net.dv8tion.jda.core.entities.Channel;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.channel.category.GenericCategoryEvent;
+import net.dv8tion.jda.core.events.channel.text.GenericTextChannelEvent;
+import net.dv8tion.jda.core.events.channel.voice.GenericVoiceChannelEvent;
+import net.dv8tion.jda.core.events.emote.GenericEmoteEvent;
+import net.dv8tion.jda.core.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.core.events.message.GenericMessageEvent;
+import net.dv8tion.jda.core.events.message.MessageBulkDeleteEvent;
+import net.dv8tion.jda.core.events.role.GenericRoleEvent;
+import net.dv8tion.jda.core.events.user.update.GenericUserPresenceEvent;
+import net.dv8tion.jda.core.utils.Checks;
+import net.dv8tion.jda.core.utils.concurrent.CountingThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * An {@link net.dv8tion.jda.core.hooks.IEventManager IEventManager} decorator which passes the events
+ * to the decorated manager on a worker pool instead of the thread that fired them, usually the websocket read thread.
+ * <br>A slow listener thus no longer delays the handling of the gateway connection.
+ *
+ * <p>Every event is assigned an ordering key, by default the id of its guild, see {@link #getGuildKey(Event)}.
+ * Events with the same key are handled one after another in the order they were fired,
+ * events with different keys are handled concurrently. The decorated manager and its listeners must therefore be thread-safe,
+ * which is the case for the {@link InterfacedEventManager} and {@link AnnotatedEventManager} themselves.
+ *
+ * <p>Since the events are handled later, the cached entities might have been updated again when a listener
+ * receives an event. The values carried by the events themselves are not affected by this.
+ *
+ * <p>The number of pending events is limited, the {@link BackpressurePolicy BackpressurePolicy} decides
+ * what happens to events fired while the limit is reached.
+ *
+ * <p><b>Example</b><br>
+ * <pre>{@code
+ * AsyncEventManager manager = new AsyncEventManager(new InterfacedEventManager());
+ * JDA jda = new JDABuilder(token)
+ *     .setEventManager(manager)
+ *     .addEventListener(listener)
+ *     .build();
+ * }</pre>
+ */
+public class AsyncEventManager implements IEventManager
+{
+    private final IEventManager delegate;
+    private final ExecutorService executor;
+    private final boolean shutdownExecutor;
+    private final ToLongFunction<? super Event> keyMapper;
+    private final BackpressurePolicy policy;
+    private final int capacity;
+    private final Semaphore permits;
+    private final ConcurrentMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder handledEvents = new LongAdder();
+
+    /**
+     * Creates a new AsyncEventManager with one worker thread per available processor.
+     * <br>Events are ordered per guild, up to 10000 events can be pending before new events are {@link BackpressurePolicy#BLOCK blocked}.
+     *
+     * @param  delegate
+     *         The event manager which passes the events to the listeners
+     *
+     * @throws IllegalArgumentException
+     *         If the provided event manager is {@code null}
+     */
+    public AsyncEventManager(IEventManager delegate)
+    {
+        this(delegate, null, AsyncEventManager::getGuildKey, 10000, BackpressurePolicy.BLOCK);
+    }
+
+    /**
+     * Creates a new AsyncEventManager.
+     *
+     * @param  delegate
+     *         The event manager which passes the events to the listeners
+     * @param  executor
+     *         The executor to handle the events on, or {@code null} to use one worker thread per available processor.
+     *         A provided executor is not shut down by {@link #shutdown()}.
+     * @param  keyMapper
+     *         The function providing the ordering key of an event, for example {@link #getGuildKey(Event)} or {@link #getChannelKey(Event)}
+     * @param  capacity
+     *         The maximum number of pending events
+     * @param  policy
+     *         The policy for events fired while the maximum number of events is pending
+     *
+     * @throws IllegalArgumentException
+     *         If any of the arguments, except the executor, is {@code null} or the capacity is not positive
+     */
+    public AsyncEventManager(IEventManager delegate, ExecutorService executor, ToLongFunction<? super Event> keyMapper,
+                             int capacity, BackpressurePolicy policy)
+    {
+        Checks.notNull(delegate, "IEventManager");
+        Checks.notNull(keyMapper, "Key Mapper");
+        Checks.positive(capacity, "Capacity");
+        Checks.notNull(policy, "BackpressurePolicy");
+        this.delegate = delegate;
+        this.shutdownExecutor = executor == null;
+        this.executor = executor == null
+            ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new CountingThreadFactory(() -> "JDA", "AsyncEventManager"))
+            : executor;
+        this.keyMapper = keyMapper;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.permits = new Semaphore(capacity);
+    }
+
+    @Override
+    public void register(Object listener)
+    {
+        delegate.register(listener);
+    }
+
+    @Override
+    public void unregister(Object listener)
+    {
+        delegate.unregister(listener);
+    }
+
+    @Override
+    public List<Object> getRegisteredListeners()
+    {
+        return delegate.getRegisteredListeners();
+    }
+
+    @Override
+    public boolean hasListeners(Class<? extends Event> eventType)
+    {
+        return delegate.hasListeners(eventType);
+    }
+
+    @Override
+    public void handle(Event event)
+    {
+        if (!acquire())
+        {
+            droppedEvents.increment();
+            return;
+        }
+        updateMaxQueueDepth();
+
+        final long key = keyMapper.applyAsLong(event);
+        while (true)
+        {
+            Lane lane = lanes.computeIfAbsent(key, Lane::new);
+            if (lane.add(event))
+                return;
+            // the lane has just been closed, a new one will be created
+        }
+    }
+
+    /**
+     * The decorated event manager.
+     *
+     * @return The decorated event manager
+     */
+    public IEventManager getDelegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * The number of events that are currently waiting to be handled, including the ones being handled.
+     *
+     * @return The current number of pending events
+     */
+    public int getQueueDepth()
+    {
+        return capacity - permits.availablePermits();
+    }
+
+    /**
+     * The highest number of pending events so far.
+     *
+     * @return The highest number of pending events
+     */
+    public int getMaxQueueDepth()
+    {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * The number of ordering keys, usually guilds, that currently have pending events.
+     *
+     * @return The number of active ordering keys
+     */
+    public int getActiveKeyCount()
+    {
+        return lanes.size();
+    }
+
+    /**
+     * The number of events that were dropped due to the {@link BackpressurePolicy BackpressurePolicy}.
+     *
+     * @return The number of dropped events
+     */
+    public long getDroppedEventCount()
+    {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * The number of events that have been passed to the decorated manager.
+     *
+     * @return The number of handled events
+     */
+    public long getHandledEventCount()
+    {
+        return handledEvents.sum();
+    }
+
+    /**
+     * Resets the highest number of pending events to the current number.
+     */
+    public void resetMaxQueueDepth()
+    {
+        maxQueueDepth.set(getQueueDepth());
+    }
+
+    /**
+     * Shuts down the worker threads if they have been created by this manager.
+     * <br>Pending events are still handled, events fired afterwards are dropped.
+     */
+    public void shutdown()
+    {
+        if (shutdownExecutor)
+            executor.shutdown();
+    }
+
+    /**
+     * The default ordering key, which keeps the events of each guild in order.
+     * <ul>
+     *     <li>Events of a guild, its channels, members, roles and emotes use the id of the guild</li>
+     *     <li>Message events in private channels and groups use the id of the channel</li>
+     *     <li>All other events use {@code 0}, which keeps them in order with each other</li>
+     * </ul>
+     *
+     * @param  event
+     *         The event
+     *
+     * @return The ordering key of the event
+     */
+    public static long getGuildKey(Event event)
+    {
+        Guild guild = null;
+        if (event instanceof GenericGuildEvent)
+            guild = ((GenericGuildEvent) event).getGuild();
+        else if (event instanceof GenericMessageEvent)
+        {
+            GenericMessageEvent messageEvent = (GenericMessageEvent) event;
+            guild = messageEvent.getGuild();
+            if (guild == null)
+                return messageEvent.getChannel().getIdLong();
+        }
+        else if (event instanceof GenericTextChannelEvent)
+            guild = ((GenericTextChannelEvent) event).getGuild();
+        else if (event instanceof GenericVoiceChannelEvent)
+            guild = ((GenericVoiceChannelEvent) event).getGuild();
+        else if (event instanceof GenericCategoryEvent)
+            guild = ((GenericCategoryEvent) event).getGuild();
+        else if (event instanceof GenericRoleEvent)
+            guild = ((GenericRoleEvent) event).getGuild();
+        else if (event instanceof GenericEmoteEvent)
+            guild = ((GenericEmoteEvent) event).getGuild();
+        else if (event instanceof GenericUserPresenceEvent)
+            guild = ((GenericUserPresenceEvent) event).getGuild();
+        else if (event instanceof MessageBulkDeleteEvent)
+            guild = ((MessageBulkDeleteEvent) event).getGuild();
+        return guild == null ? 0 : guild.getIdLong();
+    }
+
+    /**
+     * An ordering key which only keeps the events of each channel in order.
+     * <br>Events of messages and channels use the id of the channel, all other events use {@link #getGuildKey(Event)}.
+     * This allows events of different channels in the same guild to be handled concurrently.
+     *
+     * @param  event
+     *         The event
+     *
+     * @return The ordering key of the event
+     */
+    public static long getChannelKey(Event event)
+    {
+        Channel channel = null;
+        if (event instanceof GenericMessageEvent)
+            return ((GenericMessageEvent) event).getChannel().getIdLong();
+        else if (event instanceof MessageBulkDeleteEvent)
+            return ((MessageBulkDeleteEvent) event).getChannel().getIdLong();
+        else if (event instanceof GenericTextChannelEvent)
+            channel = ((GenericTextChannelEvent) event).getChannel();
+        else if (event instanceof GenericVoiceChannelEvent)
+            channel = ((GenericVoiceChannelEvent) event).getChannel();
+        else if (event instanceof GenericCategoryEvent)
+            channel = ((GenericCategoryEvent) event).getCategory();
+        return channel == null ? getGuildKey(event) : channel.getIdLong();
+    }
+
+    private boolean acquire()
+    {
+        if (executor.isShutdown())
+            return false;
+        switch (policy)
+        {
+            case DROP:
+                return permits.tryAcquire();
+            case BLOCK:
+            default:
+                try
+                {
+                    permits.acquire();
+                    return true;
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+        }
+    }
+
+    private void updateMaxQueueDepth()
+    {
+        int depth = getQueueDepth();
+        int max;
+        do
+        {
+            max = maxQueueDepth.get();
+        }
+        while (depth > max && !maxQueueDepth.compareAndSet(max, depth));
+    }
+
+    private void dispatch(Event event)
+    {
+        try
+        {
+            delegate.handle(event);
+        }
+        catch (Throwable throwable)
+        {
+            JDAImpl.LOG.error("The event manager had an uncaught exception", throwable);
+        }
+        finally
+        {
+            handledEvents.increment();
+            permits.release();
+        }
+    }
+
+    /**
+     * Policies for events fired while the maximum number of events is pending.
+     */
+    public enum BackpressurePolicy
+    {
+        /**
+         * Blocks the thread firing the event until an event has been handled.
+         * <br>For gateway events this pauses reading from the gateway, which eventually applies backpressure to Discord.
+         */
+        BLOCK,
+        /**
+         * Drops the new event, see {@link #getDroppedEventCount()}.
+         */
+        DROP
+    }
+
+    // The events of one ordering key, at most one worker handles them at a time.
+    // An empty lane is removed from the map and closed, so a new one is created for the next event of its key.
+    private class Lane implements Runnable
+    {
+        // limits the events handled in one task so other lanes get their turn
+        private static final int BATCH_SIZE = 64;
+
+        private final long key;
+        private final Queue<Event> queue = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean closed;
+
+        private Lane(long key)
+        {
+            this.key = key;
+        }
+
+        private boolean add(Event event)
+        {
+            synchronized (this)
+            {
+                if (closed)
+                    return false;
+                queue.add(event);
+                if (scheduled)
+                    return true;
+                scheduled = true;
+            }
+            submit();
+            return true;
+        }
+
+        private void submit()
+        {
+            try
+            {
+                executor.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // the executor has been shut down, the events of this lane are handled on the current thread instead
+                run();
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            for (int i = 0; i < BATCH_SIZE; i++)
+            {
+                Event event;
+                synchronized (this)
+                {
+                    event = queue.poll();
+                    if (event == null)
+                    {
+                        scheduled = false;
+                        closed = true;
+                        lanes.remove(key, this);
+                        return;
+                    }
+                }
+                dispatch(event);
+            }
+            submit();
+        }
+    }
+}
@@ -78,4 +78,20 @@ public interface IEventManager
      *         that have already been registered
      */
     List<Object> getRegisteredListeners();
+
+    /**
+     * Whether any of the registered listeners might receive an event of the provided type.
+     * <br>JDA uses this to drop gateway events that would not update the cache before they are parsed.
+     *
+     * <p>The default implementation always returns {@code true}.
+     *
+     * @param  eventType
+     *         The event type
+     *
+     * @return True, if an event of this type might be received by a listener
+     */
+    default boolean hasListeners(Class<? extends Event> eventType)
+    {
+        return true;
+    }
 }
@@ -18,9 +18,11 @@ package net.dv8tion.jda.core.hooks;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.Event;
 
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -32,6 +34,11 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * <br>An adapter implementation is {@link net.dv8tion.jda.core.hooks.ListenerAdapter ListenerAdapter} which
  * provides methods for each individual {@link net.dv8tion.jda.core.events.Event}.
  *
+ * <p>When a {@link net.dv8tion.jda.core.hooks.ListenerAdapter ListenerAdapter} is registered this checks which of its methods
+ * are overridden. Events are only passed to the adapters that override a method which could be called for the event,
+ * for all other listeners {@link net.dv8tion.jda.core.hooks.EventListener#onEvent(Event) onEvent(Event)} is always called.
+ * The listeners for each event class are looked up once and then cached until the next listener is registered or removed.
+ *
  * <p><b>This is the default IEventManager used by JDA</b>
  *
  * @see net.dv8tion.jda.core.hooks.AnnotatedEventManager
@@ -39,7 +46,32 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class InterfacedEventManager implements IEventManager
 {
+    private static final EventListener[] EMPTY = new EventListener[0];
+    // the parameter types of the ListenerAdapter methods by name
+    private static final Map<String, Class<?>> ADAPTER_METHODS = new HashMap<>();
+    // the event types each listener class can handle, Event.class if it handles every event
+    private static final ClassValue<Class<?>[]> EVENT_TYPES = new ClassValue<Class<?>[]>()
+    {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type)
+        {
+            return findEventTypes(type);
+        }
+    };
+
+    static
+    {
+        for (Method method : ListenerAdapter.class.getDeclaredMethods())
+        {
+            int modifiers = method.getModifiers();
+            if (Modifier.isPublic(modifiers) && !Modifier.isFinal(modifiers) && method.getParameterCount() == 1)
+                ADAPTER_METHODS.put(method.getName(), method.getParameterTypes()[0]);
+        }
+    }
+
     private final CopyOnWriteArrayList<EventListener> listeners = new CopyOnWriteArrayList<>();
+    // replaced when the listeners change
+    private volatile ConcurrentMap<Class<?>, EventListener[]> index = new ConcurrentHashMap<>();
 
     public InterfacedEventManager()
     {
@@ -60,12 +92,14 @@ public class InterfacedEventManager implements IEventManager
             throw new IllegalArgumentException("Listener must implement EventListener");
         }
         listeners.add(((EventListener) listener));
+        index = new ConcurrentHashMap<>();
     }
 
     @Override
     public void unregister(Object listener)
     {
-        listeners.remove(listener);
+        if (listeners.remove(listener))
+            index = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -74,10 +108,16 @@ public class InterfacedEventManager implements IEventManager
         return Collections.unmodifiableList(new LinkedList<>(listeners));
     }
 
+    @Override
+    public boolean hasListeners(Class<? extends Event> eventType)
+    {
+        return getListeners(eventType).length > 0;
+    }
+
     @Override
     public void handle(Event event)
     {
-        for (EventListener listener : listeners)
+        for (EventListener listener : getListeners(event.getClass()))
         {
             try
             {
@@ -89,4 +129,59 @@ public class InterfacedEventManager implements IEventManager
             }
         }
     }
+
+    private EventListener[] getListeners(Class<?> eventClass)
+    {
+        ConcurrentMap<Class<?>, EventListener[]> index = this.index;
+        EventListener[] array = index.get(eventClass);
+        if (array == null)
+            array = index.computeIfAbsent(eventClass, this::findListeners);
+        return array;
+    }
+
+    private EventListener[] findListeners(Class<?> eventClass)
+    {
+        List<EventListener> list = new ArrayList<>(listeners.size());
+        for (EventListener listener : listeners)
+        {
+            for (Class<?> type : EVENT_TYPES.get(listener.getClass()))
+            {
+                if (type.isAssignableFrom(eventClass))
+                {
+                    list.add(listener);
+                    break;
+                }
+            }
+        }
+        return list.isEmpty() ? EMPTY : list.toArray(EMPTY);
+    }
+
+    private static Class<?>[] findEventTypes(Class<?> listenerClass)
+    {
+        if (!ListenerAdapter.class.isAssignableFrom(listenerClass))
+            return new Class<?>[] { Event.class };
+        // ListenerAdapter only calls its own methods, so only the overridden ones can do anything
+        Set<Class<?>> types = new HashSet<>();
+        try
+        {
+            for (Class<?> c = listenerClass; c != ListenerAdapter.class; c = c.getSuperclass())
+            {
+                for (Method method : c.getDeclaredMethods())
+                {
+                    Class<?> type = ADAPTER_METHODS.get(method.getName());
+                    if (type != null && method.getParameterCount() == 1 && method.getParameterTypes()[0] == type
+                        && !Modifier.isStatic(method.getModifiers()))
+                    {
+                        types.add(type);
+                    }
+                }
+            }
+        }
+        catch (SecurityException | LinkageError e)
+        {
+            JDAImpl.LOG.debug("Could not inspect the methods of {}, it will receive all events", listenerClass, e);
+            return new Class<?>[] { Event.class };
+        }
+        return types.toArray(new Class<?>[0]);
+    }
 }
@@ -19,16 +19,20 @@ package net.dv8tion.jda.core.managers;
 import net.dv8tion.jda.annotations.Incubating;
 import net.dv8tion.jda.core.JDA;
 import net.dv8tion.jda.core.audio.AudioReceiveHandler;
+import net.dv8tion.jda.core.audio.AudioReceiveStatistics;
 import net.dv8tion.jda.core.audio.AudioSendHandler;
+import net.dv8tion.jda.core.audio.OpusEncoderSettings;
 import net.dv8tion.jda.core.audio.SpeakingMode;
 import net.dv8tion.jda.core.audio.hooks.ConnectionListener;
 import net.dv8tion.jda.core.audio.hooks.ConnectionStatus;
 import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.entities.VoiceChannel;
 import net.dv8tion.jda.core.utils.Checks;
 import net.dv8tion.jda.core.utils.JDALogger;
 import org.slf4j.Logger;
 
+import javax.annotation.CheckForNull;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -41,6 +45,9 @@ import java.util.EnumSet;
 public interface AudioManager
 {
     long DEFAULT_CONNECTION_TIMEOUT = 10000;
+    int DEFAULT_RECEIVE_BUFFER_DEPTH = 5;
+    int MIN_RECEIVE_BUFFER_DEPTH = 4;
+    int MAX_RECEIVE_BUFFER_DEPTH = 64;
     Logger LOG = JDALogger.getLog(AudioManager.class);
 
     /**
@@ -139,6 +146,78 @@ public interface AudioManager
     @Incubating
     EnumSet<SpeakingMode> getSpeakingMode();
 
+    /**
+     * Sets the {@link OpusEncoderSettings} used to encode the PCM audio provided by the
+     * {@link AudioSendHandler} from {@link #setSendingHandler(AudioSendHandler)}.
+     * <br>Changes are applied to the encoder before the next frame is encoded.
+     * By default this will use {@link OpusEncoderSettings#DEFAULT}.
+     *
+     * @param  settings
+     *         The encoder settings
+     *
+     * @throws IllegalArgumentException
+     *         If the provided settings are null
+     *
+     * @see    #getEncoderSettings()
+     */
+    void setEncoderSettings(OpusEncoderSettings settings);
+
+    /**
+     * The {@link OpusEncoderSettings} used to encode the PCM audio provided by the
+     * {@link AudioSendHandler} from {@link #setSendingHandler(AudioSendHandler)}.
+     * By default this will use {@link OpusEncoderSettings#DEFAULT}.
+     *
+     * @return The current encoder settings
+     *
+     * @see    #setEncoderSettings(OpusEncoderSettings)
+     */
+    OpusEncoderSettings getEncoderSettings();
+
+    /**
+     * The {@link AudioReceiveStatistics} of the audio received from the provided {@link User}.
+     * <br>Received audio is only buffered and counted while an {@link AudioReceiveHandler} is set.
+     *
+     * @param  user
+     *         The user to get the statistics for
+     *
+     * @throws IllegalArgumentException
+     *         If the provided user is null
+     *
+     * @return The receive statistics, or {@code null} if no audio is received from the user
+     */
+    @CheckForNull
+    AudioReceiveStatistics getReceiveStatistics(User user);
+
+    /**
+     * Sets the maximum number of 20 millisecond opus packets buffered per user for the
+     * {@link AudioReceiveHandler} from {@link #setReceivingHandler(AudioReceiveHandler)}.
+     * <br>Received packets are reordered in a buffer per user, once a packet would exceed this depth
+     * the oldest buffered packets are skipped. This bounds the latency of received audio to {@code depth * 20} milliseconds,
+     * larger depths tolerate more network jitter before packets are skipped.
+     * By default this is {@value #DEFAULT_RECEIVE_BUFFER_DEPTH}.
+     *
+     * @param  depth
+     *         The maximum number of buffered packets, between {@value #MIN_RECEIVE_BUFFER_DEPTH}
+     *         and {@value #MAX_RECEIVE_BUFFER_DEPTH}
+     *
+     * @throws IllegalArgumentException
+     *         If the provided depth is out of range
+     *
+     * @see    #getReceiveBufferDepth()
+     */
+    void setReceiveBufferDepth(int depth);
+
+    /**
+     * The maximum number of 20 millisecond opus packets buffered per user for the
+     * {@link AudioReceiveHandler} from {@link #setReceivingHandler(AudioReceiveHandler)}.
+     * By default this is {@value #DEFAULT_RECEIVE_BUFFER_DEPTH}.
+     *
+     * @return The maximum number of buffered packets
+     *
+     * @see    #setReceiveBufferDepth(int)
+     */
+    int getReceiveBufferDepth();
+
     /**
      * Gets the {@link net.dv8tion.jda.core.JDA JDA} instance that this AudioManager is a part of.
      *
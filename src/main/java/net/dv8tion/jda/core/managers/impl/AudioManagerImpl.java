@@ -17,15 +17,19 @@ package net.dv8tion.jda.core.managers.impl;
 
 import net.dv8tion.jda.annotations.DeprecatedSince;
 import net.dv8tion.jda.annotations.ForRemoval;
+import net.dv8tion.jda.annotations.ReplaceWith;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.audio.AudioConnection;
 import net.dv8tion.jda.core.audio.AudioReceiveHandler;
+import net.dv8tion.jda.core.audio.AudioReceiveStatistics;
 import net.dv8tion.jda.core.audio.AudioSendHandler;
+import net.dv8tion.jda.core.audio.OpusEncoderSettings;
 import net.dv8tion.jda.core.audio.SpeakingMode;
 import net.dv8tion.jda.core.audio.hooks.ConnectionListener;
 import net.dv8tion.jda.core.audio.hooks.ConnectionStatus;
 import net.dv8tion.jda.core.audio.hooks.ListenerProxy;
 import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.entities.VoiceChannel;
 import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
@@ -54,10 +58,11 @@ public class AudioManagerImpl implements AudioManager
     protected VoiceChannel queuedAudioConnection = null;
     protected AudioConnection audioConnection = null;
     protected EnumSet<SpeakingMode> speakingModes = EnumSet.of(SpeakingMode.VOICE);
+    protected volatile OpusEncoderSettings encoderSettings = OpusEncoderSettings.DEFAULT;
 
     protected AudioSendHandler sendHandler;
     protected AudioReceiveHandler receiveHandler;
-    protected long queueTimeout = 100;
+    protected volatile int receiveBufferDepth = DEFAULT_RECEIVE_BUFFER_DEPTH;
     protected boolean shouldReconnect = true;
 
     protected boolean selfMuted = false;
@@ -174,6 +179,46 @@ public class AudioManagerImpl implements AudioManager
         return EnumSet.copyOf(this.speakingModes);
     }
 
+    @Override
+    public void setEncoderSettings(OpusEncoderSettings settings)
+    {
+        Checks.notNull(settings, "Encoder Settings");
+        this.encoderSettings = settings;
+        if (audioConnection != null)
+            audioConnection.setEncoderSettings(settings);
+    }
+
+    @Override
+    public OpusEncoderSettings getEncoderSettings()
+    {
+        return encoderSettings;
+    }
+
+    @Override
+    public void setReceiveBufferDepth(int depth)
+    {
+        Checks.check(depth >= MIN_RECEIVE_BUFFER_DEPTH && depth <= MAX_RECEIVE_BUFFER_DEPTH,
+            "Receive buffer depth must be between %d and %d", MIN_RECEIVE_BUFFER_DEPTH, MAX_RECEIVE_BUFFER_DEPTH);
+        this.receiveBufferDepth = depth;
+        AudioConnection connection = audioConnection;
+        if (connection != null)
+            connection.setReceiveBufferDepth(depth);
+    }
+
+    @Override
+    public int getReceiveBufferDepth()
+    {
+        return receiveBufferDepth;
+    }
+
+    @Override
+    public AudioReceiveStatistics getReceiveStatistics(User user)
+    {
+        Checks.notNull(user, "User");
+        AudioConnection connection = audioConnection;
+        return connection == null ? null : connection.getReceiveStatistics(user.getIdLong());
+    }
+
     @Override
     public JDAImpl getJDA()
     {
@@ -332,8 +377,9 @@ public class AudioManagerImpl implements AudioManager
         this.queuedAudioConnection = null;
         audioConnection.setSendingHandler(sendHandler);
         audioConnection.setReceivingHandler(receiveHandler);
-        audioConnection.setQueueTimeout(queueTimeout);
+        audioConnection.setReceiveBufferDepth(receiveBufferDepth);
         audioConnection.setSpeakingMode(speakingModes);
+        audioConnection.setEncoderSettings(encoderSettings);
     }
 
     public void prepareForRegionChange()
@@ -354,11 +400,23 @@ public class AudioManagerImpl implements AudioManager
             audioConnection.setChannel(channel);
     }
 
+    /**
+     * Sets the time, in milliseconds, after which received audio was skipped by the combined audio.
+     *
+     * @param  queueTimeout
+     *         The timeout in milliseconds
+     *
+     * @deprecated Received audio is buffered per user now, use {@link #setReceiveBufferDepth(int)} instead.
+     *             The timeout is converted to the depth of one packet per 20 milliseconds.
+     */
+    @Deprecated
+    @ForRemoval
+    @DeprecatedSince("3.8.1")
+    @ReplaceWith("setReceiveBufferDepth(queueTimeout / 20)")
     public void setQueueTimeout(long queueTimeout)
     {
-        this.queueTimeout = queueTimeout;
-        if (audioConnection != null)
-            audioConnection.setQueueTimeout(queueTimeout);
+        long depth = queueTimeout / AudioConnection.OPUS_FRAME_TIME_AMOUNT;
+        setReceiveBufferDepth((int) Math.max(MIN_RECEIVE_BUFFER_DEPTH, Math.min(MAX_RECEIVE_BUFFER_DEPTH, depth)));
     }
 
     protected void updateVoiceState()
@@ -0,0 +1,445 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Envelope of a raw gateway message.
+ * <br>Only the {@code op}, {@code t} and {@code s} fields are read when this is created,
+ * the {@code d} payload is only parsed once it is requested through {@link #getData()} or {@link #toJson()}.
+ * Single fields of the payload can be read with {@link #peekString(String...)} and {@link #peekLong(long, String...)}
+ * without building any JSON objects.
+ *
+ * <p>Messages that have already been parsed, such as cached events, can be wrapped with {@link #GatewayPayload(JSONObject)}.
+ *
+ * <p>The envelope may reference a reused decompression buffer and is therefore only
+ * valid while the message is being dispatched. Handlers that keep the message around
+ * must keep the result of {@link #toJson()} instead.
+ */
+public class GatewayPayload
+{
+    private final JSONObject json;
+    private final String text;
+    private final byte[] bytes;
+    private final int offset;
+    private final int end;
+
+    private int op = -1;
+    private String type;
+    private long sequence = -1;
+    private int dataStart = -1;
+
+    private Object data;
+    private boolean parsedData;
+
+    public GatewayPayload(JSONObject json)
+    {
+        this.json = json;
+        this.text = null;
+        this.bytes = null;
+        this.offset = 0;
+        this.end = 0;
+        this.op = json.getInt("op");
+        this.type = json.optString("t", null);
+        this.sequence = json.isNull("s") ? -1 : json.getLong("s");
+        this.data = json.isNull("d") ? null : json.get("d");
+        this.parsedData = true;
+    }
+
+    public GatewayPayload(String text)
+    {
+        this(text, null, 0, text.length());
+    }
+
+    public GatewayPayload(byte[] bytes, int offset, int length)
+    {
+        this(null, bytes, offset, offset + length);
+    }
+
+    private GatewayPayload(String text, byte[] bytes, int offset, int end)
+    {
+        this.json = null;
+        this.text = text;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.end = end;
+        readEnvelope();
+    }
+
+    public int getOpCode()
+    {
+        return op;
+    }
+
+    public String getType()
+    {
+        return type;
+    }
+
+    public boolean hasSequence()
+    {
+        return sequence >= 0;
+    }
+
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    public boolean hasData()
+    {
+        if (json != null)
+            return data != null;
+        return dataStart >= 0 && !isLiteral(dataStart, "null");
+    }
+
+    /**
+     * Whether the {@code d} payload is a JSON object.
+     *
+     * @return True, if the payload is an object
+     */
+    public boolean isDataObject()
+    {
+        if (json != null)
+            return data instanceof JSONObject;
+        return dataStart >= 0 && charAt(dataStart) == '{';
+    }
+
+    /**
+     * The parsed {@code d} payload.
+     * <br>This is either a {@link org.json.JSONObject JSONObject}, {@link org.json.JSONArray JSONArray},
+     * a primitive wrapper, or {@code null} if the payload is absent or {@code null}.
+     *
+     * @return The parsed payload
+     */
+    public Object getData()
+    {
+        if (!parsedData)
+        {
+            parsedData = true;
+            if (hasData())
+                data = new JSONTokener(reader(dataStart)).nextValue();
+        }
+        return data;
+    }
+
+    /**
+     * Builds the complete message as a {@link org.json.JSONObject JSONObject}.
+     *
+     * @return The complete message
+     */
+    public JSONObject toJson()
+    {
+        if (this.json != null)
+            return this.json;
+        JSONObject json = new JSONObject().put("op", op);
+        if (type != null)
+            json.put("t", type);
+        if (hasSequence())
+            json.put("s", sequence);
+        Object data = getData();
+        return json.put("d", data == null ? JSONObject.NULL : data);
+    }
+
+    /**
+     * Reads a string field of the {@code d} payload without parsing the payload.
+     *
+     * @param  path
+     *         The keys leading to the field, starting at the top level of the payload
+     *
+     * @return The field value, or {@code null} if the field is absent or not a string
+     */
+    public String peekString(String... path)
+    {
+        if (json != null)
+        {
+            Object value = peekParsed(path);
+            return value instanceof String ? (String) value : null;
+        }
+        int index = find(path);
+        if (index < 0 || charAt(index) != '"')
+            return null;
+        int close = skipString(index);
+        for (int i = index + 1; i < close - 1; i++)
+        {
+            if (charAt(i) == '\\')
+                return (String) new JSONTokener(reader(index)).nextValue();
+        }
+        return substring(index + 1, close - 1);
+    }
+
+    /**
+     * Reads a numeric field, or a string containing a number, of the {@code d} payload without parsing the payload.
+     *
+     * @param  path
+     *         The keys leading to the field, starting at the top level of the payload
+     * @param  defaultValue
+     *         The value to return if the field is absent or {@code null}
+     *
+     * @throws org.json.JSONException
+     *         If the field is not a number
+     *
+     * @return The field value
+     */
+    public long peekLong(long defaultValue, String... path)
+    {
+        String value;
+        if (json != null)
+        {
+            Object parsed = peekParsed(path);
+            if (parsed == null || parsed == JSONObject.NULL)
+                return defaultValue;
+            if (parsed instanceof Number)
+                return ((Number) parsed).longValue();
+            value = String.valueOf(parsed);
+        }
+        else
+        {
+            int index = find(path);
+            if (index < 0 || isLiteral(index, "null"))
+                return defaultValue;
+            boolean quoted = charAt(index) == '"';
+            int start = quoted ? index + 1 : index;
+            int stop = quoted ? skipString(index) - 1 : skipValue(index);
+            value = substring(start, stop);
+        }
+        try
+        {
+            return Long.parseLong(value);
+        }
+        catch (NumberFormatException e)
+        {
+            throw new JSONException("Value at " + String.join(".", path) + " is not a number");
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return json != null ? json.toString() : substring(offset, end);
+    }
+
+    private void readEnvelope()
+    {
+        boolean hasOp = false, hasType = false, hasSequence = false;
+        int index = skipWhitespace(offset);
+        if (index >= end || charAt(index) != '{')
+            throw new JSONException("A gateway message must begin with '{'");
+        index = skipWhitespace(index + 1);
+        while (index < end && charAt(index) != '}')
+        {
+            int keyEnd = skipString(index);
+            String key = substring(index + 1, keyEnd - 1);
+            index = skipWhitespace(keyEnd);
+            if (index >= end || charAt(index) != ':')
+                throw new JSONException("Expected ':' after key " + key);
+            int valueStart = skipWhitespace(index + 1);
+            if (key.equals("d"))
+            {
+                dataStart = valueStart;
+                // the payload is usually the last field, it is only skipped if fields of the envelope are still missing
+                if (hasOp && hasType && hasSequence)
+                    return;
+                index = skipSeparator(skipValue(valueStart));
+                continue;
+            }
+            int valueEnd = skipValue(valueStart);
+            switch (key)
+            {
+                case "op":
+                    op = Integer.parseInt(substring(valueStart, valueEnd));
+                    hasOp = true;
+                    break;
+                case "t":
+                    type = charAt(valueStart) == '"' ? substring(valueStart + 1, valueEnd - 1) : null;
+                    hasType = true;
+                    break;
+                case "s":
+                    sequence = isLiteral(valueStart, "null") ? -1 : Long.parseLong(substring(valueStart, valueEnd));
+                    hasSequence = true;
+                    break;
+            }
+            index = skipSeparator(valueEnd);
+        }
+    }
+
+    private Object peekParsed(String... path)
+    {
+        Object value = data;
+        for (String key : path)
+        {
+            if (!(value instanceof JSONObject))
+                return null;
+            value = ((JSONObject) value).opt(key);
+        }
+        return value;
+    }
+
+    // returns the index of the value found at the given path or -1
+    private int find(String... path)
+    {
+        int index = dataStart;
+        for (String key : path)
+        {
+            if (index < 0 || charAt(index) != '{')
+                return -1;
+            index = findKey(index, key);
+        }
+        return index;
+    }
+
+    private int findKey(int objectStart, String key)
+    {
+        int index = skipWhitespace(objectStart + 1);
+        while (index < end && charAt(index) != '}')
+        {
+            int keyEnd = skipString(index);
+            boolean matches = regionMatches(index + 1, keyEnd - 1, key);
+            index = skipWhitespace(keyEnd);
+            int valueStart = skipWhitespace(index + 1);
+            if (matches)
+                return valueStart;
+            index = skipSeparator(skipValue(valueStart));
+        }
+        return -1;
+    }
+
+    private int skipSeparator(int index)
+    {
+        index = skipWhitespace(index);
+        if (index < end && charAt(index) == ',')
+            index = skipWhitespace(index + 1);
+        return index;
+    }
+
+    private int skipValue(int index)
+    {
+        if (index >= end)
+            throw new JSONException("Unexpected end of gateway message");
+        switch (charAt(index))
+        {
+            case '"':
+                return skipString(index);
+            case '{':
+            case '[':
+                int depth = 0;
+                while (index < end)
+                {
+                    char c = charAt(index);
+                    if (c == '"')
+                    {
+                        index = skipString(index);
+                        continue;
+                    }
+                    if (c == '{' || c == '[')
+                        depth++;
+                    else if ((c == '}' || c == ']') && --depth == 0)
+                        return index + 1;
+                    index++;
+                }
+                throw new JSONException("Unterminated object or array in gateway message");
+            default:
+                while (index < end)
+                {
+                    char c = charAt(index);
+                    if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c))
+                        break;
+                    index++;
+                }
+                return index;
+        }
+    }
+
+    // returns the index after the closing quote
+    private int skipString(int index)
+    {
+        if (charAt(index) != '"')
+            throw new JSONException("Expected string at index " + (index - offset));
+        for (index++; index < end; index++)
+        {
+            char c = charAt(index);
+            if (c == '\\')
+                index++;
+            else if (c == '"')
+                return index + 1;
+        }
+        throw new JSONException("Unterminated string in gateway message");
+    }
+
+    private int skipWhitespace(int index)
+    {
+        while (index < end && Character.isWhitespace(charAt(index)))
+            index++;
+        return index;
+    }
+
+    private boolean isLiteral(int index, String literal)
+    {
+        return index + literal.length() <= end && regionMatches(index, index + literal.length(), literal);
+    }
+
+    private boolean regionMatches(int start, int stop, String value)
+    {
+        if (stop - start != value.length())
+            return false;
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (charAt(start + i) != value.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    // structural characters of JSON are all ASCII, which are encoded as single bytes in UTF-8
+    private char charAt(int index)
+    {
+        return text != null ? text.charAt(index) : (char) (bytes[index] & 0xFF);
+    }
+
+    private String substring(int start, int stop)
+    {
+        return text != null ? text.substring(start, stop) : new String(bytes, start, stop - start, StandardCharsets.UTF_8);
+    }
+
+    // reads the message from the provided index without copying it, the tokener stops at the end of the value
+    private Reader reader(int start)
+    {
+        if (text == null)
+            return new InputStreamReader(new ByteArrayInputStream(bytes, start, end - start), StandardCharsets.UTF_8);
+        StringReader reader = new StringReader(text);
+        try
+        {
+            reader.skip(start);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return reader;
+    }
+}
@@ -26,6 +26,10 @@ import net.dv8tion.jda.core.exceptions.RateLimitedException;
 import okhttp3.RequestBody;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
@@ -46,6 +50,12 @@ public class Request<T>
 
     private boolean isCanceled = false;
 
+    // identical GET requests which are completed with the response of this request, see Requester#request
+    private String coalesceKey;
+    private List<Request<?>> coalesced;
+    private boolean isDone = false;
+    private boolean isHandlingResponse = false;
+
     public Request(RestAction<T> restAction, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure,
                    BooleanSupplier checks, boolean shouldQueue, RequestBody body, Object rawBody,
                    Route.CompiledRoute route, CaseInsensitiveMap<String, String> headers)
@@ -100,6 +110,9 @@ public class Request<T>
 
     public void onFailure(Throwable failException)
     {
+        // this request has been dropped without a response, the coalesced requests have to be sent on their own
+        if (!isHandlingResponse)
+            releaseCoalesced().forEach(request -> api.getRequester().request(request));
         api.getCallbackPool().execute(() ->
         {
             try (ThreadLocalReason.Closable __ = ThreadLocalReason.closable(localReason);
@@ -181,6 +194,54 @@ public class Request<T>
     public void handleResponse(Response response)
     {
         api.getEventManager().handle(new HttpRequestEvent(this, response));
-        restAction.handleResponse(response, this);
+        isHandlingResponse = true;
+        try
+        {
+            restAction.handleResponse(response, this);
+        }
+        finally
+        {
+            isHandlingResponse = false;
+        }
+
+        for (Request<?> request : releaseCoalesced())
+        {
+            if (request.isCanceled() || !request.runChecks())
+                request.onFailure(new CancellationException("RestAction has been cancelled"));
+            else
+                request.handleResponse(response);
+        }
+    }
+
+    void setCoalesceKey(String key)
+    {
+        this.coalesceKey = key;
+    }
+
+    synchronized boolean coalesce(Request<?> request)
+    {
+        if (isDone)
+            return false;
+        if (coalesced == null)
+            coalesced = new ArrayList<>(2);
+        coalesced.add(request);
+        return true;
+    }
+
+    private List<Request<?>> releaseCoalesced()
+    {
+        if (coalesceKey == null)
+            return Collections.emptyList();
+        List<Request<?>> requests;
+        synchronized (this)
+        {
+            if (isDone)
+                return Collections.emptyList();
+            isDone = true;
+            requests = coalesced == null ? Collections.emptyList() : coalesced;
+            coalesced = null;
+        }
+        api.getRequester().removeCoalesced(coalesceKey, this);
+        return requests;
     }
 }
@@ -0,0 +1,427 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.Permission;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.managers.GuildController;
+import net.dv8tion.jda.core.utils.Checks;
+import net.dv8tion.jda.core.utils.MiscUtil;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Collects single modifications for a short delay and sends them as combined requests
+ * where Discord offers a bulk endpoint.
+ * <ul>
+ *     <li>Messages deleted through {@link #deleteMessageById(TextChannel, long)} are deleted in chunks of up to 100 messages
+ *     with {@link TextChannel#deleteMessagesByIds(Collection)}. Messages that are older than 2 weeks are deleted one by one,
+ *     as are all messages if the bulk delete is not permitted.</li>
+ *     <li>Role changes of the same member through {@link #addRoleToMember(Member, Role)} and {@link #removeRoleFromMember(Member, Role)}
+ *     are combined into a single {@link net.dv8tion.jda.core.managers.GuildController#modifyMemberRoles(Member, Collection, Collection)
+ *     GuildController.modifyMemberRoles(Member, Collection, Collection)} request. A batch with a single change uses
+ *     {@link net.dv8tion.jda.core.managers.GuildController#addSingleRoleToMember(Member, Role) addSingleRoleToMember} or
+ *     {@link net.dv8tion.jda.core.managers.GuildController#removeSingleRoleFromMember(Member, Role) removeSingleRoleFromMember} instead.
+ *     <br>The batches of a member are sent one after another. As the member is only updated once Discord sends the update,
+ *     a batch following a completed batch starts from the roles set by that batch instead of the cached roles.</li>
+ * </ul>
+ *
+ * <p>Every operation returns a future which is completed once the combined request has been completed.
+ * Repeating an operation while it is still pending returns the same future.
+ * No checks are done before the batch is sent, failures are reported through the futures.
+ *
+ * <p><b>Example</b><br>
+ * <pre>{@code
+ * RequestBatcher batcher = new RequestBatcher(jda);
+ * List<CompletableFuture<Void>> futures = new ArrayList<>();
+ * for (Member member : members)
+ *     futures.add(batcher.addRoleToMember(member, role));
+ * }</pre>
+ */
+public class RequestBatcher
+{
+    // milliseconds until the cached roles are used again after a batch, the member update of Discord arrives well before
+    private static final long ROLES_TIMEOUT = 10000;
+
+    private final JDAImpl api;
+    private final long delay;
+    private final Map<TextChannel, Map<Long, CompletableFuture<Void>>> messageBatches = new HashMap<>();
+    private final Map<Member, Map<Role, RoleChange>> roleBatches = new HashMap<>();
+    private final Map<Member, RoleState> roleStates = new HashMap<>();
+
+    /**
+     * Creates a new RequestBatcher which collects operations for 100 milliseconds.
+     *
+     * @param  api
+     *         The JDA instance
+     *
+     * @throws IllegalArgumentException
+     *         If the provided JDA instance is {@code null}
+     */
+    public RequestBatcher(JDA api)
+    {
+        this(api, 100, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new RequestBatcher.
+     *
+     * @param  api
+     *         The JDA instance
+     * @param  delay
+     *         The time to collect operations before the batch is sent, starting with the first operation of the batch
+     * @param  unit
+     *         The unit of the delay
+     *
+     * @throws IllegalArgumentException
+     *         If the provided JDA instance or unit is {@code null}, or the delay is negative
+     */
+    public RequestBatcher(JDA api, long delay, TimeUnit unit)
+    {
+        Checks.notNull(api, "JDA");
+        Checks.notNull(unit, "TimeUnit");
+        Checks.notNegative(delay, "Delay");
+        this.api = (JDAImpl) api;
+        this.delay = unit.toMillis(delay);
+    }
+
+    /**
+     * Deletes the message with the provided id with the next batch for the channel.
+     *
+     * @param  channel
+     *         The channel of the message
+     * @param  messageId
+     *         The id of the message
+     *
+     * @throws IllegalArgumentException
+     *         If the provided channel is {@code null}
+     *
+     * @return Future which is completed once the message has been deleted
+     */
+    public CompletableFuture<Void> deleteMessageById(TextChannel channel, long messageId)
+    {
+        Checks.notNull(channel, "TextChannel");
+        synchronized (this)
+        {
+            Map<Long, CompletableFuture<Void>> batch = messageBatches.get(channel);
+            if (batch == null)
+            {
+                messageBatches.put(channel, batch = new LinkedHashMap<>());
+                schedule(() -> sendMessages(channel));
+            }
+            return batch.computeIfAbsent(messageId, id -> new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Deletes the message with the provided id with the next batch for the channel.
+     *
+     * @param  channel
+     *         The channel of the message
+     * @param  messageId
+     *         The id of the message
+     *
+     * @throws IllegalArgumentException
+     *         If the provided channel is {@code null} or the id is not a valid snowflake
+     *
+     * @return Future which is completed once the message has been deleted
+     */
+    public CompletableFuture<Void> deleteMessageById(TextChannel channel, String messageId)
+    {
+        return deleteMessageById(channel, MiscUtil.parseSnowflake(messageId));
+    }
+
+    /**
+     * Adds the role to the member with the next batch for the member.
+     * <br>This replaces a pending removal of the same role.
+     *
+     * @param  member
+     *         The member
+     * @param  role
+     *         The role to add
+     *
+     * @throws IllegalArgumentException
+     *         If any of the arguments is {@code null} or the role is not from the guild of the member
+     *
+     * @return Future which is completed once the roles of the member have been modified
+     */
+    public CompletableFuture<Void> addRoleToMember(Member member, Role role)
+    {
+        return modifyRole(member, role, true);
+    }
+
+    /**
+     * Removes the role from the member with the next batch for the member.
+     * <br>This replaces a pending addition of the same role.
+     *
+     * @param  member
+     *         The member
+     * @param  role
+     *         The role to remove
+     *
+     * @throws IllegalArgumentException
+     *         If any of the arguments is {@code null} or the role is not from the guild of the member
+     *
+     * @return Future which is completed once the roles of the member have been modified
+     */
+    public CompletableFuture<Void> removeRoleFromMember(Member member, Role role)
+    {
+        return modifyRole(member, role, false);
+    }
+
+    /**
+     * Sends all pending batches without waiting for the remaining delay.
+     */
+    public void flush()
+    {
+        List<TextChannel> channels;
+        List<Member> members;
+        synchronized (this)
+        {
+            channels = new ArrayList<>(messageBatches.keySet());
+            members = new ArrayList<>(roleBatches.keySet());
+        }
+        channels.forEach(this::sendMessages);
+        members.forEach(this::sendRoles);
+    }
+
+    private CompletableFuture<Void> modifyRole(Member member, Role role, boolean add)
+    {
+        Checks.notNull(member, "Member");
+        Checks.notNull(role, "Role");
+        Checks.check(member.getGuild().equals(role.getGuild()), "Role must be from the same guild as the member");
+        synchronized (this)
+        {
+            Map<Role, RoleChange> batch = roleBatches.get(member);
+            if (batch == null)
+            {
+                roleBatches.put(member, batch = new LinkedHashMap<>());
+                schedule(() -> sendRoles(member));
+            }
+            RoleChange change = batch.get(role);
+            if (change == null)
+                batch.put(role, change = new RoleChange(add));
+            else
+                change.add = add; // the future is shared with the replaced change
+            return change.future;
+        }
+    }
+
+    private void schedule(Runnable task)
+    {
+        schedule(task, delay);
+    }
+
+    private void schedule(Runnable task, long delay)
+    {
+        api.getRateLimitPool().schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void sendMessages(TextChannel channel)
+    {
+        Map<Long, CompletableFuture<Void>> batch;
+        synchronized (this)
+        {
+            batch = messageBatches.remove(channel);
+        }
+        if (batch == null)
+            return;
+
+        boolean bulk = api.getAccountType() == AccountType.BOT
+                && channel.getGuild().getSelfMember().hasPermission(channel, Permission.MESSAGE_MANAGE);
+        // same margin as TextChannel#purgeMessagesById
+        long twoWeeksAgo = MiscUtil.getDiscordTimestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(14) + 10000);
+        List<Long> chunk = new ArrayList<>(100);
+        for (long messageId : batch.keySet())
+        {
+            if (!bulk || messageId <= twoWeeksAgo)
+            {
+                queue(() -> channel.deleteMessageById(messageId), Collections.singletonList(batch.get(messageId)));
+                continue;
+            }
+            chunk.add(messageId);
+            if (chunk.size() == 100)
+            {
+                deleteMessages(channel, chunk, batch);
+                chunk = new ArrayList<>(100);
+            }
+        }
+        if (!chunk.isEmpty())
+            deleteMessages(channel, chunk, batch);
+    }
+
+    private void deleteMessages(TextChannel channel, List<Long> messageIds, Map<Long, CompletableFuture<Void>> batch)
+    {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(messageIds.size());
+        List<String> ids = new ArrayList<>(messageIds.size());
+        for (long messageId : messageIds)
+        {
+            futures.add(batch.get(messageId));
+            ids.add(Long.toUnsignedString(messageId));
+        }
+        if (ids.size() == 1)
+            queue(() -> channel.deleteMessageById(ids.get(0)), futures);
+        else
+            queue(() -> channel.deleteMessagesByIds(ids), futures);
+    }
+
+    private void sendRoles(Member member)
+    {
+        Map<Role, RoleChange> batch;
+        RoleState state;
+        synchronized (this)
+        {
+            state = roleStates.get(member);
+            if (state != null && state.sending)
+            {
+                // sent once the current batch of the member has been completed
+                state.waiting = roleBatches.containsKey(member);
+                return;
+            }
+            batch = roleBatches.remove(member);
+            if (batch == null)
+                return;
+            if (state == null)
+                roleStates.put(member, state = new RoleState());
+            state.sending = true;
+            state.waiting = false;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+        batch.values().forEach(change -> futures.add(change.future));
+        // the roles of the previous batch, the cache is not updated until Discord sends the member update
+        Set<Role> roles = state.roles == null ? new HashSet<>(member.getRoles()) : new HashSet<>(state.roles);
+        batch.forEach((role, change) ->
+        {
+            if (change.add)
+                roles.add(role);
+            else
+                roles.remove(role);
+        });
+
+        GuildController controller = member.getGuild().getController();
+        RoleState currentState = state;
+        Supplier<RestAction<Void>> action;
+        if (batch.size() == 1)
+        {
+            // the single role endpoints do not depend on the other roles of the member
+            Map.Entry<Role, RoleChange> entry = batch.entrySet().iterator().next();
+            Role role = entry.getKey();
+            action = entry.getValue().add
+                ? () -> controller.addSingleRoleToMember(member, role)
+                : () -> controller.removeSingleRoleFromMember(member, role);
+        }
+        else
+        {
+            // only the roles which differ from the cache are added or removed, so the request sets exactly these roles
+            Set<Role> cached = new HashSet<>(member.getRoles());
+            List<Role> rolesToAdd = new ArrayList<>(roles);
+            rolesToAdd.removeAll(cached);
+            List<Role> rolesToRemove = new ArrayList<>(cached);
+            rolesToRemove.removeAll(roles);
+            action = () -> controller.modifyMemberRoles(member, rolesToAdd, rolesToRemove);
+        }
+        queue(action, futures, success -> onRolesSent(member, currentState, success ? roles : null));
+    }
+
+    private void onRolesSent(Member member, RoleState state, Set<Role> roles)
+    {
+        boolean next;
+        synchronized (this)
+        {
+            // the roles of a failed batch are unknown, the next batch starts from the cache again
+            state.roles = roles;
+            state.sending = false;
+            next = state.waiting;
+            state.waiting = false;
+            if (!next)
+            {
+                int sent = ++state.sent;
+                schedule(() -> expireRoles(member, state, sent), ROLES_TIMEOUT);
+            }
+        }
+        if (next)
+            sendRoles(member);
+    }
+
+    private synchronized void expireRoles(Member member, RoleState state, int sent)
+    {
+        if (!state.sending && state.sent == sent && roleStates.get(member) == state)
+            roleStates.remove(member);
+    }
+
+    private static void queue(Supplier<? extends RestAction<Void>> action, Collection<CompletableFuture<Void>> futures)
+    {
+        queue(action, futures, null);
+    }
+
+    private static void queue(Supplier<? extends RestAction<Void>> action, Collection<CompletableFuture<Void>> futures, Consumer<Boolean> callback)
+    {
+        try
+        {
+            action.get().queue(
+                v ->
+                {
+                    if (callback != null)
+                        callback.accept(true);
+                    futures.forEach(future -> future.complete(null));
+                },
+                error ->
+                {
+                    if (callback != null)
+                        callback.accept(false);
+                    futures.forEach(future -> future.completeExceptionally(error));
+                });
+        }
+        catch (RuntimeException e)
+        {
+            // checks such as missing permissions fail when the action is created
+            if (callback != null)
+                callback.accept(false);
+            futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static class RoleState
+    {
+        // the roles set by the last completed batch, or null to use the cached roles
+        Set<Role> roles;
+        boolean sending;
+        boolean waiting;
+        int sent;
+    }
+
+    private static class RoleChange
+    {
+        boolean add;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        RoleChange(boolean add)
+        {
+            this.add = add;
+        }
+    }
+}
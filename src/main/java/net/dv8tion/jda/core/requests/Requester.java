@@ -24,6 +24,8 @@ import net.dv8tion.jda.core.requests.ratelimit.BotRateLimiter;
 import net.dv8tion.jda.core.requests.ratelimit.ClientRateLimiter;
 import net.dv8tion.jda.core.utils.JDALogger;
 import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
@@ -39,7 +41,11 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.zip.GZIPInputStream;
 
 public class Requester
@@ -49,6 +55,7 @@ public class Requester
     public static final String USER_AGENT = "DiscordBot (" + JDAInfo.GITHUB + ", " + JDAInfo.VERSION + ")";
     public static final RequestBody EMPTY_BODY = RequestBody.create(null, new byte[0]);
     public static final MediaType MEDIA_TYPE_JSON  = MediaType.parse("application/json; charset=utf-8");
+    public static final int DEFAULT_MAX_ASYNC_REQUESTS = 64;
     public static final MediaType MEDIA_TYPE_OCTET = MediaType.parse("application/octet-stream; charset=utf-8");
 
     protected final JDAImpl api;
@@ -61,6 +68,9 @@ public class Requester
     private ConcurrentMap<String, String> contextMap = null;
 
     private volatile boolean retryOnTimeout = false;
+    private volatile boolean async = false;
+    private volatile boolean coalesceRequests = false;
+    private final ConcurrentMap<String, Request<?>> pendingRequests = new ConcurrentHashMap<>();
 
     public Requester(JDA api)
     {
@@ -106,11 +116,47 @@ public class Requester
             throw new IllegalStateException("The Requester has been shutdown! No new requests can be requested!");
 
         if (apiRequest.shouldQueue())
+        {
+            if (coalesceRequests && coalesce(apiRequest))
+                return;
             rateLimiter.queueRequest(apiRequest);
+        }
+        else if (async)
+            executeAsync(apiRequest, true, retryAfter -> {});
         else
             execute(apiRequest, true);
     }
 
+    // attaches a GET request to an identical queued request, it is then completed with the response of that request
+    private boolean coalesce(Request<?> apiRequest)
+    {
+        Route.CompiledRoute route = apiRequest.getRoute();
+        if (route.getMethod() != Method.GET || apiRequest.getBody() != null
+            || (apiRequest.getHeaders() != null && !apiRequest.getHeaders().isEmpty()))
+            return false;
+
+        // the same RestAction class parses the response the same way, which allows sharing the parsed body
+        String key = apiRequest.getRestAction().getClass().getName() + ' ' + route.getCompiledRoute();
+        while (true)
+        {
+            Request<?> pending = pendingRequests.putIfAbsent(key, apiRequest);
+            if (pending == null)
+            {
+                apiRequest.setCoalesceKey(key);
+                return false;
+            }
+            if (pending.coalesce(apiRequest))
+                return true;
+            // the pending request has just been completed
+            pendingRequests.remove(key, pending);
+        }
+    }
+
+    void removeCoalesced(String key, Request<?> apiRequest)
+    {
+        pendingRequests.remove(key, apiRequest);
+    }
+
     public Long execute(Request<?> apiRequest)
     {
         return execute(apiRequest, false);
@@ -144,35 +190,7 @@ public class Requester
             return retryAfter;
         }
 
-        okhttp3.Request.Builder builder = new okhttp3.Request.Builder();
-
-        String url = DISCORD_API_PREFIX + route.getCompiledRoute();
-        builder.url(url);
-
-        String method = apiRequest.getRoute().getMethod().toString();
-        RequestBody body = apiRequest.getBody();
-
-        if (body == null && HttpMethod.requiresRequestBody(method))
-            body = EMPTY_BODY;
-
-        builder.method(method, body)
-               .header("user-agent", USER_AGENT)
-               .header("accept-encoding", "gzip");
-
-        //adding token to all requests to the discord api or cdn pages
-        //we can check for startsWith(DISCORD_API_PREFIX) because the cdn endpoints don't need any kind of authorization
-        if (url.startsWith(DISCORD_API_PREFIX) && api.getToken() != null)
-            builder.header("authorization", api.getToken());
-
-        // Apply custom headers like X-Audit-Log-Reason
-        // If customHeaders is null this does nothing
-        if (apiRequest.getHeaders() != null)
-        {
-            for (Entry<String, String> header : apiRequest.getHeaders().entrySet())
-                builder.addHeader(header.getKey(), header.getValue());
-        }
-
-        okhttp3.Request request = builder.build();
+        okhttp3.Request request = createRequest(apiRequest);
 
         Set<String> rays = new LinkedHashSet<>();
         okhttp3.Response[] responses = new okhttp3.Response[4];
@@ -200,7 +218,7 @@ public class Requester
                 attempt++;
                 LOG.debug("Requesting {} -> {} returned status {}... retrying (attempt {})",
                         apiRequest.getRoute().getMethod(),
-                        url, lastResponse.code(), attempt);
+                        request.url(), lastResponse.code(), attempt);
                 try
                 {
                     Thread.sleep(50 * attempt);
@@ -209,24 +227,7 @@ public class Requester
             }
             while (attempt < 3 && lastResponse.code() >= 500);
 
-            if (lastResponse.code() >= 500)
-            {
-                //Epic failure from other end. Attempted 4 times.
-                Response response = new Response(lastResponse, -1, rays);
-                apiRequest.handleResponse(response);
-                return null;
-            }
-
-            retryAfter = rateLimiter.handleResponse(route, lastResponse);
-            if (!rays.isEmpty())
-                LOG.debug("Received response with following cf-rays: {}", rays);
-
-            if (retryAfter == null)
-                apiRequest.handleResponse(new Response(lastResponse, -1, rays));
-            else if (handleOnRatelimit)
-                apiRequest.handleResponse(new Response(lastResponse, retryAfter, rays));
-
-            return retryAfter;
+            return handleResponse(apiRequest, lastResponse, rays, handleOnRatelimit);
         }
         catch (SocketTimeoutException e)
         {
@@ -253,6 +254,91 @@ public class Requester
         }
     }
 
+    /**
+     * Asynchronous version of {@link #execute(Request, boolean, boolean)}.
+     * <br>The request is sent with {@link okhttp3.Call#enqueue(okhttp3.Callback) Call.enqueue(Callback)}
+     * and no thread is blocked while it is in flight. Server errors are retried after the same delays
+     * as the blocking execution, the delays are scheduled on the rate-limit pool.
+     *
+     * @param  apiRequest
+     *         The API request that needs to be sent
+     * @param  handleOnRatelimit
+     *         Whether to forward rate-limits, false if rate limit handling should take over
+     * @param  callback
+     *         Receives the value {@link #execute(Request, boolean, boolean)} would have returned once the request
+     *         has been handled. This is called on the thread which received the response.
+     */
+    public void executeAsync(@Async.Execute Request<?> apiRequest, boolean handleOnRatelimit, Consumer<? super Long> callback)
+    {
+        Route.CompiledRoute route = apiRequest.getRoute();
+        Long retryAfter = rateLimiter.getRateLimit(route);
+        if (retryAfter != null)
+        {
+            if (handleOnRatelimit)
+                apiRequest.handleResponse(new Response(retryAfter, Collections.emptySet()));
+            callback.accept(retryAfter);
+            return;
+        }
+
+        new AsyncCall(apiRequest, createRequest(apiRequest), handleOnRatelimit, callback).enqueue();
+    }
+
+    private okhttp3.Request createRequest(Request<?> apiRequest)
+    {
+        okhttp3.Request.Builder builder = new okhttp3.Request.Builder();
+
+        String url = DISCORD_API_PREFIX + apiRequest.getRoute().getCompiledRoute();
+        builder.url(url);
+
+        String method = apiRequest.getRoute().getMethod().toString();
+        RequestBody body = apiRequest.getBody();
+
+        if (body == null && HttpMethod.requiresRequestBody(method))
+            body = EMPTY_BODY;
+
+        builder.method(method, body)
+               .header("user-agent", USER_AGENT)
+               .header("accept-encoding", "gzip");
+
+        //adding token to all requests to the discord api or cdn pages
+        //we can check for startsWith(DISCORD_API_PREFIX) because the cdn endpoints don't need any kind of authorization
+        if (url.startsWith(DISCORD_API_PREFIX) && api.getToken() != null)
+            builder.header("authorization", api.getToken());
+
+        // Apply custom headers like X-Audit-Log-Reason
+        // If customHeaders is null this does nothing
+        if (apiRequest.getHeaders() != null)
+        {
+            for (Entry<String, String> header : apiRequest.getHeaders().entrySet())
+                builder.addHeader(header.getKey(), header.getValue());
+        }
+
+        return builder.build();
+    }
+
+    // handles a response that is not going to be retried
+    private Long handleResponse(Request<?> apiRequest, okhttp3.Response lastResponse, Set<String> rays, boolean handleOnRatelimit)
+    {
+        if (lastResponse.code() >= 500)
+        {
+            //Epic failure from other end. Attempted 4 times.
+            Response response = new Response(lastResponse, -1, rays);
+            apiRequest.handleResponse(response);
+            return null;
+        }
+
+        Long retryAfter = rateLimiter.handleResponse(apiRequest.getRoute(), lastResponse);
+        if (!rays.isEmpty())
+            LOG.debug("Received response with following cf-rays: {}", rays);
+
+        if (retryAfter == null)
+            apiRequest.handleResponse(new Response(lastResponse, -1, rays));
+        else if (handleOnRatelimit)
+            apiRequest.handleResponse(new Response(lastResponse, retryAfter, rays));
+
+        return retryAfter;
+    }
+
     public OkHttpClient getHttpClient()
     {
         return this.httpClient;
@@ -268,6 +354,28 @@ public class Requester
         this.retryOnTimeout = retryOnTimeout;
     }
 
+    public void setAsync(boolean async, int maxRequests)
+    {
+        this.async = async;
+        if (!async)
+            return;
+        // every request goes to the same host, the default dispatcher only runs 5 calls per host at once
+        Dispatcher dispatcher = httpClient.dispatcher();
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+        if (dispatcher.getMaxRequests() < maxRequests)
+            dispatcher.setMaxRequests(maxRequests);
+    }
+
+    public boolean isAsync()
+    {
+        return async;
+    }
+
+    public void setCoalesceRequests(boolean coalesceRequests)
+    {
+        this.coalesceRequests = coalesceRequests;
+    }
+
     public void shutdown()
     {
         rateLimiter.shutdown();
@@ -295,4 +403,107 @@ public class Requester
             return new GZIPInputStream(response.body().byteStream());
         return response.body().byteStream();
     }
+
+    // Sends a request with Call#enqueue, the retries for server errors are scheduled instead of sleeping in between
+    private class AsyncCall implements Callback
+    {
+        private final Request<?> apiRequest;
+        private final okhttp3.Request request;
+        private final boolean handleOnRatelimit;
+        private final Consumer<? super Long> callback;
+        private final Set<String> rays = new LinkedHashSet<>();
+        private boolean retried = false;
+        private int attempt = 0;
+
+        private AsyncCall(Request<?> apiRequest, okhttp3.Request request, boolean handleOnRatelimit, Consumer<? super Long> callback)
+        {
+            this.apiRequest = apiRequest;
+            this.request = request;
+            this.handleOnRatelimit = handleOnRatelimit;
+            this.callback = callback;
+        }
+
+        private void enqueue()
+        {
+            httpClient.newCall(request).enqueue(this);
+        }
+
+        @Override
+        public void onResponse(Call call, okhttp3.Response response)
+        {
+            setContext();
+            Long retryAfter = null;
+            try
+            {
+                String cfRay = response.header("CF-RAY");
+                if (cfRay != null)
+                    rays.add(cfRay);
+
+                if (response.code() >= 500 && attempt < 3 && retry(response.code()))
+                    return;
+                retryAfter = handleResponse(apiRequest, response, rays, handleOnRatelimit);
+            }
+            catch (Exception e)
+            {
+                LOG.error("There was an exception while executing a REST request", e);
+                apiRequest.handleResponse(new Response(response, e, rays));
+            }
+            finally
+            {
+                response.close();
+            }
+            done(retryAfter);
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e)
+        {
+            setContext();
+            if (e instanceof SocketTimeoutException)
+            {
+                if (retryOnTimeout && !retried)
+                {
+                    retried = true;
+                    enqueue();
+                    return;
+                }
+                LOG.error("Requester timed out while executing a request", e);
+            }
+            else
+            {
+                LOG.error("There was an exception while executing a REST request", e);
+            }
+            apiRequest.handleResponse(new Response(null, e, rays));
+            done(null);
+        }
+
+        private boolean retry(int code)
+        {
+            attempt++;
+            LOG.debug("Requesting {} -> {} returned status {}... retrying (attempt {})",
+                    apiRequest.getRoute().getMethod(), request.url(), code, attempt);
+            try
+            {
+                api.getRateLimitPool().schedule(this::enqueue, 50 * attempt, TimeUnit.MILLISECONDS);
+                return true;
+            }
+            catch (RejectedExecutionException ignored)
+            {
+                // the requester is shutting down, handle the response as it is
+                return false;
+            }
+        }
+
+        private void done(Long retryAfter)
+        {
+            try
+            {
+                callback.accept(retryAfter);
+            }
+            catch (Throwable t)
+            {
+                LOG.error("Requester system encountered an internal error", t);
+            }
+        }
+    }
 }
@@ -41,6 +41,8 @@ import net.dv8tion.jda.core.managers.impl.PresenceImpl;
 import net.dv8tion.jda.core.utils.JDALogger;
 import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.SessionController;
+import net.dv8tion.jda.core.utils.cache.EventPolicy;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -71,6 +73,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     protected static final String INVALIDATE_REASON = "INVALIDATE_SESSION";
     protected static final long IDENTIFY_BACKOFF = TimeUnit.SECONDS.toMillis(SessionController.IDENTIFY_DELAY); // same as 1000 * IDENTIFY_DELAY
+    // Messages of the rate limit that chunk and sync requests leave to voice and regular requests
+    protected static final int CHUNK_RESERVE = 15;
 
     protected final JDAImpl api;
     protected final JDA.ShardInfo shardInfo;
@@ -78,14 +82,20 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected final Set<String> cfRays = ConcurrentHashMap.newKeySet();
     protected final Set<String> traces = ConcurrentHashMap.newKeySet();
     protected final boolean compression;
+    protected final boolean streamingDecode;
 
     public WebSocket socket;
     protected String sessionId = null;
     protected final Object readLock = new Object();
+    // held while events are handled, guilds built on the guild setup pool are published with this lock
+    protected final Object dispatchLock = new Object();
+    // cache updates of other threads, run by the gateway thread before the next event
+    protected final Queue<Runnable> dispatchTasks = new ConcurrentLinkedQueue<>();
     protected Inflater zlibContext = new Inflater();
     protected ByteArrayOutputStream readBuffer;
     //this is a SoftReference in order to allow this resource to be freed to prevent resources starvation
     protected SoftReference<ByteArrayOutputStream> decompressBuffer;
+    protected ZlibStreamDecoder streamDecoder;
 
     protected final ReentrantLock queueLock = new ReentrantLock();
     protected final ScheduledExecutorService executor;
@@ -99,7 +109,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected long identifyTime = 0;
 
     protected final TLongObjectMap<ConnectionRequest> queuedAudioConnections = MiscUtil.newLongMap();
-    protected final Queue<String> chunkSyncQueue = new ConcurrentLinkedQueue<>();
+    protected final Queue<JSONObject> chunkSyncQueue = new ConcurrentLinkedQueue<>();
     protected final Queue<String> ratelimitQueue = new ConcurrentLinkedQueue<>();
 
     protected volatile long ratelimitResetTime;
@@ -118,11 +128,19 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected volatile ConnectNode connectNode;
 
     public WebSocketClient(JDAImpl api, boolean compression)
+    {
+        this(api, compression, false);
+    }
+
+    public WebSocketClient(JDAImpl api, boolean compression, boolean streamingDecode)
     {
         this.api = api;
         this.executor = api.getGatewayPool();
         this.shardInfo = api.getShardInfo();
         this.compression = compression;
+        this.streamingDecode = streamingDecode;
+        if (compression && streamingDecode)
+            this.streamDecoder = new ZlibStreamDecoder();
         this.shouldReconnect = api.isAutoReconnect();
         this.connectNode = new StartingNode();
         setupHandlers();
@@ -234,7 +252,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     public void handle(List<JSONObject> events)
     {
-        events.forEach(this::onDispatch);
+        for (JSONObject event : events)
+            onDispatch(new GatewayPayload(event));
     }
 
     public void send(String message)
@@ -244,25 +263,35 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     public void chunkOrSyncRequest(JSONObject request)
     {
-        locked("Interrupted while trying to add chunk request", () -> chunkSyncQueue.add(request.toString()));
+        locked("Interrupted while trying to add chunk request", () -> chunkSyncQueue.add(request));
     }
 
-    protected boolean send(String message, boolean skipQueue)
+    protected boolean canSendChunkOrSyncRequest()
     {
-        if (!connected)
-            return false;
+        return getSentMessageCount() <= 115 - CHUNK_RESERVE;
+    }
 
+    protected int getSentMessageCount()
+    {
         long now = System.currentTimeMillis();
-
         if (this.ratelimitResetTime <= now)
         {
             this.messagesSent.set(0);
             this.ratelimitResetTime = now + 60000;//60 seconds
             this.printedRateLimitMessage = false;
         }
+        return this.messagesSent.get();
+    }
+
+    protected boolean send(String message, boolean skipQueue)
+    {
+        if (!connected)
+            return false;
+
+        final int sent = getSentMessageCount();
 
         //Allows 115 messages to be sent before limiting.
-        if (this.messagesSent.get() <= 115 || (skipQueue && this.messagesSent.get() <= 119))   //technically we could go to 120, but we aren't going to chance it
+        if (sent <= 115 || (skipQueue && sent <= 119))   //technically we could go to 120, but we aren't going to chance it
         {
             LOG.trace("<- {}", message);
             socket.sendText(message);
@@ -451,6 +480,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 if (decompressBuffer != null)
                     decompressBuffer.clear();
                 readBuffer = null;
+                if (streamDecoder != null)
+                    streamDecoder.reset();
             }
             if (isInvalidate)
                 invalidate(); // 1000 means our session is dropped so we cannot resume
@@ -661,29 +692,38 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
     protected void invalidate()
     {
-        sessionId = null;
-        sentAuthInfo = false;
-
-        locked("Interrupted while trying to invalidate chunk/sync queue", chunkSyncQueue::clear);
+        synchronized (dispatchLock)
+        {
+            sessionId = null;
+            sentAuthInfo = false;
 
-        api.getTextChannelMap().clear();
-        api.getVoiceChannelMap().clear();
-        api.getCategoryMap().clear();
-        api.getGuildMap().clear();
-        api.getUserMap().clear();
-        api.getPrivateChannelMap().clear();
-        api.getFakeUserMap().clear();
-        api.getFakePrivateChannelMap().clear();
-        api.getEventCache().clear();
-        api.getGuildSetupController().clearCache();
+            locked("Interrupted while trying to invalidate chunk/sync queue", chunkSyncQueue::clear);
 
-        if (api.getAccountType() == AccountType.CLIENT)
-        {
-            JDAClientImpl client = api.asClient();
+            api.getTextChannelMap().clear();
+            api.getVoiceChannelMap().clear();
+            api.getCategoryMap().clear();
+            MemberCachePolicy memberCachePolicy = api.getMemberCachePolicy();
+            api.getGuildMap().forEachKey(guildId ->
+            {
+                memberCachePolicy.onGuildRemoved(guildId);
+                return true;
+            });
+            api.getGuildMap().clear();
+            api.getUserMap().clear();
+            api.getPrivateChannelMap().clear();
+            api.getFakeUserMap().clear();
+            api.getFakePrivateChannelMap().clear();
+            api.getEventCache().clear();
+            api.getGuildSetupController().clearCache();
+
+            if (api.getAccountType() == AccountType.CLIENT)
+            {
+                JDAClientImpl client = api.asClient();
 
-            client.getRelationshipMap().clear();
-            client.getGroupMap().clear();
-            client.getCallUserMap().clear();
+                client.getRelationshipMap().clear();
+                client.getGroupMap().clear();
+                client.getCallUserMap().clear();
+            }
         }
     }
 
@@ -738,11 +778,48 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         return output;
     }
 
-    protected void handleEvent(JSONObject content)
+    public Object getDispatchLock()
+    {
+        return dispatchLock;
+    }
+
+    /**
+     * Queues a task which modifies the cache, it is run by the gateway thread before the next event is handled.
+     * <br>Other threads must not use the dispatch lock for this, as it is held while listeners are running.
+     *
+     * @param  task
+     *         The task to run on the gateway thread
+     */
+    public void queueDispatchTask(Runnable task)
+    {
+        dispatchTasks.add(task);
+    }
+
+    protected void runDispatchTasks()
+    {
+        Runnable task;
+        while ((task = dispatchTasks.poll()) != null)
+        {
+            try
+            {
+                task.run();
+            }
+            catch (Exception ex)
+            {
+                LOG.error("Encountered exception while running a queued cache update", ex);
+            }
+        }
+    }
+
+    protected void handleEvent(GatewayPayload content)
     {
         try
         {
-            onEvent(content);
+            synchronized (dispatchLock)
+            {
+                runDispatchTasks();
+                onEvent(content);
+            }
         }
         catch (Exception ex)
         {
@@ -751,13 +828,13 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
-    protected void onEvent(JSONObject content)
+    protected void onEvent(GatewayPayload content)
     {
-        int opCode = content.getInt("op");
+        int opCode = content.getOpCode();
 
-        if (!content.isNull("s"))
+        if (content.hasSequence())
         {
-            api.setResponseTotal(content.getInt("s"));
+            api.setResponseTotal((int) content.getSequence());
         }
 
         switch (opCode)
@@ -778,7 +855,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 handleIdentifyRateLimit = handleIdentifyRateLimit && System.currentTimeMillis() - identifyTime < IDENTIFY_BACKOFF;
 
                 sentAuthInfo = false;
-                final boolean isResume = content.getBoolean("d");
+                final boolean isResume = Boolean.TRUE.equals(content.getData());
                 // When d: true we can wait a bit and then try to resume again
                 //sending 4000 to not drop session
                 int closeCode = isResume ? 4000 : 1000;
@@ -791,7 +868,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 break;
             case WebSocketCode.HELLO:
                 LOG.debug("Got HELLO packet (OP 10). Initializing keep-alive.");
-                final JSONObject data = content.getJSONObject("d");
+                final JSONObject data = (JSONObject) content.getData();
                 setupKeepAlive(data.getLong("heartbeat_interval"));
                 if (!data.isNull("_trace"))
                     updateTraces(data.getJSONArray("_trace"), "HELLO", WebSocketCode.HELLO);
@@ -805,17 +882,31 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
-    protected void onDispatch(JSONObject raw)
+    protected void onDispatch(GatewayPayload raw)
     {
-        String type = raw.getString("t");
+        String type = raw.getType();
         long responseTotal = api.getResponseTotal();
 
-        if (!(raw.opt("d") instanceof JSONObject))
+        //Ignored events are dropped before any handler sees them, so they are never buffered by
+        // the GuildSetupController or the EventCache either
+        if (api.getEventPolicy(type) == EventPolicy.IGNORE)
+        {
+            LOG.trace("Ignored {} due to its EventPolicy", type);
+            api.countDroppedEvent(EventPolicy.IGNORE);
+            return;
+        }
+
+        if (!raw.isDataObject())
         {
             // Needs special handling due to content of "d" being an array
             if (type.equals("PRESENCES_REPLACE"))
             {
-                final JSONArray payload = raw.getJSONArray("d");
+                if (api.getEventPolicy("PRESENCE_UPDATE") == EventPolicy.IGNORE)
+                {
+                    api.countDroppedEvent(EventPolicy.IGNORE);
+                    return;
+                }
+                final JSONArray payload = (JSONArray) raw.getData();
                 final List<JSONObject> converted = convertPresencesReplace(responseTotal, payload);
                 final PresenceUpdateHandler handler = getHandler("PRESENCE_UPDATE");
                 LOG.trace("{} -> {}", type, payload);
@@ -829,25 +920,27 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             return;
         }
 
-        JSONObject content = raw.getJSONObject("d");
-        LOG.trace("{} -> {}", type, content);
+        LOG.trace("{} -> {}", type, raw);
 
         JDAImpl jda = (JDAImpl) getJDA();
         try
         {
+            JSONObject content;
             switch (type)
             {
                 //INIT types
                 case "READY":
+                    content = (JSONObject) raw.getData();
                     api.setStatus(JDA.Status.LOADING_SUBSYSTEMS);
                     processingReady = true;
                     handleIdentifyRateLimit = false;
                     sessionId = content.getString("session_id");
                     if (!content.isNull("_trace"))
                         updateTraces(content.getJSONArray("_trace"), "READY", WebSocketCode.DISPATCH);
-                    handlers.get("READY").handle(responseTotal, raw);
+                    handlers.get("READY").handle(responseTotal, raw.toJson());
                     break;
                 case "RESUMED":
+                    content = (JSONObject) raw.getData();
                     sentAuthInfo = true;
                     if (!processingReady)
                     {
@@ -873,11 +966,11 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         catch (JSONException ex)
         {
             LOG.warn("Got an unexpected Json-parse error. Please redirect following message to the devs:\n\t{}\n\t{} -> {}",
-                ex.getMessage(), type, content, ex);
+                ex.getMessage(), type, raw, ex);
         }
         catch (Exception ex)
         {
-            LOG.error("Got an unexpected error. Please redirect following message to the devs:\n\t{} -> {}", type, content, ex);
+            LOG.error("Got an unexpected error. Please redirect following message to the devs:\n\t{} -> {}", type, raw, ex);
         }
 
         if (responseTotal % EventCache.TIMEOUT_AMOUNT == 0)
@@ -887,18 +980,27 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     @Override
     public void onTextMessage(WebSocket websocket, String message)
     {
-        handleEvent(new JSONObject(message));
+        handleEvent(new GatewayPayload(message));
     }
 
     @Override
     public void onBinaryMessage(WebSocket websocket, byte[] binary) throws IOException, DataFormatException
     {
-        JSONObject json;
+        GatewayPayload json;
         synchronized (readLock)
         {
-            if (!onBufferMessage(binary))
-                return;
-            json = handleBinary(binary);
+            if (streamDecoder != null)
+            {
+                json = streamDecoder.decode(binary);
+                if (json == null)
+                    return;
+            }
+            else
+            {
+                if (!onBufferMessage(binary))
+                    return;
+                json = handleBinary(binary);
+            }
         }
         handleEvent(json);
     }
@@ -919,7 +1021,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         return false;
     }
 
-    protected JSONObject handleBinary(byte[] binary) throws DataFormatException, UnsupportedEncodingException
+    protected GatewayPayload handleBinary(byte[] binary) throws DataFormatException, UnsupportedEncodingException
     {
         //Thanks to ShadowLordAlpha and Shredder121 for code and debugging.
         //Get the compressed message and inflate it
@@ -941,7 +1043,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 
         String jsonString = decompressBuffer.toString("UTF-8");
         decompressBuffer.reset();
-        return new JSONObject(jsonString);
+        return new GatewayPayload(jsonString);
     }
 
     protected ByteArrayOutputStream getDecompressBuffer()
@@ -41,7 +41,7 @@ class WebSocketSendingThread implements Runnable
     private final WebSocketClient client;
     private final JDAImpl api;
     private final ReentrantLock queueLock;
-    private final Queue<String> chunkSyncQueue;
+    private final Queue<JSONObject> chunkSyncQueue;
     private final Queue<String> ratelimitQueue;
     private final TLongObjectMap<ConnectionRequest> queuedAudioConnections;
     private final ScheduledExecutorService executor;
@@ -113,12 +113,14 @@ class WebSocketSendingThread implements Runnable
             needRateLimit = false;
             queueLock.lockInterruptibly();
 
+            //Voice requests are sent first, chunk and sync requests only use the rate limit until the reserve is reached.
+            // Heartbeats and identify bypass this queue entirely
             ConnectionRequest audioRequest = client.getNextAudioConnectRequest();
-            String chunkOrSyncRequest = chunkSyncQueue.peek();
-            if (chunkOrSyncRequest != null)
-                handleChunkSync(chunkOrSyncRequest);
-            else if (audioRequest != null)
+            JSONObject chunkOrSyncRequest = chunkSyncQueue.peek();
+            if (audioRequest != null)
                 handleAudioRequest(audioRequest);
+            else if (chunkOrSyncRequest != null && client.canSendChunkOrSyncRequest())
+                handleChunkSync(chunkOrSyncRequest);
             else
                 handleNormalRequest();
 
@@ -140,11 +142,15 @@ class WebSocketSendingThread implements Runnable
         }
     }
 
-    private void handleChunkSync(String chunkOrSyncRequest)
+    private void handleChunkSync(JSONObject chunkOrSyncRequest)
     {
         LOG.debug("Sending chunk/sync request {}", chunkOrSyncRequest);
-        if (send(chunkOrSyncRequest))
+        if (send(chunkOrSyncRequest.toString()))
+        {
             chunkSyncQueue.remove();
+            if (chunkOrSyncRequest.getInt("op") == WebSocketCode.MEMBER_CHUNK_REQUEST)
+                api.getGuildSetupController().onChunkRequestSent(chunkOrSyncRequest);
+        }
     }
 
     private void handleAudioRequest(ConnectionRequest audioRequest)
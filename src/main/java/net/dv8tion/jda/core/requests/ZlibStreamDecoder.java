@@ -0,0 +1,120 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import java.lang.ref.SoftReference;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+//Helper class delegated to WebSocketClient
+// Inflates every fragment of a zlib-stream directly into one reusable buffer
+// and hands that buffer to the GatewayPayload without building the payload String
+class ZlibStreamDecoder
+{
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Inflater inflater = new Inflater();
+    //this is a SoftReference in order to allow this resource to be freed to prevent resources starvation
+    private SoftReference<byte[]> bufferCache;
+    //only strongly referenced while a message is incomplete
+    private byte[] buffer;
+    private int length;
+
+    /**
+     * Inflates the provided fragment into the internal buffer.
+     *
+     * @param  binary
+     *         The received binary fragment
+     *
+     * @throws DataFormatException
+     *         If the fragment could not be inflated
+     *
+     * @return The decoded message, or {@code null} if the message is not yet complete.
+     *         The message references the internal buffer and is only valid until the next call.
+     */
+    GatewayPayload decode(byte[] binary) throws DataFormatException
+    {
+        if (buffer == null)
+            buffer = acquireBuffer();
+        try
+        {
+            inflate(binary);
+        }
+        catch (DataFormatException e)
+        {
+            release();
+            throw e;
+        }
+
+        if (binary.length < 4 || WebSocketClient.getInt(binary, binary.length - 4) != WebSocketClient.ZLIB_SUFFIX)
+            return null;
+
+        // the payload reads the buffer in place, no copy of the message is made
+        GatewayPayload payload = new GatewayPayload(buffer, 0, length);
+        release();
+        return payload;
+    }
+
+    void reset()
+    {
+        inflater.reset();
+        buffer = null;
+        length = 0;
+        if (bufferCache != null)
+            bufferCache.clear();
+    }
+
+    private void inflate(byte[] binary) throws DataFormatException
+    {
+        inflater.setInput(binary);
+        while (true)
+        {
+            if (length == buffer.length)
+                grow();
+            int inflated = inflater.inflate(buffer, length, buffer.length - length);
+            length += inflated;
+            if (inflated == 0)
+            {
+                if (inflater.needsDictionary())
+                    throw new DataFormatException("Malformed");
+                if (inflater.needsInput() || inflater.finished())
+                    return;
+            }
+        }
+    }
+
+    private void grow()
+    {
+        byte[] grown = new byte[buffer.length << 1];
+        System.arraycopy(buffer, 0, grown, 0, length);
+        buffer = grown;
+    }
+
+    private byte[] acquireBuffer()
+    {
+        byte[] cached = bufferCache == null ? null : bufferCache.get();
+        return cached == null ? new byte[INITIAL_CAPACITY] : cached;
+    }
+
+    private void release()
+    {
+        if (bufferCache == null || bufferCache.get() != buffer)
+            bufferCache = new SoftReference<>(buffer);
+        buffer = null;
+        length = 0;
+    }
+}
@@ -28,22 +28,33 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
-import java.util.Queue;
+import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class BotRateLimiter extends RateLimiter
 {
     private static final String RESET_HEADER = "X-RateLimit-Reset";
     private static final String LIMIT_HEADER = "X-RateLimit-Limit";
     private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final int IDLE = 0;
+    private static final int SCHEDULED = 1;
+    private static final int RUNNING = 2;
     protected volatile Long timeOffset = null;
 
+    private final BucketTimer timer;
+    private final LongAdder bucketRuns = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
     public BotRateLimiter(Requester requester)
     {
         super(requester);
+        this.timer = new BucketTimer(() -> requester.getJDA().getRateLimitPool());
     }
 
     @Override
@@ -117,6 +128,76 @@ public class BotRateLimiter extends RateLimiter
 
     }
 
+    @Override
+    public List<IBucket> getQueuedRouteBuckets()
+    {
+        List<IBucket> queued = new ArrayList<>();
+        for (IBucket bucket : buckets.values())
+        {
+            if (((Bucket) bucket).state.get() != IDLE)
+                queued.add(bucket);
+        }
+        return Collections.unmodifiableList(queued);
+    }
+
+    /**
+     * The number of times a bucket has been run by the rate-limit pool.
+     *
+     * @return The number of bucket runs
+     */
+    public long getBucketRunCount()
+    {
+        return bucketRuns.sum();
+    }
+
+    /**
+     * The average time between the moment a bucket was ready to be run and the moment it was run by the rate-limit pool.
+     * <br>This includes the time spent waiting for a thread of the pool.
+     *
+     * @param  unit
+     *         The time unit of the result
+     *
+     * @return The average scheduling latency
+     */
+    public long getAverageSchedulingLatency(TimeUnit unit)
+    {
+        long runs = bucketRuns.sum();
+        return runs == 0 ? 0 : unit.convert(totalLatency.sum() / runs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The highest time between the moment a bucket was ready to be run and the moment it was run by the rate-limit pool.
+     *
+     * @param  unit
+     *         The time unit of the result
+     *
+     * @return The maximum scheduling latency
+     */
+    public long getMaxSchedulingLatency(TimeUnit unit)
+    {
+        return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resets the statistics for the scheduling latency.
+     */
+    public void resetSchedulingStatistics()
+    {
+        bucketRuns.reset();
+        totalLatency.reset();
+        maxLatency.set(0);
+    }
+
+    private void recordLatency(long latency)
+    {
+        latency = Math.max(0, latency);
+        bucketRuns.increment();
+        totalLatency.add(latency);
+        long max = maxLatency.get();
+        while (latency > max && !maxLatency.compareAndSet(max, latency))
+            max = maxLatency.get();
+    }
+
     private Bucket getBucket(Route.CompiledRoute route)
     {
         String rateLimitRoute = route.getRatelimitRoute();
@@ -235,6 +316,9 @@ public class BotRateLimiter extends RateLimiter
         final boolean missingHeaders;
         final RateLimit rateLimit;
         final ConcurrentLinkedQueue<Request> requests = new ConcurrentLinkedQueue<>();
+        // IDLE -> SCHEDULED when submitted, SCHEDULED -> RUNNING when run and back to IDLE once the bucket is done
+        final AtomicInteger state = new AtomicInteger(IDLE);
+        volatile long readyTime; // System.nanoTime() at which the bucket may run
         volatile long resetTime = 0;
         volatile int routeUsageRemaining = 1;    //These are default values to only allow 1 request until we have properly
         volatile int routeUsageLimit = 1;        // ratelimit information.
@@ -259,26 +343,31 @@ public class BotRateLimiter extends RateLimiter
 
         void submitForProcessing()
         {
-            synchronized (submittedBuckets)
+            if (!state.compareAndSet(IDLE, SCHEDULED))
+                return; // already scheduled, or the running bucket will check the queue once it is done
+            try
             {
-                if (!submittedBuckets.contains(this))
-                {
-                    Long delay = getRateLimit();
-                    if (delay == null)
-                        delay = 0L;
+                Long delay = getRateLimit();
+                if (delay == null)
+                    delay = 0L;
 
-                    if (delay > 0)
-                    {
-                        log.debug("Backing off {} milliseconds on route /{}", delay, getRoute());
-                        requester.getJDA().getRateLimitPool().schedule(this, delay, TimeUnit.MILLISECONDS);
-                    }
-                    else
-                    {
-                        requester.getJDA().getRateLimitPool().execute(this);
-                    }
-                    submittedBuckets.add(this);
+                if (delay > 0)
+                {
+                    log.debug("Backing off {} milliseconds on route /{}", delay, getRoute());
+                    readyTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                    timer.schedule(this, delay);
+                }
+                else
+                {
+                    readyTime = System.nanoTime();
+                    requester.getJDA().getRateLimitPool().execute(this);
                 }
             }
+            catch (RuntimeException e)
+            {
+                state.set(IDLE);
+                throw e;
+            }
         }
 
         Long getRateLimit()
@@ -331,6 +420,8 @@ public class BotRateLimiter extends RateLimiter
         @Override
         public void run()
         {
+            state.set(RUNNING);
+            recordLatency(System.nanoTime() - readyTime);
             requester.setContext();
             try
             {
@@ -347,6 +438,13 @@ public class BotRateLimiter extends RateLimiter
                             request = it.next();
                             if (isSkipped(it, request))
                                 continue;
+                            if (requester.isAsync())
+                            {
+                                // the bucket stays submitted until the response arrives, this keeps the requests in order
+                                Request sent = request;
+                                requester.executeAsync(request, false, retryAfter -> handleAsync(sent, retryAfter));
+                                return;
+                            }
                             Long retryAfter = requester.execute(request);
                             if (retryAfter != null)
                                 break;
@@ -362,34 +460,58 @@ public class BotRateLimiter extends RateLimiter
                         }
                     }
 
-                    synchronized (submittedBuckets)
-                    {
-                        submittedBuckets.remove(this);
-                        if (!requests.isEmpty())
-                        {
-                            try
-                            {
-                                this.submitForProcessing();
-                            }
-                            catch (RejectedExecutionException e)
-                            {
-                                log.debug("Caught RejectedExecutionException when re-queuing a ratelimited request. The requester is probably shutdown, thus, this can be ignored.");
-                            }
-                        }
-                    }
+                    resubmit();
                 }
             }
             catch (Throwable err)
             {
-                log.error("Requester system encountered an internal error from beyond the synchronized execution blocks. NOT GOOD!", err);
-                if (err instanceof Error)
+                handleError(err);
+            }
+        }
+
+        // called once an asynchronous request has been handled
+        private void handleAsync(Request request, Long retryAfter)
+        {
+            try
+            {
+                // a rate-limited request stays at the head of the queue and is retried once the bucket resets
+                if (retryAfter == null)
+                    requests.remove(request);
+                resubmit();
+            }
+            catch (Throwable err)
+            {
+                handleError(err);
+            }
+        }
+
+        private void resubmit()
+        {
+            state.set(IDLE);
+            // requests added while the bucket was running have not been able to submit it
+            if (!requests.isEmpty())
+            {
+                try
+                {
+                    this.submitForProcessing();
+                }
+                catch (RejectedExecutionException e)
                 {
-                    JDAImpl api = requester.getJDA();
-                    api.getEventManager().handle(new ExceptionEvent(api, err, true));
+                    log.debug("Caught RejectedExecutionException when re-queuing a ratelimited request. The requester is probably shutdown, thus, this can be ignored.");
                 }
             }
         }
 
+        private void handleError(Throwable err)
+        {
+            log.error("Requester system encountered an internal error from beyond the synchronized execution blocks. NOT GOOD!", err);
+            if (err instanceof Error)
+            {
+                JDAImpl api = requester.getJDA();
+                api.getEventManager().handle(new ExceptionEvent(api, err, true));
+            }
+        }
+
         @Override
         public RateLimit getRatelimit()
         {
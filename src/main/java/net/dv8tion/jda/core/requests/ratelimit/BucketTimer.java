@@ -0,0 +1,162 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests.ratelimit;
+
+import net.dv8tion.jda.core.utils.JDALogger;
+import org.slf4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+//Helper class delegated to BotRateLimiter
+// Hashed timer wheel for the backoffs of the rate-limit buckets.
+// A single task advances the wheel on the rate-limit pool instead of one ScheduledFuture per backoff,
+// the task is only scheduled while there are pending timeouts.
+// The wheel itself is only accessed by the tick task, new timeouts are handed over through a queue.
+class BucketTimer implements Runnable
+{
+    private static final Logger LOG = JDALogger.getLog(BucketTimer.class);
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Supplier<ScheduledExecutorService> pool;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Timeout[] wheel = new Timeout[WHEEL_SIZE];
+    private final long startTime = System.nanoTime();
+    private long tick = 0;
+
+    BucketTimer(Supplier<ScheduledExecutorService> pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Submits the task to the rate-limit pool once the delay has passed.
+     * <br>The task is never submitted early but may be submitted up to one tick late.
+     *
+     * @param  task
+     *         The task to submit
+     * @param  delay
+     *         The delay in milliseconds
+     */
+    void schedule(Runnable task, long delay)
+    {
+        pending.add(new Timeout(task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay)));
+        size.incrementAndGet();
+        if (running.compareAndSet(false, true))
+            scheduleTick(0);
+    }
+
+    @Override
+    public void run()
+    {
+        long currentTick = (System.nanoTime() - startTime) / TICK_NANOS;
+        for (Timeout timeout = pending.poll(); timeout != null; timeout = pending.poll())
+        {
+            // round up, a timeout that is already due is handled by this tick
+            timeout.deadline = Math.max(tick, (timeout.deadlineNanos - startTime + TICK_NANOS - 1) / TICK_NANOS);
+            int slot = (int) (timeout.deadline & MASK);
+            timeout.next = wheel[slot];
+            wheel[slot] = timeout;
+        }
+
+        // every slot is visited at most once, even if this tick is running late
+        for (long t = Math.max(tick, currentTick - MASK); t <= currentTick; t++)
+            expire((int) (t & MASK), currentTick);
+        tick = currentTick + 1;
+
+        if (size.get() > 0)
+        {
+            scheduleTick(startTime + tick * TICK_NANOS - System.nanoTime());
+            return;
+        }
+        running.set(false);
+        // a timeout might have been added after the size was checked
+        if (size.get() > 0 && running.compareAndSet(false, true))
+            scheduleTick(0);
+    }
+
+    private void expire(int slot, long currentTick)
+    {
+        Timeout remaining = null;
+        Timeout timeout = wheel[slot];
+        while (timeout != null)
+        {
+            Timeout next = timeout.next;
+            if (timeout.deadline <= currentTick)
+            {
+                size.decrementAndGet();
+                submit(timeout.task);
+            }
+            else
+            {
+                timeout.next = remaining;
+                remaining = timeout;
+            }
+            timeout = next;
+        }
+        wheel[slot] = remaining;
+    }
+
+    private void submit(Runnable task)
+    {
+        try
+        {
+            pool.get().execute(task);
+        }
+        catch (RejectedExecutionException e)
+        {
+            LOG.debug("Caught RejectedExecutionException when submitting a ratelimited bucket. The requester is probably shutdown, thus, this can be ignored.");
+        }
+    }
+
+    private void scheduleTick(long delayNanos)
+    {
+        try
+        {
+            pool.get().schedule(this, Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
+        }
+        catch (RejectedExecutionException e)
+        {
+            LOG.debug("Caught RejectedExecutionException when scheduling the bucket timer. The requester is probably shutdown, thus, this can be ignored.");
+            running.set(false);
+        }
+    }
+
+    private static class Timeout
+    {
+        final Runnable task;
+        final long deadlineNanos;
+        long deadline;
+        Timeout next;
+
+        Timeout(Runnable task, long deadlineNanos)
+        {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
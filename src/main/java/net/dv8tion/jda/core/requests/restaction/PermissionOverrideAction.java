@@ -23,6 +23,7 @@ import net.dv8tion.jda.core.entities.Member;
 import net.dv8tion.jda.core.entities.PermissionOverride;
 import net.dv8tion.jda.core.entities.Role;
 import net.dv8tion.jda.core.entities.impl.AbstractChannelImpl;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.PermissionOverrideImpl;
 import net.dv8tion.jda.core.requests.Request;
 import net.dv8tion.jda.core.requests.Response;
@@ -463,6 +464,7 @@ public class PermissionOverrideAction extends AuditableRestAction<PermissionOver
         override.setDeny(object.getLong("deny"));
 
         ((AbstractChannelImpl<?>) channel).getOverrideMap().put(id, override);
+        ((GuildImpl) channel.getGuild()).invalidatePermissions();
 
         request.onSuccess(override);
     }
@@ -18,6 +18,7 @@ package net.dv8tion.jda.core.utils;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.entities.*;
 import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.utils.cache.impl.PermissionCache;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.List;
@@ -371,6 +372,25 @@ public class PermissionUtil
 
         Checks.check(channel.getGuild().equals(member.getGuild()), "Provided channel and provided member are not of the same guild!");
 
+        if (!(channel.getGuild() instanceof GuildImpl))
+            return computeEffectivePermission(channel, member);
+
+        // repeated checks are answered from the cache of the guild until a role, override or the owner changes
+        PermissionCache cache = ((GuildImpl) channel.getGuild()).getPermissionCache();
+        PermissionCache.Generation generation = cache.getGeneration();
+        final long channelId = channel.getIdLong();
+        final long memberId = member.getUser().getIdLong();
+        long permission = cache.get(generation, channelId, memberId);
+        if (permission == PermissionCache.NOT_CACHED)
+        {
+            permission = computeEffectivePermission(channel, member);
+            cache.put(generation, channelId, memberId, permission);
+        }
+        return permission;
+    }
+
+    private static long computeEffectivePermission(Channel channel, Member member)
+    {
         if (member.isOwner())
         {
             // Owner effectively has all permissions
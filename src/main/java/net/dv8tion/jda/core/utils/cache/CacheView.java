@@ -26,6 +26,7 @@ import net.dv8tion.jda.core.utils.cache.impl.UnifiedCacheViewImpl;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
@@ -46,6 +47,8 @@ public interface CacheView<T> extends Iterable<T>
      * <br>This will copy all elements contained in this cache into a list.
      * <br>This will be sorted for a {@link net.dv8tion.jda.core.utils.cache.impl.SortedSnowflakeCacheView SortedSnowflakeCacheView}.
      *
+     * <p>Implementations may return the same snapshot again as long as the cache was not modified in the meantime.
+     *
      * @return Immutable list of cached elements
      */
     List<T> asList();
@@ -54,6 +57,8 @@ public interface CacheView<T> extends Iterable<T>
      * Creates an immutable snapshot of the current cache state.
      * <br>This will copy all elements contained in this cache into a set.
      *
+     * <p>Implementations may return the same snapshot again as long as the cache was not modified in the meantime.
+     *
      * @return Immutable set of cached elements
      */
     Set<T> asSet();
@@ -133,6 +138,25 @@ public interface CacheView<T> extends Iterable<T>
      */
     Stream<T> parallelStream();
 
+    /**
+     * Performs the provided action for each cached element in no particular order.
+     * <br>Unlike {@link #forEach(java.util.function.Consumer) forEach(Consumer)} this neither sorts the elements
+     * of a {@link net.dv8tion.jda.core.utils.cache.impl.SortedSnowflakeCacheView SortedSnowflakeCacheView}
+     * nor creates a snapshot of the cache first. Modifications made to the cache while this is running
+     * may or may not be reflected.
+     *
+     * @param  action
+     *         The action to perform for each element
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided action is {@code null}
+     */
+    default void forEachUnordered(Consumer<? super T> action)
+    {
+        Checks.notNull(action, "Action");
+        forEach(action);
+    }
+
     /**
      * Collects all cached entities into a single Collection using the provided
      * {@link java.util.stream.Collector Collector}.
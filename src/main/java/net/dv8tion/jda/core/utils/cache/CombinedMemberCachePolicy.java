@@ -0,0 +1,51 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache;
+
+import net.dv8tion.jda.core.entities.Member;
+
+//Helper class delegated to MemberCachePolicy
+// Result of MemberCachePolicy#and and MemberCachePolicy#or,
+// removed guilds are reported to both policies so stateful policies can be combined.
+class CombinedMemberCachePolicy implements MemberCachePolicy
+{
+    private final MemberCachePolicy first;
+    private final MemberCachePolicy second;
+    private final boolean and;
+
+    CombinedMemberCachePolicy(MemberCachePolicy first, MemberCachePolicy second, boolean and)
+    {
+        this.first = first;
+        this.second = second;
+        this.and = and;
+    }
+
+    @Override
+    public boolean cacheMember(Member member)
+    {
+        return and
+            ? first.cacheMember(member) && second.cacheMember(member)
+            : first.cacheMember(member) || second.cacheMember(member);
+    }
+
+    @Override
+    public void onGuildRemoved(long guildId)
+    {
+        first.onGuildRemoved(guildId);
+        second.onGuildRemoved(guildId);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Policies that decide how JDA handles a type of gateway event, such as {@code PRESENCE_UPDATE} or {@code TYPING_START}.
+ * <br>The policies are configured per event type with
+ * {@link net.dv8tion.jda.core.JDABuilder#setEventPolicy(String, EventPolicy) JDABuilder.setEventPolicy(String, EventPolicy)}.
+ *
+ * @see net.dv8tion.jda.core.JDA#getDroppedEventCount(EventPolicy)
+ */
+public enum EventPolicy
+{
+    /**
+     * The event is dropped before it is parsed.
+     * <br>It neither updates the cache nor is it dispatched to the event listeners.
+     * This will make the cache inconsistent for any event type that changes cached entities.
+     */
+    IGNORE,
+    /**
+     * The event updates the cache but no events are dispatched to the event listeners for it.
+     */
+    CACHE_ONLY,
+    /**
+     * The event updates the cache and is dispatched to the event listeners.
+     * <br>This is the default for all event types.
+     */
+    CACHE_AND_DISPATCH;
+
+    /**
+     * Event types that are required to connect, set up guilds or audio connections.
+     * <br>These always use {@link #CACHE_AND_DISPATCH}. They can not be {@link #IGNORE ignored},
+     * and they can not be {@link #CACHE_ONLY cache only} because completing the setup while handling them
+     * fires events such as the {@link net.dv8tion.jda.core.events.ReadyEvent ReadyEvent}.
+     */
+    public static final Set<String> REQUIRED_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "READY", "RESUMED", "GUILD_CREATE", "GUILD_DELETE", "GUILD_MEMBERS_CHUNK", "GUILD_SYNC",
+        "VOICE_STATE_UPDATE", "VOICE_SERVER_UPDATE")));
+}
@@ -0,0 +1,74 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+//Helper class delegated to MemberCachePolicy
+// Keeps the user ids of each guild in access order, the eldest member is removed
+// from its guild once the guild exceeds the maximum size.
+// Ids of members that left are only dropped once they become the eldest,
+// the ids of a guild are dropped once the guild is removed.
+class LRUMemberCachePolicy implements MemberCachePolicy
+{
+    private final int maxSize;
+    private final TLongObjectMap<LinkedHashMap<Long, Boolean>> guilds = new TLongObjectHashMap<>();
+
+    LRUMemberCachePolicy(int maxSize)
+    {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public boolean cacheMember(Member member)
+    {
+        final long guildId = member.getGuild().getIdLong();
+        final long userId = member.getUser().getIdLong();
+        long eldest = 0L;
+        synchronized (guilds)
+        {
+            LinkedHashMap<Long, Boolean> members = guilds.get(guildId);
+            if (members == null)
+                guilds.put(guildId, members = new LinkedHashMap<>(16, 0.75f, true));
+            members.put(userId, Boolean.TRUE);
+            if (members.size() > maxSize)
+            {
+                Iterator<Long> it = members.keySet().iterator();
+                eldest = it.next();
+                it.remove();
+            }
+        }
+        if (eldest != 0L)
+            ((GuildImpl) member.getGuild()).unloadMember(eldest);
+        return true;
+    }
+
+    @Override
+    public void onGuildRemoved(long guildId)
+    {
+        synchronized (guilds)
+        {
+            guilds.remove(guildId);
+        }
+    }
+}
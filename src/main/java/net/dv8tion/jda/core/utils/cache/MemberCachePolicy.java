@@ -0,0 +1,138 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache;
+
+import net.dv8tion.jda.core.OnlineStatus;
+import net.dv8tion.jda.core.entities.GuildVoiceState;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.utils.Checks;
+
+/**
+ * Decides which {@link net.dv8tion.jda.core.entities.Member Members} are kept in the member cache of their guild.
+ * <br>The policy is configured with {@link net.dv8tion.jda.core.JDABuilder#setMemberCachePolicy(MemberCachePolicy)
+ * JDABuilder.setMemberCachePolicy(MemberCachePolicy)}.
+ *
+ * <p>JDA consults the policy once a guild has been set up and every time a member joins, is updated, changes its presence
+ * or voice state, or sends a message. Members that are not accepted by the policy are removed from the cache,
+ * their users are removed as well once they are not cached in any other guild.
+ * The member of the currently logged in account and the owner of a guild are always cached.
+ *
+ * <p>Members that have been removed are not cached again by presence or voice state updates, as these do not carry
+ * the complete member. They are cached again when they join, when a guild is set up again after a reconnect,
+ * or when they are retrieved with {@link net.dv8tion.jda.core.entities.Guild#retrieveMemberById(long) Guild.retrieveMemberById(long)}
+ * and accepted by the policy. Events of members that are not cached are dropped, messages of their users
+ * are received with a fake {@link net.dv8tion.jda.core.entities.User User} and no member.
+ *
+ * <p>The policy is called on the thread handling the events of the gateway, it has to be fast and should not block.
+ */
+@FunctionalInterface
+public interface MemberCachePolicy
+{
+    /** Caches all members. This is the default. */
+    MemberCachePolicy ALL = member -> true;
+    /**
+     * Caches members that are not {@link OnlineStatus#OFFLINE OFFLINE}, requires presence updates to be handled.
+     * <br>Members that are not cached are retrieved again once a presence update shows them online.
+     */
+    MemberCachePolicy ONLINE = member -> member.getOnlineStatus() != OnlineStatus.OFFLINE;
+    /** Caches members that are connected to a voice channel, requires {@link CacheFlag#VOICE_STATE CacheFlag.VOICE_STATE} */
+    MemberCachePolicy VOICE = member ->
+    {
+        GuildVoiceState voiceState = member.getVoiceState();
+        return voiceState != null && voiceState.inVoiceChannel();
+    };
+    /** Caches only the owners of the guilds and the member of the currently logged in account */
+    MemberCachePolicy OWNER = Member::isOwner;
+
+    /**
+     * Whether the member should be cached.
+     *
+     * @param  member
+     *         The member
+     *
+     * @return True, if the member should be cached
+     */
+    boolean cacheMember(Member member);
+
+    /**
+     * Called when a guild is removed from the cache, because the account left it, the guild was deleted,
+     * or the session was invalidated. Policies that keep state per guild should release it here.
+     * <br>This does nothing by default.
+     *
+     * @param  guildId
+     *         The id of the removed guild
+     */
+    default void onGuildRemoved(long guildId) {}
+
+    /**
+     * Policy which caches members that are accepted by either this or the other policy.
+     *
+     * @param  policy
+     *         The other policy
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is {@code null}
+     *
+     * @return The combined policy
+     */
+    default MemberCachePolicy or(MemberCachePolicy policy)
+    {
+        Checks.notNull(policy, "MemberCachePolicy");
+        return new CombinedMemberCachePolicy(this, policy, false);
+    }
+
+    /**
+     * Policy which caches members that are accepted by both this and the other policy.
+     *
+     * @param  policy
+     *         The other policy
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is {@code null}
+     *
+     * @return The combined policy
+     */
+    default MemberCachePolicy and(MemberCachePolicy policy)
+    {
+        Checks.notNull(policy, "MemberCachePolicy");
+        return new CombinedMemberCachePolicy(this, policy, true);
+    }
+
+    /**
+     * Policy which caches the most recently active members of each guild.
+     * <br>A member is active when it joins, is updated, changes its presence or voice state, or sends a message.
+     * Once a guild has more than the provided number of active members, the least recently active member is removed.
+     * Updates of members that are not cached are ignored, except for presence updates which are not
+     * {@link OnlineStatus#OFFLINE OFFLINE}, the member is retrieved again in that case.
+     *
+     * <p>Every call of {@link #cacheMember(Member)} counts as activity,
+     * combine this with other policies by passing it as the last operand of {@link #and(MemberCachePolicy)}.
+     *
+     * @param  maxSize
+     *         The maximum number of members per guild
+     *
+     * @throws IllegalArgumentException
+     *         If the provided size is not positive
+     *
+     * @return The LRU policy
+     */
+    static MemberCachePolicy lru(int maxSize)
+    {
+        Checks.positive(maxSize, "Max size");
+        return new LRUMemberCachePolicy(maxSize);
+    }
+}
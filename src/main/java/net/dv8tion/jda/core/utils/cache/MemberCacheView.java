@@ -18,9 +18,11 @@ package net.dv8tion.jda.core.utils.cache;
 
 import net.dv8tion.jda.core.entities.Member;
 import net.dv8tion.jda.core.entities.Role;
+import net.dv8tion.jda.core.utils.Checks;
 import net.dv8tion.jda.core.utils.MiscUtil;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -151,4 +153,39 @@ public interface MemberCacheView extends CacheView<Member>
      * @return Immutable list of members with the given roles
      */
     List<Member> getElementsWithRoles(Collection<Role> roles);
+
+    /**
+     * Counts the members that hold all of the provided roles.
+     * <br>This is more efficient than creating the list of these members first.
+     *
+     * @param  roles
+     *         Roles the members should have
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If provided with {@code null}
+     *
+     * @return The amount of members with the given roles
+     */
+    default int countElementsWithRoles(Role... roles)
+    {
+        Checks.noneNull(roles, "Roles");
+        return countElementsWithRoles(Arrays.asList(roles));
+    }
+
+    /**
+     * Counts the members that hold all of the provided roles.
+     * <br>This is more efficient than creating the list of these members first.
+     *
+     * @param  roles
+     *         Roles the members should have
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If provided with {@code null}
+     *
+     * @return The amount of members with the given roles
+     */
+    default int countElementsWithRoles(Collection<Role> roles)
+    {
+        return getElementsWithRoles(roles).size();
+    }
 }
@@ -18,27 +18,45 @@ package net.dv8tion.jda.core.utils.cache.impl;
 
 import gnu.trove.map.TLongObjectMap;
 import net.dv8tion.jda.core.utils.Checks;
-import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.cache.CacheView;
+import net.dv8tion.jda.core.utils.concurrent.ConcurrentLongObjectMap;
 import org.apache.commons.collections4.iterators.ObjectArrayIterator;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public abstract class AbstractCacheView<T> implements CacheView<T>
 {
-    protected final TLongObjectMap<T> elements = MiscUtil.newLongMap();
+    protected final TLongObjectMap<T> elements;
     protected final T[] emptyArray;
     protected final Function<T, String> nameMapper;
     protected final Class<T> type;
 
-    @SuppressWarnings("unchecked")
+    // only set when the map supports weakly consistent iteration, otherwise every read needs a copy
+    protected final ConcurrentLongObjectMap<T> concurrentElements;
+    private volatile Snapshot<List<T>> cachedList;
+    private volatile Snapshot<Set<T>> cachedSet;
+    private volatile NameIndex<T> nameIndex;
+
     protected AbstractCacheView(Class<T> type, Function<T, String> nameMapper)
     {
+        // writes come almost exclusively from the gateway thread, a single segment is enough
+        this(type, nameMapper, new ConcurrentLongObjectMap<>(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected AbstractCacheView(Class<T> type, Function<T, String> nameMapper, TLongObjectMap<T> elements)
+    {
+        Checks.notNull(elements, "Elements");
+        this.elements = elements;
+        this.concurrentElements = elements instanceof ConcurrentLongObjectMap ? (ConcurrentLongObjectMap<T>) elements : null;
+        if (concurrentElements != null)
+            concurrentElements.setListener(new IndexListener());
         this.nameMapper = nameMapper;
         this.type = type;
         this.emptyArray = (T[]) Array.newInstance(type, 0);
@@ -54,20 +72,135 @@ public abstract class AbstractCacheView<T> implements CacheView<T>
         return elements;
     }
 
+    public boolean isNameIndexEnabled()
+    {
+        return nameIndex != null;
+    }
+
+    /**
+     * Enables or disables the name index of this cache.
+     * <br>With the index {@link #getElementsByName(String, boolean)} only has to look at the elements
+     * with a matching name, at the cost of one index entry per element.
+     * The index is kept up-to-date with all modifications of the cache, renamed elements have to be
+     * reported through {@link #updateName(long, Object, String)}.
+     *
+     * <p>This should be enabled before the cache is populated.
+     *
+     * @param  enabled
+     *         Whether to maintain the name index
+     *
+     * @throws java.lang.IllegalStateException
+     *         If the elements of this cache have no names or are not stored in a
+     *         {@link net.dv8tion.jda.core.utils.concurrent.ConcurrentLongObjectMap ConcurrentLongObjectMap}
+     */
+    public void setNameIndexEnabled(boolean enabled)
+    {
+        if (enabled == isNameIndexEnabled())
+            return;
+        if (!enabled)
+        {
+            nameIndex = null;
+            return;
+        }
+
+        if (nameMapper == null)
+            throw new IllegalStateException("The contained elements are not assigned with names.");
+        if (concurrentElements == null)
+            throw new IllegalStateException("The name index requires a ConcurrentLongObjectMap");
+        NameIndex<T> index = new NameIndex<>(nameMapper);
+        nameIndex = index;
+        elements.forEachValue(element ->
+        {
+            index.add(element);
+            return true;
+        });
+    }
+
+    /**
+     * Updates the name index after an element of this cache was renamed.
+     * <br>This has no effect if the name index is disabled or the element is not part of this cache.
+     *
+     * @param  id
+     *         The key of the element
+     * @param  element
+     *         The renamed element
+     * @param  oldName
+     *         The name of the element before it was renamed
+     */
+    public void updateName(long id, T element, String oldName)
+    {
+        NameIndex<T> index = nameIndex;
+        if (index != null && elements.get(id) == element)
+            index.rename(element, oldName, nameMapper.apply(element));
+    }
+
+    protected void index(T element)
+    {
+        NameIndex<T> index = nameIndex;
+        if (index != null)
+            index.add(element);
+    }
+
+    protected void unindex(T element)
+    {
+        NameIndex<T> index = nameIndex;
+        if (index != null)
+            index.remove(element);
+    }
+
+    // all elements with the provided name ignoring case, or null if the name index is disabled
+    protected List<T> getIndexedByName(String name)
+    {
+        NameIndex<T> index = nameIndex;
+        return index == null ? null : index.get(name);
+    }
+
     @Override
     public List<T> asList()
     {
+        long modCount = concurrentElements == null ? -1 : concurrentElements.getModificationCount();
+        Snapshot<List<T>> snapshot = cachedList;
+        if (snapshot != null && snapshot.modCount == modCount)
+            return snapshot.value;
+
         ArrayList<T> list = new ArrayList<>(elements.size());
         elements.forEachValue(list::add);
-        return Collections.unmodifiableList(list);
+        List<T> value = Collections.unmodifiableList(list);
+        if (modCount >= 0)
+            cachedList = new Snapshot<>(modCount, value);
+        return value;
     }
 
     @Override
     public Set<T> asSet()
     {
+        long modCount = concurrentElements == null ? -1 : concurrentElements.getModificationCount();
+        Snapshot<Set<T>> snapshot = cachedSet;
+        if (snapshot != null && snapshot.modCount == modCount)
+            return snapshot.value;
+
         HashSet<T> set = new HashSet<>(elements.size());
         elements.forEachValue(set::add);
-        return Collections.unmodifiableSet(set);
+        Set<T> value = Collections.unmodifiableSet(set);
+        if (modCount >= 0)
+            cachedSet = new Snapshot<>(modCount, value);
+        return value;
+    }
+
+    @Override
+    public void forEachUnordered(Consumer<? super T> action)
+    {
+        Checks.notNull(action, "Action");
+        if (concurrentElements == null)
+        {
+            forEach(action);
+            return;
+        }
+        concurrentElements.forEachValue(element ->
+        {
+            action.accept(element);
+            return true;
+        });
     }
 
     @Override
@@ -91,8 +224,9 @@ public abstract class AbstractCacheView<T> implements CacheView<T>
         if (nameMapper == null) // no getName method available
             throw new UnsupportedOperationException("The contained elements are not assigned with names.");
 
+        List<T> indexed = getIndexedByName(name);
         List<T> list = new ArrayList<>();
-        for (T elem : this)
+        for (T elem : indexed == null ? this : indexed)
         {
             String elementName = nameMapper.apply(elem);
             if (elementName != null && equals(ignoreCase, elementName, name))
@@ -105,7 +239,9 @@ public abstract class AbstractCacheView<T> implements CacheView<T>
     @Override
     public Spliterator<T> spliterator()
     {
-        return Spliterators.spliterator(elements.values(), Spliterator.IMMUTABLE);
+        if (concurrentElements == null)
+            return Spliterators.spliterator(elements.values(), Spliterator.IMMUTABLE);
+        return Spliterators.spliterator(iterator(), elements.size(), Spliterator.NONNULL | Spliterator.CONCURRENT);
     }
 
     @Override
@@ -125,7 +261,9 @@ public abstract class AbstractCacheView<T> implements CacheView<T>
     @SuppressWarnings("unchecked")
     public Iterator<T> iterator()
     {
-        return new ObjectArrayIterator<>(elements.values(emptyArray));
+        if (concurrentElements == null)
+            return new ObjectArrayIterator<>(elements.values(emptyArray));
+        return Collections.unmodifiableCollection(concurrentElements.valueCollection()).iterator();
     }
 
     @SuppressWarnings("StringEquality")
@@ -133,4 +271,36 @@ public abstract class AbstractCacheView<T> implements CacheView<T>
     {
         return first == second || ignoreCase ? first.equalsIgnoreCase(second) : first.equals(second);
     }
+
+    // keeps the indices of this view in sync with the map
+    private class IndexListener implements ConcurrentLongObjectMap.Listener<T>
+    {
+        @Override
+        public void onPut(long key, T oldValue, T newValue)
+        {
+            if (oldValue != null)
+                unindex(oldValue);
+            if (newValue != null)
+                index(newValue);
+        }
+
+        @Override
+        public void onRemove(long key, T value)
+        {
+            if (value != null)
+                unindex(value);
+        }
+    }
+
+    private static final class Snapshot<C>
+    {
+        private final long modCount;
+        private final C value;
+
+        private Snapshot(long modCount, C value)
+        {
+            this.modCount = modCount;
+            this.value = value;
+        }
+    }
 }
@@ -25,11 +25,133 @@ import java.util.*;
 
 public class MemberCacheViewImpl extends AbstractCacheView<Member> implements MemberCacheView
 {
+    private volatile NameIndex<Member> usernameIndex;
+    // only built once the first role query is made
+    private volatile RoleIndex roleIndex;
+
     public MemberCacheViewImpl()
     {
         super(Member.class, Member::getEffectiveName);
     }
 
+    @Override
+    public void setNameIndexEnabled(boolean enabled)
+    {
+        if (enabled == isNameIndexEnabled())
+            return;
+        super.setNameIndexEnabled(enabled);
+        if (!enabled)
+        {
+            usernameIndex = null;
+            return;
+        }
+        NameIndex<Member> index = new NameIndex<>(member -> member.getUser().getName());
+        usernameIndex = index;
+        forEachUnordered(index::add);
+    }
+
+    /**
+     * Updates the name index after the user of a cached member was renamed.
+     * <br>This has no effect if the name index is disabled or the member is not part of this cache.
+     *
+     * @param  member
+     *         The member of the renamed user
+     * @param  oldUsername
+     *         The name of the user before it was renamed
+     */
+    public void updateUsername(Member member, String oldUsername)
+    {
+        NameIndex<Member> index = usernameIndex;
+        long id = member.getUser().getIdLong();
+        if (index == null || elements.get(id) != member)
+            return;
+        index.rename(member, oldUsername, member.getUser().getName());
+        if (member.getNickname() == null)
+            updateName(id, member, oldUsername);
+    }
+
+    @Override
+    protected void index(Member member)
+    {
+        super.index(member);
+        NameIndex<Member> index = usernameIndex;
+        if (index != null)
+            index.add(member);
+        RoleIndex roles = roleIndex;
+        if (roles != null)
+            roles.addMember(member);
+    }
+
+    @Override
+    protected void unindex(Member member)
+    {
+        super.unindex(member);
+        NameIndex<Member> index = usernameIndex;
+        if (index != null)
+            index.remove(member);
+        RoleIndex roles = roleIndex;
+        if (roles != null)
+            roles.removeMember(member);
+    }
+
+    /**
+     * Updates the role index after roles were added to or removed from the role set of a cached member.
+     * <br>This has no effect if the member is not part of this cache.
+     *
+     * @param  member
+     *         The updated member
+     * @param  added
+     *         The roles that were added
+     * @param  removed
+     *         The roles that were removed
+     */
+    public void updateRoles(Member member, Collection<Role> added, Collection<Role> removed)
+    {
+        RoleIndex index = roleIndex;
+        if (index != null)
+            index.updateRoles(member, added, removed);
+    }
+
+    /**
+     * Removes a deleted role from the role index.
+     *
+     * @param  roleId
+     *         The id of the deleted role
+     */
+    public void removeRole(long roleId)
+    {
+        RoleIndex index = roleIndex;
+        if (index != null)
+            index.removeRole(roleId);
+    }
+
+    private RoleIndex getRoleIndex()
+    {
+        RoleIndex index = roleIndex;
+        if (index != null)
+            return index;
+        synchronized (this)
+        {
+            index = roleIndex;
+            if (index != null)
+                return index;
+            index = new RoleIndex();
+            // publish before populating so no update can be missed,
+            // queries wait for the write lock until the index is complete
+            index.lock();
+            try
+            {
+                roleIndex = index;
+                forEachUnordered(index::addMember);
+            }
+            finally
+            {
+                index.unlock();
+            }
+            return index;
+        }
+    }
+
     @Override
     public Member getElementById(long id)
     {
@@ -40,8 +162,9 @@ public class MemberCacheViewImpl extends AbstractCacheView<Member> implements Me
     public List<Member> getElementsByUsername(String name, boolean ignoreCase)
     {
         Checks.notEmpty(name, "Name");
+        NameIndex<Member> index = usernameIndex;
         List<Member> members = new ArrayList<>();
-        for (Member member : this)
+        for (Member member : index == null ? this : index.get(name))
         {
             final String nick = member.getUser().getName();
             if (equals(ignoreCase, nick, name))
@@ -53,8 +176,10 @@ public class MemberCacheViewImpl extends AbstractCacheView<Member> implements Me
     @Override
     public List<Member> getElementsByNickname(String name, boolean ignoreCase)
     {
+        // members with a nickname are indexed by it as their effective name
+        List<Member> indexed = name == null ? null : getIndexedByName(name);
         List<Member> members = new ArrayList<>();
-        for (Member member : this)
+        for (Member member : indexed == null ? this : indexed)
         {
             final String nick = member.getNickname();
             if (nick == null)
@@ -74,8 +199,9 @@ public class MemberCacheViewImpl extends AbstractCacheView<Member> implements Me
     public List<Member> getElementsByName(String name, boolean ignoreCase)
     {
         Checks.notEmpty(name, "Name");
+        List<Member> indexed = getIndexedByName(name);
         List<Member> members = new ArrayList<>();
-        for (Member member : this)
+        for (Member member : indexed == null ? this : indexed)
         {
             final String nick = member.getEffectiveName();
             if (equals(ignoreCase, nick, name))
@@ -90,26 +216,24 @@ public class MemberCacheViewImpl extends AbstractCacheView<Member> implements Me
         Checks.notNull(roles, "Roles");
         for (Role role : roles)
             Checks.notNull(role, "Roles");
-        List<Member> members = new ArrayList<>();
-        List<Role> match = Arrays.asList(roles);
-        for (Member member : this)
-        {
-            if (member.getRoles().containsAll(match))
-                members.add(member);
-        }
-        return members;
+        return getElementsWithRoles(Arrays.asList(roles));
     }
 
     @Override
     public List<Member> getElementsWithRoles(Collection<Role> roles)
     {
         Checks.noneNull(roles, "Roles");
-        List<Member> members = new ArrayList<>();
-        for (Member member : this)
-        {
-            if (member.getRoles().containsAll(roles))
-                members.add(member);
-        }
-        return members;
+        if (roles.isEmpty())
+            return new ArrayList<>(asList());
+        return getRoleIndex().getMembers(roles);
+    }
+
+    @Override
+    public int countElementsWithRoles(Collection<Role> roles)
+    {
+        Checks.noneNull(roles, "Roles");
+        if (roles.isEmpty())
+            return elements.size();
+        return getRoleIndex().count(roles);
     }
 }
@@ -0,0 +1,144 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+//Helper class delegated to AbstractCacheView
+// Maps the case-folded name of each element to the elements with that name.
+// A bucket is either a single element or an Object[] which is replaced on every change,
+// this keeps the common case of unique names as cheap as possible.
+class NameIndex<T>
+{
+    private final ConcurrentHashMap<String, Object> buckets = new ConcurrentHashMap<>();
+    private final Function<T, String> nameMapper;
+
+    NameIndex(Function<T, String> nameMapper)
+    {
+        this.nameMapper = nameMapper;
+    }
+
+    void add(T element)
+    {
+        add(element, nameMapper.apply(element));
+    }
+
+    void add(T element, String name)
+    {
+        if (name == null)
+            return;
+        buckets.compute(fold(name), (key, bucket) ->
+        {
+            if (bucket == null)
+                return element;
+            if (!(bucket instanceof Object[]))
+                return bucket == element ? bucket : new Object[] { bucket, element };
+            Object[] elements = (Object[]) bucket;
+            for (Object e : elements)
+            {
+                if (e == element)
+                    return bucket;
+            }
+            Object[] grown = new Object[elements.length + 1];
+            System.arraycopy(elements, 0, grown, 0, elements.length);
+            grown[elements.length] = element;
+            return grown;
+        });
+    }
+
+    void remove(T element)
+    {
+        remove(element, nameMapper.apply(element));
+    }
+
+    void remove(T element, String name)
+    {
+        if (name == null)
+            return;
+        buckets.computeIfPresent(fold(name), (key, bucket) ->
+        {
+            if (!(bucket instanceof Object[]))
+                return bucket == element ? null : bucket;
+            Object[] elements = (Object[]) bucket;
+            int index = -1;
+            for (int i = 0; i < elements.length && index < 0; i++)
+            {
+                if (elements[i] == element)
+                    index = i;
+            }
+            if (index < 0)
+                return bucket;
+            if (elements.length == 2)
+                return elements[1 - index];
+            Object[] shrunk = new Object[elements.length - 1];
+            System.arraycopy(elements, 0, shrunk, 0, index);
+            System.arraycopy(elements, index + 1, shrunk, index, shrunk.length - index);
+            return shrunk;
+        });
+    }
+
+    void rename(T element, String oldName, String newName)
+    {
+        remove(element, oldName);
+        add(element, newName);
+    }
+
+    void clear()
+    {
+        buckets.clear();
+    }
+
+    // all elements whose name is equal to the provided name, ignoring case
+    // lists with more than one element are new modifiable lists
+    @SuppressWarnings("unchecked")
+    List<T> get(String name)
+    {
+        Object bucket = buckets.get(fold(name));
+        if (bucket == null)
+            return Collections.emptyList();
+        if (!(bucket instanceof Object[]))
+            return Collections.singletonList((T) bucket);
+        List<T> list = new ArrayList<>(((Object[]) bucket).length);
+        for (Object element : (Object[]) bucket)
+            list.add((T) element);
+        return list;
+    }
+
+    // two names are equal ignoring case if and only if their folded forms are equal, see String#equalsIgnoreCase
+    static String fold(String name)
+    {
+        int length = name.length();
+        int i = 0;
+        while (i < length && fold(name.charAt(i)) == name.charAt(i))
+            i++;
+        if (i == length)
+            return name;
+        char[] folded = name.toCharArray();
+        for (; i < length; i++)
+            folded[i] = fold(folded[i]);
+        return new String(folded);
+    }
+
+    private static char fold(char c)
+    {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
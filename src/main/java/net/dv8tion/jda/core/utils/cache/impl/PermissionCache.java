@@ -0,0 +1,109 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+/**
+ * Caches the effective permissions of members in the channels of a guild.
+ *
+ * <p>Every cached value belongs to a generation. Any change to roles, permission overrides, role assignments
+ * or the owner of the guild must call {@link #invalidate()} <b>after</b> the change has been applied,
+ * which starts a new generation and drops all values of the previous one.
+ * A value computed concurrently to a change is stored in the old generation and thus never returned.
+ */
+public class PermissionCache
+{
+    /** Returned by {@link #get(Generation, long, long)} if no value is cached */
+    public static final long NOT_CACHED = -1;
+
+    private volatile Generation generation = new Generation();
+
+    /**
+     * The current generation, which must be read before the permissions are computed.
+     *
+     * @return The current generation
+     */
+    public Generation getGeneration()
+    {
+        return generation;
+    }
+
+    /**
+     * The cached permissions of the member in the channel.
+     *
+     * @param  generation
+     *         The generation to read from
+     * @param  channelId
+     *         The id of the channel
+     * @param  memberId
+     *         The id of the member
+     *
+     * @return The cached permissions, or {@link #NOT_CACHED}
+     */
+    public long get(Generation generation, long channelId, long memberId)
+    {
+        synchronized (generation)
+        {
+            TLongLongMap members = generation.channels.get(channelId);
+            return members == null ? NOT_CACHED : members.get(memberId);
+        }
+    }
+
+    /**
+     * Caches the permissions of the member in the channel.
+     * <br>This has no effect if the generation has been invalidated since.
+     *
+     * @param  generation
+     *         The generation the permissions were computed in
+     * @param  channelId
+     *         The id of the channel
+     * @param  memberId
+     *         The id of the member
+     * @param  permissions
+     *         The effective permissions
+     */
+    public void put(Generation generation, long channelId, long memberId, long permissions)
+    {
+        synchronized (generation)
+        {
+            TLongLongMap members = generation.channels.get(channelId);
+            if (members == null)
+                generation.channels.put(channelId, members = new TLongLongHashMap(Constants.DEFAULT_CAPACITY, Constants.DEFAULT_LOAD_FACTOR, 0, NOT_CACHED));
+            members.put(memberId, permissions);
+        }
+    }
+
+    /**
+     * Drops all cached permissions.
+     */
+    public void invalidate()
+    {
+        generation = new Generation();
+    }
+
+    public static class Generation
+    {
+        private final TLongObjectMap<TLongLongMap> channels = new TLongObjectHashMap<>();
+
+        private Generation() {}
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//Helper class delegated to MemberCacheViewImpl
+// Assigns every member a dense slot and keeps a BitSet of the member slots for every role,
+// queries for multiple roles are intersections of these sets.
+// All updates are idempotent, which allows the index to be built while the cache is being modified.
+class RoleIndex
+{
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TLongIntMap slots = new TLongIntHashMap(Constants.DEFAULT_CAPACITY, Constants.DEFAULT_LOAD_FACTOR, 0, -1);
+    private final TLongObjectMap<BitSet> roles = new TLongObjectHashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private Member[] members = new Member[16];
+
+    void lock()
+    {
+        lock.writeLock().lock();
+    }
+
+    void unlock()
+    {
+        lock.writeLock().unlock();
+    }
+
+    void addMember(Member member)
+    {
+        lock();
+        try
+        {
+            long id = member.getUser().getIdLong();
+            int slot = slots.get(id);
+            if (slot < 0)
+            {
+                slot = usedSlots.nextClearBit(0);
+                usedSlots.set(slot);
+                slots.put(id, slot);
+                if (slot >= members.length)
+                    members = Arrays.copyOf(members, members.length << 1);
+            }
+            members[slot] = member;
+            for (Role role : member.getRoles())
+                getOrCreate(role.getIdLong()).set(slot);
+        }
+        finally
+        {
+            unlock();
+        }
+    }
+
+    void removeMember(Member member)
+    {
+        lock();
+        try
+        {
+            long id = member.getUser().getIdLong();
+            int slot = slots.get(id);
+            if (slot < 0 || members[slot] != member)
+                return;
+            slots.remove(id);
+            usedSlots.clear(slot);
+            members[slot] = null;
+            // the roles of the member might have changed already, so clear the slot everywhere
+            roles.forEachValue(set ->
+            {
+                set.clear(slot);
+                return true;
+            });
+        }
+        finally
+        {
+            unlock();
+        }
+    }
+
+    void updateRoles(Member member, Collection<Role> added, Collection<Role> removed)
+    {
+        lock();
+        try
+        {
+            int slot = slots.get(member.getUser().getIdLong());
+            if (slot < 0 || members[slot] != member)
+                return;
+            for (Role role : removed)
+            {
+                BitSet set = roles.get(role.getIdLong());
+                if (set != null)
+                    set.clear(slot);
+            }
+            for (Role role : added)
+                getOrCreate(role.getIdLong()).set(slot);
+        }
+        finally
+        {
+            unlock();
+        }
+    }
+
+    void removeRole(long roleId)
+    {
+        lock();
+        try
+        {
+            roles.remove(roleId);
+        }
+        finally
+        {
+            unlock();
+        }
+    }
+
+    List<Member> getMembers(Collection<Role> roles)
+    {
+        lock.readLock().lock();
+        try
+        {
+            BitSet matches = intersect(roles);
+            if (matches == null)
+                return new ArrayList<>(0);
+            List<Member> list = new ArrayList<>(matches.cardinality());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1))
+                list.add(members[slot]);
+            return list;
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    int count(Collection<Role> roles)
+    {
+        lock.readLock().lock();
+        try
+        {
+            BitSet matches = intersect(roles);
+            return matches == null ? 0 : matches.cardinality();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    // returns null if no member has all the roles, the result must not be modified if only one role was provided
+    private BitSet intersect(Collection<Role> roles)
+    {
+        BitSet smallest = null;
+        for (Role role : roles)
+        {
+            BitSet set = this.roles.get(role.getIdLong());
+            if (set == null || set.isEmpty())
+                return null;
+            if (smallest == null || set.cardinality() < smallest.cardinality())
+                smallest = set;
+        }
+        if (smallest == null)
+            return null;
+
+        BitSet result = null;
+        for (Role role : roles)
+        {
+            BitSet set = this.roles.get(role.getIdLong());
+            if (set == smallest)
+                continue;
+            if (result == null)
+                result = (BitSet) smallest.clone();
+            result.and(set);
+        }
+        return result == null ? smallest : result;
+    }
+
+    private BitSet getOrCreate(long roleId)
+    {
+        BitSet set = roles.get(roleId);
+        if (set == null)
+            roles.put(roleId, set = new BitSet());
+        return set;
+    }
+}
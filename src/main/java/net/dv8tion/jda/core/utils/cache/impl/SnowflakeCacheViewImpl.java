@@ -16,6 +16,7 @@
 
 package net.dv8tion.jda.core.utils.cache.impl;
 
+import gnu.trove.map.TLongObjectMap;
 import net.dv8tion.jda.core.entities.ISnowflake;
 import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
 
@@ -28,6 +29,11 @@ public class SnowflakeCacheViewImpl<T extends ISnowflake> extends AbstractCacheV
         super(type, nameMapper);
     }
 
+    public SnowflakeCacheViewImpl(Class<T> type, Function<T, String> nameMapper, TLongObjectMap<T> elements)
+    {
+        super(type, nameMapper, elements);
+    }
+
     @Override
     public T getElementById(long id)
     {
@@ -23,6 +23,7 @@ import javax.annotation.Nonnull;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SortedSnowflakeCacheView<T extends ISnowflake & Comparable<T>> extends SnowflakeCacheViewImpl<T>
 {
@@ -67,13 +68,24 @@ public class SortedSnowflakeCacheView<T extends ISnowflake & Comparable<T>> exte
     @Override
     public Stream<T> stream()
     {
-        return super.stream().sorted(comparator);
+        // the stream is sorted anyway, no need to use the sorted spliterator
+        return StreamSupport.stream(super.spliterator(), false).sorted(comparator);
     }
 
     @Override
     public Stream<T> parallelStream()
     {
-        return super.parallelStream().sorted(comparator);
+        return StreamSupport.stream(super.spliterator(), true).sorted(comparator);
+    }
+
+    @Override
+    protected List<T> getIndexedByName(String name)
+    {
+        // the index has no order, matches are returned in the same order as without the index
+        List<T> indexed = super.getIndexedByName(name);
+        if (indexed != null && indexed.size() > 1)
+            indexed.sort(comparator);
+        return indexed;
     }
 
     @Nonnull
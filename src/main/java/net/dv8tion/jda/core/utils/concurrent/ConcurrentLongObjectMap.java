@@ -0,0 +1,790 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.concurrent;
+
+import gnu.trove.function.TObjectFunction;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.procedure.TLongObjectProcedure;
+import gnu.trove.procedure.TLongProcedure;
+import gnu.trove.procedure.TObjectProcedure;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe {@link gnu.trove.map.TLongObjectMap TLongObjectMap} with lock-free reads.
+ *
+ * <p>The keys are split across a fixed number of segments, each segment is an open-addressing table
+ * with its own lock that is only acquired by writes. Reads never block, even while a write to the same
+ * segment is in progress.
+ *
+ * <p>Iteration and the {@code forEach} methods are weakly consistent: they never throw a
+ * {@link java.util.ConcurrentModificationException ConcurrentModificationException} and may or may not
+ * reflect modifications made after they were started. No lock is held while a procedure is executed.
+ * {@link #keySet()} returns a snapshot rather than a view.
+ *
+ * <p>A {@link Listener Listener} can be registered to observe every modification, which allows to
+ * maintain secondary indices for the stored values.
+ *
+ * @param <V> The value type
+ */
+public class ConcurrentLongObjectMap<V> implements TLongObjectMap<V>
+{
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private static final int MIN_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final Object REMOVED = new Object();
+    private static final Object NULL = new Object();
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private volatile Listener<? super V> listener;
+
+    public ConcurrentLongObjectMap()
+    {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentLongObjectMap(int concurrencyLevel)
+    {
+        if (concurrencyLevel < 1)
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        int bits = 32 - Integer.numberOfLeadingZeros(concurrencyLevel - 1);
+        this.segments = new Segment[1 << bits];
+        this.segmentShift = 32 - bits;
+        for (int i = 0; i < segments.length; i++)
+            segments[i] = new Segment();
+    }
+
+    /**
+     * Sets the {@link Listener Listener} which is notified of every modification to this map.
+     *
+     * @param  listener
+     *         The listener, or {@code null} to remove the current listener
+     */
+    public void setListener(Listener<? super V> listener)
+    {
+        this.listener = listener;
+    }
+
+    @Override
+    public long getNoEntryKey()
+    {
+        return 0;
+    }
+
+    @Override
+    public int size()
+    {
+        int size = 0;
+        for (Segment segment : segments)
+            size += segment.size;
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        for (Segment segment : segments)
+        {
+            if (segment.size != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * The number of modifications made to this map so far.
+     * <br>Two equal values imply that the map was not modified in between, which allows to reuse
+     * anything derived from the contents of this map.
+     *
+     * @return The modification count
+     */
+    public long getModificationCount()
+    {
+        long count = 0;
+        for (Segment segment : segments)
+            count += segment.modCount & 0xFFFFFFFFL;
+        return count;
+    }
+
+    @Override
+    public boolean containsKey(long key)
+    {
+        return find(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        Object masked = mask(value);
+        for (Segment segment : segments)
+        {
+            Table table = segment.table;
+            for (int i = 0; i < table.keys.length; i++)
+            {
+                if (masked.equals(table.values.get(i)))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(long key)
+    {
+        return unmask(find(key));
+    }
+
+    @Override
+    public V put(long key, V value)
+    {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment)
+        {
+            V old = unmask(segment.put(key, hash, mask(value), false));
+            Listener<? super V> listener = this.listener;
+            if (listener != null)
+                listener.onPut(key, old, value);
+            return old;
+        }
+    }
+
+    @Override
+    public V putIfAbsent(long key, V value)
+    {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment)
+        {
+            Object old = segment.put(key, hash, mask(value), true);
+            Listener<? super V> listener = this.listener;
+            if (listener != null && old == null)
+                listener.onPut(key, null, value);
+            return unmask(old);
+        }
+    }
+
+    @Override
+    public V remove(long key)
+    {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment)
+        {
+            Object old = segment.remove(key, hash);
+            Listener<? super V> listener = this.listener;
+            if (listener != null && old != null)
+                listener.onRemove(key, unmask(old));
+            return unmask(old);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends Long, ? extends V> map)
+    {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public void putAll(TLongObjectMap<? extends V> map)
+    {
+        map.forEachEntry((key, value) ->
+        {
+            put(key, value);
+            return true;
+        });
+    }
+
+    @Override
+    public void clear()
+    {
+        for (Segment segment : segments)
+        {
+            synchronized (segment)
+            {
+                Listener<? super V> listener = this.listener;
+                if (listener != null)
+                    notifyRemoved(segment.table, listener);
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public TLongSet keySet()
+    {
+        return new TLongHashSet(keys());
+    }
+
+    @Override
+    public long[] keys()
+    {
+        return keys(new long[size()]);
+    }
+
+    @Override
+    public long[] keys(long[] array)
+    {
+        int index = 0;
+        for (TLongObjectIterator<V> it = iterator(); it.hasNext();)
+        {
+            it.advance();
+            if (index == array.length)
+                array = Arrays.copyOf(array, Math.max(8, index << 1));
+            array[index++] = it.key();
+        }
+        return index == array.length ? array : Arrays.copyOf(array, index);
+    }
+
+    @Override
+    public Collection<V> valueCollection()
+    {
+        return new ValueCollection();
+    }
+
+    @Override
+    public Object[] values()
+    {
+        return valueCollection().toArray();
+    }
+
+    @Override
+    public V[] values(V[] array)
+    {
+        return valueCollection().toArray(array);
+    }
+
+    @Override
+    public TLongObjectIterator<V> iterator()
+    {
+        return new EntryIterator();
+    }
+
+    @Override
+    public boolean forEachKey(TLongProcedure procedure)
+    {
+        for (Segment segment : segments)
+        {
+            Table table = segment.table;
+            for (int i = 0; i < table.keys.length; i++)
+            {
+                if (isLive(table.values.get(i)) && !procedure.execute(table.keys[i]))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean forEachValue(TObjectProcedure<? super V> procedure)
+    {
+        for (Segment segment : segments)
+        {
+            Table table = segment.table;
+            for (int i = 0; i < table.keys.length; i++)
+            {
+                Object value = table.values.get(i);
+                if (isLive(value) && !procedure.execute(unmask(value)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean forEachEntry(TLongObjectProcedure<? super V> procedure)
+    {
+        for (Segment segment : segments)
+        {
+            Table table = segment.table;
+            for (int i = 0; i < table.keys.length; i++)
+            {
+                Object value = table.values.get(i);
+                if (isLive(value) && !procedure.execute(table.keys[i], unmask(value)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void transformValues(TObjectFunction<V, V> function)
+    {
+        for (Segment segment : segments)
+        {
+            synchronized (segment)
+            {
+                Table table = segment.table;
+                for (int i = 0; i < table.keys.length; i++)
+                {
+                    Object value = table.values.get(i);
+                    if (!isLive(value))
+                        continue;
+                    V old = unmask(value);
+                    V updated = function.execute(old);
+                    table.values.set(i, mask(updated));
+                    Listener<? super V> listener = this.listener;
+                    if (listener != null)
+                        listener.onPut(table.keys[i], old, updated);
+                }
+                segment.modCount++;
+            }
+        }
+    }
+
+    @Override
+    public boolean retainEntries(TLongObjectProcedure<? super V> procedure)
+    {
+        boolean modified = false;
+        for (Segment segment : segments)
+        {
+            synchronized (segment)
+            {
+                Table table = segment.table;
+                for (int i = 0; i < table.keys.length; i++)
+                {
+                    Object value = table.values.get(i);
+                    if (isLive(value) && !procedure.execute(table.keys[i], unmask(value)))
+                    {
+                        table.values.set(i, REMOVED);
+                        segment.size--;
+                        segment.modCount++;
+                        modified = true;
+                        Listener<? super V> listener = this.listener;
+                        if (listener != null)
+                            listener.onRemove(table.keys[i], unmask(value));
+                    }
+                }
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof TLongObjectMap))
+            return false;
+        TLongObjectMap<?> other = (TLongObjectMap<?>) obj;
+        if (other.size() != size())
+            return false;
+        return forEachEntry((key, value) ->
+        {
+            Object otherValue = other.get(key);
+            return value == null ? otherValue == null && other.containsKey(key) : value.equals(otherValue);
+        });
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int[] hashCode = new int[1];
+        forEachEntry((key, value) ->
+        {
+            hashCode[0] += Long.hashCode(key) ^ Objects.hashCode(value);
+            return true;
+        });
+        return hashCode[0];
+    }
+
+    @Override
+    public String toString()
+    {
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        forEachEntry((key, value) ->
+        {
+            joiner.add(key + "=" + value);
+            return true;
+        });
+        return joiner.toString();
+    }
+
+    private Object find(long key)
+    {
+        int hash = hash(key);
+        Table table = segmentFor(hash).table;
+        int mask = table.mask;
+        for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++)
+        {
+            // the value is written after the key, a visible value implies a visible key
+            Object value = table.values.get(i);
+            if (value == null)
+                return null;
+            if (table.keys[i] == key)
+                return value == REMOVED ? null : value;
+        }
+        return null;
+    }
+
+    private void notifyRemoved(Table table, Listener<? super V> listener)
+    {
+        for (int i = 0; i < table.keys.length; i++)
+        {
+            Object value = table.values.get(i);
+            if (isLive(value))
+                listener.onRemove(table.keys[i], unmask(value));
+        }
+    }
+
+    private Segment segmentFor(int hash)
+    {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private static int hash(long key)
+    {
+        // finalizer of MurmurHash3, snowflakes share most of their low bits within the same millisecond
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static boolean isLive(Object value)
+    {
+        return value != null && value != REMOVED;
+    }
+
+    private static Object mask(Object value)
+    {
+        return value == null ? NULL : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unmask(Object value)
+    {
+        return value == null || value == NULL ? null : (V) value;
+    }
+
+    /**
+     * Observer of the modifications of a {@link ConcurrentLongObjectMap}.
+     * <br>Notifications are sent while the modified segment is locked, so notifications for the same key
+     * are never sent concurrently and always arrive in the order the modifications were made.
+     * Implementations must not block and must not modify the map.
+     *
+     * @param <V> The value type
+     */
+    public interface Listener<V>
+    {
+        /**
+         * Called after a value was added or replaced.
+         *
+         * @param  key
+         *         The key
+         * @param  oldValue
+         *         The replaced value, or {@code null} if there was no mapping
+         * @param  newValue
+         *         The new value
+         */
+        void onPut(long key, V oldValue, V newValue);
+
+        /**
+         * Called after a mapping was removed.
+         *
+         * @param  key
+         *         The key
+         * @param  value
+         *         The removed value
+         */
+        void onRemove(long key, V value);
+    }
+
+    private static final class Table
+    {
+        // a slot is never reassigned to a different key, removed entries leave a tombstone until the next rehash
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+
+        private Table(int capacity)
+        {
+            this.keys = new long[capacity];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+    }
+
+    // all methods except the volatile reads of table and size are guarded by the segment monitor
+    private static final class Segment
+    {
+        private volatile Table table = new Table(MIN_CAPACITY);
+        private volatile int size;
+        private volatile int modCount;
+        private int used; // live entries + tombstones
+
+        private Object put(long key, int hash, Object value, boolean onlyIfAbsent)
+        {
+            Table table = this.table;
+            int mask = table.mask;
+            int i = hash & mask;
+            while (true)
+            {
+                Object current = table.values.get(i);
+                if (current == null)
+                    break;
+                if (table.keys[i] == key)
+                {
+                    if (current == REMOVED)
+                    {
+                        // same key, readers cannot observe a different mapping for this slot
+                        table.values.set(i, value);
+                        size++;
+                        modCount++;
+                        return null;
+                    }
+                    if (!onlyIfAbsent)
+                    {
+                        table.values.set(i, value);
+                        modCount++;
+                    }
+                    return current;
+                }
+                i = (i + 1) & mask;
+            }
+
+            if (used + 1 > table.keys.length * LOAD_FACTOR)
+            {
+                table = rehash(size + 1);
+                mask = table.mask;
+                i = hash & mask;
+                while (table.values.get(i) != null)
+                    i = (i + 1) & mask;
+            }
+            table.keys[i] = key;
+            table.values.set(i, value);
+            used++;
+            size++;
+            modCount++;
+            return null;
+        }
+
+        private Object remove(long key, int hash)
+        {
+            Table table = this.table;
+            int mask = table.mask;
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++)
+            {
+                Object current = table.values.get(i);
+                if (current == null)
+                    return null;
+                if (table.keys[i] == key)
+                {
+                    if (current == REMOVED)
+                        return null;
+                    table.values.set(i, REMOVED);
+                    size--;
+                    modCount++;
+                    return current;
+                }
+            }
+            return null;
+        }
+
+        private void clear()
+        {
+            table = new Table(MIN_CAPACITY);
+            size = 0;
+            used = 0;
+            modCount++;
+        }
+
+        // copies all live entries into a new table which is only published once it is complete
+        private Table rehash(int expected)
+        {
+            int capacity = MIN_CAPACITY;
+            while (capacity * LOAD_FACTOR < expected * 2)
+                capacity <<= 1;
+
+            Table old = this.table;
+            Table table = new Table(capacity);
+            int mask = table.mask;
+            int live = 0;
+            for (int j = 0; j < old.keys.length; j++)
+            {
+                Object value = old.values.get(j);
+                if (!isLive(value))
+                    continue;
+                long key = old.keys[j];
+                int i = hash(key) & mask;
+                while (table.values.get(i) != null)
+                    i = (i + 1) & mask;
+                table.keys[i] = key;
+                table.values.lazySet(i, value);
+                live++;
+            }
+            this.used = live;
+            this.table = table;
+            return table;
+        }
+    }
+
+    private class Cursor
+    {
+        private int segment = -1;
+        private Table table;
+        private int slot;
+
+        private boolean hasNext;
+        private long nextKey;
+        private Object nextValue;
+
+        protected long key;
+        protected Object value;
+        protected boolean hasCurrent;
+
+        private Cursor()
+        {
+            findNext();
+        }
+
+        private void findNext()
+        {
+            while (true)
+            {
+                if (table != null)
+                {
+                    while (slot < table.keys.length)
+                    {
+                        int i = slot++;
+                        Object value = table.values.get(i);
+                        if (isLive(value))
+                        {
+                            nextKey = table.keys[i];
+                            nextValue = value;
+                            hasNext = true;
+                            return;
+                        }
+                    }
+                }
+                if (++segment >= segments.length)
+                {
+                    hasNext = false;
+                    table = null;
+                    return;
+                }
+                table = segments[segment].table;
+                slot = 0;
+            }
+        }
+
+        public boolean hasNext()
+        {
+            return hasNext;
+        }
+
+        protected void step()
+        {
+            if (!hasNext)
+                throw new NoSuchElementException();
+            key = nextKey;
+            value = nextValue;
+            hasCurrent = true;
+            findNext();
+        }
+
+        public void remove()
+        {
+            if (!hasCurrent)
+                throw new IllegalStateException();
+            hasCurrent = false;
+            ConcurrentLongObjectMap.this.remove(key);
+        }
+    }
+
+    private class EntryIterator extends Cursor implements TLongObjectIterator<V>
+    {
+        @Override
+        public void advance()
+        {
+            step();
+        }
+
+        @Override
+        public long key()
+        {
+            return key;
+        }
+
+        @Override
+        public V value()
+        {
+            return unmask(value);
+        }
+
+        @Override
+        public V setValue(V val)
+        {
+            V old = unmask(value);
+            value = mask(val);
+            put(key, val);
+            return old;
+        }
+    }
+
+    private class ValueIterator extends Cursor implements Iterator<V>
+    {
+        @Override
+        public V next()
+        {
+            step();
+            return unmask(value);
+        }
+    }
+
+    private class ValueCollection extends AbstractCollection<V>
+    {
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return ConcurrentLongObjectMap.this.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return ConcurrentLongObjectMap.this.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            return containsValue(o);
+        }
+
+        @Override
+        public void clear()
+        {
+            ConcurrentLongObjectMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import org.junit.Test;
+
+import static net.dv8tion.jda.core.audio.JitterBuffer.*;
+import static org.junit.Assert.assertEquals;
+
+public class JitterBufferTest
+{
+    private static final int MAX_DEPTH = 10;
+
+    private final JitterBuffer buffer = new JitterBuffer();
+
+    @Test
+    public void packetsArePlayedInSequenceOrder()
+    {
+        offer(102);
+        offer(100);
+        offer(101);
+
+        assertPlayed(100);
+        assertPlayed(101);
+        assertPlayed(102);
+        assertEquals(EMPTY, buffer.poll());
+        assertEquals(0, buffer.getStatistics().getLatePackets());
+    }
+
+    @Test
+    public void reorderedStartOfTalkSpurtIsNotLate()
+    {
+        offer(101);
+        offer(100);
+
+        waitForPlayout();
+        assertPlayed(100);
+        assertPlayed(101);
+        assertEquals(0, buffer.getStatistics().getLatePackets());
+    }
+
+    @Test
+    public void missingPacketIsLost()
+    {
+        offer(100);
+        offer(102);
+        offer(103);
+
+        assertPlayed(100);
+        assertEquals(LOST_NEXT_AVAILABLE, buffer.poll());
+        assertPlayed(102);
+        assertEquals(1, buffer.getStatistics().getLostPackets());
+    }
+
+    @Test
+    public void packetAfterBufferRanEmptyIsLate()
+    {
+        offer(100);
+        offer(101);
+        offer(103);
+        assertPlayed(100);
+        assertPlayed(101);
+        assertEquals(LOST_NEXT_AVAILABLE, buffer.poll());
+        assertPlayed(103);
+        assertEquals(EMPTY, buffer.poll());
+
+        // the buffer is empty, these must not start a new talk spurt behind the played audio
+        offer(102);
+        offer(101);
+        assertEquals(2, buffer.getStatistics().getLatePackets());
+        assertEquals(0, buffer.getStatistics().getBufferedPackets());
+
+        offer(104);
+        waitForPlayout();
+        assertPlayed(104);
+    }
+
+    @Test
+    public void oldPacketsAreSkippedBeyondMaxDepth()
+    {
+        for (int seq = 100; seq < 100 + MAX_DEPTH + 2; seq++)
+            offer(seq);
+
+        assertEquals(MAX_DEPTH, buffer.getStatistics().getBufferedPackets());
+        assertEquals(2, buffer.getStatistics().getLatePackets());
+        assertPlayed(102);
+    }
+
+    @Test
+    public void sequenceWrapsAround()
+    {
+        offer(0);
+        offer(0xFFFF);
+
+        waitForPlayout();
+        assertPlayed(0xFFFF);
+        assertPlayed(0);
+        assertEquals(0, buffer.getStatistics().getLatePackets());
+    }
+
+    private void offer(int seq)
+    {
+        byte[] audio = {(byte) seq, (byte) (seq >> 8)};
+        buffer.offer((char) seq, audio, audio.length, MAX_DEPTH);
+    }
+
+    private void waitForPlayout()
+    {
+        // short talk spurts are played once the delay has passed
+        for (int i = 1; i < DELAY; i++)
+            assertEquals(EMPTY, buffer.poll());
+    }
+
+    private void assertPlayed(int seq)
+    {
+        assertEquals(PACKET, buffer.poll());
+        assertEquals(2, buffer.getOutputLength());
+        assertEquals((byte) seq, buffer.getOutput()[0]);
+        assertEquals((byte) (seq >> 8), buffer.getOutput()[1]);
+    }
+}
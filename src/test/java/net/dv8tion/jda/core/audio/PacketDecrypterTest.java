@@ -0,0 +1,114 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import com.iwebpp.crypto.TweetNaclFast;
+import org.junit.Test;
+
+import java.net.DatagramPacket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class PacketDecrypterTest
+{
+    // the descending lengths check that the reused buffers do not leak bytes of previous packets
+    private static final int[] LENGTHS = {1, 3, 15, 16, 17, 100, 1000, 3000, 100, 17, 1};
+    private static final int TIMESTAMP = 0x12345678;
+    private static final int SSRC = 0x7f00abcd;
+
+    private final byte[] secretKey = new byte[TweetNaclFast.SecretBox.keyLength];
+
+    public PacketDecrypterTest()
+    {
+        for (int i = 0; i < secretKey.length; i++)
+            secretKey[i] = (byte) (i * 5 + 1);
+    }
+
+    @Test
+    public void decryptsEveryMode()
+    {
+        for (AudioEncryption encryption : AudioEncryption.values())
+        {
+            PacketEncrypter encrypter = new PacketEncrypter();
+            PacketDecrypter decrypter = new PacketDecrypter();
+            char seq = 100;
+            for (int length : LENGTHS)
+            {
+                byte[] audio = payload(length);
+                byte[] packet = toArray(encrypter.encrypt(encryption, secretKey, seq, TIMESTAMP, SSRC, audio, length));
+
+                assertTrue(encryption + " with " + length + " bytes", decrypter.decrypt(encryption, secretKey, packet, packet.length));
+                assertEquals(seq, decrypter.getSequence());
+                assertEquals(TIMESTAMP, decrypter.getTimestamp());
+                assertEquals(SSRC, decrypter.getSSRC());
+                assertEquals(length, decrypter.getAudioLength());
+                assertArrayEquals(encryption + " with " + length + " bytes", audio, Arrays.copyOf(decrypter.getAudio(), length));
+
+                // same result as the allocating decryption
+                AudioPacket expected = AudioPacket.decryptAudioPacket(encryption, new DatagramPacket(packet, packet.length), secretKey);
+                assertArrayEquals(expected.getEncodedAudio(), Arrays.copyOf(decrypter.getAudio(), decrypter.getAudioLength()));
+                seq++;
+            }
+        }
+    }
+
+    @Test
+    public void rejectsModifiedAndTruncatedPackets()
+    {
+        PacketDecrypter decrypter = new PacketDecrypter();
+        byte[] audio = payload(50);
+        byte[] packet = toArray(new PacketEncrypter().encrypt(AudioEncryption.XSALSA20_POLY1305_LITE, secretKey, (char) 1, TIMESTAMP, SSRC, audio, audio.length));
+
+        byte[] modified = packet.clone();
+        modified[AudioPacket.RTP_HEADER_BYTE_LENGTH + 20] ^= 1;
+        assertFalse(decrypter.decrypt(AudioEncryption.XSALSA20_POLY1305_LITE, secretKey, modified, modified.length));
+        assertFalse(decrypter.decrypt(AudioEncryption.XSALSA20_POLY1305_LITE, secretKey, packet, AudioPacket.RTP_HEADER_BYTE_LENGTH + 4));
+        assertFalse(decrypter.decrypt(AudioEncryption.XSALSA20_POLY1305_LITE, secretKey, packet, 8));
+        assertTrue(decrypter.decrypt(AudioEncryption.XSALSA20_POLY1305_LITE, secretKey, packet, packet.length));
+    }
+
+    @Test
+    public void detectsSilenceFrames()
+    {
+        PacketDecrypter decrypter = new PacketDecrypter();
+        PacketEncrypter encrypter = new PacketEncrypter();
+        byte[] silence = {(byte) 0xF8, (byte) 0xFF, (byte) 0xFE};
+        byte[] packet = toArray(encrypter.encrypt(AudioEncryption.XSALSA20_POLY1305, secretKey, (char) 1, TIMESTAMP, SSRC, silence, silence.length));
+        assertTrue(decrypter.decrypt(AudioEncryption.XSALSA20_POLY1305, secretKey, packet, packet.length));
+        assertTrue(decrypter.isSilence());
+
+        byte[] audio = payload(3);
+        packet = toArray(encrypter.encrypt(AudioEncryption.XSALSA20_POLY1305, secretKey, (char) 2, TIMESTAMP, SSRC, audio, audio.length));
+        assertTrue(decrypter.decrypt(AudioEncryption.XSALSA20_POLY1305, secretKey, packet, packet.length));
+        assertFalse(decrypter.isSilence());
+    }
+
+    private static byte[] toArray(ByteBuffer buffer)
+    {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static byte[] payload(int length)
+    {
+        byte[] audio = new byte[length];
+        for (int i = 0; i < length; i++)
+            audio[i] = (byte) (i * 13 + length);
+        return audio;
+    }
+}
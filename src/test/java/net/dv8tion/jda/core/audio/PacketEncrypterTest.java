@@ -0,0 +1,129 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import com.iwebpp.crypto.TweetNaclFast;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static net.dv8tion.jda.core.audio.AudioPacket.RTP_HEADER_BYTE_LENGTH;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PacketEncrypterTest
+{
+    // includes empty payloads and lengths which are not multiples of the 16 byte poly1305 blocks,
+    // the descending lengths check that the reused buffers do not leak bytes of previous packets
+    private static final int[] LENGTHS = {0, 1, 15, 16, 17, 63, 64, 65, 100, 1000, 17, 1, 0};
+    private static final char SEQ = 4242;
+    private static final int TIMESTAMP = 0x12345678;
+    private static final int SSRC = 0x7f00abcd;
+
+    private final byte[] secretKey = new byte[TweetNaclFast.SecretBox.keyLength];
+
+    public PacketEncrypterTest()
+    {
+        for (int i = 0; i < secretKey.length; i++)
+            secretKey[i] = (byte) (i * 7 + 3);
+    }
+
+    @Test
+    public void normalModeMatchesSecretBox()
+    {
+        testMode(AudioEncryption.XSALSA20_POLY1305, false);
+        testMode(AudioEncryption.XSALSA20_POLY1305, true);
+    }
+
+    @Test
+    public void suffixModeMatchesSecretBox()
+    {
+        testMode(AudioEncryption.XSALSA20_POLY1305_SUFFIX, false);
+        testMode(AudioEncryption.XSALSA20_POLY1305_SUFFIX, true);
+    }
+
+    @Test
+    public void liteModeMatchesSecretBox()
+    {
+        testMode(AudioEncryption.XSALSA20_POLY1305_LITE, false);
+        testMode(AudioEncryption.XSALSA20_POLY1305_LITE, true);
+    }
+
+    @Test
+    public void liteModeIncrementsNonce()
+    {
+        PacketEncrypter encrypter = new PacketEncrypter();
+        byte[] audio = payload(10);
+        for (int i = 1; i <= 3; i++)
+        {
+            ByteBuffer packet = encrypter.encrypt(AudioEncryption.XSALSA20_POLY1305_LITE, secretKey, SEQ, TIMESTAMP, SSRC, audio, audio.length);
+            assertEquals(i, packet.getInt(packet.position() - 4));
+        }
+    }
+
+    private void testMode(AudioEncryption encryption, boolean useBuffer)
+    {
+        PacketEncrypter encrypter = new PacketEncrypter();
+        TweetNaclFast.SecretBox secretBox = new TweetNaclFast.SecretBox(secretKey);
+        int nonceLength = getNonceLength(encryption);
+        for (int length : LENGTHS)
+        {
+            byte[] audio = payload(length);
+            ByteBuffer buffer = useBuffer
+                ? encrypter.encrypt(encryption, secretKey, SEQ, TIMESTAMP, SSRC, ByteBuffer.wrap(audio))
+                : encrypter.encrypt(encryption, secretKey, SEQ, TIMESTAMP, SSRC, audio, length);
+            byte[] packet = Arrays.copyOf(buffer.array(), buffer.position());
+            assertEquals(RTP_HEADER_BYTE_LENGTH + TweetNaclFast.SecretBox.overheadLength + length + nonceLength, packet.length);
+
+            byte[] header = Arrays.copyOf(packet, RTP_HEADER_BYTE_LENGTH);
+            byte[] expectedHeader = new AudioPacket(SEQ, TIMESTAMP, SSRC, new byte[0]).getHeader();
+            assertArrayEquals(expectedHeader, header);
+
+            byte[] nonce = new byte[TweetNaclFast.SecretBox.nonceLength];
+            if (encryption == AudioEncryption.XSALSA20_POLY1305)
+                System.arraycopy(header, 0, nonce, 0, RTP_HEADER_BYTE_LENGTH);
+            else
+                System.arraycopy(packet, packet.length - nonceLength, nonce, 0, nonceLength);
+
+            byte[] expected = secretBox.box(audio, nonce);
+            byte[] actual = Arrays.copyOfRange(packet, RTP_HEADER_BYTE_LENGTH, packet.length - nonceLength);
+            assertArrayEquals(encryption + " with " + length + " bytes", expected, actual);
+        }
+    }
+
+    private static int getNonceLength(AudioEncryption encryption)
+    {
+        switch (encryption)
+        {
+            case XSALSA20_POLY1305_LITE:
+                return 4;
+            case XSALSA20_POLY1305_SUFFIX:
+                return TweetNaclFast.SecretBox.nonceLength;
+            default:
+                return 0;
+        }
+    }
+
+    private static byte[] payload(int length)
+    {
+        byte[] audio = new byte[length];
+        for (int i = 0; i < length; i++)
+            audio[i] = (byte) (i * 31 + length);
+        return audio;
+    }
+}
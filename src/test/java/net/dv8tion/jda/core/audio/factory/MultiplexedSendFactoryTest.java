@@ -0,0 +1,207 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio.factory;
+
+import net.dv8tion.jda.core.audio.hooks.ConnectionStatus;
+import net.dv8tion.jda.core.entities.VoiceChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MultiplexedSendFactoryTest
+{
+    private final List<MultiplexedSendSystem> systems = new ArrayList<>();
+    private DatagramSocket socket;
+    private DatagramSocket receiver;
+
+    @Before
+    public void setup() throws Exception
+    {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        socket = new DatagramSocket(0, localhost);
+        receiver = new DatagramSocket(0, localhost);
+        receiver.setSoTimeout(5000);
+    }
+
+    @After
+    public void teardown()
+    {
+        for (MultiplexedSendSystem system : systems)
+            system.shutdown();
+        socket.close();
+        receiver.close();
+    }
+
+    @Test
+    public void threadCountMustBePositive()
+    {
+        assertEquals(3, new MultiplexedSendFactory(3).getThreadCount());
+        try
+        {
+            new MultiplexedSendFactory(0);
+            fail("Created a factory without threads");
+        }
+        catch (IllegalArgumentException expected) {}
+    }
+
+    @Test
+    public void connectionsAreSpreadOverThreads()
+    {
+        MultiplexedSendFactory factory = new MultiplexedSendFactory(2);
+        for (int i = 0; i < 5; i++)
+            start(factory, new Provider("conn-" + i, null));
+
+        MultiplexedSendThread first = factory.assignThread();
+        assertEquals(2, first.getSystemCount());
+        assertEquals(5, factory.getSendSystems().size());
+
+        // the thread which lost a connection receives the next one
+        systems.get(0).shutdown();
+        systems.get(2).shutdown();
+        assertEquals(3, factory.getSendSystems().size());
+        MultiplexedSendThread next = factory.assignThread();
+        assertEquals(1, next.getSystemCount());
+        assertNotSame(first, next);
+    }
+
+    @Test
+    public void systemsAreListedUntilShutdown()
+    {
+        MultiplexedSendFactory factory = new MultiplexedSendFactory(1);
+        MultiplexedSendSystem system = (MultiplexedSendSystem) factory.createSendSystem(new Provider("conn", null));
+        assertTrue(factory.getSendSystems().isEmpty());
+
+        systems.add(system);
+        system.start();
+        system.start();
+        assertEquals(1, factory.getSendSystems().size());
+        assertSame(system, factory.getSendSystems().get(0));
+        assertEquals("conn", system.getIdentifier());
+
+        system.shutdown();
+        assertTrue(factory.getSendSystems().isEmpty());
+    }
+
+    @Test
+    public void packetsAreSentThroughSharedThread() throws Exception
+    {
+        MultiplexedSendFactory factory = new MultiplexedSendFactory(1);
+        Provider provider = new Provider("conn", (InetSocketAddress) receiver.getLocalSocketAddress());
+        MultiplexedSendSystem system = start(factory, provider);
+
+        DatagramPacket packet = new DatagramPacket(new byte[16], 16);
+        for (int i = 0; i < 3; i++)
+        {
+            receiver.receive(packet);
+            assertEquals(4, packet.getLength());
+            assertEquals(0x4A444121, ByteBuffer.wrap(packet.getData(), 0, 4).getInt());
+        }
+        assertTrue(system.getSentPacketCount() >= 2);
+        assertTrue(system.getMaxLateness() >= system.getAverageLateness());
+    }
+
+    @Test
+    public void closedSocketShutsDownSystem() throws Exception
+    {
+        MultiplexedSendFactory factory = new MultiplexedSendFactory(1);
+        start(factory, new Provider("conn", (InetSocketAddress) receiver.getLocalSocketAddress()));
+        socket.close();
+
+        long end = System.currentTimeMillis() + 5000;
+        while (!factory.getSendSystems().isEmpty() && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertTrue(factory.getSendSystems().isEmpty());
+    }
+
+    private MultiplexedSendSystem start(MultiplexedSendFactory factory, IPacketProvider provider)
+    {
+        MultiplexedSendSystem system = (MultiplexedSendSystem) factory.createSendSystem(provider);
+        systems.add(system);
+        system.start();
+        return system;
+    }
+
+    private class Provider implements IPacketProvider
+    {
+        private final String identifier;
+        private final InetSocketAddress address;
+        private final ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        private Provider(String identifier, InetSocketAddress address)
+        {
+            this.identifier = identifier;
+            this.address = address;
+        }
+
+        @Override
+        public String getIdentifier()
+        {
+            return identifier;
+        }
+
+        @Override
+        public VoiceChannel getConnectedChannel()
+        {
+            return null;
+        }
+
+        @Override
+        public DatagramSocket getUdpSocket()
+        {
+            return socket;
+        }
+
+        @Override
+        public InetSocketAddress getSocketAddress()
+        {
+            return address;
+        }
+
+        @Override
+        public ByteBuffer getNextPacketRaw(boolean changeTalking)
+        {
+            // like the AudioConnection the packet ends at the position of the buffer
+            if (address == null)
+                return null;
+            buffer.clear();
+            buffer.putInt(0x4A444121);
+            return buffer;
+        }
+
+        @Override
+        public DatagramPacket getNextPacket(boolean changeTalking)
+        {
+            return null;
+        }
+
+        @Override
+        public void onConnectionError(ConnectionStatus status) {}
+
+        @Override
+        public void onConnectionLost() {}
+    }
+}
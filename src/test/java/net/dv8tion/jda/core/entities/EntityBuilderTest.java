@@ -0,0 +1,237 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.entities;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.entities.impl.MemberImpl;
+import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class EntityBuilderTest
+{
+    private static final long GUILD_ID = 81384788765712384L;
+
+    private JDAImpl api;
+    private GuildImpl guild;
+
+    @Before
+    public void setup()
+    {
+        api = new JDAImpl(AccountType.BOT, "token", null, null, null, null, null, null,
+            false, false, false, true, false, false,
+            false, false, false,
+            1, 900, null, EnumSet.allOf(CacheFlag.class));
+        api.setNameIndexEnabled(true);
+        guild = new GuildImpl(api, GUILD_ID);
+        api.getGuildMap().put(GUILD_ID, guild);
+    }
+
+    @After
+    public void teardown()
+    {
+        api.getRateLimitPool().shutdownNow();
+        api.getGatewayPool().shutdownNow();
+    }
+
+    @Test
+    public void createdTextChannelIsIndexedByName()
+    {
+        JSONObject json = channel(1L, "general")
+            .put("topic", "Welcome")
+            .put("nsfw", false);
+        TextChannel channel = api.getEntityBuilder().createTextChannel(json, GUILD_ID);
+
+        assertEquals(Collections.singletonList(channel), guild.getTextChannelsByName("general", false));
+        assertEquals(Collections.singletonList(channel), guild.getTextChannelsByName("GENERAL", true));
+        assertEquals(Collections.singletonList(channel), api.getTextChannelsByName("general", false));
+    }
+
+    @Test
+    public void createdVoiceChannelIsIndexedByName()
+    {
+        JSONObject json = channel(2L, "Lounge")
+            .put("user_limit", 0)
+            .put("bitrate", 64000);
+        VoiceChannel channel = api.getEntityBuilder().createVoiceChannel(json, GUILD_ID);
+
+        assertEquals(Collections.singletonList(channel), guild.getVoiceChannelsByName("Lounge", false));
+        assertEquals(Collections.singletonList(channel), api.getVoiceChannelByName("lounge", true));
+    }
+
+    @Test
+    public void createdCategoryIsIndexedByName()
+    {
+        Category category = api.getEntityBuilder().createCategory(channel(3L, "Text Channels"), GUILD_ID);
+
+        assertEquals(Collections.singletonList(category), guild.getCategoriesByName("Text Channels", false));
+        assertEquals(Collections.singletonList(category), api.getCategoriesByName("text channels", true));
+    }
+
+    @Test
+    public void createdRoleIsIndexedByName()
+    {
+        JSONObject json = new JSONObject()
+            .put("id", 4L)
+            .put("name", "Moderator")
+            .put("position", 1)
+            .put("permissions", 0L)
+            .put("managed", false)
+            .put("hoist", false)
+            .put("color", 0)
+            .put("mentionable", true);
+        Role role = api.getEntityBuilder().createRole(guild, json, GUILD_ID);
+
+        assertEquals(Collections.singletonList(role), guild.getRolesByName("Moderator", false));
+        assertEquals(Collections.singletonList(role), guild.getRolesByName("moderator", true));
+    }
+
+    @Test
+    public void renamedRoleIsReindexed()
+    {
+        JSONObject json = new JSONObject()
+            .put("id", 5L)
+            .put("name", "Member")
+            .put("position", 1)
+            .put("permissions", 0L)
+            .put("managed", false)
+            .put("hoist", false)
+            .put("color", 0);
+        Role role = api.getEntityBuilder().createRole(guild, json, GUILD_ID);
+        api.getEntityBuilder().createRole(guild, json.put("name", "Regular"), GUILD_ID);
+
+        assertEquals(Collections.emptyList(), guild.getRolesByName("Member", false));
+        assertEquals(Collections.singletonList(role), guild.getRolesByName("Regular", false));
+    }
+
+    @Test
+    public void indexedRolesKeepPositionOrder()
+    {
+        int[] positions = { 2, 5, 1, 4, 3 };
+        for (int i = 0; i < positions.length; i++)
+        {
+            JSONObject json = new JSONObject()
+                .put("id", 10L + i)
+                .put("name", "Team")
+                .put("position", positions[i])
+                .put("permissions", 0L)
+                .put("managed", false)
+                .put("hoist", false)
+                .put("color", 0);
+            api.getEntityBuilder().createRole(guild, json, GUILD_ID);
+        }
+
+        List<Role> expected = guild.getRoleCache().stream()
+            .filter(role -> role.getName().equals("Team"))
+            .collect(Collectors.toList());
+        assertEquals(positions.length, expected.size());
+        assertEquals(expected, guild.getRolesByName("Team", false));
+        assertEquals(expected, guild.getRolesByName("team", true));
+    }
+
+    @Test
+    public void detachedMemberIsCachedLater()
+    {
+        Role role = api.getEntityBuilder().createRole(guild, role(20L, "Helper"), GUILD_ID);
+        JSONObject json = member(30L, role.getIdLong());
+        MemberImpl member = api.getEntityBuilder().createDetachedMember(guild, json);
+
+        assertEquals(Collections.singletonList(role), member.getRoles());
+        assertNull(guild.getMemberById(30L));
+        assertNull(api.getUserById(30L));
+
+        assertSame(member, api.getEntityBuilder().cacheDetachedMember(guild, member, json));
+        assertSame(member, guild.getMemberById(30L));
+        assertSame(member.getUser(), api.getUserById(30L));
+        assertEquals(Collections.singletonList(member), guild.getMembersWithRoles(role));
+    }
+
+    @Test
+    public void detachedMemberYieldsToCachedMember()
+    {
+        JSONObject json = member(31L);
+        MemberImpl member = api.getEntityBuilder().createDetachedMember(guild, json);
+        Member cached = api.getEntityBuilder().createMember(guild, json);
+
+        assertSame(cached, api.getEntityBuilder().cacheDetachedMember(guild, member, json));
+        assertSame(cached, guild.getMemberById(31L));
+    }
+
+    @Test
+    public void detachedMemberDropsDeletedRoles()
+    {
+        Role role = api.getEntityBuilder().createRole(guild, role(21L, "Temporary"), GUILD_ID);
+        JSONObject json = member(32L, role.getIdLong());
+        MemberImpl member = api.getEntityBuilder().createDetachedMember(guild, json);
+        guild.getRolesMap().remove(role.getIdLong());
+
+        api.getEntityBuilder().cacheDetachedMember(guild, member, json);
+        assertEquals(Collections.emptyList(), guild.getMemberById(32L).getRoles());
+    }
+
+    private static JSONObject role(long id, String name)
+    {
+        return new JSONObject()
+            .put("id", id)
+            .put("name", name)
+            .put("position", 1)
+            .put("permissions", 0L)
+            .put("managed", false)
+            .put("hoist", false)
+            .put("color", 0);
+    }
+
+    private static JSONObject member(long userId, long... roleIds)
+    {
+        JSONArray roles = new JSONArray();
+        for (long roleId : roleIds)
+            roles.put(roleId);
+        return new JSONObject()
+            .put("user", new JSONObject()
+                .put("id", userId)
+                .put("username", "User " + userId)
+                .put("discriminator", "0001")
+                .put("avatar", JSONObject.NULL)
+                .put("bot", false))
+            .put("roles", roles)
+            .put("joined_at", "2018-01-01T00:00:00.000000+00:00")
+            .put("mute", false)
+            .put("deaf", false);
+    }
+
+    private static JSONObject channel(long id, String name)
+    {
+        return new JSONObject()
+            .put("id", id)
+            .put("name", name)
+            .put("position", 0);
+    }
+}
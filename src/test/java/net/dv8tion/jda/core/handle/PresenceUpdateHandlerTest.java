@@ -0,0 +1,205 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.handle;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.OnlineStatus;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.entities.impl.SelfUserImpl;
+import net.dv8tion.jda.core.requests.Request;
+import net.dv8tion.jda.core.requests.Requester;
+import net.dv8tion.jda.core.requests.Response;
+import net.dv8tion.jda.core.requests.Route;
+import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.SessionControllerAdapter;
+import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PresenceUpdateHandlerTest
+{
+    private static final long GUILD_ID = 81384788765712384L;
+    private static final long SELF_ID = 1L;
+    private static final long USER_ID = 2L;
+
+    private final List<Request<?>> requests = Collections.synchronizedList(new ArrayList<>());
+    private JDAImpl api;
+    private TestClient gateway;
+    private GuildImpl guild;
+
+    @Before
+    public void setup()
+    {
+        SessionControllerAdapter controller = new SessionControllerAdapter()
+        {
+            @Override
+            public void appendSession(SessionConnectNode node) {}
+        };
+        api = new JDAImpl(AccountType.BOT, "token", controller, null, null, null, null, null,
+            false, false, false, true, false, false,
+            false, false, false,
+            1, 900, null, EnumSet.allOf(CacheFlag.class))
+        {
+            private final Requester requester = new Requester(this)
+            {
+                @Override
+                public <T> void request(Request<T> apiRequest)
+                {
+                    requests.add(apiRequest);
+                }
+            };
+
+            @Override
+            public Requester getRequester()
+            {
+                return requester;
+            }
+
+            @Override
+            public WebSocketClient getClient()
+            {
+                return gateway;
+            }
+        };
+        gateway = new TestClient(api);
+        api.setMemberCachePolicy(MemberCachePolicy.ONLINE);
+        api.setSelfUser(new SelfUserImpl(SELF_ID, api));
+        guild = new GuildImpl(api, GUILD_ID);
+        guild.setOwnerId(SELF_ID);
+        api.getGuildMap().put(GUILD_ID, guild);
+        api.getEntityBuilder().createMember(guild, member(SELF_ID));
+        api.getEntityBuilder().createMember(guild, member(USER_ID));
+    }
+
+    @After
+    public void teardown()
+    {
+        api.getRateLimitPool().shutdownNow();
+        api.getGatewayPool().shutdownNow();
+    }
+
+    @Test
+    public void evictedMemberIsCachedAgainOnceOnline()
+    {
+        new PresenceUpdateHandler(api).handle(1, presence(OnlineStatus.OFFLINE));
+        assertNull(guild.getMemberById(USER_ID));
+
+        new PresenceUpdateHandler(api).handle(2, presence(OnlineStatus.ONLINE));
+        assertEquals(1, requests.size());
+        assertEquals(Route.Guilds.GET_MEMBER, requests.get(0).getRoute().getBaseRoute());
+        assertNull(guild.getMemberById(USER_ID));
+
+        complete(0);
+        gateway.runTasks();
+        Member member = guild.getMemberById(USER_ID);
+        assertNotNull(member);
+        assertEquals(OnlineStatus.ONLINE, member.getOnlineStatus());
+    }
+
+    @Test
+    public void latestPresenceIsAppliedToRetrievedMember()
+    {
+        new PresenceUpdateHandler(api).handle(1, presence(OnlineStatus.OFFLINE));
+        new PresenceUpdateHandler(api).handle(2, presence(OnlineStatus.ONLINE));
+        new PresenceUpdateHandler(api).handle(3, presence(OnlineStatus.IDLE));
+        assertEquals(1, requests.size());
+
+        complete(0);
+        gateway.runTasks();
+        assertEquals(OnlineStatus.IDLE, guild.getMemberById(USER_ID).getOnlineStatus());
+    }
+
+    @Test
+    public void memberGoingOfflineWhileRetrievedIsNotCached()
+    {
+        new PresenceUpdateHandler(api).handle(1, presence(OnlineStatus.OFFLINE));
+        new PresenceUpdateHandler(api).handle(2, presence(OnlineStatus.ONLINE));
+        new PresenceUpdateHandler(api).handle(3, presence(OnlineStatus.OFFLINE));
+        assertEquals(1, requests.size());
+
+        complete(0);
+        gateway.runTasks();
+        assertNull(guild.getMemberById(USER_ID));
+        assertFalse(guild.isReloadingMember(USER_ID));
+    }
+
+    private void complete(int index)
+    {
+        @SuppressWarnings("unchecked")
+        Request<Member> request = (Request<Member>) requests.get(index);
+        request.handleResponse(new Response(null, 200, "OK", -1, Collections.emptySet())
+        {
+            @Override
+            public JSONObject getObject()
+            {
+                return member(USER_ID);
+            }
+        });
+    }
+
+    private static JSONObject presence(OnlineStatus status)
+    {
+        return new JSONObject()
+            .put("t", "PRESENCE_UPDATE")
+            .put("d", new JSONObject()
+                .put("guild_id", GUILD_ID)
+                .put("user", new JSONObject().put("id", USER_ID))
+                .put("status", status.getKey())
+                .put("game", JSONObject.NULL));
+    }
+
+    private static JSONObject member(long userId)
+    {
+        return new JSONObject()
+            .put("user", new JSONObject()
+                .put("id", userId)
+                .put("username", "User " + userId)
+                .put("discriminator", "0001")
+                .put("avatar", JSONObject.NULL)
+                .put("bot", false))
+            .put("roles", new JSONArray())
+            .put("joined_at", "2018-01-01T00:00:00.000000+00:00")
+            .put("mute", false)
+            .put("deaf", false);
+    }
+
+    private static class TestClient extends WebSocketClient
+    {
+        TestClient(JDAImpl api)
+        {
+            super(api, false);
+        }
+
+        void runTasks()
+        {
+            runDispatchTasks();
+        }
+    }
+}
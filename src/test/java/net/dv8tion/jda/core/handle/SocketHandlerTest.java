@@ -0,0 +1,120 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.handle;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.role.RoleCreateEvent;
+import net.dv8tion.jda.core.hooks.EventListener;
+import net.dv8tion.jda.core.hooks.IEventManager;
+import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import net.dv8tion.jda.core.utils.cache.EventPolicy;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SocketHandlerTest
+{
+    private static final long GUILD_ID = 81384788765712384L;
+
+    private final List<Event> events = new ArrayList<>();
+    private final EventListener listener = events::add;
+    private JDAImpl api;
+    private GuildImpl guild;
+
+    @Before
+    public void setup()
+    {
+        api = new JDAImpl(AccountType.BOT, "token", null, null, null, null, null, null,
+            false, false, false, true, false, false,
+            false, false, false,
+            1, 900, null, EnumSet.allOf(CacheFlag.class));
+        guild = new GuildImpl(api, GUILD_ID);
+        api.getGuildMap().put(GUILD_ID, guild);
+    }
+
+    @After
+    public void teardown()
+    {
+        api.getRateLimitPool().shutdownNow();
+        api.getGatewayPool().shutdownNow();
+    }
+
+    @Test
+    public void cacheOnlyEventUpdatesCacheWithoutDispatch()
+    {
+        api.setEventPolicies(Collections.singletonMap("GUILD_ROLE_CREATE", EventPolicy.CACHE_ONLY));
+        api.getEventManager().register(listener);
+
+        new GuildRoleCreateHandler(api).handle(1, roleCreate(10L));
+
+        assertNotNull(guild.getRoleById(10L));
+        assertEquals(Collections.emptyList(), events);
+        assertEquals(1, api.getDroppedEventCount(EventPolicy.CACHE_ONLY));
+        assertFalse(api.isDispatchSuppressed());
+    }
+
+    @Test
+    public void eventManagerIsNotReplacedWhileDispatchIsSuppressed()
+    {
+        IEventManager manager = api.getEventManager();
+        api.setDispatchSuppressed(true);
+        try
+        {
+            assertSame(manager, api.getEventManager());
+            api.getEventManager().register(listener);
+            assertTrue(api.getEventManager().getRegisteredListeners().contains(listener));
+            assertTrue(api.getEventManager().hasListeners(RoleCreateEvent.class));
+        }
+        finally
+        {
+            api.setDispatchSuppressed(false);
+        }
+
+        new GuildRoleCreateHandler(api).handle(1, roleCreate(11L));
+
+        assertEquals(1, events.size());
+        assertTrue(events.get(0) instanceof RoleCreateEvent);
+    }
+
+    private static JSONObject roleCreate(long roleId)
+    {
+        JSONObject role = new JSONObject()
+            .put("id", roleId)
+            .put("name", "Role " + roleId)
+            .put("position", 1)
+            .put("permissions", 0L)
+            .put("managed", false)
+            .put("hoist", false)
+            .put("color", 0);
+        return new JSONObject()
+            .put("t", "GUILD_ROLE_CREATE")
+            .put("d", new JSONObject()
+                .put("guild_id", GUILD_ID)
+                .put("role", role));
+    }
+}
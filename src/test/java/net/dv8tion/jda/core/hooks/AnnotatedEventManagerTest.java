@@ -0,0 +1,177 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.hooks;
+
+import net.dv8tion.jda.core.events.Event;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AnnotatedEventManagerTest
+{
+    private static final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private final AnnotatedEventManager manager = new AnnotatedEventManager();
+
+    @Before
+    public void setup()
+    {
+        // static listener methods can only record their calls in a static list
+        calls.clear();
+    }
+
+    @Test
+    public void eventsReachMethodsOfTheirClassAndSuperClasses()
+    {
+        manager.register(new Listener());
+
+        manager.handle(new SpecificEvent());
+        assertEquals(Arrays.asList("specific", "base", "any"), calls);
+
+        calls.clear();
+        manager.handle(new BaseEvent());
+        assertEquals(Arrays.asList("base", "any"), calls);
+    }
+
+    @Test
+    public void classesRegisterTheirStaticMethods()
+    {
+        manager.register(StaticListener.class);
+        manager.handle(new BaseEvent());
+        assertEquals(Collections.singletonList("static"), calls);
+
+        calls.clear();
+        manager.register(new StaticListener());
+        manager.handle(new BaseEvent());
+        assertEquals(Arrays.asList("static", "static", "instance"), calls);
+    }
+
+    @Test
+    public void unregisteredListenersAreNotCalled()
+    {
+        Listener listener = new Listener();
+        manager.register(listener);
+        assertTrue(manager.hasListeners(SpecificEvent.class));
+        manager.handle(new BaseEvent());
+
+        manager.unregister(listener);
+        assertFalse(manager.hasListeners(SpecificEvent.class));
+        assertEquals(Collections.emptyList(), manager.getRegisteredListeners());
+        manager.handle(new SpecificEvent());
+        assertEquals(Arrays.asList("base", "any"), calls);
+    }
+
+    @Test
+    public void exceptionsDoNotStopOtherListeners()
+    {
+        manager.register(new FailingListener());
+        manager.register(new Listener());
+
+        manager.handle(new BaseEvent());
+        assertEquals(Arrays.asList("base", "any"), calls);
+    }
+
+    @Test
+    public void methodsWithoutAnnotationOrEventParameterAreIgnored()
+    {
+        manager.register(new IgnoredListener());
+        assertFalse(manager.hasListeners(BaseEvent.class));
+        manager.handle(new BaseEvent());
+        assertEquals(Collections.emptyList(), calls);
+    }
+
+    private static class BaseEvent extends Event
+    {
+        BaseEvent()
+        {
+            super(null, 0);
+        }
+    }
+
+    private static class SpecificEvent extends BaseEvent {}
+
+    public static class Listener
+    {
+        @SubscribeEvent
+        public void onSpecific(SpecificEvent event)
+        {
+            calls.add("specific");
+        }
+
+        @SubscribeEvent
+        private void onBase(BaseEvent event)
+        {
+            calls.add("base");
+        }
+
+        @SubscribeEvent
+        public void onAny(Event event)
+        {
+            calls.add("any");
+        }
+    }
+
+    public static class StaticListener
+    {
+        @SubscribeEvent
+        public static void onStatic(BaseEvent event)
+        {
+            calls.add("static");
+        }
+
+        @SubscribeEvent
+        public void onInstance(BaseEvent event)
+        {
+            calls.add("instance");
+        }
+    }
+
+    public static class FailingListener
+    {
+        @SubscribeEvent
+        public void onBase(BaseEvent event)
+        {
+            throw new IllegalStateException("Listener failure");
+        }
+    }
+
+    public static class IgnoredListener
+    {
+        public void notAnnotated(BaseEvent event)
+        {
+            calls.add("not annotated");
+        }
+
+        @SubscribeEvent
+        public void noEvent(String text)
+        {
+            calls.add("no event");
+        }
+
+        @SubscribeEvent
+        public void twoParameters(BaseEvent event, BaseEvent other)
+        {
+            calls.add("two parameters");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.hooks;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.ReconnectedEvent;
+import net.dv8tion.jda.core.events.ResumedEvent;
+import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InterfacedEventManagerTest
+{
+    private final List<String> calls = new ArrayList<>();
+    private final InterfacedEventManager manager = new InterfacedEventManager();
+    private JDAImpl api;
+
+    @Before
+    public void setup()
+    {
+        // ListenerAdapter checks the account type of every event
+        api = new JDAImpl(AccountType.BOT, "token", null, null, null, null, null, null,
+            false, false, false, true, false, false,
+            false, false, false,
+            1, 900, null, EnumSet.allOf(CacheFlag.class));
+    }
+
+    @After
+    public void teardown()
+    {
+        api.getRateLimitPool().shutdownNow();
+        api.getGatewayPool().shutdownNow();
+    }
+
+    @Test
+    public void adaptersOnlyReceiveEventsOfOverriddenMethods()
+    {
+        manager.register(new ReconnectAdapter());
+
+        assertTrue(manager.hasListeners(ReconnectedEvent.class));
+        assertFalse(manager.hasListeners(ResumedEvent.class));
+        manager.handle(new ReconnectedEvent(api, 0));
+        manager.handle(new ResumedEvent(api, 0));
+        assertEquals(Collections.singletonList("reconnect"), calls);
+    }
+
+    @Test
+    public void inheritedOverridesAreFound()
+    {
+        manager.register(new ReconnectAdapter()
+        {
+            @Override
+            public void onResume(ResumedEvent event)
+            {
+                calls.add("resume");
+            }
+        });
+
+        manager.handle(new ReconnectedEvent(api, 0));
+        manager.handle(new ResumedEvent(api, 0));
+        assertEquals(Arrays.asList("reconnect", "resume"), calls);
+    }
+
+    @Test
+    public void genericAdaptersAndListenersReceiveEveryEvent()
+    {
+        manager.register(new ListenerAdapter()
+        {
+            @Override
+            public void onGenericEvent(Event event)
+            {
+                calls.add("generic " + event.getClass().getSimpleName());
+            }
+        });
+        manager.register((EventListener) event -> calls.add("listener " + event.getClass().getSimpleName()));
+
+        manager.handle(new ResumedEvent(api, 0));
+        assertEquals(Arrays.asList("generic ResumedEvent", "listener ResumedEvent"), calls);
+    }
+
+    @Test
+    public void indexIsUpdatedWhenListenersChange()
+    {
+        EventListener listener = event -> calls.add("listener");
+        assertFalse(manager.hasListeners(ResumedEvent.class));
+
+        manager.register(listener);
+        assertTrue(manager.hasListeners(ResumedEvent.class));
+        manager.handle(new ResumedEvent(api, 0));
+
+        manager.unregister(listener);
+        assertFalse(manager.hasListeners(ResumedEvent.class));
+        manager.handle(new ResumedEvent(api, 0));
+        assertEquals(Collections.singletonList("listener"), calls);
+    }
+
+    @Test
+    public void listenersAreCalledInRegistrationOrder()
+    {
+        manager.register(new ReconnectAdapter());
+        manager.register((EventListener) event -> calls.add("first"));
+        manager.register(new ReconnectAdapter());
+        manager.register((EventListener) event -> calls.add("second"));
+
+        manager.handle(new ReconnectedEvent(api, 0));
+        assertEquals(Arrays.asList("reconnect", "first", "reconnect", "second"), calls);
+    }
+
+    private class ReconnectAdapter extends ListenerAdapter
+    {
+        @Override
+        public void onReconnect(ReconnectedEvent event)
+        {
+            calls.add("reconnect");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.entities.impl.SelfUserImpl;
+import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestBatcherTest
+{
+    private static final long GUILD_ID = 81384788765712384L;
+    private static final long SELF_ID = 1L;
+    private static final long USER_ID = 2L;
+
+    private final List<Request<?>> requests = Collections.synchronizedList(new ArrayList<>());
+    private JDAImpl api;
+    private GuildImpl guild;
+    private Member member;
+    private RequestBatcher batcher;
+
+    @Before
+    public void setup()
+    {
+        api = new JDAImpl(AccountType.BOT, "token", null, null, null, null, null, null,
+            false, false, false, true, false, false,
+            false, false, false,
+            1, 900, null, EnumSet.allOf(CacheFlag.class))
+        {
+            private final Requester requester = new Requester(this)
+            {
+                @Override
+                public <T> void request(Request<T> apiRequest)
+                {
+                    requests.add(apiRequest);
+                }
+            };
+
+            @Override
+            public Requester getRequester()
+            {
+                return requester;
+            }
+        };
+        api.setSelfUser(new SelfUserImpl(SELF_ID, api));
+        guild = new GuildImpl(api, GUILD_ID);
+        guild.setOwnerId(SELF_ID);
+        api.getGuildMap().put(GUILD_ID, guild);
+        api.getEntityBuilder().createMember(guild, member(SELF_ID));
+        member = api.getEntityBuilder().createMember(guild, member(USER_ID));
+        // the timers are not used, the batches are sent with flush
+        batcher = new RequestBatcher(api, 1, TimeUnit.HOURS);
+    }
+
+    @After
+    public void teardown()
+    {
+        api.getRateLimitPool().shutdownNow();
+        api.getGatewayPool().shutdownNow();
+    }
+
+    @Test
+    public void singleRoleChangesUseSingleRoleEndpoints() throws Exception
+    {
+        Role first = role(10L);
+        Role second = role(11L);
+
+        batcher.addRoleToMember(member, first);
+        batcher.flush();
+        complete(0);
+        batcher.removeRoleFromMember(member, second);
+        batcher.flush();
+
+        waitForRequests(2);
+        assertEquals(Method.PUT, requests.get(0).getRoute().getMethod());
+        assertTrue(requests.get(0).getRoute().getCompiledRoute().endsWith("/roles/" + first.getId()));
+        assertEquals(Method.DELETE, requests.get(1).getRoute().getMethod());
+        assertTrue(requests.get(1).getRoute().getCompiledRoute().endsWith("/roles/" + second.getId()));
+    }
+
+    @Test
+    public void batchesOfMemberStartFromPreviousBatch() throws Exception
+    {
+        Role first = role(10L);
+        Role second = role(11L);
+        Role third = role(12L);
+
+        batcher.addRoleToMember(member, first);
+        batcher.addRoleToMember(member, second);
+        batcher.flush();
+        assertEquals(1, requests.size());
+        assertEquals(roleIds(first, second), sentRoleIds(0));
+
+        // the second batch waits for the first one, the member is not updated by Discord in between
+        CompletableFuture<Void> next = batcher.addRoleToMember(member, third);
+        batcher.removeRoleFromMember(member, first);
+        batcher.flush();
+        assertEquals(1, requests.size());
+
+        complete(0);
+        waitForRequests(2);
+        assertEquals(roleIds(second, third), sentRoleIds(1));
+        complete(1);
+        next.get(5, TimeUnit.SECONDS);
+    }
+
+    private void complete(int index)
+    {
+        @SuppressWarnings("unchecked")
+        Request<Void> request = (Request<Void>) requests.get(index);
+        request.onSuccess(null);
+    }
+
+    private void waitForRequests(int count) throws InterruptedException
+    {
+        long end = System.currentTimeMillis() + 5000;
+        while (requests.size() < count && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertEquals(count, requests.size());
+    }
+
+    private Set<String> sentRoleIds(int index)
+    {
+        JSONArray roles = ((JSONObject) requests.get(index).getRawBody()).getJSONArray("roles");
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < roles.length(); i++)
+            ids.add(roles.getString(i));
+        return ids;
+    }
+
+    private static Set<String> roleIds(Role... roles)
+    {
+        Set<String> ids = new HashSet<>();
+        for (Role role : roles)
+            ids.add(role.getId());
+        return ids;
+    }
+
+    private Role role(long id)
+    {
+        JSONObject json = new JSONObject()
+            .put("id", id)
+            .put("name", "Role " + id)
+            .put("position", 1)
+            .put("permissions", 0L)
+            .put("managed", false)
+            .put("hoist", false)
+            .put("color", 0);
+        return api.getEntityBuilder().createRole(guild, json, GUILD_ID);
+    }
+
+    private static JSONObject member(long userId)
+    {
+        return new JSONObject()
+            .put("user", new JSONObject()
+                .put("id", userId)
+                .put("username", "User " + userId)
+                .put("discriminator", "0001")
+                .put("avatar", JSONObject.NULL)
+                .put("bot", false))
+            .put("roles", new JSONArray())
+            .put("joined_at", "2018-01-01T00:00:00.000000+00:00")
+            .put("mute", false)
+            .put("deaf", false);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequesterTest
+{
+    private OkHttpClient httpClient;
+    private JDAImpl api;
+
+    @Before
+    public void setup()
+    {
+        httpClient = new OkHttpClient();
+        api = new JDAImpl(AccountType.BOT, "token", null, httpClient, null, null, null, null,
+            false, false, false, true, false, false,
+            false, false, false,
+            1, 900, null, EnumSet.allOf(CacheFlag.class));
+    }
+
+    @After
+    public void teardown()
+    {
+        api.getRateLimitPool().shutdownNow();
+        api.getGatewayPool().shutdownNow();
+    }
+
+    @Test
+    public void asyncRequestsRaiseDispatcherLimits()
+    {
+        api.setAsyncRequestsEnabled(true, 100);
+
+        Dispatcher dispatcher = httpClient.dispatcher();
+        assertTrue(api.getRequester().isAsync());
+        assertEquals(100, dispatcher.getMaxRequestsPerHost());
+        assertEquals(100, dispatcher.getMaxRequests());
+    }
+
+    @Test
+    public void asyncRequestsKeepHigherOverallLimit()
+    {
+        Dispatcher dispatcher = httpClient.dispatcher();
+        dispatcher.setMaxRequests(200);
+
+        api.setAsyncRequestsEnabled(true, Requester.DEFAULT_MAX_ASYNC_REQUESTS);
+
+        assertEquals(Requester.DEFAULT_MAX_ASYNC_REQUESTS, dispatcher.getMaxRequestsPerHost());
+        assertEquals(200, dispatcher.getMaxRequests());
+    }
+
+    @Test
+    public void blockingRequestsKeepDispatcherLimits()
+    {
+        Dispatcher dispatcher = httpClient.dispatcher();
+        int maxRequests = dispatcher.getMaxRequests();
+        int maxRequestsPerHost = dispatcher.getMaxRequestsPerHost();
+
+        api.setAsyncRequestsEnabled(false, 100);
+
+        assertFalse(api.getRequester().isAsync());
+        assertEquals(maxRequests, dispatcher.getMaxRequests());
+        assertEquals(maxRequestsPerHost, dispatcher.getMaxRequestsPerHost());
+    }
+}
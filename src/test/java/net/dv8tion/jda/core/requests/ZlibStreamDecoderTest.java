@@ -0,0 +1,104 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.*;
+
+public class ZlibStreamDecoderTest
+{
+    // the gateway compresses all messages of a connection with one zlib context
+    private final Deflater deflater = new Deflater();
+    private final ZlibStreamDecoder decoder = new ZlibStreamDecoder();
+
+    @Test
+    public void messagesShareTheStreamContext() throws DataFormatException
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            GatewayPayload payload = decoder.decode(compress(dispatch("MESSAGE_CREATE", "message " + i)));
+            assertNotNull(payload);
+            assertEquals(0, payload.getOpCode());
+            assertEquals("MESSAGE_CREATE", payload.getType());
+            assertEquals("message " + i, payload.peekString("content"));
+        }
+    }
+
+    @Test
+    public void fragmentedMessageIsDecodedOnceComplete() throws DataFormatException
+    {
+        byte[] message = compress(dispatch("GUILD_CREATE", "fragmented"));
+        int split = message.length / 2;
+
+        assertNull(decoder.decode(Arrays.copyOfRange(message, 0, split)));
+        GatewayPayload payload = decoder.decode(Arrays.copyOfRange(message, split, message.length));
+        assertNotNull(payload);
+        assertEquals("GUILD_CREATE", payload.getType());
+        assertEquals("fragmented", payload.peekString("content"));
+    }
+
+    @Test
+    public void messagesLargerThanTheBufferAreDecoded() throws DataFormatException
+    {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10000; i++)
+            content.append((char) ('a' + i % 26));
+
+        GatewayPayload payload = decoder.decode(compress(dispatch("MESSAGE_CREATE", content.toString())));
+        assertEquals(content.toString(), payload.peekString("content"));
+
+        // the grown buffer is reused for the following messages
+        payload = decoder.decode(compress(dispatch("MESSAGE_CREATE", "small")));
+        assertEquals("small", payload.peekString("content"));
+    }
+
+    @Test
+    public void malformedMessageFails()
+    {
+        try
+        {
+            decoder.decode(new byte[] {1, 2, 3, 4, 0, 0, -1, -1});
+            fail("Decoded a malformed message");
+        }
+        catch (DataFormatException expected) {}
+    }
+
+    private byte[] compress(String message)
+    {
+        deflater.setInput(message.getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[message.length() + 64];
+        int length = 0;
+        while (true)
+        {
+            length += deflater.deflate(buffer, length, buffer.length - length, Deflater.SYNC_FLUSH);
+            if (length < buffer.length)
+                return Arrays.copyOf(buffer, length);
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+
+    private static String dispatch(String type, String content)
+    {
+        return "{\"op\":0,\"s\":1,\"t\":\"" + type + "\",\"d\":{\"content\":\"" + content + "\"}}";
+    }
+}
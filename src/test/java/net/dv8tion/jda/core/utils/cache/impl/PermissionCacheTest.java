@@ -0,0 +1,178 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.Permission;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.entities.impl.AbstractChannelImpl;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.entities.impl.RoleImpl;
+import net.dv8tion.jda.core.entities.impl.SelfUserImpl;
+import net.dv8tion.jda.core.handle.GuildMemberUpdateHandler;
+import net.dv8tion.jda.core.utils.PermissionUtil;
+import net.dv8tion.jda.core.utils.cache.CacheFlag;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class PermissionCacheTest
+{
+    private static final long GUILD_ID = 81384788765712384L;
+    private static final long SELF_ID = 1L;
+    private static final long USER_ID = 2L;
+    private static final long ROLE_ID = 10L;
+    private static final long CHANNEL_ID = 20L;
+
+    private static final long READ = Permission.MESSAGE_READ.getRawValue();
+    private static final long WRITE = Permission.MESSAGE_WRITE.getRawValue();
+
+    private JDAImpl api;
+    private GuildImpl guild;
+    private RoleImpl role;
+    private TextChannel channel;
+    private Member member;
+
+    @Before
+    public void setup()
+    {
+        api = new JDAImpl(AccountType.BOT, "token", null, null, null, null, null, null,
+            false, false, false, true, false, false,
+            false, false, false,
+            1, 900, null, EnumSet.allOf(CacheFlag.class));
+        api.setSelfUser(new SelfUserImpl(SELF_ID, api));
+        guild = new GuildImpl(api, GUILD_ID);
+        guild.setOwnerId(SELF_ID);
+        api.getGuildMap().put(GUILD_ID, guild);
+        guild.setPublicRole(api.getEntityBuilder().createRole(guild, role(GUILD_ID, READ), GUILD_ID));
+        role = (RoleImpl) api.getEntityBuilder().createRole(guild, role(ROLE_ID, WRITE), GUILD_ID);
+        channel = api.getEntityBuilder().createTextChannel(guild, new JSONObject()
+            .put("id", CHANNEL_ID)
+            .put("name", "general")
+            .put("position", 0)
+            .put("permission_overwrites", new JSONArray()), GUILD_ID);
+        member = api.getEntityBuilder().createMember(guild, member(USER_ID));
+    }
+
+    @After
+    public void teardown()
+    {
+        api.getRateLimitPool().shutdownNow();
+        api.getGatewayPool().shutdownNow();
+    }
+
+    @Test
+    public void valueOfInvalidatedGenerationIsNotReturned()
+    {
+        PermissionCache cache = new PermissionCache();
+        PermissionCache.Generation generation = cache.getGeneration();
+        cache.put(generation, CHANNEL_ID, USER_ID, READ);
+        assertEquals(READ, cache.get(cache.getGeneration(), CHANNEL_ID, USER_ID));
+
+        // a value computed while a change is applied is written to the old generation
+        cache.invalidate();
+        cache.put(generation, CHANNEL_ID, USER_ID, WRITE);
+        assertEquals(PermissionCache.NOT_CACHED, cache.get(cache.getGeneration(), CHANNEL_ID, USER_ID));
+    }
+
+    @Test
+    public void rolePermissionChangeIsVisible()
+    {
+        new GuildMemberUpdateHandler(api).handle(1, memberUpdate(ROLE_ID));
+        assertEquals(READ | WRITE, PermissionUtil.getEffectivePermission(channel, member));
+
+        role.setRawPermissions(0);
+        assertEquals(READ, PermissionUtil.getEffectivePermission(channel, member));
+
+        ((RoleImpl) guild.getPublicRole()).setRawPermissions(READ | WRITE);
+        assertEquals(READ | WRITE, PermissionUtil.getEffectivePermission(channel, member));
+    }
+
+    @Test
+    public void memberRoleChangeIsVisible()
+    {
+        assertEquals(READ, PermissionUtil.getEffectivePermission(channel, member));
+
+        new GuildMemberUpdateHandler(api).handle(1, memberUpdate(ROLE_ID));
+        assertEquals(READ | WRITE, PermissionUtil.getEffectivePermission(channel, member));
+
+        new GuildMemberUpdateHandler(api).handle(2, memberUpdate());
+        assertEquals(READ, PermissionUtil.getEffectivePermission(channel, member));
+    }
+
+    @Test
+    public void overrideChangeIsVisible()
+    {
+        assertEquals(READ, PermissionUtil.getEffectivePermission(channel, member));
+
+        api.getEntityBuilder().createOverridesPass((AbstractChannelImpl<?>) channel, new JSONArray()
+            .put(new JSONObject()
+                .put("id", USER_ID)
+                .put("type", "member")
+                .put("allow", WRITE)
+                .put("deny", 0L)));
+        assertEquals(READ | WRITE, PermissionUtil.getEffectivePermission(channel, member));
+    }
+
+    private JSONObject memberUpdate(long... roleIds)
+    {
+        JSONArray roles = new JSONArray();
+        for (long roleId : roleIds)
+            roles.put(roleId);
+        return new JSONObject()
+            .put("t", "GUILD_MEMBER_UPDATE")
+            .put("d", new JSONObject()
+                .put("guild_id", GUILD_ID)
+                .put("user", new JSONObject().put("id", USER_ID))
+                .put("roles", roles));
+    }
+
+    private static JSONObject role(long id, long permissions)
+    {
+        return new JSONObject()
+            .put("id", id)
+            .put("name", "Role " + id)
+            .put("position", id == GUILD_ID ? 0 : 1)
+            .put("permissions", permissions)
+            .put("managed", false)
+            .put("hoist", false)
+            .put("color", 0);
+    }
+
+    private static JSONObject member(long userId)
+    {
+        return new JSONObject()
+            .put("user", new JSONObject()
+                .put("id", userId)
+                .put("username", "User " + userId)
+                .put("discriminator", "0001")
+                .put("avatar", JSONObject.NULL)
+                .put("bot", false))
+            .put("roles", new JSONArray())
+            .put("joined_at", "2018-01-01T00:00:00.000000+00:00")
+            .put("mute", false)
+            .put("deaf", false);
+    }
+}
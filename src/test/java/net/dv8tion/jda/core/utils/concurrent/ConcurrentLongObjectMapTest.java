@@ -0,0 +1,181 @@
+/*
+ *     Copyright 2015-2018 Austin Keener & Michael Ritter & Florian Spieß
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.utils.concurrent;
+
+import gnu.trove.iterator.TLongObjectIterator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentLongObjectMapTest
+{
+    // snowflakes share their upper bits, which must still spread across the segments
+    private static final long BASE_ID = 81384788765712384L;
+
+    private final ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>(4);
+
+    @Test
+    public void mappingsSurviveGrowthAndRemoval()
+    {
+        for (int i = 0; i < 10000; i++)
+            assertNull(map.put(BASE_ID + ((long) i << 22), "value " + i));
+        assertEquals(10000, map.size());
+
+        for (int i = 0; i < 10000; i += 2)
+            assertEquals("value " + i, map.remove(BASE_ID + ((long) i << 22)));
+        assertEquals(5000, map.size());
+
+        for (int i = 0; i < 10000; i++)
+        {
+            String expected = i % 2 == 0 ? null : "value " + i;
+            assertEquals(expected, map.get(BASE_ID + ((long) i << 22)));
+            assertEquals(expected != null, map.containsKey(BASE_ID + ((long) i << 22)));
+        }
+
+        // removed slots are reused for the same keys
+        assertNull(map.putIfAbsent(BASE_ID, "again"));
+        assertEquals("value 1", map.putIfAbsent(BASE_ID + (1L << 22), "ignored"));
+        assertEquals("again", map.get(BASE_ID));
+        assertEquals(5001, map.size());
+    }
+
+    @Test
+    public void nullValuesAreMappings()
+    {
+        assertNull(map.put(1L, null));
+        assertTrue(map.containsKey(1L));
+        assertEquals(1, map.size());
+        assertNull(map.remove(1L));
+        assertFalse(map.containsKey(1L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void listenerObservesModifications()
+    {
+        List<String> changes = new ArrayList<>();
+        map.setListener(new ConcurrentLongObjectMap.Listener<String>()
+        {
+            @Override
+            public void onPut(long key, String oldValue, String newValue)
+            {
+                changes.add("put " + key + " " + oldValue + " " + newValue);
+            }
+
+            @Override
+            public void onRemove(long key, String value)
+            {
+                changes.add("remove " + key + " " + value);
+            }
+        });
+
+        map.put(1L, "a");
+        map.put(1L, "b");
+        map.putIfAbsent(1L, "c");
+        map.remove(2L);
+        map.remove(1L);
+
+        assertEquals(3, changes.size());
+        assertEquals("put 1 null a", changes.get(0));
+        assertEquals("put 1 a b", changes.get(1));
+        assertEquals("remove 1 b", changes.get(2));
+    }
+
+    @Test
+    public void iteratorRemovesMappings()
+    {
+        for (long i = 1; i <= 100; i++)
+            map.put(i, String.valueOf(i));
+
+        int visited = 0;
+        for (TLongObjectIterator<String> it = map.iterator(); it.hasNext();)
+        {
+            it.advance();
+            assertEquals(String.valueOf(it.key()), it.value());
+            if (it.key() % 2 == 0)
+                it.remove();
+            visited++;
+        }
+
+        assertEquals(100, visited);
+        assertEquals(50, map.size());
+        assertNull(map.get(2L));
+        assertEquals("3", map.get(3L));
+    }
+
+    @Test
+    public void readersSeeCompleteValuesWhileWritersGrowTheMap() throws Exception
+    {
+        final int writers = 4;
+        final int perWriter = 20000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++)
+        {
+            final long offset = w * (long) perWriter;
+            threads.add(new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                    for (long i = offset; i < offset + perWriter; i++)
+                        map.put(BASE_ID + (i << 22), String.valueOf(i));
+                }
+                catch (Throwable t)
+                {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        threads.add(new Thread(() ->
+        {
+            try
+            {
+                start.await();
+                for (int round = 0; round < 20; round++)
+                {
+                    for (long i = 0; i < writers * (long) perWriter; i += 97)
+                    {
+                        String value = map.get(BASE_ID + (i << 22));
+                        if (value != null && !value.equals(String.valueOf(i)))
+                            throw new AssertionError("Read " + value + " for key " + i);
+                    }
+                }
+            }
+            catch (Throwable t)
+            {
+                failure.compareAndSet(null, t);
+            }
+        }));
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+
+        assertNull(failure.get());
+        assertEquals(writers * perWriter, map.size());
+        for (long i = 0; i < writers * (long) perWriter; i++)
+            assertEquals(String.valueOf(i), map.get(BASE_ID + (i << 22)));
+    }
+}